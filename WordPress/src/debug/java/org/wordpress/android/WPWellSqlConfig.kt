@@ -9,6 +9,7 @@ import android.widget.TextView
 import android.widget.Toast
 import android.widget.Toast.LENGTH_LONG
 import com.yarolegovich.wellsql.WellTableManager
+import org.wordpress.android.fluxc.persistence.FullTextSearchSqlUtils
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T
@@ -35,6 +36,7 @@ class WPWellSqlConfig(context: Context) : WellSqlConfig(context) {
             toast.show()
 
             helper?.let { reset(it) }
+            db?.let { FullTextSearchSqlUtils.createSearchTables(it) }
         } else {
             super.onDowngrade(db, helper, oldVersion, newVersion)
         }
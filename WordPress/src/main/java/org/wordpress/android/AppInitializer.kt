@@ -32,9 +32,9 @@ import com.android.volley.RequestQueue
 import com.automattic.android.tracks.crashlogging.CrashLogging
 import com.google.firebase.iid.FirebaseInstanceId
 import com.wordpress.rest.RestClient
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
+import kotlinx.coroutines.asExecutor
 import org.greenrobot.eventbus.EventBus
 import org.greenrobot.eventbus.Subscribe
 import org.greenrobot.eventbus.ThreadMode
@@ -64,10 +64,17 @@ import org.wordpress.android.fluxc.store.StatsStore
 import org.wordpress.android.fluxc.tools.FluxCImageLoader
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError
 import org.wordpress.android.modules.APPLICATION_SCOPE
+import org.wordpress.android.modules.BG_THREAD
 import org.wordpress.android.networking.NetworkConnectionMonitor
 import org.wordpress.android.networking.OAuthAuthenticator
 import org.wordpress.android.networking.RestClientUtils
 import org.wordpress.android.push.GCMRegistrationScheduler
+import org.wordpress.android.startup.MainThreadIdleExecutor
+import org.wordpress.android.startup.StartupTask
+import org.wordpress.android.startup.StartupTaskGraph
+import org.wordpress.android.startup.StartupThread.BACKGROUND
+import org.wordpress.android.startup.StartupThread.DEFERRED
+import org.wordpress.android.startup.StartupThread.MAIN
 import org.wordpress.android.support.ZendeskHelper
 import org.wordpress.android.ui.ActivityId
 import org.wordpress.android.ui.debug.cookies.DebugCookieManager
@@ -126,6 +133,9 @@ class AppInitializer @Inject constructor(
     @Inject
     lateinit var userAgent: UserAgent
 
+    @Inject
+    lateinit var eventBusIndex: WordPressEventBusIndex
+
     @Inject
     lateinit var dispatcher: Dispatcher
 
@@ -201,6 +211,10 @@ class AppInitializer @Inject constructor(
     @Named(APPLICATION_SCOPE)
     lateinit var appScope: CoroutineScope
 
+    @Inject
+    @Named(BG_THREAD)
+    lateinit var bgDispatcher: CoroutineDispatcher
+
     @Inject
     lateinit var selectedSiteRepository: SelectedSiteRepository
 
@@ -290,94 +304,115 @@ class AppInitializer @Inject constructor(
     }
 
     fun init() {
-        crashLogging.initialize()
-        dispatcher.register(this)
-        appConfig.init(appScope)
-        // Upload any encrypted logs that were queued but not yet uploaded
-        encryptedLogging.start()
-
-        // Init static fields from dagger injected singletons, for legacy Actions and Utilities
-        WordPress.requestQueue = requestQueue
-        WordPress.imageLoader = imageLoader
-        sOAuthAuthenticator = oAuthAuthenticator
-
         ProfilingUtils.start("App Startup")
-
-        enableLogRecording()
-        AppLog.i(T.UTILS, "AppInitializer.init")
-
         WordPress.versionName = PackageUtils.getVersionName(application)
-        initWpDb()
-        context?.let { enableHttpResponseCache(it) }
 
-        AppReviewManager.init(application)
+        val startupTaskGraph = StartupTaskGraph(
+            createStartupTasks(),
+            bgDispatcher.asExecutor(),
+            MainThreadIdleExecutor()
+        )
+        startupTaskGraph.start { spans ->
+            AppLog.i(T.UTILS, "Startup tasks: ${spans.joinToString()}")
+            AppLog.i(T.UTILS, "Startup critical path: ${startupTaskGraph.getCriticalPath().joinToString(" > ")}")
+        }
 
-        if (!initialized) {
-            // EventBus setup
+        initialized = true
+    }
+
+    /*
+     * the tasks run by init() - most of them stay on the main thread, as the app expects them to be done once
+     * Application.onCreate() returns, the others run in the background or once the first frame is drawn
+     */
+    @Suppress("LongMethod")
+    private fun createStartupTasks(): List<StartupTask> = listOfNotNull(
+        StartupTask("crashLogging", MAIN) { crashLogging.initialize() },
+        StartupTask("dispatcher", MAIN) { dispatcher.register(this) },
+        StartupTask("appConfig", MAIN) { appConfig.init(appScope) },
+        // Upload any encrypted logs that were queued but not yet uploaded
+        StartupTask("encryptedLogging", BACKGROUND, dependsOn = listOf("analytics")) { encryptedLogging.start() },
+        StartupTask("staticFields", MAIN) {
+            // Init static fields from dagger injected singletons, for legacy Actions and Utilities
+            WordPress.requestQueue = requestQueue
+            WordPress.imageLoader = imageLoader
+            sOAuthAuthenticator = oAuthAuthenticator
+        },
+        StartupTask("logRecording", MAIN) {
+            enableLogRecording()
+            AppLog.i(T.UTILS, "AppInitializer.init")
+        },
+        StartupTask("wpDb", MAIN) { initWpDb() },
+        StartupTask("httpResponseCache", BACKGROUND) { context?.let { enableHttpResponseCache(it) } },
+        StartupTask("appReviewManager", MAIN) { AppReviewManager.init(application) },
+        StartupTask("eventBus", MAIN) {
             EventBus.TAG = "WordPress-EVENT"
             EventBus.builder()
                 .logNoSubscriberMessages(false)
                 .sendNoSubscriberEvent(false)
                 .throwSubscriberException(true)
+                .addIndex(eventBusIndex)
                 .installDefaultEventBus()
-        }
-
-        RestClientUtils.setUserAgent(userAgent.apiUserAgent)
-
-        if (!initialized) {
-            initZendeskAsync()
-        }
-
-        val memoryAndConfigChangeMonitor = MemoryAndConfigChangeMonitor()
-        application.registerComponentCallbacks(memoryAndConfigChangeMonitor)
-
-        // initialize our ApplicationLifecycleMonitor, which is the App's LifecycleObserver implementation
-        applicationLifecycleMonitor = ApplicationLifecycleMonitor()
-        ProcessLifecycleOwner.get().lifecycle.addObserver(this)
-
-        // Make the UploadStarter observe the app process so it can auto-start uploads
-        uploadStarter.activateAutoUploading(ProcessLifecycleOwner.get() as ProcessLifecycleOwner)
-
+        }.takeIf { !initialized },
+        StartupTask("userAgent", MAIN) { RestClientUtils.setUserAgent(userAgent.apiUserAgent) },
+        // Zendesk SDK init does enough work to trip the ANR threshold on slow devices when called from
+        // Application.onCreate(). The Help screen is the only entry point that needs Zendesk and is gated by
+        // user navigation, so initializing it in the background is safe in practice.
+        StartupTask("zendesk", BACKGROUND) { initZendesk() }.takeIf { !initialized },
+        StartupTask("lifecycleObservers", MAIN) {
+            val memoryAndConfigChangeMonitor = MemoryAndConfigChangeMonitor()
+            application.registerComponentCallbacks(memoryAndConfigChangeMonitor)
+
+            // initialize our ApplicationLifecycleMonitor, which is the App's LifecycleObserver implementation
+            applicationLifecycleMonitor = ApplicationLifecycleMonitor()
+            ProcessLifecycleOwner.get().lifecycle.addObserver(this)
+
+            // Make the UploadStarter observe the app process so it can auto-start uploads
+            uploadStarter.activateAutoUploading(ProcessLifecycleOwner.get() as ProcessLifecycleOwner)
+        },
         // Monitor default-network connectivity for the whole process lifetime. Uses a NetworkCallback on a
         // background thread instead of the deprecated CONNECTIVITY_ACTION broadcast, so it can't cause a
         // background ANR. start() is idempotent, so it's safe if init() runs more than once.
-        networkConnectionMonitor.start(application)
-
-        initAnalytics(SystemClock.elapsedRealtime() - startDate)
-
-        updateNotificationSettings()
-        // Allows vector drawable from resources (in selectors for instance) on Android < 21 (can cause issues with
-        // memory usage and the use of Configuration). More information: http://bit.ly/2H1KTQo
-        // Note: if removed, this will cause crashes on Android < 21
-        AppCompatDelegate.setCompatVectorFromResourcesEnabled(true)
-        AppThemeUtils.setAppTheme(application)
-
+        StartupTask("networkConnectionMonitor", MAIN) { networkConnectionMonitor.start(application) },
+        StartupTask("analytics", MAIN) { initAnalytics(SystemClock.elapsedRealtime() - startDate) },
+        // The channels are created before Application.onCreate() returns, as a push notification starting the app
+        // can be posted right after it
+        StartupTask("notificationChannels", MAIN) { updateNotificationSettings() },
+        StartupTask("appTheme", MAIN) {
+            // Allows vector drawable from resources (in selectors for instance) on Android < 21 (can cause issues
+            // with memory usage and the use of Configuration). More information: http://bit.ly/2H1KTQo
+            // Note: if removed, this will cause crashes on Android < 21
+            AppCompatDelegate.setCompatVectorFromResourcesEnabled(true)
+            AppThemeUtils.setAppTheme(application)
+        },
         // verify media is sanitized
-        sanitizeMediaUploadStateForSite()
-
+        StartupTask("sanitizeMediaUploadState", BACKGROUND, dependsOn = listOf("wpDb")) {
+            sanitizeMediaUploadStateForSite()
+        },
         // remove expired lists
-        dispatcher.dispatch(ListActionBuilder.newRemoveExpiredListsAction(RemoveExpiredListsPayload()))
-
-
-        if (!initialized) {
-            initWorkManager()
-        }
-
+        StartupTask("removeExpiredLists", MAIN) {
+            dispatcher.dispatch(ListActionBuilder.newRemoveExpiredListsAction(RemoveExpiredListsPayload()))
+        },
+        StartupTask("workManager", MAIN) { initWorkManager() }.takeIf { !initialized },
         // Enqueue our periodic upload work request. The UploadWorkRequest will be called even if the app is closed.
         // It will upload local draft or published posts with local changes to the server.
-        enqueuePeriodicUploadWorkRequestForAllSites()
-
-        systemNotificationsTracker.checkSystemNotificationsState()
-        ImageEditorInitializer.init(imageManager, imageEditorTracker, imageEditorFileUtils, appScope)
-
-        initDebugCookieManager()
-
-        if (!initialized && BuildConfig.DEBUG && Build.VERSION.SDK_INT >= VERSION_CODES.R) {
-            initAppOpsManager()
-        }
-
-        initialized = true
-    }
+        StartupTask(
+            "periodicUploadWork",
+            DEFERRED,
+            dependsOn = if (!initialized) listOf("workManager") else emptyList()
+        ) { enqueuePeriodicUploadWorkRequestForAllSites() },
+        StartupTask("systemNotificationsState", DEFERRED, dependsOn = listOf("analytics")) {
+            systemNotificationsTracker.checkSystemNotificationsState()
+        },
+        StartupTask("imageEditor", BACKGROUND) {
+            ImageEditorInitializer.init(imageManager, imageEditorTracker, imageEditorFileUtils, appScope)
+        },
+        StartupTask("debugCookieManager", DEFERRED) { initDebugCookieManager() },
+        StartupTask("appOpsManager", MAIN) {
+            if (Build.VERSION.SDK_INT >= VERSION_CODES.R) {
+                initAppOpsManager()
+            }
+        }.takeIf { !initialized && BuildConfig.DEBUG }
+    )
 
     private fun initDebugCookieManager() {
         if (buildConfig.isDebugSettingsEnabled()) {
@@ -386,23 +421,17 @@ class AppInitializer @Inject constructor(
         }
     }
 
-    // Zendesk SDK init does enough work to trip the ANR threshold on slow devices
-    // when called from Application.onCreate(). The Help screen is the only entry
-    // point that needs Zendesk and is gated by user navigation, so deferring init
-    // to a background coroutine is safe in practice.
     @Suppress("TooGenericExceptionCaught")
-    private fun initZendeskAsync() {
-        appScope.launch(Dispatchers.IO) {
-            try {
-                zendeskHelper.setupZendesk(
-                    application,
-                    BuildConfig.ZENDESK_DOMAIN,
-                    BuildConfig.ZENDESK_APP_ID,
-                    BuildConfig.ZENDESK_OAUTH_CLIENT_ID
-                )
-            } catch (e: Exception) {
-                AppLog.e(T.SUPPORT, "Failed to initialize Zendesk SDK", e)
-            }
+    private fun initZendesk() {
+        try {
+            zendeskHelper.setupZendesk(
+                application,
+                BuildConfig.ZENDESK_DOMAIN,
+                BuildConfig.ZENDESK_APP_ID,
+                BuildConfig.ZENDESK_OAUTH_CLIENT_ID
+            )
+        } catch (e: Exception) {
+            AppLog.e(T.SUPPORT, "Failed to initialize Zendesk SDK", e)
         }
     }
 
@@ -459,9 +488,7 @@ class AppInitializer @Inject constructor(
         val selectedSiteLocalId: Int = selectedSiteRepository.getSelectedSiteLocalId(true)
         val site = siteStore.getSiteByLocalId(selectedSiteLocalId)
         site?.let {
-            Thread {
-                UploadService.sanitizeMediaUploadStateForSite(mediaStore, dispatcher, site)
-            }.start()
+            UploadService.sanitizeMediaUploadStateForSite(mediaStore, dispatcher, site)
         }
     }
 
@@ -22,7 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 public class WordPressDB {
-    private static final int DATABASE_VERSION = 71;
+    private static final int DATABASE_VERSION = 72;
 
 
     // Warning renaming DATABASE_NAME could break previous App backups (see: xml/backup_scheme.xml)
@@ -190,6 +190,12 @@ public class WordPressDB {
             case 70:
                 // add third-party blocks site setting
                 mDb.execSQL(SiteSettingsModel.ADD_USE_THIRD_PARTY_BLOCKS);
+            case 71:
+                // store the unread state of notifications so the list can be loaded without parsing them - new
+                // installs have just created the table with the column
+                if (!isNewInstall) {
+                    NotificationsTable.addUnreadColumn(mDb);
+                }
         }
         mDb.setVersion(DATABASE_VERSION);
     }
@@ -1,5 +1,6 @@
 package org.wordpress.android.datasets;
 
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
@@ -34,18 +35,14 @@ public class BlockedAuthorTable {
 
             stmt.bindString(1, Long.toString(authorId));
             stmt.execute();
+            ReaderBlocklistIndex.onAuthorBlocked(authorId);
         } finally {
             SqlUtils.closeStatement(stmt);
         }
     }
 
     public static boolean isBlockedAuthor(long authorId) {
-        if (authorId == 0) {
-            return false;
-        }
-        return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT count(*) FROM " + BLOCKED_AUTHORS_TABLE + " WHERE " + AUTHOR_ID + "=?",
-                new String[]{Long.toString(authorId)}) > 0;
+        return ReaderBlocklistIndex.isBlockedAuthor(authorId);
     }
 
     public static void removeBlockedAuthor(long authorId) {
@@ -54,6 +51,25 @@ public class BlockedAuthorTable {
         }
         String[] args = new String[]{Long.toString(authorId)};
         ReaderDatabase.getWritableDb().delete(BLOCKED_AUTHORS_TABLE, AUTHOR_ID + "=?", args);
+        ReaderBlocklistIndex.onAuthorUnblocked(authorId);
+    }
+
+    /*
+     * returns the ids of all blocked authors - used to load ReaderBlocklistIndex
+     */
+    static long[] getBlockedAuthorIds() {
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT " + AUTHOR_ID + " FROM " + BLOCKED_AUTHORS_TABLE, null);
+        try {
+            long[] ids = new long[c.getCount()];
+            int i = 0;
+            while (c.moveToNext()) {
+                ids[i++] = c.getLong(0);
+            }
+            return ids;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
     }
 
     public static void blacklistAuthorLocally(long authorId) {
@@ -15,6 +15,7 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,10 +35,6 @@ public class NotificationsTable {
             "\"type\":\"stat\"",
             Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
 
-    private static final Pattern REWIND_DOWNLOAD_READY_ATTR_PATTERN = Pattern.compile(
-            "\"type\":\"rewind_download_ready\"",
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
-
     private static final String REWIND_DOWNLOAD_READY_ATTR_SUBSTR = "\"type\":\"rewind_download_ready\"";
 
     public static void createTables(SQLiteDatabase db) {
@@ -47,8 +44,18 @@ public class NotificationsTable {
                    + "type TEXT,"
                    + "raw_note_data TEXT,"
                    + "timestamp INTEGER,"
+                   + "is_unread INTEGER,"
                    + " UNIQUE (note_id) ON CONFLICT REPLACE"
                    + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_timestamp ON " + NOTIFICATIONS_TABLE + "(timestamp)");
+    }
+
+    /*
+     * stores whether each note is unread alongside its type and timestamp, so the note list doesn't have to parse the
+     * notes to filter them - rows saved before the column existed have a null value and are parsed as before
+     */
+    public static void addUnreadColumn(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE " + NOTIFICATIONS_TABLE + " ADD COLUMN is_unread INTEGER");
     }
 
     private static void dropTables(SQLiteDatabase db) {
@@ -59,18 +66,28 @@ public class NotificationsTable {
         return getLatestNotes(NOTES_TO_RETRIEVE);
     }
 
+    /*
+     * the notes are built from their stored type, timestamp and unread state, and their JSON is only parsed once
+     * something else is read from them - usually when they're shown
+     */
     public static ArrayList<Note> getLatestNotes(int limit) {
-        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "raw_note_data"},
+        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE,
+                                      new String[]{"note_id", "raw_note_data", "type", "timestamp", "is_unread"},
                                       null, null, null, null, "timestamp DESC", "" + limit);
         ArrayList<Note> notes = new ArrayList<Note>();
         while (cursor.moveToNext()) {
             String noteId = cursor.getString(0);
             String rawNoteData = cursor.getString(1);
-            try {
-                Note note = new Note(noteId, new JSONObject(rawNoteData));
-                notes.add(note);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+            if (cursor.isNull(4)) {
+                try {
+                    notes.add(new Note(noteId, new JSONObject(rawNoteData)));
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+                }
+            } else {
+                Note.Summary summary = new Note.Summary(StringUtils.notNullStr(cursor.getString(2)),
+                        cursor.getLong(3), cursor.getInt(4) != 0);
+                notes.add(new Note(noteId, rawNoteData, summary));
             }
         }
         cursor.close();
@@ -83,6 +100,7 @@ public class NotificationsTable {
         ContentValues values = new ContentValues();
         values.put("type", note.getRawType());
         values.put("timestamp", note.getTimestamp());
+        values.put("is_unread", note.isUnread());
         values.put("raw_note_data", rawNote);
 
         long result;
@@ -116,8 +134,7 @@ public class NotificationsTable {
      * @return
      */
     private static String prepareNote(String noteId, String noteSrc) {
-        final Matcher typeMatcher = REWIND_DOWNLOAD_READY_ATTR_PATTERN.matcher(noteSrc);
-        if (typeMatcher.find()) {
+        if (containsRewindDownloadReadyAttr(noteSrc)) {
             AppLog.d(AppLog.T.DB, "Substituting " + REWIND_DOWNLOAD_READY_ATTR_SUBSTR + " in NoteID: " + noteId);
             final Matcher matcher = STAT_ATTR_PATTERN.matcher(noteSrc);
             noteSrc = matcher.replaceAll(REWIND_DOWNLOAD_READY_ATTR_SUBSTR);
@@ -125,6 +142,22 @@ public class NotificationsTable {
         return noteSrc;
     }
 
+    /*
+     * case insensitive search for REWIND_DOWNLOAD_READY_ATTR_SUBSTR which only compares the attribute at each quote,
+     * rather than running a case insensitive pattern over the whole note every time a note is saved
+     */
+    private static boolean containsRewindDownloadReadyAttr(String noteSrc) {
+        int length = REWIND_DOWNLOAD_READY_ATTR_SUBSTR.length();
+        int index = noteSrc.indexOf('"');
+        while (index != -1 && index + length <= noteSrc.length()) {
+            if (noteSrc.regionMatches(true, index, REWIND_DOWNLOAD_READY_ATTR_SUBSTR, 0, length)) {
+                return true;
+            }
+            index = noteSrc.indexOf('"', index + 1);
+        }
+        return false;
+    }
+
     public static void saveNotes(@NonNull List<Note> notes, boolean clearBeforeSaving) {
         getDb().beginTransaction();
         try {
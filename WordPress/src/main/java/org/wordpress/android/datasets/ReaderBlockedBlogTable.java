@@ -1,5 +1,6 @@
 package org.wordpress.android.datasets;
 
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
@@ -34,18 +35,14 @@ public class ReaderBlockedBlogTable {
 
             stmt.bindString(1, Long.toString(blogId));
             stmt.execute();
+            ReaderBlocklistIndex.onBlogBlocked(blogId);
         } finally {
             SqlUtils.closeStatement(stmt);
         }
     }
 
     public static boolean isBlockedBlog(long blogId) {
-        if (blogId == 0) {
-            return false;
-        }
-        return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT count(*) FROM " + BLOCKED_BLOGS_TABLE + " WHERE " + BLOG_ID + "=?",
-                new String[]{Long.toString(blogId)}) > 0;
+        return ReaderBlocklistIndex.isBlockedBlog(blogId);
     }
 
     public static void removeBlockedBlog(long blogId) {
@@ -54,6 +51,25 @@ public class ReaderBlockedBlogTable {
         }
         String[] args = new String[]{Long.toString(blogId)};
         ReaderDatabase.getWritableDb().delete(BLOCKED_BLOGS_TABLE, BLOG_ID + "=?", args);
+        ReaderBlocklistIndex.onBlogUnblocked(blogId);
+    }
+
+    /*
+     * returns the ids of all blocked blogs - used to load ReaderBlocklistIndex
+     */
+    static long[] getBlockedBlogIds() {
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT " + BLOG_ID + " FROM " + BLOCKED_BLOGS_TABLE, null);
+        try {
+            long[] ids = new long[c.getCount()];
+            int i = 0;
+            while (c.moveToNext()) {
+                ids[i++] = c.getLong(0);
+            }
+            return ids;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
     }
 
     public static void blacklistBlogLocally(long blogId) {
@@ -0,0 +1,162 @@
+package org.wordpress.android.datasets;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.wordpress.android.models.ReaderPost;
+
+import java.util.Arrays;
+
+/**
+ * process-wide in-memory index of blocked author and blog ids, used so post ingestion and
+ * filtering can skip blocked content without querying tbl_blocked_authors/tbl_blocked_blogs
+ * for every post. The index is loaded from both tables on first use and kept up to date by
+ * the add/remove methods in BlockedAuthorTable and ReaderBlockedBlogTable.
+ * <p>
+ * Ids are held in sorted primitive arrays which are replaced (never mutated) on change, so
+ * lookups are lock-free and don't box.
+ */
+public final class ReaderBlocklistIndex {
+    private static final long[] EMPTY = new long[0];
+    private static final Object LOCK = new Object();
+
+    // null until loaded
+    private static volatile long[] sBlockedAuthorIds;
+    private static volatile long[] sBlockedBlogIds;
+
+    private ReaderBlocklistIndex() {
+        throw new AssertionError();
+    }
+
+    public static boolean isBlockedAuthor(long authorId) {
+        if (authorId == 0) {
+            return false;
+        }
+        long[] ids = sBlockedAuthorIds;
+        if (ids == null) {
+            ids = load()[0];
+        }
+        return Arrays.binarySearch(ids, authorId) >= 0;
+    }
+
+    public static boolean isBlockedBlog(long blogId) {
+        if (blogId == 0) {
+            return false;
+        }
+        long[] ids = sBlockedBlogIds;
+        if (ids == null) {
+            ids = load()[1];
+        }
+        return Arrays.binarySearch(ids, blogId) >= 0;
+    }
+
+    /*
+     * returns true if the post was written by a blocked author or belongs to a blocked blog
+     */
+    public static boolean isBlocked(@Nullable ReaderPost post) {
+        return post != null && (isBlockedAuthor(post.authorId) || isBlockedBlog(post.blogId));
+    }
+
+    static void onAuthorBlocked(long authorId) {
+        synchronized (LOCK) {
+            if (sBlockedAuthorIds != null) {
+                sBlockedAuthorIds = withId(sBlockedAuthorIds, authorId);
+            }
+        }
+    }
+
+    static void onAuthorUnblocked(long authorId) {
+        synchronized (LOCK) {
+            if (sBlockedAuthorIds != null) {
+                sBlockedAuthorIds = withoutId(sBlockedAuthorIds, authorId);
+            }
+        }
+    }
+
+    static void onBlogBlocked(long blogId) {
+        synchronized (LOCK) {
+            if (sBlockedBlogIds != null) {
+                sBlockedBlogIds = withId(sBlockedBlogIds, blogId);
+            }
+        }
+    }
+
+    static void onBlogUnblocked(long blogId) {
+        synchronized (LOCK) {
+            if (sBlockedBlogIds != null) {
+                sBlockedBlogIds = withoutId(sBlockedBlogIds, blogId);
+            }
+        }
+    }
+
+    /*
+     * drops the index so it's reloaded from the db on next use - called when the reader db is reset
+     */
+    static void invalidate() {
+        synchronized (LOCK) {
+            sBlockedAuthorIds = null;
+            sBlockedBlogIds = null;
+        }
+    }
+
+    /*
+     * replaces the index with the passed ids, as if they had been loaded from the db
+     */
+    @VisibleForTesting
+    static void setUpForTesting(@Nullable long[] blockedAuthorIds, @Nullable long[] blockedBlogIds) {
+        synchronized (LOCK) {
+            sBlockedAuthorIds = sorted(blockedAuthorIds);
+            sBlockedBlogIds = sorted(blockedBlogIds);
+        }
+    }
+
+    private static long[][] load() {
+        synchronized (LOCK) {
+            if (sBlockedAuthorIds == null || sBlockedBlogIds == null) {
+                sBlockedAuthorIds = sorted(BlockedAuthorTable.getBlockedAuthorIds());
+                sBlockedBlogIds = sorted(ReaderBlockedBlogTable.getBlockedBlogIds());
+            }
+            return new long[][]{sBlockedAuthorIds, sBlockedBlogIds};
+        }
+    }
+
+    @NonNull
+    static long[] sorted(@Nullable long[] ids) {
+        if (ids == null || ids.length == 0) {
+            return EMPTY;
+        }
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @NonNull
+    static long[] withId(@NonNull long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -(index + 1);
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    @NonNull
+    static long[] withoutId(@NonNull long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return EMPTY;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+}
@@ -11,7 +11,10 @@ import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.models.ReaderTagList;
 import org.wordpress.android.models.ReaderTagType;
 import org.wordpress.android.ui.reader.repository.ReaderRepositoryEvent.ReaderPostTableActionEnded;
+import org.wordpress.android.ui.reader.utils.ReaderPostHtmlCache;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.DateTimeUtils;
@@ -29,7 +32,7 @@ import java.util.Locale;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 156;
+    private static final int DB_VERSION = 157;
     private static final int DB_LAST_VERSION_WITHOUT_MIGRATION_SCRIPT = 136; // do not change this value
 
     /*
@@ -119,6 +122,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      * 154 - added tbl_blocked_authors table
      * 155 - added tbl_blocked_blogs table
      * 156 - dropped tbl_discover_cards (Reader Discover legacy code removed)
+     * 157 - moved text, excerpt and json columns from tbl_posts to tbl_post_content
      */
 
     /*
@@ -288,6 +292,9 @@ public class ReaderDatabase extends SQLiteOpenHelper {
             case 155:
                 db.execSQL("DROP TABLE IF EXISTS tbl_discover_cards;");
                 currentVersion++;
+            case 156:
+                ReaderPostTable.migrateToPostContentTable(db);
+                currentVersion++;
         }
         if (currentVersion != newVersion) {
             throw new RuntimeException(
@@ -342,6 +349,8 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         } finally {
             db.endTransaction();
         }
+        ReaderBlocklistIndex.invalidate();
+        ReaderPostHtmlCache.clear();
     }
 
     /*
@@ -353,6 +362,13 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         try {
             int numPostsDeleted = ReaderPostTable.purge(db);
 
+            // purge post content that's no longer referenced by any post - this runs even if no posts
+            // were purged above since posts are also deleted outside of purge (ex: when a blog is blocked)
+            int numContentPurged = ReaderPostTable.purgeUnattachedContent(db);
+            if (numContentPurged > 0) {
+                AppLog.i(T.READER, String.format(Locale.ENGLISH, "%d post contents purged", numContentPurged));
+            }
+
             // don't bother purging other data unless posts were purged
             if (numPostsDeleted > 0) {
                 AppLog.i(T.READER, String.format(Locale.ENGLISH, "%d total posts purged", numPostsDeleted));
@@ -385,12 +401,13 @@ public class ReaderDatabase extends SQLiteOpenHelper {
     }
 
     public static void purgeAsync() {
-        new Thread() {
+        // coalesced since there's no point purging more than once if this is called repeatedly
+        ReaderWorkScheduler.submit(Lane.DB, "purge", null, new Runnable() {
             @Override
             public void run() {
                 purge();
             }
-        }.start();
+        });
     }
 
     /*
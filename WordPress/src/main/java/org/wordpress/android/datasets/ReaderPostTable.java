@@ -9,6 +9,7 @@ import android.util.Pair;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import org.greenrobot.eventbus.EventBus;
 import org.wordpress.android.R;
@@ -39,9 +40,14 @@ import java.util.Objects;
  * which allows the same post to appear in multiple streams (ex: it can exist in followed
  * sites, liked posts, and tag streams). note that posts in a specific blog or feed are
  * stored here with an empty tag_name.
+ * <p>
+ * since the same post can be stored many times, its heavy columns (text, excerpt and the json
+ * blobs) are stored once per blog_id + post_id in tbl_post_content, which is joined back in
+ * when posts are read and purged once no row in tbl_posts refers to it.
  */
 public class ReaderPostTable {
-    private static final String COLUMN_NAMES =
+    @VisibleForTesting
+    static final String COLUMN_NAMES =
             "post_id," // 1
             + "blog_id," // 2
             + "feed_id," // 3
@@ -51,50 +57,58 @@ public class ReaderPostTable {
             + "author_first_name," // 7
             + "author_id," // 8
             + "title," // 9
-            + "text," // 10
-            + "excerpt," // 11
-            + "format," // 12
-            + "url," // 13
-            + "short_url," // 14
-            + "blog_name," // 15
-            + "blog_url," // 16
-            + "blog_image_url," // 17
-            + "featured_image," // 18
-            + "featured_video," // 19
-            + "post_avatar," // 20
-            + "score," // 21
-            + "date_published," // 22
-            + "date_liked," // 23
-            + "date_tagged," // 24
-            + "num_replies," // 25
-            + "num_likes," // 26
-            + "is_liked," // 27
-            + "is_followed," // 28
-            + "is_comments_open," // 29
-            + "is_external," // 30
-            + "is_private," // 31
-            + "is_videopress," // 32
-            + "is_jetpack," // 33
-            + "primary_tag," // 34
-            + "secondary_tag," // 35
-            + "attachments_json," // 36
-            + "discover_json," // 37
-            + "xpost_post_id," // 38
-            + "xpost_blog_id," // 39
-            + "railcar_json," // 40
-            + "tag_name," // 41
-            + "tag_type," // 42
-            + "has_gap_marker," // 43
-            + "card_type," // 44
-            + "use_excerpt," // 45
-            + "is_bookmarked," // 46
-            + "is_private_atomic," // 47
-            + "tags," // 48
-            + "organization_id," // 49
-            + "is_seen," // 50
-            + "is_seen_supported," // 51
-            + "author_blog_id," // 52
-            + "author_blog_url"; // 53
+            + "format," // 10
+            + "url," // 11
+            + "short_url," // 12
+            + "blog_name," // 13
+            + "blog_url," // 14
+            + "blog_image_url," // 15
+            + "featured_image," // 16
+            + "featured_video," // 17
+            + "post_avatar," // 18
+            + "score," // 19
+            + "date_published," // 20
+            + "date_liked," // 21
+            + "date_tagged," // 22
+            + "num_replies," // 23
+            + "num_likes," // 24
+            + "is_liked," // 25
+            + "is_followed," // 26
+            + "is_comments_open," // 27
+            + "is_external," // 28
+            + "is_private," // 29
+            + "is_videopress," // 30
+            + "is_jetpack," // 31
+            + "primary_tag," // 32
+            + "secondary_tag," // 33
+            + "xpost_post_id," // 34
+            + "xpost_blog_id," // 35
+            + "tag_name," // 36
+            + "tag_type," // 37
+            + "has_gap_marker," // 38
+            + "card_type," // 39
+            + "use_excerpt," // 40
+            + "is_bookmarked," // 41
+            + "is_private_atomic," // 42
+            + "tags," // 43
+            + "organization_id," // 44
+            + "is_seen," // 45
+            + "is_seen_supported," // 46
+            + "author_blog_id," // 47
+            + "author_blog_url"; // 48
+
+    private static final String CONTENT_COLUMN_NAMES =
+            "blog_id," // 1
+            + "post_id," // 2
+            + "text," // 3
+            + "excerpt," // 4
+            + "attachments_json," // 5
+            + "discover_json," // 6
+            + "railcar_json"; // 7
+
+    // used when reading posts so the columns in tbl_post_content are returned with their post
+    private static final String POSTS_WITH_CONTENT =
+            "tbl_posts LEFT JOIN tbl_post_content USING (blog_id, post_id)";
 
     // used when querying multiple rows and skipping text column
     private static final String COLUMN_NAMES_NO_TEXT =
@@ -152,6 +166,11 @@ public class ReaderPostTable {
             + "author_blog_url"; // 52
 
     protected static void createTables(SQLiteDatabase db) {
+        createPostsTable(db);
+        createPostContentTable(db);
+    }
+
+    private static void createPostsTable(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE tbl_posts ("
                    + " post_id INTEGER DEFAULT 0,"
                    + " blog_id INTEGER DEFAULT 0,"
@@ -162,8 +181,6 @@ public class ReaderPostTable {
                    + " author_first_name TEXT,"
                    + " author_id INTEGER DEFAULT 0,"
                    + " title  TEXT,"
-                   + " text TEXT,"
-                   + " excerpt TEXT,"
                    + " format TEXT,"
                    + " url TEXT,"
                    + " short_url TEXT,"
@@ -188,11 +205,8 @@ public class ReaderPostTable {
                    + " is_jetpack INTEGER DEFAULT 0,"
                    + " primary_tag TEXT,"
                    + " secondary_tag TEXT,"
-                   + " attachments_json TEXT,"
-                   + " discover_json TEXT,"
                    + " xpost_post_id INTEGER DEFAULT 0,"
                    + " xpost_blog_id INTEGER DEFAULT 0,"
-                   + " railcar_json TEXT,"
                    + " tag_name TEXT NOT NULL COLLATE NOCASE,"
                    + " tag_type INTEGER DEFAULT 0,"
                    + " has_gap_marker INTEGER DEFAULT 0,"
@@ -215,8 +229,94 @@ public class ReaderPostTable {
         db.execSQL("CREATE INDEX idx_posts_tag_name ON tbl_posts(tag_name)");
     }
 
+    private static void createPostContentTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_post_content ("
+                   + " blog_id INTEGER DEFAULT 0,"
+                   + " post_id INTEGER DEFAULT 0,"
+                   + " text TEXT,"
+                   + " excerpt TEXT,"
+                   + " attachments_json TEXT,"
+                   + " discover_json TEXT,"
+                   + " railcar_json TEXT,"
+                   + " PRIMARY KEY (blog_id, post_id)"
+                   + ")");
+    }
+
     protected static void dropTables(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS tbl_posts");
+        db.execSQL("DROP TABLE IF EXISTS tbl_post_content");
+    }
+
+    /*
+     * moves the heavy columns of tbl_posts into tbl_post_content (one row per blog_id + post_id) and
+     * rebuilds tbl_posts without them - called when upgrading the reader db to version 157
+     */
+    protected static void migrateToPostContentTable(SQLiteDatabase db) {
+        createPostContentTable(db);
+        db.execSQL("INSERT OR REPLACE INTO tbl_post_content (" + CONTENT_COLUMN_NAMES + ")"
+                   + " SELECT " + CONTENT_COLUMN_NAMES + " FROM tbl_posts");
+
+        // indexes keep their names when a table is renamed, so drop them before recreating tbl_posts
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_post_id_blog_id");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_date_published");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_date_tagged");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_tag_name");
+        db.execSQL("ALTER TABLE tbl_posts RENAME TO tbl_posts_old");
+        createPostsTable(db);
+        db.execSQL("INSERT INTO tbl_posts (" + COLUMN_NAMES + ")"
+                   + " SELECT " + COLUMN_NAMES + " FROM tbl_posts_old");
+        db.execSQL("DROP TABLE tbl_posts_old");
+    }
+
+    /*
+     * writes the content of posts to tbl_post_content - content is shared by every stream the post appears in, so
+     * a post that was loaded without its text updates the other columns but keeps the text stored for it
+     */
+    static class PostContentWriter {
+        private final SQLiteStatement mStmtReplace;
+        private final SQLiteStatement mStmtUpdateNoText;
+        private final SQLiteStatement mStmtInsertNoText;
+
+        PostContentWriter(SQLiteDatabase db) {
+            String values = " (" + CONTENT_COLUMN_NAMES + ") VALUES (?1,?2,?3,?4,?5,?6,?7)";
+            mStmtReplace = db.compileStatement("INSERT OR REPLACE INTO tbl_post_content" + values);
+            // uses the same parameters as the inserts, leaving out the text (?3)
+            mStmtUpdateNoText = db.compileStatement("UPDATE tbl_post_content"
+                    + " SET excerpt=?4, attachments_json=?5, discover_json=?6, railcar_json=?7"
+                    + " WHERE blog_id=?1 AND post_id=?2");
+            mStmtInsertNoText = db.compileStatement("INSERT OR IGNORE INTO tbl_post_content" + values);
+        }
+
+        void write(@NonNull ReaderPost post) {
+            if (post.hasText()) {
+                bindContent(mStmtReplace, post, maxText(post));
+                mStmtReplace.execute();
+                return;
+            }
+
+            bindContent(mStmtUpdateNoText, post, "");
+            if (mStmtUpdateNoText.executeUpdateDelete() == 0) {
+                bindContent(mStmtInsertNoText, post, "");
+                mStmtInsertNoText.execute();
+            }
+        }
+
+        void close() {
+            SqlUtils.closeStatement(mStmtReplace);
+            SqlUtils.closeStatement(mStmtUpdateNoText);
+            SqlUtils.closeStatement(mStmtInsertNoText);
+        }
+
+        private static void bindContent(@NonNull SQLiteStatement stmt, @NonNull ReaderPost post,
+                                        @NonNull String text) {
+            stmt.bindLong(1, post.blogId);
+            stmt.bindLong(2, post.postId);
+            stmt.bindString(3, text);
+            stmt.bindString(4, post.getExcerpt());
+            stmt.bindString(5, post.getAttachmentsJson());
+            stmt.bindString(6, post.getDiscoverJson());
+            stmt.bindString(7, post.getRailcarJson());
+        }
     }
 
     protected static void reset(SQLiteDatabase db) {
@@ -245,6 +345,16 @@ public class ReaderPostTable {
         return numDeleted;
     }
 
+    /*
+     * delete content that's no longer referenced by any post - like purge(), this is only called
+     * from ReaderDatabase.purge() which already creates a transaction
+     */
+    protected static int purgeUnattachedContent(SQLiteDatabase db) {
+        return db.delete("tbl_post_content",
+                "NOT EXISTS (SELECT 1 FROM tbl_posts WHERE tbl_posts.post_id=tbl_post_content.post_id"
+                + " AND tbl_posts.blog_id=tbl_post_content.blog_id)", null);
+    }
+
     /**
      * When the user unbookmarks a post, we keep the row in the database, but we just change the is_bookmarked flag
      * to false, so we can show "undo" items in the saved posts list. This method purges database from such rows.
@@ -329,8 +439,6 @@ public class ReaderPostTable {
         // necessary because a post can exist multiple times in the table with different tags
         ContentValues values = new ContentValues();
         values.put("title", post.getTitle());
-        values.put("text", post.getText());
-        values.put("excerpt", post.getExcerpt());
         values.put("num_replies", post.numReplies);
         values.put("num_likes", post.numLikes);
         values.put("is_liked", post.isLikedByCurrentUser);
@@ -372,7 +480,7 @@ public class ReaderPostTable {
     @Nullable
     private static ReaderPost getPost(String where, String[] args, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE " + where + " LIMIT 1";
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_CONTENT + " WHERE " + where + " LIMIT 1";
 
         Cursor c = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
@@ -395,7 +503,7 @@ public class ReaderPostTable {
     public static String getPostText(long blogId, long postId) {
         String[] args = {Long.toString(blogId), Long.toString(postId)};
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT text FROM tbl_posts WHERE blog_id=? AND post_id=?",
+                "SELECT text FROM tbl_post_content WHERE blog_id=? AND post_id=?",
                 args);
     }
 
@@ -449,7 +557,7 @@ public class ReaderPostTable {
             args[argIdx++] = Long.toString(post.postId);
         }
 
-        String sql = "SELECT " + COLUMN_NAMES_NO_TEXT + " FROM tbl_posts WHERE " + where;
+        String sql = "SELECT " + COLUMN_NAMES_NO_TEXT + " FROM " + POSTS_WITH_CONTENT + " WHERE " + where;
         Cursor c = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
             while (c.moveToNext()) {
@@ -909,8 +1017,8 @@ public class ReaderPostTable {
                 "INSERT OR REPLACE INTO tbl_posts ("
                 + COLUMN_NAMES
                 + ") VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11,?12,?13,?14,?15,?16,?17,?18,?19,?20,?21,?22,?23,?24,"
-                + "?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43,?44, ?45, ?46, ?47,"
-                + "?48,?49,?50,?51,?52,?53)");
+                + "?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43,?44,?45,?46,?47,?48)");
+        PostContentWriter contentWriter = new PostContentWriter(db);
 
         db.beginTransaction();
         try {
@@ -921,8 +1029,7 @@ public class ReaderPostTable {
 
             for (ReaderPost post : posts) {
                 // Skip blocked content
-                if (BlockedAuthorTable.isBlockedAuthor(post)) continue;
-                if (ReaderBlockedBlogTable.isBlockedBlog(post)) continue;
+                if (ReaderBlocklistIndex.isBlocked(post)) continue;
 
                 // keep the gapMarker flag
                 boolean hasGapMarker = postWithGapMarker != null && postWithGapMarker.getPostId() == post.postId
@@ -936,51 +1043,48 @@ public class ReaderPostTable {
                 stmtPosts.bindString(7, post.getAuthorFirstName());
                 stmtPosts.bindLong(8, post.authorId);
                 stmtPosts.bindString(9, post.getTitle());
-                stmtPosts.bindString(10, maxText(post));
-                stmtPosts.bindString(11, post.getExcerpt());
-                stmtPosts.bindString(12, post.getFormat());
-                stmtPosts.bindString(13, post.getUrl());
-                stmtPosts.bindString(14, post.getShortUrl());
-                stmtPosts.bindString(15, post.getBlogName());
-                stmtPosts.bindString(16, post.getBlogUrl());
-                stmtPosts.bindString(17, post.getBlogImageUrl());
-                stmtPosts.bindString(18, post.getFeaturedImage());
-                stmtPosts.bindString(19, post.getFeaturedVideo());
-                stmtPosts.bindString(20, post.getPostAvatar());
-                stmtPosts.bindDouble(21, post.score);
-                stmtPosts.bindString(22, post.getDatePublished());
-                stmtPosts.bindString(23, post.getDateLiked());
-                stmtPosts.bindString(24, post.getDateTagged());
-                stmtPosts.bindLong(25, post.numReplies);
-                stmtPosts.bindLong(26, post.numLikes);
-                stmtPosts.bindLong(27, SqlUtils.boolToSql(post.isLikedByCurrentUser));
-                stmtPosts.bindLong(28, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
-                stmtPosts.bindLong(29, SqlUtils.boolToSql(post.isCommentsOpen));
-                stmtPosts.bindLong(30, SqlUtils.boolToSql(post.isExternal));
-                stmtPosts.bindLong(31, SqlUtils.boolToSql(post.isPrivate));
-                stmtPosts.bindLong(32, SqlUtils.boolToSql(post.isVideoPress));
-                stmtPosts.bindLong(33, SqlUtils.boolToSql(post.isJetpack));
-                stmtPosts.bindString(34, post.getPrimaryTag());
-                stmtPosts.bindString(35, post.getSecondaryTag());
-                stmtPosts.bindString(36, post.getAttachmentsJson());
-                stmtPosts.bindString(37, post.getDiscoverJson());
-                stmtPosts.bindLong(38, post.xpostPostId);
-                stmtPosts.bindLong(39, post.xpostBlogId);
-                stmtPosts.bindString(40, post.getRailcarJson());
-                stmtPosts.bindString(41, tagName);
-                stmtPosts.bindLong(42, tagType);
-                stmtPosts.bindLong(43, SqlUtils.boolToSql(hasGapMarker));
-                stmtPosts.bindString(44, ReaderCardType.toString(post.getCardType()));
-                stmtPosts.bindLong(45, SqlUtils.boolToSql(post.useExcerpt));
-                stmtPosts.bindLong(46, SqlUtils.boolToSql(post.isBookmarked));
-                stmtPosts.bindLong(47, SqlUtils.boolToSql(post.isPrivateAtomic));
-                stmtPosts.bindString(48, ReaderUtils.getCommaSeparatedTagSlugs(post.getTags()));
-                stmtPosts.bindLong(49, post.organizationId);
-                stmtPosts.bindLong(50, SqlUtils.boolToSql(post.isSeen));
-                stmtPosts.bindLong(51, SqlUtils.boolToSql(post.isSeenSupported));
-                stmtPosts.bindLong(52, post.authorBlogId);
-                stmtPosts.bindString(53, post.getAuthorBlogUrl());
+                stmtPosts.bindString(10, post.getFormat());
+                stmtPosts.bindString(11, post.getUrl());
+                stmtPosts.bindString(12, post.getShortUrl());
+                stmtPosts.bindString(13, post.getBlogName());
+                stmtPosts.bindString(14, post.getBlogUrl());
+                stmtPosts.bindString(15, post.getBlogImageUrl());
+                stmtPosts.bindString(16, post.getFeaturedImage());
+                stmtPosts.bindString(17, post.getFeaturedVideo());
+                stmtPosts.bindString(18, post.getPostAvatar());
+                stmtPosts.bindDouble(19, post.score);
+                stmtPosts.bindString(20, post.getDatePublished());
+                stmtPosts.bindString(21, post.getDateLiked());
+                stmtPosts.bindString(22, post.getDateTagged());
+                stmtPosts.bindLong(23, post.numReplies);
+                stmtPosts.bindLong(24, post.numLikes);
+                stmtPosts.bindLong(25, SqlUtils.boolToSql(post.isLikedByCurrentUser));
+                stmtPosts.bindLong(26, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
+                stmtPosts.bindLong(27, SqlUtils.boolToSql(post.isCommentsOpen));
+                stmtPosts.bindLong(28, SqlUtils.boolToSql(post.isExternal));
+                stmtPosts.bindLong(29, SqlUtils.boolToSql(post.isPrivate));
+                stmtPosts.bindLong(30, SqlUtils.boolToSql(post.isVideoPress));
+                stmtPosts.bindLong(31, SqlUtils.boolToSql(post.isJetpack));
+                stmtPosts.bindString(32, post.getPrimaryTag());
+                stmtPosts.bindString(33, post.getSecondaryTag());
+                stmtPosts.bindLong(34, post.xpostPostId);
+                stmtPosts.bindLong(35, post.xpostBlogId);
+                stmtPosts.bindString(36, tagName);
+                stmtPosts.bindLong(37, tagType);
+                stmtPosts.bindLong(38, SqlUtils.boolToSql(hasGapMarker));
+                stmtPosts.bindString(39, ReaderCardType.toString(post.getCardType()));
+                stmtPosts.bindLong(40, SqlUtils.boolToSql(post.useExcerpt));
+                stmtPosts.bindLong(41, SqlUtils.boolToSql(post.isBookmarked));
+                stmtPosts.bindLong(42, SqlUtils.boolToSql(post.isPrivateAtomic));
+                stmtPosts.bindString(43, ReaderUtils.getCommaSeparatedTagSlugs(post.getTags()));
+                stmtPosts.bindLong(44, post.organizationId);
+                stmtPosts.bindLong(45, SqlUtils.boolToSql(post.isSeen));
+                stmtPosts.bindLong(46, SqlUtils.boolToSql(post.isSeenSupported));
+                stmtPosts.bindLong(47, post.authorBlogId);
+                stmtPosts.bindString(48, post.getAuthorBlogUrl());
                 stmtPosts.execute();
+
+                contentWriter.write(post);
             }
 
             db.setTransactionSuccessful();
@@ -988,6 +1092,7 @@ public class ReaderPostTable {
         } finally {
             db.endTransaction();
             SqlUtils.closeStatement(stmtPosts);
+            contentWriter.close();
         }
     }
 
@@ -997,7 +1102,7 @@ public class ReaderPostTable {
         }
 
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE tag_name=? AND tag_type=?";
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_CONTENT + " WHERE tag_name=? AND tag_type=?";
 
         if (tag.tagType == ReaderTagType.DEFAULT) {
             // skip posts that are no longer liked if this is "Posts I Like", skip posts that are no
@@ -1018,7 +1123,14 @@ public class ReaderPostTable {
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
-            return getPostListFromCursor(cursor);
+            ReaderPostList posts = getPostListFromCursor(cursor);
+            // posts stored before their author/blog was blocked may still be in the table
+            for (int i = posts.size() - 1; i >= 0; i--) {
+                if (ReaderBlocklistIndex.isBlocked(posts.get(i))) {
+                    posts.remove(i);
+                }
+            }
+            return posts;
         } finally {
             SqlUtils.closeCursor(cursor);
         }
@@ -1027,7 +1139,7 @@ public class ReaderPostTable {
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
         String sql =
-                "SELECT " + columns + " FROM tbl_posts WHERE blog_id=? AND tag_name='' AND tag_type=0"
+                "SELECT " + columns + " FROM " + POSTS_WITH_CONTENT + " WHERE blog_id=? AND tag_name='' AND tag_type=0"
                 + " ORDER BY datetime(date_published) DESC";
 
         if (maxPosts > 0) {
@@ -1043,7 +1155,7 @@ public class ReaderPostTable {
     }
 
     public static Map<Pair<String, ReaderTagType>, ReaderPostList> getTagPostMap(long blogId) {
-        String sql = "SELECT * FROM tbl_posts WHERE blog_id=?";
+        String sql = "SELECT * FROM " + POSTS_WITH_CONTENT + " WHERE blog_id=?";
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, new String[]{Long.toString(blogId)});
         try {
             return getTagPostMapFromCursor(cursor);
@@ -1053,7 +1165,7 @@ public class ReaderPostTable {
     }
 
     public static Map<Pair<String, ReaderTagType>, ReaderPostList> getAuthorPostMap(long authorId) {
-        String sql = "SELECT * FROM tbl_posts WHERE author_id=?";
+        String sql = "SELECT * FROM " + POSTS_WITH_CONTENT + " WHERE author_id=?";
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, new String[]{Long.toString(authorId)});
         try {
             return getTagPostMapFromCursor(cursor);
@@ -1065,7 +1177,7 @@ public class ReaderPostTable {
     public static ReaderPostList getPostsInFeed(long feedId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
         String sql =
-                "SELECT " + columns + " FROM tbl_posts WHERE feed_id=? AND tag_name='' AND tag_type=0"
+                "SELECT " + columns + " FROM " + POSTS_WITH_CONTENT + " WHERE feed_id=? AND tag_name='' AND tag_type=0"
                 + " ORDER BY datetime(date_published) DESC";
 
         if (maxPosts > 0) {
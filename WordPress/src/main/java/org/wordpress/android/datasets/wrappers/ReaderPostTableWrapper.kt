@@ -1,6 +1,7 @@
 package org.wordpress.android.datasets.wrappers
 
 import dagger.Reusable
+import org.wordpress.android.datasets.ReaderBlocklistIndex
 import org.wordpress.android.datasets.ReaderPostTable
 import org.wordpress.android.models.ReaderPost
 import org.wordpress.android.models.ReaderPostList
@@ -21,6 +22,8 @@ class ReaderPostTableWrapper @Inject constructor() {
 
     fun isPostSeen(post: ReaderPost): Boolean = ReaderPostTable.isPostSeen(post)
 
+    fun isPostBlocked(post: ReaderPost): Boolean = ReaderBlocklistIndex.isBlocked(post)
+
     fun setPostSeenStatusInDb(post: ReaderPost, isSeen: Boolean) = ReaderPostTable.setPostSeenStatus(post, isSeen)
 
     fun getPostsWithTag(
@@ -33,18 +33,46 @@ class Note {
     var localStatus: String? = null
         get() = StringUtils.notNullStr(field)
 
-    private var mNoteJSON: JSONObject? = null
+    private val mNoteJSONHolder: Lazy<JSONObject?>
+    private val mNoteJSON: JSONObject?
+        get() = mNoteJSONHolder.value
+    private val mSummary: Summary?
 
     constructor(key: String, noteJSON: JSONObject?) {
         id = key
-        mNoteJSON = noteJSON
+        mNoteJSONHolder = lazyOf(noteJSON)
+        mSummary = null
     }
 
     constructor(noteJSON: JSONObject?) {
-        mNoteJSON = noteJSON
-        id = mNoteJSON?.optString("id", "") ?: ""
+        mNoteJSONHolder = lazyOf(noteJSON)
+        mSummary = null
+        id = noteJSON?.optString("id", "") ?: ""
     }
 
+    /**
+     * Builds a note from its stored JSON without parsing it: the note list only needs the [summary] to filter and
+     * sort the notes, so the JSON is only parsed once another property is read, e.g. when the note is shown.
+     */
+    constructor(key: String, rawNoteJSON: String, summary: Summary) {
+        id = key
+        mNoteJSONHolder = lazy {
+            try {
+                JSONObject(rawNoteJSON)
+            } catch (e: JSONException) {
+                AppLog.e(AppLog.T.NOTIFS, "Can't parse notification with noteId:$key", e)
+                null
+            }
+        }
+        mSummary = summary
+    }
+
+    /**
+     * The properties stored alongside the note JSON, so that a list of notes can be filtered and sorted without
+     * parsing their JSON
+     */
+    data class Summary(val rawType: String, val timestamp: Long, val isUnread: Boolean)
+
     enum class EnabledActions {
         ACTION_REPLY,
         ACTION_APPROVE,
@@ -68,7 +96,7 @@ class Note {
 
     val siteId: Int by lazy { queryJSON("meta.ids.site", 0) }
     val postId: Int by lazy { queryJSON("meta.ids.post", 0) }
-    val rawType: String by lazy { queryJSON("type", NOTE_UNKNOWN_TYPE) }
+    val rawType: String by lazy { mSummary?.rawType ?: queryJSON("type", NOTE_UNKNOWN_TYPE) }
     val commentId: Long by lazy { queryJSON("meta.ids.comment", 0).toLong() }
     val parentCommentId: Long by lazy { queryJSON("meta.ids.parent_comment", 0).toLong() }
     val url: String by lazy { queryJSON("url", "") }
@@ -208,10 +236,14 @@ class Note {
         get() = isCommentType && !TextUtils.isEmpty(commentSubjectNoticon)
     val isUserList: Boolean
         get() = isLikeType || isFollowType
-    val isUnread: Boolean // Parsing every time since it may change
-        get() = queryJSON("read", 0) != 1
+    val isUnread: Boolean // Parsing every time since it may change, unless the JSON hasn't been parsed yet
+        get() = if (mSummary != null && !mNoteJSONHolder.isInitialized()) {
+            mSummary.isUnread
+        } else {
+            queryJSON("read", 0) != 1
+        }
     val timestamp: Long
-        get() = DateTimeUtils.timestampFromIso8601(timestampString)
+        get() = mSummary?.timestamp ?: DateTimeUtils.timestampFromIso8601(timestampString)
     val commentStatus: CommentStatus
         get() = if (enabledCommentActions.contains(EnabledActions.ACTION_UNAPPROVE)) {
             CommentStatus.APPROVED
@@ -1,6 +1,8 @@
 package org.wordpress.android.models;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ReaderCommentList extends ArrayList<ReaderComment> {
     public int indexOfCommentId(long commentId) {
@@ -20,8 +22,15 @@ public class ReaderCommentList extends ArrayList<ReaderComment> {
             return false;
         }
 
+        // index this list's comments by id, rather than searching it for each of the passed comments
+        Map<Long, ReaderComment> commentsById = new HashMap<>(this.size());
+        for (ReaderComment comment : this) {
+            commentsById.put(comment.commentId, comment);
+        }
+
         for (ReaderComment comment : comments) {
-            if (indexOf(comment) == -1) {
+            ReaderComment sameIdComment = commentsById.get(comment.commentId);
+            if (sameIdComment == null || !sameIdComment.equals(comment)) {
                 return false;
             }
         }
@@ -0,0 +1,27 @@
+package org.wordpress.android.modules
+
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoSet
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex
+import org.wordpress.android.WordPressEventBusIndex
+import javax.inject.Singleton
+
+@InstallIn(SingletonComponent::class)
+@Module
+class EventBusModule {
+    @Singleton
+    @Provides
+    fun provideEventBusIndex(): WordPressEventBusIndex = WordPressEventBusIndex()
+
+    /**
+     * Activities and fragments register with the Dispatcher as well as with the default bus.
+     */
+    @Provides
+    @IntoSet
+    fun provideEventBusIndexAsSubscriberInfoIndex(
+        index: WordPressEventBusIndex
+    ): SubscriberInfoIndex = index
+}
@@ -7,9 +7,11 @@ import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import dagger.multibindings.IntoSet
+import okhttp3.EventListener
 import okhttp3.Interceptor
 import org.wordpress.android.fluxc.module.OkHttpClientQualifiers
 import org.wordpress.android.fluxc.network.NetworkRequestsRetentionPeriod
+import org.wordpress.android.fluxc.network.NetworkTimingEventListenerFactory
 import org.wordpress.android.fluxc.network.TrackNetworkRequestsInterceptor
 import org.wordpress.android.fluxc.network.TrackNetworkRequestsPreference
 import org.wordpress.android.ui.posts.editor.GutenbergKitNetworkLogger
@@ -34,9 +36,10 @@ class TrackNetworkRequestsModule {
     @Provides
     fun provideTrackNetworkRequestsInterceptor(
         @ApplicationContext context: Context,
-        preference: TrackNetworkRequestsPreference
+        preference: TrackNetworkRequestsPreference,
+        timings: NetworkTimingEventListenerFactory
     ): TrackNetworkRequestsInterceptor {
-        return TrackNetworkRequestsInterceptor(context, preference)
+        return TrackNetworkRequestsInterceptor(context, preference, timings)
     }
 
     @Provides
@@ -46,6 +49,17 @@ class TrackNetworkRequestsModule {
         interceptor: TrackNetworkRequestsInterceptor
     ): Interceptor = interceptor
 
+    @Singleton
+    @Provides
+    fun provideNetworkTimingEventListenerFactory(
+        preference: TrackNetworkRequestsPreference
+    ): NetworkTimingEventListenerFactory = NetworkTimingEventListenerFactory(preference)
+
+    @Provides
+    fun provideNetworkTimingEventListenerFactoryAsFactory(
+        factory: NetworkTimingEventListenerFactory
+    ): EventListener.Factory = factory
+
     @Singleton
     @Provides
     fun provideGutenbergKitNetworkLogger(
@@ -10,11 +10,13 @@ import dagger.Reusable
 import org.wordpress.android.fluxc.model.QuickStartStatusModel
 import org.wordpress.android.fluxc.model.QuickStartTaskModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.persistence.SiteSqlUtils
 import javax.inject.Inject
 
 @Reusable
 class ResolverUtility @Inject constructor(
-    private val dbWrapper: DbWrapper
+    private val dbWrapper: DbWrapper,
+    private val siteSqlUtils: SiteSqlUtils
 ) {
     // UseKtx lint warning is suppressed because the transaction KTX extension doesn't provide
     // sufficient control over transaction success/failure handling. The KTX extension automatically
@@ -61,6 +63,8 @@ class ResolverUtility @Inject constructor(
 
     fun copySitesWithIndexes(sites: List<SiteModel>) {
         copyWithIndexes("SiteModel", MapperAdapter(SiteModelMapper()), sites)
+        // the rows were replaced behind SiteSqlUtils' back, so sites it read before are stale
+        siteSqlUtils.clearSiteCache()
     }
 
     fun copyQsDataWithIndexes(statusList: List<QuickStartStatusModel>, taskList: List<QuickStartTaskModel>): Boolean {
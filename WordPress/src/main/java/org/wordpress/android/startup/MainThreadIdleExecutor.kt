@@ -0,0 +1,22 @@
+package org.wordpress.android.startup
+
+import android.os.Handler
+import android.os.Looper
+import java.util.concurrent.Executor
+
+/**
+ * Runs commands on the main thread once its queue is empty. On a cold start the activity launch and its first
+ * traversal are queued right after Application.onCreate(), so this runs after the first frame is drawn.
+ */
+class MainThreadIdleExecutor : Executor {
+    private val handler = Handler(Looper.getMainLooper())
+
+    override fun execute(command: Runnable) {
+        handler.post {
+            Looper.myQueue().addIdleHandler {
+                command.run()
+                false
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.wordpress.android.startup
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * The time a [StartupTask] took to run, in [System.nanoTime] units, and the thread it ran on.
+ */
+data class StartupSpan(
+    val name: String,
+    val threadName: String,
+    val startNanos: Long,
+    val endNanos: Long
+) {
+    val durationMillis: Long
+        get() = TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos)
+
+    override fun toString() = "$name: ${durationMillis}ms on $threadName"
+}
@@ -0,0 +1,29 @@
+package org.wordpress.android.startup
+
+/**
+ * A piece of app startup work, run by [StartupTaskGraph] on the given [thread] once the tasks named in [dependsOn]
+ * have completed.
+ */
+class StartupTask(
+    val name: String,
+    val thread: StartupThread,
+    val dependsOn: List<String> = emptyList(),
+    val run: () -> Unit
+)
+
+enum class StartupThread {
+    /**
+     * Run on the thread starting the graph, before [StartupTaskGraph.start] returns.
+     */
+    MAIN,
+
+    /**
+     * Run on the background executor, in parallel with the other tasks.
+     */
+    BACKGROUND,
+
+    /**
+     * Run on the deferred executor, which on the main thread waits for the first frame to be drawn.
+     */
+    DEFERRED
+}
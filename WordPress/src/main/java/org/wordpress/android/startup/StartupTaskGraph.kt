@@ -0,0 +1,145 @@
+package org.wordpress.android.startup
+
+import android.os.Trace
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Runs [StartupTask]s as soon as their dependencies allow: the main tasks in order on the thread calling [start],
+ * and the background and deferred tasks on their executors, in parallel with them.
+ *
+ * Each task is wrapped in a "startup:<name>" trace section, so it shows up in system traces and can be measured by
+ * a cold start benchmark, and its [StartupSpan] is passed to the listener of [start] once every task has completed.
+ * A task that throws fails startup the same way it would have if it was run inline.
+ */
+class StartupTaskGraph(
+    tasks: List<StartupTask>,
+    private val backgroundExecutor: Executor,
+    private val deferredExecutor: Executor,
+    private val clock: () -> Long = System::nanoTime
+) {
+    private val nodes: List<Node> = createNodes(tasks)
+    private val spans = ConcurrentHashMap<String, StartupSpan>()
+    private val remainingTasks = AtomicInteger(nodes.size)
+
+    @Volatile
+    private var onCompleted: (List<StartupSpan>) -> Unit = {}
+
+    /**
+     * Runs the main tasks and schedules the others - [onCompleted] is called on the thread of the last task to
+     * complete, with the spans of every task in the order they started.
+     */
+    fun start(onCompleted: (List<StartupSpan>) -> Unit = {}) {
+        this.onCompleted = onCompleted
+        if (nodes.isEmpty()) {
+            onCompleted(emptyList())
+            return
+        }
+        nodes.filter { it.task.thread != StartupThread.MAIN && it.remainingDependencies.get() == 0 }
+            .forEach { schedule(it) }
+        nodes.filter { it.task.thread == StartupThread.MAIN }.forEach { node ->
+            node.dependencies.forEach { it.completed.await() }
+            run(node)
+        }
+    }
+
+    fun getSpans(): List<StartupSpan> = spans.values.sortedBy { it.startNanos }
+
+    /**
+     * Returns the chain of tasks which delayed the last main task, i.e. which [start] had to wait for: going back
+     * from it, each task is the one which completed last among the dependencies of the next one and, for a main
+     * task, the main task before it.
+     */
+    fun getCriticalPath(): List<StartupSpan> {
+        val mainNodes = nodes.filter { it.task.thread == StartupThread.MAIN }
+        val path = ArrayList<StartupSpan>()
+        var node = mainNodes.lastOrNull() ?: return path
+        while (true) {
+            path.add(spans[node.task.name] ?: break)
+            val candidates = node.dependencies.toMutableList()
+            if (node.task.thread == StartupThread.MAIN) {
+                mainNodes.getOrNull(mainNodes.indexOf(node) - 1)?.let { candidates.add(it) }
+            }
+            node = candidates.maxByOrNull { spans[it.task.name]?.endNanos ?: Long.MIN_VALUE } ?: break
+        }
+        return path.asReversed()
+    }
+
+    private fun schedule(node: Node) {
+        val executor = if (node.task.thread == StartupThread.BACKGROUND) backgroundExecutor else deferredExecutor
+        executor.execute { run(node) }
+    }
+
+    private fun run(node: Node) {
+        val startNanos = clock()
+        Trace.beginSection(TRACE_SECTION_PREFIX + node.task.name)
+        try {
+            node.task.run()
+        } finally {
+            Trace.endSection()
+            spans[node.task.name] = StartupSpan(node.task.name, Thread.currentThread().name, startNanos, clock())
+            node.completed.countDown()
+            node.dependents.forEach { dependent ->
+                val isReady = dependent.remainingDependencies.decrementAndGet() == 0
+                if (isReady && dependent.task.thread != StartupThread.MAIN) {
+                    schedule(dependent)
+                }
+            }
+            if (remainingTasks.decrementAndGet() == 0) {
+                onCompleted(getSpans())
+            }
+        }
+    }
+
+    /*
+     * sorts the tasks so each comes after its dependencies, keeping the order they were passed in otherwise, and
+     * checks a main task never has to wait for a deferred one, since deferred tasks only run once the main thread
+     * is done with startup
+     */
+    private fun createNodes(tasks: List<StartupTask>): List<Node> {
+        val nodesByName = LinkedHashMap<String, Node>()
+        tasks.forEach { task ->
+            require(nodesByName.put(task.name, Node(task)) == null) { "Duplicate startup task ${task.name}" }
+        }
+        nodesByName.values.forEach { node ->
+            node.task.dependsOn.forEach { name ->
+                val dependency = requireNotNull(nodesByName[name]) { "${node.task.name} depends on unknown task $name" }
+                node.dependencies.add(dependency)
+                dependency.dependents.add(node)
+            }
+            node.remainingDependencies.set(node.dependencies.size)
+        }
+
+        val sortedNodes = ArrayList<Node>(nodesByName.size)
+        // whether each sorted task waits for a deferred one, directly or not
+        val waitsForDeferred = HashMap<Node, Boolean>()
+        val pendingNodes = nodesByName.values.toMutableList()
+        while (pendingNodes.isNotEmpty()) {
+            val node = pendingNodes.firstOrNull { it.dependencies.all { dependency -> dependency in waitsForDeferred } }
+            requireNotNull(node) { "Startup tasks ${pendingNodes.map { it.task.name }} depend on each other" }
+            val nodeWaitsForDeferred = node.dependencies.any {
+                it.task.thread == StartupThread.DEFERRED || waitsForDeferred.getValue(it)
+            }
+            require(node.task.thread != StartupThread.MAIN || !nodeWaitsForDeferred) {
+                "Main startup task ${node.task.name} can't wait for a deferred task"
+            }
+            waitsForDeferred[node] = nodeWaitsForDeferred
+            pendingNodes.remove(node)
+            sortedNodes.add(node)
+        }
+        return sortedNodes
+    }
+
+    private class Node(val task: StartupTask) {
+        val dependencies = ArrayList<Node>()
+        val dependents = ArrayList<Node>()
+        val remainingDependencies = AtomicInteger()
+        val completed = CountDownLatch(1)
+    }
+
+    companion object {
+        const val TRACE_SECTION_PREFIX = "startup:"
+    }
+}
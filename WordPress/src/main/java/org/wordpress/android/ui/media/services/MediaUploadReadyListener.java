@@ -7,6 +7,8 @@ import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 /**
  * Callbacks - requests for editor capabilities to replace media once it's finished uploading
  * and mark media failed if could not be uploaded
@@ -17,5 +19,7 @@ public interface MediaUploadReadyListener {
     //  See: https://git.io/JqfhK
     PostModel replaceMediaFileWithUrlInPost(@Nullable PostModel post, @NonNull String localMediaId, MediaFile mediaFile,
                                             @Nullable SiteModel site);
+    PostModel replaceMediaFilesWithUrlsInPost(@Nullable PostModel post, @NonNull Map<String, MediaFile> mediaFiles,
+                                              @Nullable SiteModel site);
     PostModel markMediaUploadFailedInPost(@Nullable PostModel post, String localMediaId, MediaFile mediaFile);
 }
@@ -123,6 +123,20 @@ class PostListEventListener(
                         )
                     }
                 }
+                is CauseOfOnPostChanged.UpdatePosts -> {
+                    if (event.isError) {
+                        AppLog.e(
+                            T.POSTS,
+                            "Error updating the posts with type: ${event.error.type} and" +
+                                    " message: ${event.error.message}"
+                        )
+                    } else {
+                        handlePostUpdatedWithoutError.invoke()
+                        invalidateUploadStatus.invoke(
+                            (event.causeOfChange as CauseOfOnPostChanged.UpdatePosts).localPostIds
+                        )
+                    }
+                }
                 is CauseOfOnPostChanged.DeletePost -> {
                     val deletePostCauseOfChange = event.causeOfChange as CauseOfOnPostChanged.DeletePost
                     val localPostId = LocalId(deletePostCauseOfChange.localPostId)
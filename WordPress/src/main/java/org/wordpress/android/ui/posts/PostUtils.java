@@ -41,6 +41,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -439,6 +440,29 @@ public class PostUtils {
         return postContent;
     }
 
+    /**
+     * Replaces the local ids and urls of several uploaded media with their remote counterparts in a single pass
+     * over the content, rather than one pass per media.
+     */
+    public static String replaceMediaFilesWithUrlsInGutenbergPost(@NonNull String postContent,
+                                                                  @NonNull Map<String, MediaFile> mediaFiles,
+                                                                  @NonNull String siteUrl) {
+        if (!contentContainsGutenbergBlocks(postContent)) {
+            return postContent;
+        }
+        // as above, media without a remote ID have nothing to substitute
+        Map<String, MediaFile> uploadedMediaFiles = new LinkedHashMap<>();
+        for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().getMediaId() != null) {
+                uploadedMediaFiles.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (uploadedMediaFiles.isEmpty()) {
+            return postContent;
+        }
+        return new MediaUploadCompletionProcessor(uploadedMediaFiles, siteUrl).processContent(postContent);
+    }
+
     public static boolean isMediaInGutenbergPostBody(@NonNull String postContent,
                                             String localMediaId) {
         List<String> patterns = new ArrayList<>();
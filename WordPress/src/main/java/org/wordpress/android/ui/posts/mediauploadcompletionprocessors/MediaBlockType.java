@@ -17,8 +17,8 @@ public enum MediaBlockType {
     VIDEOPRESS("videopress/video"),
     VIDEO("video"),
     MEDIA_TEXT("media-text"),
-    GALLERY("gallery"),
-    COVER("cover"),
+    GALLERY("gallery", true),
+    COVER("cover", true),
     FILE("file"),
     AUDIO("audio");
 
@@ -41,9 +41,15 @@ public enum MediaBlockType {
     }
 
     private final String mName;
+    private final boolean mCanContainMediaBlocks;
 
     MediaBlockType(String name) {
+        this(name, false);
+    }
+
+    MediaBlockType(String name, boolean canContainMediaBlocks) {
         mName = name;
+        mCanContainMediaBlocks = canContainMediaBlocks;
     }
 
     public String toString() {
@@ -54,6 +60,13 @@ public enum MediaBlockType {
         return MAP.get(blockType);
     }
 
+    /**
+     * @return True if media blocks nested within blocks of this type are processed too (e.g. the images of a gallery)
+     */
+    boolean canContainMediaBlocks() {
+        return mCanContainMediaBlocks;
+    }
+
     /**
      * @return A string with the enumerated media block types separated by the pipe character (useful for creating a
      * regex capturing group pattern)
@@ -1,9 +1,15 @@
 package org.wordpress.android.ui.posts.mediauploadcompletionprocessors;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -11,7 +17,13 @@ import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.Med
 import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_TEMPLATE_BLOCK_BOUNDARY;
 
 public class MediaUploadCompletionProcessor {
-    private final BlockProcessorFactory mBlockProcessorFactory;
+    /**
+     * Block boundary patterns by block type, so each is only compiled once
+     */
+    private static final Map<String, Pattern> BLOCK_BOUNDARY_PATTERNS = new ConcurrentHashMap<>();
+
+    private final List<String> mLocalIds = new ArrayList<>();
+    private final List<BlockProcessorFactory> mBlockProcessorFactories = new ArrayList<>();
 
     /**
      * Processor used for replacing local media id(s) and url(s) with their remote counterparts after an upload has
@@ -23,73 +35,152 @@ public class MediaUploadCompletionProcessor {
      */
     public MediaUploadCompletionProcessor(@NonNull String localId, @NonNull MediaFile mediaFile,
                                           @NonNull String siteUrl) {
-        mBlockProcessorFactory = new BlockProcessorFactory(this, localId, mediaFile, siteUrl);
+        this(Collections.singletonMap(localId, mediaFile), siteUrl);
+    }
+
+    /**
+     * Processor used for replacing the local ids and urls of several uploaded media with their remote counterparts
+     * in a single pass over the content.
+     *
+     * @param mediaFiles The mediaFiles containing the remote ids and remote urls, by the local media id they replace
+     * @param siteUrl The site url - used to generate the attachmentPage urls
+     */
+    public MediaUploadCompletionProcessor(@NonNull Map<String, MediaFile> mediaFiles, @NonNull String siteUrl) {
+        for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+            mLocalIds.add(entry.getKey());
+            mBlockProcessorFactories.add(new BlockProcessorFactory(this, entry.getKey(), entry.getValue(), siteUrl));
+        }
     }
 
     /**
      * Processes content to replace the local ids and local urls of media with remote ids and remote urls. This method
-     * delineates block boundaries for media-containing blocks and delegates further processing via itself and / or
-     * {@link #processBlock(String, Boolean)}, via direct and mutual recursion, respectively.
+     * walks the media-containing blocks of the content once, handing the blocks that reference any of the local ids
+     * to the {@link BlockProcessor}s for their type, and descending into blocks that can contain other media blocks
+     * (e.g. galleries). Block processors may also delegate their inner content back to this method.
      *
      * @param content The content to be processed
      * @return A string containing the processed content, or the original content if no match was found
      */
     public String processContent(String content) {
+        return processBlocks(content, 0);
+    }
+
+    /*
+     * processes the blocks found in content from the passed position on, copying the content only if a block changed
+     */
+    @NonNull
+    private String processBlocks(@NonNull String content, int position) {
         Matcher headerMatcher = PATTERN_BLOCK_HEADER.matcher(content);
+        StringBuilder result = null;
+        int copiedUpTo = 0;
 
-        int positionBlockStart, positionBlockEnd = content.length();
+        while (headerMatcher.find(position)) {
+            int positionBlockStart = headerMatcher.start();
+            int positionHeaderEnd = headerMatcher.end();
+            String blockName = headerMatcher.group(1);
+            MediaBlockType blockType = MediaBlockType.fromString(blockName);
+            boolean isSelfClosingTag = headerMatcher.group(2).equals("/-->");
 
-        if (headerMatcher.find()) {
-            positionBlockStart = headerMatcher.start();
-            String blockType = headerMatcher.group(1);
-            String blockTagSuffix = headerMatcher.group(2);
-            Boolean isSelfClosingTag = blockTagSuffix.equals("/-->");
-            if (isSelfClosingTag) {
-                positionBlockEnd = headerMatcher.end();
-            } else {
-                Matcher blockBoundaryMatcher =
-                        Pattern.compile(String.format(PATTERN_TEMPLATE_BLOCK_BOUNDARY, blockType),
-                                Pattern.DOTALL).matcher(content.substring(headerMatcher.end()));
-
-                int nestLevel = 1;
-
-                while (0 < nestLevel && blockBoundaryMatcher.find()) {
-                    if (blockBoundaryMatcher.group(1).equals("/")) {
-                        positionBlockEnd = headerMatcher.end() + blockBoundaryMatcher.end();
-                        nestLevel--;
-                    } else {
-                        nestLevel++;
-                    }
-                }
+            int positionBlockEnd = isSelfClosingTag ? positionHeaderEnd
+                    : findBlockEnd(content, blockName, positionHeaderEnd);
+            boolean hasInnerBlocks = !isSelfClosingTag && positionBlockEnd != -1
+                                     && blockType != null && blockType.canContainMediaBlocks();
+            if (positionBlockEnd == -1) {
+                // an unterminated block runs to the end of the content
+                positionBlockEnd = content.length();
+            }
+            position = positionBlockEnd;
+
+            List<BlockProcessor> blockProcessors =
+                    getBlockProcessors(blockType, content.substring(positionBlockStart, positionHeaderEnd));
+            if (blockProcessors.isEmpty() && !hasInnerBlocks) {
+                continue;
+            }
+
+            String block = content.substring(positionBlockStart, positionBlockEnd);
+            String processedBlock = block;
+            for (BlockProcessor blockProcessor : blockProcessors) {
+                processedBlock = blockProcessor.processBlock(processedBlock, isSelfClosingTag);
+            }
+            if (hasInnerBlocks) {
+                processedBlock = processInnerBlocks(processedBlock);
+            }
+            if (processedBlock.equals(block)) {
+                continue;
+            }
+
+            if (result == null) {
+                result = new StringBuilder(content.length());
             }
+            result.append(content, copiedUpTo, positionBlockStart).append(processedBlock);
+            copiedUpTo = positionBlockEnd;
+        }
 
-            return new StringBuilder()
-                    .append(content.substring(0, positionBlockStart))
-                    .append(processBlock(content.substring(positionBlockStart, positionBlockEnd), isSelfClosingTag))
-                    .append(processContent(content.substring(positionBlockEnd)))
-                    .toString();
-        } else {
+        if (result == null) {
             return content;
         }
+        return result.append(content, copiedUpTo, content.length()).toString();
     }
 
-    /**
-     * Processes a media block returning a raw content replacement string
-     *
-     * @param block The raw block contents
-     * @return A string containing content with ids and urls replaced
+    /*
+     * processes the blocks nested in the passed block, i.e. those following its header
      */
     @NonNull
-    private String processBlock(@NonNull String block, Boolean isSelfClosingTag) {
-        final MediaBlockType blockType = MediaBlockType.detectBlockType(block);
+    private String processInnerBlocks(@NonNull String block) {
+        Matcher headerMatcher = PATTERN_BLOCK_HEADER.matcher(block);
+        return headerMatcher.lookingAt() ? processBlocks(block, headerMatcher.end()) : block;
+    }
 
-        if (blockType != null) {
-            final BlockProcessor blockProcessor = mBlockProcessorFactory.getProcessorForMediaBlockType(blockType);
-            if (blockProcessor != null) {
-                return blockProcessor.processBlock(block, isSelfClosingTag);
+    /*
+     * returns the position following the closing comment of the block of the passed type whose header ends at
+     * positionHeaderEnd, taking nested blocks of the same type into account - or -1 if no closing comment is found
+     */
+    private static int findBlockEnd(@NonNull String content, @NonNull String blockName, int positionHeaderEnd) {
+        Matcher blockBoundaryMatcher = getBlockBoundaryPattern(blockName).matcher(content);
+        blockBoundaryMatcher.region(positionHeaderEnd, content.length());
+
+        int positionBlockEnd = -1;
+        int nestLevel = 1;
+        while (0 < nestLevel && blockBoundaryMatcher.find()) {
+            if (blockBoundaryMatcher.group(1).equals("/")) {
+                positionBlockEnd = blockBoundaryMatcher.end();
+                nestLevel--;
+            } else {
+                nestLevel++;
             }
         }
+        return positionBlockEnd;
+    }
+
+    @NonNull
+    private static Pattern getBlockBoundaryPattern(@NonNull String blockName) {
+        return BLOCK_BOUNDARY_PATTERNS.computeIfAbsent(blockName, name ->
+                Pattern.compile(String.format(PATTERN_TEMPLATE_BLOCK_BOUNDARY, name), Pattern.DOTALL));
+    }
+
+    /*
+     * returns the processors for the media whose local id appears in the block header - a block can only match a
+     * media through its json attributes, so blocks that don't mention the id are left alone
+     */
+    @NonNull
+    private List<BlockProcessor> getBlockProcessors(@Nullable MediaBlockType blockType, @NonNull String header) {
+        if (blockType == null) {
+            return Collections.emptyList();
+        }
 
-        return block;
+        List<BlockProcessor> blockProcessors = null;
+        for (int i = 0; i < mLocalIds.size(); i++) {
+            if (!header.contains(mLocalIds.get(i))) {
+                continue;
+            }
+            BlockProcessor blockProcessor = mBlockProcessorFactories.get(i).getProcessorForMediaBlockType(blockType);
+            if (blockProcessor != null) {
+                if (blockProcessors == null) {
+                    blockProcessors = new ArrayList<>();
+                }
+                blockProcessors.add(blockProcessor);
+            }
+        }
+        return blockProcessors != null ? blockProcessors : Collections.emptyList();
     }
 }
@@ -7,7 +7,6 @@ import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.preference.PreferenceManager;
 
 import com.google.gson.Gson;
 
@@ -33,6 +32,7 @@ import org.wordpress.android.util.WPMediaUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -341,14 +341,53 @@ public class AppPrefs {
         // These preferences persist across logout/login cycles.
         IS_TRACK_NETWORK_REQUESTS_ENABLED,
         TRACK_NETWORK_REQUESTS_RETENTION_PERIOD,
+
+        // The ids of the sites with a preferences file of their own, see AppPrefsStore
+        SITE_PREFS_SITE_IDS,
+
+        // Indicates if the per-site preferences were moved out of the default preferences file
+        IS_SITE_PREFS_MIGRATION_COMPLETED,
     }
 
-    static SharedPreferences prefs() {
-        return PreferenceManager.getDefaultSharedPreferences(WordPress.getContext());
+    // numbers and booleans set with setLong(), setInt() and setBoolean() are stored as strings, these decode them
+    // once per change instead of on every read
+    private static final PrefsShard.Decoder<Long> LONG_DECODER = value -> {
+        try {
+            return value instanceof String ? Long.parseLong((String) value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    };
+    private static final PrefsShard.Decoder<Integer> INT_DECODER = value -> {
+        try {
+            return value instanceof String ? Integer.parseInt((String) value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    };
+    private static final PrefsShard.Decoder<Boolean> BOOLEAN_DECODER =
+            value -> value instanceof String ? Boolean.parseBoolean((String) value) : null;
+    @SuppressWarnings("unchecked")
+    private static final PrefsShard.Decoder<Map<String, Double>> BLOCK_TYPE_IMPRESSIONS_DECODER =
+            value -> GSON.fromJson(value instanceof String ? (String) value : "[]", Map.class);
+
+    static PrefsShard prefs() {
+        return AppPrefsStore.global();
+    }
+
+    /*
+     * keys other than the enum ones can be built from a site id, in which case they're stored in the site's shard
+     */
+    private static PrefsShard prefs(PrefKey key) {
+        return key instanceof Enum ? prefs() : AppPrefsStore.forKey(key.name());
+    }
+
+    private static PrefsShard sitePrefs(long siteId) {
+        return AppPrefsStore.site(siteId);
     }
 
     static Map<String, ?> getAllPrefs() {
-        return prefs().getAll();
+        return AppPrefsStore.getAll();
     }
 
     private static String getString(PrefKey key) {
@@ -356,11 +395,11 @@ public class AppPrefs {
     }
 
     private static String getString(PrefKey key, String defaultValue) {
-        return prefs().getString(key.name(), defaultValue);
+        return prefs(key).getString(key.name(), defaultValue);
     }
 
     public static void setString(PrefKey key, String value) {
-        SharedPreferences.Editor editor = prefs().edit();
+        SharedPreferences.Editor editor = prefs(key).edit();
         if (TextUtils.isEmpty(value)) {
             editor.remove(key.name());
         } else {
@@ -374,12 +413,8 @@ public class AppPrefs {
     }
 
     private static long getLong(PrefKey key, long defaultValue) {
-        try {
-            String value = getString(key);
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        Long value = prefs(key).getDecoded(key.name(), LONG_DECODER);
+        return value != null ? value : defaultValue;
     }
 
     private static void setLong(PrefKey key, long value) {
@@ -387,19 +422,12 @@ public class AppPrefs {
     }
 
     public static void putLong(final PrefKey key, final long value) {
-        prefs().edit().putLong(key.name(), value).apply();
+        prefs(key).edit().putLong(key.name(), value).apply();
     }
 
     private static int getInt(PrefKey key, int def) {
-        try {
-            String value = getString(key);
-            if (value.isEmpty()) {
-                return def;
-            }
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return def;
-        }
+        Integer value = prefs(key).getDecoded(key.name(), INT_DECODER);
+        return value != null ? value : def;
     }
 
     public static int getInt(PrefKey key) {
@@ -407,7 +435,7 @@ public class AppPrefs {
     }
 
     public static void putInt(final PrefKey key, final int value) {
-        prefs().edit().putInt(key.name(), value).apply();
+        prefs(key).edit().putInt(key.name(), value).apply();
     }
 
     public static void setInt(PrefKey key, int value) {
@@ -415,16 +443,16 @@ public class AppPrefs {
     }
 
     public static boolean getBoolean(PrefKey key, boolean def) {
-        String value = getString(key, Boolean.toString(def));
-        return Boolean.parseBoolean(value);
+        Boolean value = prefs(key).getDecoded(key.name(), BOOLEAN_DECODER);
+        return value != null ? value : def;
     }
 
     public static boolean getRawBoolean(@NonNull final PrefKey key, boolean def) {
-        return prefs().getBoolean(key.name(), def);
+        return prefs(key).getBoolean(key.name(), def);
     }
 
     public static void putBoolean(final PrefKey key, final boolean value) {
-        prefs().edit().putBoolean(key.name(), value).apply();
+        prefs(key).edit().putBoolean(key.name(), value).apply();
     }
 
     public static void setBoolean(PrefKey key, boolean value) {
@@ -432,15 +460,15 @@ public class AppPrefs {
     }
 
     public static void putStringSet(final PrefKey key, final Set<String> value) {
-        prefs().edit().putStringSet(key.name(), value).apply();
+        prefs(key).edit().putStringSet(key.name(), value).apply();
     }
 
     private static void remove(PrefKey key) {
-        prefs().edit().remove(key.name()).apply();
+        prefs(key).edit().remove(key.name()).apply();
     }
 
     public static boolean keyExists(@NonNull PrefKey key) {
-        return prefs().contains(key.name());
+        return prefs(key).contains(key.name());
     }
 
     // Exposed methods
@@ -1064,9 +1092,10 @@ public class AppPrefs {
     }
 
     public static Map<String, Double> getGutenbergBlockTypeImpressions() {
-        String jsonString = getString(UndeletablePrefKey.GUTENBERG_BLOCK_TYPE_IMPRESSIONS, "[]");
-        Map<String, Double> impressions = GSON.fromJson(jsonString, Map.class);
-        return impressions;
+        Map<String, Double> impressions = prefs().getDecoded(UndeletablePrefKey.GUTENBERG_BLOCK_TYPE_IMPRESSIONS.name(),
+                BLOCK_TYPE_IMPRESSIONS_DECODER);
+        // the decoded map is shared, so callers get a copy they can modify
+        return impressions != null ? new HashMap<>(impressions) : null;
     }
 
     /*
@@ -1451,11 +1480,11 @@ public class AppPrefs {
     }
 
     public static void setBloggingRemindersShown(int siteId) {
-        prefs().edit().putBoolean(getBloggingRemindersConfigKey(siteId), true).apply();
+        sitePrefs(siteId).edit().putBoolean(getBloggingRemindersConfigKey(siteId), true).apply();
     }
 
     public static boolean isBloggingRemindersShown(int siteId) {
-        return prefs().getBoolean(getBloggingRemindersConfigKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getBloggingRemindersConfigKey(siteId), false);
     }
 
     @NonNull private static String getBloggingRemindersConfigKey(int siteId) {
@@ -1471,11 +1500,13 @@ public class AppPrefs {
     }
 
     public static void setShouldShowWeeklyRoundupNotification(long remoteSiteId, boolean shouldShow) {
-        prefs().edit().putBoolean(getShouldShowWeeklyRoundupNotification(remoteSiteId), shouldShow).apply();
+        sitePrefs(remoteSiteId).edit()
+                .putBoolean(getShouldShowWeeklyRoundupNotification(remoteSiteId), shouldShow)
+                .apply();
     }
 
     public static boolean shouldShowWeeklyRoundupNotification(long remoteSiteId) {
-        return prefs().getBoolean(getShouldShowWeeklyRoundupNotification(remoteSiteId), true);
+        return sitePrefs(remoteSiteId).getBoolean(getShouldShowWeeklyRoundupNotification(remoteSiteId), true);
     }
 
     @NonNull private static String getShouldShowWeeklyRoundupNotification(long siteId) {
@@ -1512,7 +1543,7 @@ public class AppPrefs {
             capabilitiesSet.add(item.toString());
         }
 
-        Editor editor = prefs().edit();
+        Editor editor = sitePrefs(remoteSiteId).edit();
         editor.putStringSet(
                 DeletablePrefKey.SITE_JETPACK_CAPABILITIES + String.valueOf(remoteSiteId),
                 capabilitiesSet
@@ -1522,7 +1553,7 @@ public class AppPrefs {
 
     public static List<JetpackCapability> getSiteJetpackCapabilities(long remoteSiteId) {
         List<JetpackCapability> capabilities = new ArrayList<>();
-        Set<String> strings = prefs().getStringSet(
+        Set<String> strings = sitePrefs(remoteSiteId).getStringSet(
                 DeletablePrefKey.SITE_JETPACK_CAPABILITIES + String.valueOf(remoteSiteId),
                 new HashSet<>()
         );
@@ -1533,7 +1564,7 @@ public class AppPrefs {
     }
 
     public static Date getSkippedPromptDay(int siteId) {
-        long promptSkippedMillis = prefs().getLong(getSkippedBloggingPromptDayConfigKey(siteId), 0);
+        long promptSkippedMillis = sitePrefs(siteId).getLong(getSkippedBloggingPromptDayConfigKey(siteId), 0);
         if (promptSkippedMillis == 0) {
             return null;
         }
@@ -1542,10 +1573,10 @@ public class AppPrefs {
 
     public static void setSkippedPromptDay(@Nullable Date date, int siteId) {
         if (date == null) {
-            prefs().edit().remove(getSkippedBloggingPromptDayConfigKey(siteId)).apply();
+            sitePrefs(siteId).edit().remove(getSkippedBloggingPromptDayConfigKey(siteId)).apply();
             return;
         }
-        prefs().edit().putLong(getSkippedBloggingPromptDayConfigKey(siteId), date.getTime()).apply();
+        sitePrefs(siteId).edit().putLong(getSkippedBloggingPromptDayConfigKey(siteId), date.getTime()).apply();
     }
 
     @NonNull private static String getSkippedBloggingPromptDayConfigKey(int siteId) {
@@ -1667,11 +1698,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideJetpackInstallFullPluginCard(int siteId) {
-        return prefs().getBoolean(getHideJetpackInstallFullPluginCardPref(siteId), false);
+        return sitePrefs(siteId).getBoolean(getHideJetpackInstallFullPluginCardPref(siteId), false);
     }
 
     public static void setShouldHideJetpackInstallFullPluginCard(int siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getHideJetpackInstallFullPluginCardPref(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getHideJetpackInstallFullPluginCardPref(siteId), isHidden).apply();
     }
 
     @NonNull private static String getHideJetpackInstallFullPluginCardPref(int siteId) {
@@ -1679,11 +1710,13 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldShowJetpackFullPluginInstallOnboarding(int siteId) {
-        return prefs().getBoolean(getShouldShowJetpackFullPluginInstallOnboardingPref(siteId), true);
+        return sitePrefs(siteId).getBoolean(getShouldShowJetpackFullPluginInstallOnboardingPref(siteId), true);
     }
 
     public static void setShouldShowJetpackFullPluginInstallOnboarding(int siteId, final boolean isShown) {
-        prefs().edit().putBoolean(getShouldShowJetpackFullPluginInstallOnboardingPref(siteId), isShown).apply();
+        sitePrefs(siteId).edit()
+                .putBoolean(getShouldShowJetpackFullPluginInstallOnboardingPref(siteId), isShown)
+                .apply();
     }
 
     @NonNull private static String getShouldShowJetpackFullPluginInstallOnboardingPref(int siteId) {
@@ -1691,11 +1724,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHidePromoteWithBlazeCard(long siteId) {
-        return prefs().getBoolean(getSiteIdHideBlazeKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideBlazeKey(siteId), false);
     }
 
     public static void setShouldHidePromoteWithBlazeCard(long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideBlazeKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideBlazeKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideBlazeKey(long siteId) {
@@ -1703,11 +1736,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideDashboardPlansCard(long siteId) {
-        return prefs().getBoolean(getSiteIdHideDashboardPlansCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideDashboardPlansCardKey(siteId), false);
     }
 
     public static void setShouldHideDashboardPlansCard(long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideDashboardPlansCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideDashboardPlansCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideDashboardPlansCardKey(long siteId) {
@@ -1765,7 +1798,7 @@ public class AppPrefs {
     }
 
     public static void setShouldHideActivityDashboardCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideActivityDashboardCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideActivityDashboardCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideActivityDashboardCardKey(long siteId) {
@@ -1773,11 +1806,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideActivityDashboardCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHideActivityDashboardCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideActivityDashboardCardKey(siteId), false);
     }
 
     public static void setShouldHidePagesDashboardCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHidePagesDashboardCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHidePagesDashboardCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHidePagesDashboardCardKey(long siteId) {
@@ -1785,11 +1818,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHidePagesDashboardCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHidePagesDashboardCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHidePagesDashboardCardKey(siteId), false);
     }
 
     public static void setShouldHideTodaysStatsDashboardCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideTodaysStatsDashboardCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideTodaysStatsDashboardCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideTodaysStatsDashboardCardKey(long siteId) {
@@ -1797,12 +1830,12 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideTodaysStatsDashboardCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHideTodaysStatsDashboardCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideTodaysStatsDashboardCardKey(siteId), false);
     }
 
     public static void setShouldHidePostDashboardCard(final long siteId, final String postType,
                                                       final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHidePostDashboardCardKey(siteId, postType), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHidePostDashboardCardKey(siteId, postType), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHidePostDashboardCardKey(long siteId, final String postType) {
@@ -1810,11 +1843,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHidePostDashboardCard(final long siteId, final String postType) {
-        return prefs().getBoolean(getSiteIdHidePostDashboardCardKey(siteId, postType), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHidePostDashboardCardKey(siteId, postType), false);
     }
 
     public static void setShouldHideNextStepsDashboardCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideNextStepsDashboardCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideNextStepsDashboardCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideNextStepsDashboardCardKey(long siteId) {
@@ -1822,11 +1855,11 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideNextStepsDashboardCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHideNextStepsDashboardCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideNextStepsDashboardCardKey(siteId), false);
     }
 
     public static void setShouldHideGetToKnowTheAppDashboardCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideGetToKnowTheAppDashboardCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideGetToKnowTheAppDashboardCardKey(siteId), isHidden).apply();
     }
 
     @NonNull private static String getSiteIdHideGetToKnowTheAppDashboardCardKey(long siteId) {
@@ -1834,12 +1867,12 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldHideGetToKnowTheAppDashboardCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHideGetToKnowTheAppDashboardCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideGetToKnowTheAppDashboardCardKey(siteId), false);
     }
 
     public static void setShouldShowSiteItemAsQuickLink(final String siteItem, final long siteId,
                                                         final boolean isHidden) {
-        prefs().edit().putBoolean(getShouldShowSiteItemAsQuickLinkKey(siteItem, siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getShouldShowSiteItemAsQuickLinkKey(siteItem, siteId), isHidden).apply();
     }
 
     @NonNull private static String getShouldShowSiteItemAsQuickLinkKey(String siteItem, long siteId) {
@@ -1847,12 +1880,12 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldShowSiteItemAsQuickLink(String siteItem, final long siteId) {
-        return prefs().getBoolean(getShouldShowSiteItemAsQuickLinkKey(siteItem, siteId), false);
+        return sitePrefs(siteId).getBoolean(getShouldShowSiteItemAsQuickLinkKey(siteItem, siteId), false);
     }
 
     public static void setShouldShowDefaultQuickLink(final String siteItem, final long siteId,
                                                         final boolean shouldShow) {
-        prefs().edit().putBoolean(getShouldShowDefaultQuickLinkKey(siteItem, siteId), shouldShow).apply();
+        sitePrefs(siteId).edit().putBoolean(getShouldShowDefaultQuickLinkKey(siteItem, siteId), shouldShow).apply();
     }
 
     @NonNull private static String getShouldShowDefaultQuickLinkKey(String siteItem, long siteId) {
@@ -1860,7 +1893,7 @@ public class AppPrefs {
     }
 
     public static Boolean getShouldShowDefaultQuickLink(String siteItem, final long siteId) {
-        return prefs().getBoolean(getShouldShowDefaultQuickLinkKey(siteItem, siteId), true);
+        return sitePrefs(siteId).getBoolean(getShouldShowDefaultQuickLinkKey(siteItem, siteId), true);
     }
 
     @NonNull
@@ -1869,11 +1902,11 @@ public class AppPrefs {
     }
 
     public static void setShouldHideBloganuaryNudgeCard(final long siteId, final boolean isHidden) {
-        prefs().edit().putBoolean(getSiteIdHideBloganuaryNudgeCardKey(siteId), isHidden).apply();
+        sitePrefs(siteId).edit().putBoolean(getSiteIdHideBloganuaryNudgeCardKey(siteId), isHidden).apply();
     }
 
     public static boolean getShouldHideBloganuaryNudgeCard(final long siteId) {
-        return prefs().getBoolean(getSiteIdHideBloganuaryNudgeCardKey(siteId), false);
+        return sitePrefs(siteId).getBoolean(getSiteIdHideBloganuaryNudgeCardKey(siteId), false);
     }
 
     public static void setShouldHideSotw2023NudgeCard(boolean isHidden) {
@@ -1915,11 +1948,11 @@ public class AppPrefs {
 
     @Nullable
     public static String getStatsCardsConfigurationJson(long siteId) {
-        return prefs().getString(getStatsCardsConfigurationKey(siteId), null);
+        return sitePrefs(siteId).getString(getStatsCardsConfigurationKey(siteId), null);
     }
 
     public static void setStatsCardsConfigurationJson(long siteId, @Nullable String json) {
-        SharedPreferences.Editor editor = prefs().edit();
+        SharedPreferences.Editor editor = sitePrefs(siteId).edit();
         if (json == null) {
             editor.remove(getStatsCardsConfigurationKey(siteId));
         } else {
@@ -1935,11 +1968,11 @@ public class AppPrefs {
 
     @Nullable
     public static String getStatsInsightsCardsConfigurationJson(long siteId) {
-        return prefs().getString(getStatsInsightsCardsConfigurationKey(siteId), null);
+        return sitePrefs(siteId).getString(getStatsInsightsCardsConfigurationKey(siteId), null);
     }
 
     public static void setStatsInsightsCardsConfigurationJson(long siteId, @Nullable String json) {
-        SharedPreferences.Editor editor = prefs().edit();
+        SharedPreferences.Editor editor = sitePrefs(siteId).edit();
         if (json == null) {
             editor.remove(getStatsInsightsCardsConfigurationKey(siteId));
         } else {
@@ -1955,14 +1988,14 @@ public class AppPrefs {
 
     @Nullable
     public static String getSubscribersCardsConfigurationJson(long siteId) {
-        return prefs().getString(getSubscribersCardsConfigurationKey(siteId), null);
+        return sitePrefs(siteId).getString(getSubscribersCardsConfigurationKey(siteId), null);
     }
 
     public static void setSubscribersCardsConfigurationJson(
             long siteId,
             @Nullable String json
     ) {
-        SharedPreferences.Editor editor = prefs().edit();
+        SharedPreferences.Editor editor = sitePrefs(siteId).edit();
         if (json == null) {
             editor.remove(getSubscribersCardsConfigurationKey(siteId));
         } else {
@@ -1981,11 +2014,11 @@ public class AppPrefs {
 
     @Nullable
     public static String getStatsUtmCategory(long siteId) {
-        return prefs().getString(getStatsUtmCategoryKey(siteId), null);
+        return sitePrefs(siteId).getString(getStatsUtmCategoryKey(siteId), null);
     }
 
     public static void setStatsUtmCategory(long siteId, @Nullable String category) {
-        SharedPreferences.Editor editor = prefs().edit();
+        SharedPreferences.Editor editor = sitePrefs(siteId).edit();
         if (category == null) {
             editor.remove(getStatsUtmCategoryKey(siteId));
         } else {
@@ -2002,7 +2035,7 @@ public class AppPrefs {
     public static boolean hasSiteEditorCapabilities(
             @NonNull SiteModel site
     ) {
-        return prefs().contains(
+        return sitePrefs(site.getId()).contains(
                 DeletablePrefKey.SITE_SUPPORTS_EDITOR_SETTINGS.name()
                         + site.getId()
         );
@@ -2011,7 +2044,7 @@ public class AppPrefs {
     public static boolean getSiteSupportsEditorSettings(
             @NonNull SiteModel site
     ) {
-        return prefs().getBoolean(
+        return sitePrefs(site.getId()).getBoolean(
                 DeletablePrefKey.SITE_SUPPORTS_EDITOR_SETTINGS.name()
                         + site.getId(), false
         );
@@ -2020,7 +2053,7 @@ public class AppPrefs {
     public static void setSiteSupportsEditorSettings(
             @NonNull SiteModel site, boolean supports
     ) {
-        prefs().edit().putBoolean(
+        sitePrefs(site.getId()).edit().putBoolean(
                 DeletablePrefKey.SITE_SUPPORTS_EDITOR_SETTINGS.name()
                         + site.getId(), supports
         ).apply();
@@ -2029,7 +2062,7 @@ public class AppPrefs {
     public static boolean getSiteSupportsEditorAssets(
             @NonNull SiteModel site
     ) {
-        return prefs().getBoolean(
+        return sitePrefs(site.getId()).getBoolean(
                 DeletablePrefKey.SITE_SUPPORTS_EDITOR_ASSETS.name()
                         + site.getId(), false
         );
@@ -2038,7 +2071,7 @@ public class AppPrefs {
     public static void setSiteSupportsEditorAssets(
             @NonNull SiteModel site, boolean supports
     ) {
-        prefs().edit().putBoolean(
+        sitePrefs(site.getId()).edit().putBoolean(
                 DeletablePrefKey.SITE_SUPPORTS_EDITOR_ASSETS.name()
                         + site.getId(), supports
         ).apply();
@@ -2047,7 +2080,7 @@ public class AppPrefs {
     public static boolean getSiteThemeIsBlockTheme(
             @NonNull SiteModel site
     ) {
-        return prefs().getBoolean(
+        return sitePrefs(site.getId()).getBoolean(
                 DeletablePrefKey.SITE_THEME_IS_BLOCK_THEME.name()
                         + site.getId(), false
         );
@@ -2056,7 +2089,7 @@ public class AppPrefs {
     public static void setSiteThemeIsBlockTheme(
             @NonNull SiteModel site, boolean isBlockTheme
     ) {
-        prefs().edit().putBoolean(
+        sitePrefs(site.getId()).edit().putBoolean(
                 DeletablePrefKey.SITE_THEME_IS_BLOCK_THEME.name()
                         + site.getId(), isBlockTheme
         ).apply();
@@ -2067,11 +2100,11 @@ public class AppPrefs {
     }
 
     public static long getXPostsNoResultCheckedTimestamp(@NonNull SiteModel site) {
-        return prefs().getLong(xPostsNoResultCheckedTimestampKey(site), 0);
+        return sitePrefs(site.getId()).getLong(xPostsNoResultCheckedTimestampKey(site), 0);
     }
 
     public static void setXPostsNoResultCheckedTimestamp(@NonNull SiteModel site, long timestamp) {
-        prefs().edit().putLong(xPostsNoResultCheckedTimestampKey(site), timestamp).apply();
+        sitePrefs(site.getId()).edit().putLong(xPostsNoResultCheckedTimestampKey(site), timestamp).apply();
     }
 
     /**
@@ -0,0 +1,206 @@
+package org.wordpress.android.ui.prefs
+
+import android.content.Context
+import android.content.SharedPreferences
+import androidx.annotation.VisibleForTesting
+import androidx.preference.PreferenceManager
+import org.wordpress.android.WordPress
+import org.wordpress.android.ui.prefs.AppPrefs.DeletablePrefKey
+import org.wordpress.android.ui.prefs.AppPrefs.UndeletablePrefKey
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * The shards AppPrefs are stored in: a global shard, in the default preferences file, and a shard per site, in a file
+ * of its own, for the preferences whose key ends with a site id. Accounts can have hundreds of sites, so this keeps
+ * the default file from growing with each of them.
+ *
+ * The per-site preferences are moved out of the default file in the background the first time, and the global shard
+ * is used for them until then.
+ */
+object AppPrefsStore {
+    private const val SITE_PREFS_FILE_PREFIX = "site_prefs_"
+
+    // per-site keys are the name of one of these keys followed by the site id...
+    private val SITE_KEY_NAMES = setOf(
+        DeletablePrefKey.BLOGGING_REMINDERS_SHOWN,
+        DeletablePrefKey.SITE_JETPACK_CAPABILITIES,
+        DeletablePrefKey.SHOULD_SHOW_WEEKLY_ROUNDUP_NOTIFICATION,
+        DeletablePrefKey.SKIPPED_BLOGGING_PROMPT_DAY,
+        DeletablePrefKey.SHOULD_HIDE_JETPACK_INSTALL_FULL_PLUGIN_CARD,
+        DeletablePrefKey.SHOULD_SHOW_JETPACK_FULL_PLUGIN_INSTALL_ONBOARDING,
+        DeletablePrefKey.SHOULD_HIDE_PROMOTE_WITH_BLAZE_CARD,
+        DeletablePrefKey.SHOULD_HIDE_DASHBOARD_PLANS_CARD,
+        DeletablePrefKey.SHOULD_HIDE_ACTIVITY_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_HIDE_PAGES_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_HIDE_TODAY_STATS_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_HIDE_NEXT_STEPS_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_HIDE_GET_TO_KNOW_THE_APP_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_HIDE_BLOGANUARY_NUDGE_CARD,
+        DeletablePrefKey.STATS_CARDS_CONFIGURATION_JSON,
+        DeletablePrefKey.STATS_INSIGHTS_CARDS_CONFIGURATION_JSON,
+        DeletablePrefKey.SUBSCRIBERS_CARDS_CONFIGURATION_JSON,
+        DeletablePrefKey.STATS_UTM_CATEGORY,
+        DeletablePrefKey.SITE_SUPPORTS_EDITOR_SETTINGS,
+        DeletablePrefKey.SITE_SUPPORTS_EDITOR_ASSETS,
+        DeletablePrefKey.SITE_THEME_IS_BLOCK_THEME,
+        DeletablePrefKey.XPOSTS_NO_RESULT_CHECKED_TIMESTAMP
+    ).map { it.name }.toSet()
+
+    // ...or followed by a qualifier (e.g. a post type) and then by the site id
+    private val QUALIFIED_SITE_KEY_NAMES = listOf(
+        DeletablePrefKey.SHOULD_HIDE_POST_DASHBOARD_CARD,
+        DeletablePrefKey.SHOULD_SHOW_SITE_ITEM_AS_QUICK_LINK_IN_DASHBOARD,
+        DeletablePrefKey.SHOULD_SHOW_DEFAULT_QUICK_LINK_IN_DASHBOARD
+    ).map { it.name }
+
+    private val writeExecutor: Executor = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "AppPrefs-Writer")
+    }
+
+    @Volatile
+    private var shards: Shards? = null
+
+    @JvmStatic
+    fun global(): PrefsShard = getShards().global
+
+    /**
+     * Returns the shard of the given site, or the global shard while the per-site preferences are being moved to
+     * their shards.
+     */
+    @JvmStatic
+    fun site(siteId: Long): PrefsShard {
+        val shards = getShards()
+        return if (shards.isSitePrefsMigrated) shards.site(siteId) else shards.global
+    }
+
+    /**
+     * Returns the shard of the given key, which is the site shard if the key ends with a site id.
+     */
+    @JvmStatic
+    fun forKey(key: String): PrefsShard {
+        val siteId = getSiteId(key)
+        return if (siteId != null) site(siteId) else global()
+    }
+
+    /**
+     * Returns the preferences of every shard.
+     */
+    @JvmStatic
+    fun getAll(): Map<String, Any?> {
+        val shards = getShards()
+        val result = HashMap<String, Any?>(shards.global.all)
+        shards.getSiteIds().forEach { siteId -> result.putAll(shards.site(siteId).all) }
+        return result
+    }
+
+    @VisibleForTesting
+    internal fun getSitePrefsFileName(siteId: Long) = SITE_PREFS_FILE_PREFIX + siteId
+
+    @JvmStatic
+    fun getSiteId(key: String): Long? {
+        val siteIdStart = key.indexOfLast { !it.isDigit() } + 1
+        if (siteIdStart == 0 || siteIdStart == key.length) {
+            return null
+        }
+        val name = key.substring(0, siteIdStart)
+        val isSiteKey = name in SITE_KEY_NAMES || QUALIFIED_SITE_KEY_NAMES.any { name.startsWith(it) }
+        return if (isSiteKey) key.substring(siteIdStart).toLongOrNull() else null
+    }
+
+    /**
+     * Creates the shards of the given context, moving the per-site preferences to their shards on the given executor
+     * the first time.
+     */
+    @VisibleForTesting
+    @Synchronized
+    internal fun initialize(context: Context, migrationExecutor: Executor = Executor { it.run() }) {
+        shards = Shards(context).also { it.migrateSitePrefs(migrationExecutor) }
+    }
+
+    private fun getShards(): Shards {
+        shards?.let { return it }
+        return synchronized(this) {
+            shards ?: Shards(WordPress.getContext()).also {
+                shards = it
+                it.migrateSitePrefs(writeExecutor)
+            }
+        }
+    }
+
+    private class Shards(private val context: Context) {
+        val global = PrefsShard(PreferenceManager.getDefaultSharedPreferences(context), writeExecutor)
+        private val sites = ConcurrentHashMap<Long, PrefsShard>()
+
+        fun site(siteId: Long): PrefsShard = sites.computeIfAbsent(siteId) {
+            addSiteId(siteId)
+            val prefs = context.getSharedPreferences(getSitePrefsFileName(siteId), Context.MODE_PRIVATE)
+            PrefsShard(prefs, writeExecutor)
+        }
+
+        fun getSiteIds(): List<Long> =
+            global.getStringSet(UndeletablePrefKey.SITE_PREFS_SITE_IDS.name, null).orEmpty()
+                .mapNotNull { it.toLongOrNull() }
+
+        @Synchronized
+        private fun addSiteId(siteId: Long) {
+            val siteIds = global.getStringSet(UndeletablePrefKey.SITE_PREFS_SITE_IDS.name, null).orEmpty()
+            if (siteId.toString() !in siteIds) {
+                global.edit().putStringSet(UndeletablePrefKey.SITE_PREFS_SITE_IDS.name, siteIds + siteId.toString())
+                    .apply()
+            }
+        }
+
+        @Volatile
+        var isSitePrefsMigrated = global.getBoolean(UndeletablePrefKey.IS_SITE_PREFS_MIGRATION_COMPLETED.name, false)
+            private set
+
+        /*
+         * moves the per-site preferences out of the default file on the given executor, once. The preferences written
+         * to the global shard while they're moved are moved by a second pass, once the site shards are used instead
+         */
+        fun migrateSitePrefs(executor: Executor) {
+            if (isSitePrefsMigrated) {
+                return
+            }
+            executor.execute {
+                moveSitePrefs()
+                isSitePrefsMigrated = true
+                moveSitePrefs()
+                global.edit().putBoolean(UndeletablePrefKey.IS_SITE_PREFS_MIGRATION_COMPLETED.name, true).commit()
+            }
+        }
+
+        /*
+         * the site shards are committed before the preferences are removed from the default file, so they can't be
+         * lost if the app is killed meanwhile
+         */
+        private fun moveSitePrefs() {
+            val sitePrefs = global.all.entries.groupBy({ getSiteId(it.key) }, { it.toPair() })
+            val globalEditor = global.edit()
+            sitePrefs.forEach { (siteId, prefs) ->
+                if (siteId != null) {
+                    val siteEditor = site(siteId).edit()
+                    prefs.forEach { (key, value) ->
+                        siteEditor.putValue(key, value)
+                        globalEditor.remove(key)
+                    }
+                    siteEditor.commit()
+                }
+            }
+            globalEditor.commit()
+        }
+
+        private fun SharedPreferences.Editor.putValue(key: String, value: Any?) {
+            when (value) {
+                is String -> putString(key, value)
+                is Boolean -> putBoolean(key, value)
+                is Int -> putInt(key, value)
+                is Long -> putLong(key, value)
+                is Float -> putFloat(key, value)
+                is Set<*> -> putStringSet(key, value.filterIsInstance<String>().toSet())
+            }
+        }
+    }
+}
@@ -494,11 +494,11 @@ class AppPrefsWrapper @Inject constructor(val buildConfigWrapper: BuildConfigWra
     fun getAllPrefs(): Map<String, Any?> = AppPrefs.getAllPrefs()
 
     fun getPrefString(key: String, defValue: String): String? {
-        return AppPrefs.prefs().getString(key, defValue)
+        return AppPrefsStore.forKey(key).getString(key, defValue)
     }
 
     fun removePref(key: String) {
-        AppPrefs.prefs().edit { remove(key) }
+        AppPrefsStore.forKey(key).edit { remove(key) }
     }
 
     fun getDebugBooleanPref(key: String, default: Boolean = false) =
@@ -0,0 +1,226 @@
+package org.wordpress.android.ui.prefs
+
+import android.content.SharedPreferences
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+
+/**
+ * A [SharedPreferences] file read from an immutable in-memory snapshot, so reads never lock or wait for the file.
+ *
+ * Edits are applied to the snapshot right away, and written to the file in the background: edits made before the
+ * write starts are coalesced into a single one. Changes made to the file by other code, which doesn't go through the
+ * shard, are picked up by listening to it.
+ */
+class PrefsShard(
+    private val prefs: SharedPreferences,
+    private val writeExecutor: Executor
+) : SharedPreferences {
+    private val lock = Any()
+
+    @Volatile
+    private var snapshot: Map<String, Any?> = Collections.unmodifiableMap(HashMap(prefs.all))
+
+    // the edits not written to the file yet, by key - a null value removes the key
+    private val pendingWrites = LinkedHashMap<String, Any?>()
+    private var isWriteScheduled = false
+
+    // the keys written to the file whose change hasn't been notified yet, so the notification can be skipped
+    private val unnotifiedWrites = HashSet<String>()
+
+    private val decodedValues = ConcurrentHashMap<String, DecodedValue>()
+
+    // SharedPreferences only keeps weak references to its listeners
+    private val fileChangeListener = OnSharedPreferenceChangeListener { _, key -> onFileChanged(key) }
+
+    init {
+        prefs.registerOnSharedPreferenceChangeListener(fileChangeListener)
+    }
+
+    override fun getAll(): Map<String, *> = snapshot
+
+    override fun getString(key: String, defValue: String?): String? = snapshot[key] as String? ?: defValue
+
+    @Suppress("UNCHECKED_CAST")
+    override fun getStringSet(key: String, defValues: Set<String>?): Set<String>? =
+        snapshot[key] as Set<String>? ?: defValues
+
+    override fun getInt(key: String, defValue: Int): Int = snapshot[key] as Int? ?: defValue
+
+    override fun getLong(key: String, defValue: Long): Long = snapshot[key] as Long? ?: defValue
+
+    override fun getFloat(key: String, defValue: Float): Float = snapshot[key] as Float? ?: defValue
+
+    override fun getBoolean(key: String, defValue: Boolean): Boolean = snapshot[key] as Boolean? ?: defValue
+
+    override fun contains(key: String): Boolean = snapshot.containsKey(key)
+
+    /**
+     * Returns the value of the given key decoded by the given decoder, e.g. a number stored as a string. The decoded
+     * value is kept until the key changes, so the decoder should be a constant and its results shouldn't be modified.
+     */
+    @Suppress("UNCHECKED_CAST")
+    fun <T> getDecoded(key: String, decoder: Decoder<T>): T {
+        val value = snapshot[key]
+        val decodedValue = decodedValues[key]
+        if (decodedValue != null && decodedValue.value === value && decodedValue.decoder === decoder) {
+            return decodedValue.result as T
+        }
+        return decoder.decode(value).also { decodedValues[key] = DecodedValue(value, decoder, it) }
+    }
+
+    override fun edit(): SharedPreferences.Editor = ShardEditor()
+
+    override fun registerOnSharedPreferenceChangeListener(listener: OnSharedPreferenceChangeListener) {
+        prefs.registerOnSharedPreferenceChangeListener(listener)
+    }
+
+    override fun unregisterOnSharedPreferenceChangeListener(listener: OnSharedPreferenceChangeListener) {
+        prefs.unregisterOnSharedPreferenceChangeListener(listener)
+    }
+
+    private fun applyEdits(clear: Boolean, edits: Map<String, Any?>) {
+        synchronized(lock) {
+            val newSnapshot = if (clear) HashMap() else HashMap(snapshot)
+            if (clear) {
+                snapshot.keys.forEach { pendingWrites[it] = null }
+            }
+            edits.forEach { (key, value) ->
+                if (value == null) newSnapshot.remove(key) else newSnapshot[key] = value
+            }
+            pendingWrites.putAll(edits)
+            snapshot = Collections.unmodifiableMap(newSnapshot)
+
+            if (!isWriteScheduled) {
+                isWriteScheduled = true
+                writeExecutor.execute { writePendingEdits(commit = false) }
+            }
+        }
+    }
+
+    /*
+     * the edits are written while holding the lock, so the file has them before the snapshot can be updated
+     * from it again
+     */
+    private fun writePendingEdits(commit: Boolean): Boolean = synchronized(lock) {
+        isWriteScheduled = false
+        val editor = prefs.edit()
+        pendingWrites.forEach { (key, value) ->
+            // the file only notifies the keys whose value changes
+            if (if (value == null) prefs.contains(key) else readFileValue(key, value) != value) {
+                unnotifiedWrites.add(key)
+            }
+            when (value) {
+                null -> editor.remove(key)
+                is String -> editor.putString(key, value)
+                is Boolean -> editor.putBoolean(key, value)
+                is Int -> editor.putInt(key, value)
+                is Long -> editor.putLong(key, value)
+                is Float -> editor.putFloat(key, value)
+                is Set<*> -> editor.putStringSet(key, value.filterIsInstance<String>().toSet())
+            }
+        }
+        pendingWrites.clear()
+        if (commit) {
+            editor.commit()
+        } else {
+            editor.apply()
+            true
+        }
+    }
+
+    /*
+     * change notifications are delivered on the main thread, so only the changed key is read from the file
+     */
+    private fun onFileChanged(key: String?) {
+        synchronized(lock) {
+            if (key == null) {
+                // the file was cleared
+                unnotifiedWrites.clear()
+                snapshot = Collections.unmodifiableMap(HashMap(prefs.all).apply {
+                    pendingWrites.forEach { (pendingKey, value) ->
+                        if (value == null) remove(pendingKey) else put(pendingKey, value)
+                    }
+                })
+                return
+            }
+            if (unnotifiedWrites.remove(key) || pendingWrites.containsKey(key)) {
+                return
+            }
+            val value = readFileValue(key, snapshot[key])
+            if (snapshot[key] != value) {
+                snapshot = Collections.unmodifiableMap(HashMap(snapshot).apply {
+                    if (value == null) remove(key) else put(key, value)
+                })
+            }
+        }
+    }
+
+    /*
+     * reads the value of the given key from the file, with the getter of the type of the given value if it has one
+     */
+    private fun readFileValue(key: String, typeOf: Any?): Any? {
+        if (!prefs.contains(key)) {
+            return null
+        }
+        return try {
+            when (typeOf) {
+                is String -> prefs.getString(key, null)
+                is Boolean -> prefs.getBoolean(key, false)
+                is Int -> prefs.getInt(key, 0)
+                is Long -> prefs.getLong(key, 0L)
+                is Float -> prefs.getFloat(key, 0f)
+                is Set<*> -> prefs.getStringSet(key, null)?.toSet()
+                else -> prefs.all[key]
+            }
+        } catch (e: ClassCastException) {
+            // the key was written with another type
+            prefs.all[key]
+        }
+    }
+
+    fun interface Decoder<T> {
+        fun decode(value: Any?): T
+    }
+
+    private class DecodedValue(val value: Any?, val decoder: Decoder<*>, val result: Any?)
+
+    private inner class ShardEditor : SharedPreferences.Editor {
+        private val edits = LinkedHashMap<String, Any?>()
+        private var clear = false
+
+        override fun putString(key: String, value: String?) = edit(key, value)
+
+        override fun putStringSet(key: String, values: Set<String>?) = edit(key, values?.toSet())
+
+        override fun putInt(key: String, value: Int) = edit(key, value)
+
+        override fun putLong(key: String, value: Long) = edit(key, value)
+
+        override fun putFloat(key: String, value: Float) = edit(key, value)
+
+        override fun putBoolean(key: String, value: Boolean) = edit(key, value)
+
+        override fun remove(key: String) = edit(key, null)
+
+        override fun clear(): SharedPreferences.Editor {
+            clear = true
+            return this
+        }
+
+        override fun commit(): Boolean {
+            applyEdits(clear, edits)
+            return writePendingEdits(commit = true)
+        }
+
+        override fun apply() {
+            applyEdits(clear, edits)
+        }
+
+        private fun edit(key: String, value: Any?): SharedPreferences.Editor {
+            edits[key] = value
+            return this
+        }
+    }
+}
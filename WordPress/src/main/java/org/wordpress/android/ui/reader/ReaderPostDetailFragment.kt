@@ -1062,6 +1062,7 @@ class ReaderPostDetailFragment : ViewPagerFragment(),
 
     override fun onDestroyView() {
         super.onDestroyView()
+        renderer?.cancelRender()
         removeWebViewLayoutListener()
         binding = null
     }
@@ -1681,6 +1682,8 @@ class ReaderPostDetailFragment : ViewPagerFragment(),
         readerWebView.setIsPrivatePost(post.isPrivate)
         readerWebView.setBlogSchemeIsHttps(UrlUtils.isHttps(post.blogUrl))
         readerProgressBar.visibility = View.VISIBLE
+        // the previous renderer's work is for a post that's no longer shown
+        renderer?.cancelRender()
         renderer = ReaderPostRenderer(
             readerWebView,
             post,
@@ -1,12 +1,10 @@
 package org.wordpress.android.ui.reader
 
 import android.annotation.SuppressLint
+import android.os.Handler
+import android.os.Looper
 import android.webkit.WebView
 import androidx.core.net.toUri
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
-import kotlinx.coroutines.withContext
 import org.jsoup.Jsoup
 import org.wordpress.android.R
 import org.wordpress.android.WordPress.Companion.getContext
@@ -16,12 +14,12 @@ import org.wordpress.android.ui.reader.models.ReaderReadingPreferences
 import org.wordpress.android.ui.reader.models.ReaderReadingPreferences.ThemeValues
 import org.wordpress.android.ui.reader.models.ReaderReadingPreferences.ThemeValues.Companion.from
 import org.wordpress.android.ui.reader.utils.ImageSizeMap
-import org.wordpress.android.ui.reader.utils.ReaderEmbedScanner
+import org.wordpress.android.ui.reader.utils.ReaderHtmlTagRewriter
 import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils
-import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils.HtmlScannerListener
-import org.wordpress.android.ui.reader.utils.ReaderIframeScanner
-import org.wordpress.android.ui.reader.utils.ReaderImageScanner
+import org.wordpress.android.ui.reader.utils.ReaderPostHtmlCache
 import org.wordpress.android.ui.reader.utils.ReaderUtils
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane
 import org.wordpress.android.ui.reader.views.ReaderWebView
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.DisplayUtils
@@ -54,13 +52,17 @@ class ReaderPostRenderer(
     private val minFullSizeWidthDp: Int
     private val minMidSizeWidthDp: Int
 
-    private var renderBuilder = StringBuilder()
-
     private var attachmentSizes: ImageSizeMap? = null
     private val readingPreferencesTheme: ThemeValues = from(webView.context, this.readingPreferences.theme)
     private var postMessageListener: ReaderPostMessageListener? = null
 
-    private val coroutineScope = CoroutineScope(Dispatchers.Main)
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    @Volatile
+    private var isRenderCancelled = false
+
+    @Volatile
+    private var cssUrl = ""
 
     init {
         @Suppress("MagicNumber")
@@ -75,78 +77,81 @@ class ReaderPostRenderer(
     }
 
     fun beginRender() {
-        renderBuilder = StringBuilder(getPostContent())
-
-        coroutineScope.launch {
-            val hasTiledGallery = hasTiledGallery(renderBuilder.toString())
-            if (resourceVars.isWideDisplay && !hasTiledGallery) {
-                resizeImages()
+        // read once since it's part of both the cache key and the HTML
+        cssUrl = cssProvider.getCssUrl()
+        val renderVariant = getRenderVariant()
+
+        // a render that hasn't started yet would only be replaced by this one
+        ReaderWorkScheduler.cancelAll(this)
+        isRenderCancelled = false
+        ReaderWorkScheduler.submit(Lane.CPU, null, this) {
+            // hashing the post's content can be slow for long posts, so the key isn't computed on the main thread
+            val cacheKey = ReaderPostHtmlCache.getKey(readerPost, renderVariant)
+            val htmlContent = ReaderPostHtmlCache.get(cacheKey) ?: buildHtmlContent().also { html ->
+                ReaderPostHtmlCache.put(cacheKey, html)
             }
 
-            resizeIframes()
-
-            // inject the set of JS scripts to inject in our WebView to support some specific Embeds.
-            val jsToInject = injectJSForSpecificEmbedSupport()
-
-            val htmlContent = formatPostContentForWebView(
-                content = renderBuilder.toString(),
-                jsToInject = jsToInject,
-                hasTiledGallery = hasTiledGallery,
-                isWideDisplay = resourceVars.isWideDisplay
-            )
-
-            withContext(Dispatchers.Main) {
-                renderHtmlContent(htmlContent)
-                renderBuilder.clear()
+            mainHandler.post {
+                if (!isRenderCancelled) {
+                    renderHtmlContent(htmlContent)
+                }
             }
         }
     }
 
     /*
-     * scan the content for images and make sure they're correctly sized for the device
+     * generates the full HTML for the post - called in the background since this can be slow for long posts
      */
-    private fun resizeImages() {
-        val imageListener =
-            HtmlScannerListener { imageTag, imageUrl ->
-                // Exceptions which should keep their original tag attributes
-                if (imageUrl.contains("wpcom-smileys") || imageTag.contains("wp-story")) {
-                    return@HtmlScannerListener
-                }
-                replaceImageTag(imageTag, imageUrl)
-            }
-        val content = renderBuilder.toString()
-        val scanner = ReaderImageScanner(content, readerPost.isPrivate)
-        scanner.beginScan(imageListener)
+    private fun buildHtmlContent(): String {
+        val content = getPostContent()
+
+        // tiled galleries are only rendered as such on wide displays, so there's no need to look for them otherwise
+        val hasTiledGallery = resourceVars.isWideDisplay && hasTiledGallery(content)
+
+        // resize images and iframes for the device and find the scripts needed by embeds in a single pass
+        val rewriter = ReaderHtmlTagRewriter(
+            imageRewriter = if (resourceVars.isWideDisplay && !hasTiledGallery) ::makeResizedImageTag else null,
+            iframeRewriter = ::makeResizedIframeTag
+        )
+        val rewritten = rewriter.rewrite(content)
+
+        return formatPostContentForWebView(
+            content = rewritten.content,
+            jsToInject = rewritten.embedScripts,
+            hasTiledGallery = hasTiledGallery,
+            isWideDisplay = resourceVars.isWideDisplay
+        )
     }
 
     /*
-     * scan the content for iframes and make sure they're correctly sized for the device
+     * returns everything other than the post itself which affects the generated HTML, so HTML cached for
+     * another display size, reading preference or theme isn't used
      */
-    private fun resizeIframes() {
-        val iframeListener =
-            HtmlScannerListener { tag, src ->
-                replaceIframeTag(
-                    tag,
-                    src
-                )
-            }
-        val content = renderBuilder.toString()
-        val scanner = ReaderIframeScanner(content)
-        scanner.beginScan(iframeListener)
-    }
+    private fun getRenderVariant(): String = listOf(
+        resourceVars.fullSizeImageWidthPx,
+        resourceVars.videoWidthPx,
+        resourceVars.videoHeightPx,
+        resourceVars.marginMediumPx,
+        resourceVars.isWideDisplay,
+        readerPost.isPrivate,
+        cssUrl,
+        readingPreferences,
+        readingPreferencesTheme.cssTextColor,
+        readingPreferencesTheme.cssTextMediumColor,
+        readingPreferencesTheme.cssTextLightColor,
+        readingPreferencesTheme.cssTextExtraLightColor,
+        readingPreferencesTheme.cssTextDisabledColor,
+        readingPreferencesTheme.cssLinkColor,
+        readingPreferencesTheme.cssBackgroundColor
+    ).joinToString(":")
 
-    private fun injectJSForSpecificEmbedSupport(): Set<String> {
-        val jsToInject: MutableSet<String> = HashSet()
-        val embedListener =
-            HtmlScannerListener { _, src ->
-                jsToInject.add(
-                    src
-                )
-            }
-        val content = renderBuilder.toString()
-        val scanner = ReaderEmbedScanner(content)
-        scanner.beginScan(embedListener)
-        return jsToInject
+    /*
+     * called when the webView is going away, so a render that hasn't started yet is skipped and one that's
+     * underway doesn't load its result
+     */
+    fun cancelRender() {
+        isRenderCancelled = true
+        ReaderWorkScheduler.cancelAll(this)
     }
 
     /*
@@ -176,11 +181,16 @@ class ReaderPostRenderer(
     }
 
     /*
-     * called when image scanner finds an image, tries to replace the image tag with one that
-     * has height & width attributes set correctly for the current display, if that fails
-     * replaces it with one that has our 'size-none' class
+     * returns an image tag with height & width attributes set correctly for the current display, or
+     * one that has our 'size-none' class if that fails - returns null for images which should keep
+     * their original tag
      */
-    private fun replaceImageTag(imageTag: String, imageUrl: String) {
+    private fun makeResizedImageTag(imageTag: String, imageUrl: String): String? {
+        // Exceptions which should keep their original tag attributes
+        if (imageUrl.contains("wpcom-smileys") || imageTag.contains("wp-story")) {
+            return null
+        }
+
         val origSize = getImageSize(imageTag, imageUrl)
         val hasWidth = (origSize != null && origSize.width > 0)
         val isFullSize = hasWidth && (origSize.width >= minFullSizeWidthDp)
@@ -188,7 +198,7 @@ class ReaderPostRenderer(
                 && (origSize.width >= minMidSizeWidthDp)
                 && (origSize.width < minFullSizeWidthDp)
 
-        val newImageTag = if (isFullSize) {
+        return if (isFullSize) {
             makeFullSizeImageTag(imageUrl, origSize.width, origSize.height)
         } else if (isMidSize) {
             makeImageTag(imageUrl, origSize.width, origSize.height, "size-medium")
@@ -197,14 +207,6 @@ class ReaderPostRenderer(
         } else {
             "<img class='size-none' src='$imageUrl' />"
         }
-
-        val start = renderBuilder.indexOf(imageTag)
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > image not found in builder")
-            return
-        }
-
-        renderBuilder.replace(start, start + imageTag.length, newImageTag)
     }
 
     private fun makeImageTag(
@@ -324,12 +326,12 @@ class ReaderPostRenderer(
     }
 
     /*
-     * replace the passed iframe tag with one that's correctly sized for the device
+     * returns an iframe tag for the passed one that's correctly sized for the device
      */
-    private fun replaceIframeTag(
+    private fun makeResizedIframeTag(
         tag: String,
         src: String
-    ) {
+    ): String {
         val width = ReaderHtmlUtils.getWidthAttrValue(tag)
         val height = ReaderHtmlUtils.getHeightAttrValue(tag)
 
@@ -344,18 +346,10 @@ class ReaderPostRenderer(
             newHeight = resourceVars.videoHeightPx
         }
 
-        val newTag = ("<iframe src='" + src + "'"
+        return ("<iframe src='" + src + "'"
                 + " frameborder='0' allowfullscreen='true' allowtransparency='true'"
                 + " width='" + pxToDp(newWidth) + "'"
                 + " height='" + pxToDp(newHeight) + "' />")
-
-        val start = renderBuilder.indexOf(tag)
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > iframe not found in builder")
-            return
-        }
-
-        renderBuilder.replace(start, start + tag.length, newTag)
     }
 
     /*
@@ -385,7 +379,7 @@ class ReaderPostRenderer(
         sbHtml.append("<title>Reader Post</title>")
             .append(
                 ("""<link rel="stylesheet" type="text/css"
-          href="${cssProvider.getCssUrl()}">""")
+          href="$cssUrl">""")
             )
 
         // https://developers.google.com/chrome/mobile/docs/webview/pixelperfect
@@ -573,24 +567,15 @@ class ReaderPostRenderer(
             .append(" }")
             .append("</style>")
 
-        // add a custom CSS class to (any) tiled gallery elements to make them easier selectable for various rules
-        val classAmendRegexes: List<String> = mutableListOf(
-            "(tiled-gallery) ([\\s\"\'])",
-            "(gallery-row) ([\\s\"'])",
-            "(gallery-group) ([\\s\"'])",
-            "(tiled-gallery-item) ([\\s\"'])"
-        )
-        var contentCustomised = content
-
         // removes background-color property from original content
-        contentCustomised =
-            contentCustomised.replace("\\s*(background-color)\\s*:\\s*.+?\\s*;\\s*".toRegex(), "")
+        var contentCustomised = BACKGROUND_COLOR_PATTERN.matcher(content).replaceAll("")
 
-        classAmendRegexes.forEach { classToAmend ->
-            contentCustomised = contentCustomised.replace(
-                classToAmend.toRegex(),
-                "$1 $galleryOnlyClass$2"
-            )
+        // add a custom CSS class to (any) tiled gallery elements to make them easier selectable for various rules,
+        // which is only needed when they're rendered as a tiled gallery since that's the only time it's used
+        if (renderAsTiledGallery) {
+            TILED_GALLERY_CLASS_PATTERNS.forEach { classToAmend ->
+                contentCustomised = classToAmend.matcher(contentCustomised).replaceAll("$1 $galleryOnlyClass$2")
+            }
         }
 
         jsToInject.forEach { jsUrl ->
@@ -758,9 +743,19 @@ class ReaderPostRenderer(
         private const val JAVASCRIPT_MESSAGE_HANDLER = "wvHandler"
         private const val JS_OBJECT_ADDED_TAG = "jsObjectAdded"
         private const val RANDOM_BOUND = 1000
+        private val TILED_GALLERY_PATTERN = Pattern.compile("tiled-gallery[\\s\"']")
+        private val BACKGROUND_COLOR_PATTERN = Pattern.compile("\\s*(background-color)\\s*:\\s*.+?\\s*;\\s*")
+        private val TILED_GALLERY_CLASS_PATTERNS = listOf(
+            "(tiled-gallery) ([\\s\"\'])",
+            "(gallery-row) ([\\s\"'])",
+            "(gallery-group) ([\\s\"'])",
+            "(tiled-gallery-item) ([\\s\"'])"
+        ).map { Pattern.compile(it) }
+
         // determine whether a tiled-gallery exists in the content
         fun hasTiledGallery(text: String): Boolean {
-            return Pattern.compile("tiled-gallery[\\s\"']").matcher(text).find()
+            // cheap check first since most posts don't contain one
+            return text.contains("tiled-gallery") && TILED_GALLERY_PATTERN.matcher(text).find()
         }
     }
 }
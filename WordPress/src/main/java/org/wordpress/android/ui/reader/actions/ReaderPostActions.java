@@ -37,6 +37,8 @@ import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
 import org.wordpress.android.ui.reader.models.ReaderSimplePost;
 import org.wordpress.android.ui.reader.models.ReaderSimplePostList;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.DateTimeUtils;
@@ -44,8 +46,11 @@ import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.UrlUtils;
 import org.wordpress.android.util.VolleyUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -55,6 +60,10 @@ public class ReaderPostActions {
 
     private static final int NUM_RELATED_POSTS_TO_REQUEST = 2;
 
+    // listeners waiting for the queued work which saves a requested post, by the key of that work
+    private static final Map<String, List<ReaderActions.OnRequestListener<String>>> PENDING_POST_LISTENERS =
+            new HashMap<>();
+
     private ReaderPostActions() {
         throw new AssertionError();
     }
@@ -174,7 +183,7 @@ public class ReaderPostActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 ReaderPost serverPost = ReaderPost.fromJson(jsonObject);
@@ -226,7 +235,7 @@ public class ReaderPostActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /*
@@ -290,7 +299,11 @@ public class ReaderPostActions {
         com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject jsonObject) {
-                new Thread(() -> {
+                // the same post is often requested again before the previous response is saved (ex: when the
+                // detail screen is recreated), so the work is coalesced and notifies every listener once it's done
+                String key = "request-post:" + path;
+                addPendingPostListener(key, requestListener);
+                ReaderWorkScheduler.submit(Lane.DB, key, null, () -> {
                     ReaderPost post = ReaderPost.fromJson(jsonObject);
 
                     // Preserve the existing date_published if the post
@@ -309,10 +322,10 @@ public class ReaderPostActions {
                     ReaderPostTable.addPost(post);
                     handlePostLikes(post, jsonObject);
 
-                    if (requestListener != null) {
-                        requestListener.onSuccess(post.getBlogUrl());
+                    for (ReaderActions.OnRequestListener<String> pendingListener : removePendingPostListeners(key)) {
+                        pendingListener.onSuccess(post.getBlogUrl());
                     }
-                }).start();
+                });
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -340,6 +353,29 @@ public class ReaderPostActions {
         restClientUtils.getWithLocale(path, null, null, listener, errorListener);
     }
 
+    private static void addPendingPostListener(@NonNull String key,
+                                               @Nullable ReaderActions.OnRequestListener<String> listener) {
+        if (listener == null) {
+            return;
+        }
+        synchronized (PENDING_POST_LISTENERS) {
+            List<ReaderActions.OnRequestListener<String>> listeners = PENDING_POST_LISTENERS.get(key);
+            if (listeners == null) {
+                listeners = new ArrayList<>();
+                PENDING_POST_LISTENERS.put(key, listeners);
+            }
+            listeners.add(listener);
+        }
+    }
+
+    @NonNull
+    private static List<ReaderActions.OnRequestListener<String>> removePendingPostListeners(@NonNull String key) {
+        synchronized (PENDING_POST_LISTENERS) {
+            List<ReaderActions.OnRequestListener<String>> listeners = PENDING_POST_LISTENERS.remove(key);
+            return listeners != null ? listeners : Collections.emptyList();
+        }
+    }
+
     private static String getTrackingPixelForPost(@NonNull ReaderPost post) {
         return "https://pixel.wp.com/g.gif?v=wpcom&reader=1"
                + "&blog=" + post.blogId
@@ -443,7 +479,9 @@ public class ReaderPostActions {
             return;
         }
 
-        new Thread() {
+        // the same related posts may be requested repeatedly while paging through posts, so coalesce them
+        String key = "related-posts:" + sourcePost.blogId + ":" + sourcePost.postId;
+        ReaderWorkScheduler.submit(Lane.CPU, key, null, new Runnable() {
             @Override
             public void run() {
                 JSONArray jsonPosts = jsonObject.optJSONArray("posts");
@@ -463,7 +501,7 @@ public class ReaderPostActions {
                                                                                     globalRelatedPosts, true));
                 }
             }
-        }.start();
+        });
     }
 
     public static void addToBookmarked(@NonNull final ReaderPost post) {
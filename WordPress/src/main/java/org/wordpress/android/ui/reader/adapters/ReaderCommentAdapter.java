@@ -16,6 +16,8 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.appcompat.widget.ListPopupWindow;
 import androidx.core.graphics.ColorUtils;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.wordpress.android.R;
@@ -114,6 +116,30 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
     }
 
     private ReaderCommentList mComments = new ReaderCommentList();
+    // incremented whenever comments are added to or removed from mComments, so a diff calculated while loading
+    // comments is only applied to the list it was calculated from
+    private int mCommentsVersion = 0;
+    private final ListUpdateCallback mListUpdateCallback = new ListUpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position + NUM_HEADERS, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position + NUM_HEADERS, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition + NUM_HEADERS, toPosition + NUM_HEADERS);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position + NUM_HEADERS, count, payload);
+        }
+    };
     private RequestReplyListener mReplyListener;
     private CommentMenuActionListener mCommentMenuActionListener;
     private ReaderInterfaces.DataLoadedListener mDataLoadedListener;
@@ -625,12 +651,15 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             return;
         }
 
-        // if the comment doesn't have a parent we can just add it to the list of existing
-        // comments - but if it does have a parent, we need to reload the list so that it
-        // appears under its parent and is correctly indented
-        if (comment.parentId == 0) {
-            mComments.add(comment);
-            notifyDataSetChanged();
+        // add the comment below the existing replies to its parent - if the parent isn't in the list
+        // we need to reload it so that the comment appears under its parent and is correctly indented
+        if (ReaderCommentLeveler.insertComment(mComments, comment, mListUpdateCallback)) {
+            mCommentsVersion++;
+            // the parent was the reply target, so it needs to be redrawn without the highlighted reply button
+            int parentPosition = comment.parentId != 0 ? positionOfCommentId(comment.parentId) : -1;
+            if (parentPosition > -1) {
+                notifyItemChanged(parentPosition);
+            }
         } else {
             refreshComments();
         }
@@ -645,12 +674,9 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             setHighlightCommentId(0, false);
         }
 
-        int index = mComments.indexOfCommentId(commentId);
-        if (index > -1) {
-            mComments.remove(index);
-            // re-level comments
-            mComments = new ReaderCommentLeveler(mComments).createLevelList();
-            notifyDataSetChanged();
+        // replies to the comment are removed along with it, as they no longer have a parent in the list
+        if (ReaderCommentLeveler.removeComment(mComments, commentId, mListUpdateCallback)) {
+            mCommentsVersion++;
         }
     }
 
@@ -706,12 +732,17 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
     @SuppressWarnings("deprecation")
     @SuppressLint("StaticFieldLeak")
     private class LoadCommentsTask extends AsyncTask<Void, Void, Boolean> {
+        private final ReaderCommentList mTmpOldComments = new ReaderCommentList();
+        private int mTmpOldCommentsVersion;
         private ReaderCommentList mTmpComments;
+        private DiffUtil.DiffResult mTmpDiffResult;
         private boolean mTmpMoreCommentsExist;
 
         @Override
         protected void onPreExecute() {
             mIsTaskRunning = true;
+            mTmpOldComments.addAll(mComments);
+            mTmpOldCommentsVersion = mCommentsVersion;
         }
 
         @Override
@@ -732,8 +763,16 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             int numLocalComments = ReaderCommentTable.getNumCommentsForPost(mPost);
             mTmpMoreCommentsExist = (numServerComments > numLocalComments);
 
-            mTmpComments = ReaderCommentTable.getCommentsForPost(mPost);
-            return !mComments.isSameList(mTmpComments);
+            ReaderCommentList comments = ReaderCommentTable.getCommentsForPost(mPost);
+            if (mTmpOldComments.isSameList(comments)) {
+                return false;
+            }
+
+            // sort children under their parents and apply indent levels, then calculate the changes to the
+            // displayed list here rather than on the main thread, since threads can have thousands of comments
+            mTmpComments = new ReaderCommentLeveler(comments).createLevelList();
+            mTmpDiffResult = DiffUtil.calculateDiff(new ReaderCommentDiffCallback(mTmpOldComments, mTmpComments));
+            return true;
         }
 
         @Override
@@ -741,9 +780,14 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             mMoreCommentsExist = mTmpMoreCommentsExist;
 
             if (result) {
-                // assign the comments with children sorted under their parents and indent levels applied
-                mComments = new ReaderCommentLeveler(mTmpComments).createLevelList();
-                notifyDataSetChanged();
+                mComments = mTmpComments;
+                if (mCommentsVersion == mTmpOldCommentsVersion) {
+                    mTmpDiffResult.dispatchUpdatesTo(mListUpdateCallback);
+                } else {
+                    // comments were added or removed while loading, so the diff no longer applies
+                    notifyDataSetChanged();
+                }
+                mCommentsVersion++;
             }
             if (mDataLoadedListener != null) {
                 mDataLoadedListener.onDataLoaded(isEmpty());
@@ -0,0 +1,28 @@
+package org.wordpress.android.ui.reader.adapters
+
+import androidx.recyclerview.widget.DiffUtil
+import org.wordpress.android.models.ReaderComment
+
+class ReaderCommentDiffCallback(
+    private val oldComments: List<ReaderComment>,
+    private val newComments: List<ReaderComment>
+) : DiffUtil.Callback() {
+    override fun getOldListSize(): Int {
+        return oldComments.size
+    }
+
+    override fun getNewListSize(): Int {
+        return newComments.size
+    }
+
+    override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        return oldComments[oldItemPosition].commentId == newComments[newItemPosition].commentId
+    }
+
+    override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        val oldComment = oldComments[oldItemPosition]
+        val newComment = newComments[newItemPosition]
+        // the level isn't part of equals() as it isn't stored, but it changes the comment's indentation
+        return oldComment == newComment && oldComment.level == newComment.level
+    }
+}
@@ -47,12 +47,13 @@ class GetDiscoverCardsUseCase @Inject constructor(
                         // TODO we might want to load the data in batch
                         val (blogId, postId) = parseDiscoverCardsJsonUseCase.parseSimplifiedPostCard(cardJson)
                         val post = readerPostTableWrapper.getBlogPost(blogId, postId, false)
-                        if (post != null) {
-                            cards.add(ReaderPostCard(post))
-                        } else {
+                        if (post == null) {
                             appLogWrapper.d(READER, "Post from /cards json not found in ReaderDatabase")
                             continue@forLoop
+                        } else if (readerPostTableWrapper.isPostBlocked(post)) {
+                            continue@forLoop
                         }
+                        cards.add(ReaderPostCard(post))
                     }
                     ReaderConstants.JSON_CARD_RECOMMENDED_BLOGS -> {
                         cardJson?.let {
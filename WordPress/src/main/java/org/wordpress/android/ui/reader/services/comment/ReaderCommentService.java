@@ -25,6 +25,8 @@ import org.wordpress.android.ui.reader.ReaderEvents.UpdateCommentsScenario;
 import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.JSONUtils;
 
@@ -220,7 +222,7 @@ public class ReaderCommentService extends Service {
             return;
         }
 
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 final boolean hasNewComments;
@@ -266,6 +268,6 @@ public class ReaderCommentService extends Service {
                         (hasNewComments ? ReaderActions.UpdateResult.HAS_NEW : ReaderActions.UpdateResult.UNCHANGED);
                 resultListener.onUpdateResult(result);
             }
-        }.start();
+        });
     }
 }
@@ -27,6 +27,8 @@ import org.wordpress.android.ui.reader.ReaderEvents.FollowedBlogsFetched;
 import org.wordpress.android.ui.reader.ReaderEvents.FollowedTagsFetched;
 import org.wordpress.android.ui.reader.ReaderEvents.InterestTagsFetchEnded;
 import org.wordpress.android.ui.reader.services.ServiceCompletionListener;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.PerAppLocaleManager;
@@ -142,7 +144,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleUpdateTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 // get server topics, both default & followed - but use "recommended" for logged-out
@@ -201,7 +203,7 @@ public class ReaderUpdateLogic {
 
                 taskCompleted(UpdateTask.TAGS);
             }
-        }.start();
+        });
     }
 
     /*
@@ -284,7 +286,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleInterestTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.CPU, new Runnable() {
             @Override
             public void run() {
                 ReaderTagList interestTags = new ReaderTagList();
@@ -292,7 +294,7 @@ public class ReaderUpdateLogic {
                 EventBus.getDefault().post(new InterestTagsFetchEnded(interestTags, true));
                 taskCompleted(UpdateTask.INTEREST_TAGS);
             }
-        }.start();
+        });
     }
 
     /***
@@ -322,7 +324,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleFollowedBlogsResponse(final ReaderBlogList serverBlogs, final JSONObject jsonObject) {
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 ReaderBlogList currentPageServerResponse = ReaderBlogList.fromJson(jsonObject);
@@ -363,7 +365,7 @@ public class ReaderUpdateLogic {
                     taskCompleted(UpdateTask.FOLLOWED_BLOGS);
                 }
             }
-        }.start();
+        });
     }
 
     /**
@@ -1,10 +1,18 @@
 package org.wordpress.android.ui.reader.utils;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListUpdateCallback;
 
 import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderCommentList;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /*
  * utility class which accepts a list of comments and then creates a "level list" from it
  * which places child comments below their parents with indentation levels applied
@@ -18,68 +26,105 @@ public class ReaderCommentLeveler {
     }
 
     public ReaderCommentList createLevelList() {
-        ReaderCommentList result = new ReaderCommentList();
+        List<ReaderComment> rootComments = new ArrayList<>();
+        Map<Long, List<ReaderComment>> childrenByParentId = new HashMap<>();
 
-        // reset all levels, and add root comments to result
+        // reset all levels, and index the children of each comment in the order they were passed in
         for (ReaderComment comment : mComments) {
             comment.level = 0;
             if (comment.parentId == 0) {
-                result.add(comment);
+                rootComments.add(comment);
+            } else {
+                List<ReaderComment> children = childrenByParentId.get(comment.parentId);
+                if (children == null) {
+                    children = new ArrayList<>();
+                    childrenByParentId.put(comment.parentId, children);
+                }
+                children.add(comment);
             }
         }
 
-        // add children at each level
-        int level = 0;
-        while (walkCommentsAtLevel(result, level)) {
-            level++;
+        // walk the threads depth-first with a stack rather than recursively, since they can be deeply nested -
+        // comments whose parent isn't in the list are never reached, so they're left out
+        ReaderCommentList result = new ReaderCommentList();
+        result.ensureCapacity(mComments.size());
+        Deque<ReaderComment> stack = new ArrayDeque<>();
+        pushInReverse(stack, rootComments, 0);
+        while (!stack.isEmpty()) {
+            ReaderComment comment = stack.pop();
+            result.add(comment);
+            // removing the children ensures each thread is only walked once, even with duplicate comment ids
+            List<ReaderComment> children = childrenByParentId.remove(comment.commentId);
+            if (children != null) {
+                pushInReverse(stack, children, comment.level + 1);
+            }
         }
 
         return result;
     }
 
     /*
-     * walk comments in the passed list that have the passed level and add their children
-     * beneath them
+     * inserts a new comment in a list created by createLevelList(), below the existing replies to its parent,
+     * and reports the insertion to the passed callback - returns false if the comment's parent isn't in the list
      */
-    private boolean walkCommentsAtLevel(@NonNull ReaderCommentList comments, int level) {
-        boolean hasChanges = false;
-        for (int index = 0; index < comments.size(); index++) {
-            ReaderComment parent = comments.get(index);
-            if (parent.level == level && hasChildren(parent.commentId)) {
-                // get children for this comment, set their level, then add them below the parent
-                ReaderCommentList children = getChildren(parent.commentId);
-                setLevel(children, level + 1);
-                comments.addAll(index + 1, children);
-                hasChanges = true;
-                // skip past the children we just added
-                index += children.size();
+    public static boolean insertComment(@NonNull ReaderCommentList levelList,
+                                        @NonNull ReaderComment comment,
+                                        @NonNull ListUpdateCallback callback) {
+        int position;
+        if (comment.parentId == 0) {
+            comment.level = 0;
+            position = levelList.size();
+        } else {
+            int parentIndex = levelList.indexOfCommentId(comment.parentId);
+            if (parentIndex == -1) {
+                return false;
             }
+            int parentLevel = levelList.get(parentIndex).level;
+            comment.level = parentLevel + 1;
+            position = getEndOfThread(levelList, parentIndex);
         }
-        return hasChanges;
+        levelList.add(position, comment);
+        callback.onInserted(position, 1);
+        return true;
     }
 
-    private boolean hasChildren(long commentId) {
-        for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                return true;
-            }
+    /*
+     * removes the comment with the passed id from a list created by createLevelList(), along with the replies
+     * to it (which no longer have a parent in the list), and reports the removal to the passed callback -
+     * returns false if the comment isn't in the list
+     */
+    public static boolean removeComment(@NonNull ReaderCommentList levelList,
+                                        long commentId,
+                                        @NonNull ListUpdateCallback callback) {
+        int index = levelList.indexOfCommentId(commentId);
+        if (index == -1) {
+            return false;
         }
-        return false;
+        int end = getEndOfThread(levelList, index);
+        levelList.subList(index, end).clear();
+        callback.onRemoved(index, end - index);
+        return true;
     }
 
-    private ReaderCommentList getChildren(long commentId) {
-        ReaderCommentList children = new ReaderCommentList();
-        for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                children.add(comment);
-            }
+    /*
+     * returns the index following the last reply (at any depth) to the comment at the passed index
+     */
+    private static int getEndOfThread(@NonNull ReaderCommentList levelList, int index) {
+        int level = levelList.get(index).level;
+        int end = index + 1;
+        while (end < levelList.size() && levelList.get(end).level > level) {
+            end++;
         }
-        return children;
+        return end;
     }
 
-    private void setLevel(@NonNull ReaderCommentList comments, int level) {
-        for (ReaderComment comment : comments) {
+    private static void pushInReverse(@NonNull Deque<ReaderComment> stack,
+                                      @NonNull List<ReaderComment> comments,
+                                      int level) {
+        for (int i = comments.size() - 1; i >= 0; i--) {
+            ReaderComment comment = comments.get(i);
             comment.level = level;
+            stack.push(comment);
         }
     }
 }
@@ -0,0 +1,152 @@
+package org.wordpress.android.ui.reader.utils
+
+/**
+ * Rewrites the img and iframe tags in post content in a single linear pass, noting the scripts needed by any
+ * known embeds along the way. This replaces scanning the content once per tag type and then searching for and
+ * replacing each tag that was found, which re-copied long posts for every image.
+ *
+ * Tags are matched the same way as [ReaderImageScanner] and [ReaderIframeScanner] (images need a double-quoted
+ * src, iframes a single-quoted one) and embeds the same way as [ReaderEmbedScanner].
+ *
+ * @param imageRewriter returns the replacement for an image tag, or null to keep the original - pass null to
+ * leave every image as is
+ * @param iframeRewriter returns the replacement for an iframe tag, or null to keep the original
+ */
+class ReaderHtmlTagRewriter(
+    private val imageRewriter: ((tag: String, src: String) -> String?)?,
+    private val iframeRewriter: (tag: String, src: String) -> String?
+) {
+    class Result(val content: String, val embedScripts: Set<String>)
+
+    fun rewrite(content: String): Result {
+        val embedScripts = LinkedHashSet<String>()
+        // replacement tags are usually a bit shorter than the originals, so this rarely needs to grow
+        val output = StringBuilder(content.length)
+        var copyFrom = 0
+        var tagStart = content.indexOf('<')
+
+        while (tagStart != -1) {
+            var tagEnd = -1
+            when {
+                imageRewriter != null && content.startsWith(IMG, tagStart + 1, ignoreCase = true) -> {
+                    tagEnd = rewriteTag(content, tagStart, IMG, IMG_QUOTES, imageRewriter, output, copyFrom)
+                }
+                content.startsWith(IFRAME, tagStart + 1, ignoreCase = true) -> {
+                    tagEnd = rewriteTag(content, tagStart, IFRAME, IFRAME_QUOTES, iframeRewriter, output, copyFrom)
+                }
+                isInstagramEmbed(content, tagStart) -> embedScripts.add(INSTAGRAM_EMBED_SCRIPT)
+                content.startsWith(FACEBOOK_POST, tagStart + 1, ignoreCase = true) ->
+                    embedScripts.add(FACEBOOK_EMBED_SCRIPT)
+            }
+
+            if (tagEnd != -1) {
+                copyFrom = tagEnd
+                tagStart = content.indexOf('<', tagEnd)
+            } else {
+                tagStart = content.indexOf('<', tagStart + 1)
+            }
+        }
+
+        if (copyFrom == 0) {
+            // nothing was rewritten
+            return Result(content, embedScripts)
+        }
+        output.append(content, copyFrom, content.length)
+        return Result(output.toString(), embedScripts)
+    }
+
+    /*
+     * matches the tag starting at tagStart and appends its replacement (preceded by any content that hasn't been
+     * copied yet) to the output - returns the index following the tag if it was replaced, otherwise -1
+     */
+    @Suppress("LongParameterList", "ReturnCount")
+    private fun rewriteTag(
+        content: String,
+        tagStart: Int,
+        tagName: String,
+        quotes: String,
+        rewriter: (tag: String, src: String) -> String?,
+        output: StringBuilder,
+        copyFrom: Int
+    ): Int {
+        val match = matchTag(content, tagStart, tagName, quotes) ?: return -1
+        val tag = content.substring(tagStart, match.tagEnd)
+        val src = content.substring(match.srcStart, match.srcEnd)
+        val newTag = rewriter(tag, src) ?: return -1
+
+        output.append(content, copyFrom, tagStart).append(newTag)
+        return match.tagEnd
+    }
+
+    private class TagMatch(val srcStart: Int, val srcEnd: Int, val tagEnd: Int)
+
+    companion object {
+        private const val IMG = "img"
+        private const val IFRAME = "iframe"
+        private const val BLOCKQUOTE = "blockquote"
+        private const val FACEBOOK_POST = "fb:post"
+        private const val INSTAGRAM_CLASS = "class=\"instagram-"
+        private const val SRC_ATTR = " src="
+        private const val IMG_QUOTES = "\""
+        private const val IFRAME_QUOTES = "'"
+
+        const val INSTAGRAM_EMBED_SCRIPT = "https://platform.instagram.com/en_US/embeds.js"
+        const val FACEBOOK_EMBED_SCRIPT = "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8"
+
+        /*
+         * equivalent to matching `<tagName[^>]* src=Q([^Q]*)Q[^>]*>` at tagStart, where Q is any of the passed
+         * quotes - like the regex this uses the last src attribute before the first '>', falling back to
+         * earlier ones if a later one isn't terminated
+         */
+        @Suppress("ReturnCount")
+        private fun matchTag(content: String, tagStart: Int, tagName: String, quotes: String): TagMatch? {
+            val nameEnd = tagStart + 1 + tagName.length
+            val firstGt = content.indexOf('>', nameEnd)
+            if (firstGt == -1) {
+                return null
+            }
+
+            var attrStart = firstGt - SRC_ATTR.length
+            while (attrStart >= nameEnd) {
+                if (content.startsWith(SRC_ATTR, attrStart, ignoreCase = true)) {
+                    val match = matchSrcValue(content, attrStart + SRC_ATTR.length, quotes)
+                    if (match != null) {
+                        return match
+                    }
+                }
+                attrStart--
+            }
+            return null
+        }
+
+        @Suppress("ReturnCount")
+        private fun matchSrcValue(content: String, openQuote: Int, quotes: String): TagMatch? {
+            if (openQuote >= content.length || quotes.indexOf(content[openQuote]) == -1) {
+                return null
+            }
+            var closeQuote = openQuote + 1
+            while (closeQuote < content.length && quotes.indexOf(content[closeQuote]) == -1) {
+                closeQuote++
+            }
+            if (closeQuote == content.length) {
+                return null
+            }
+            val gt = content.indexOf('>', closeQuote + 1)
+            if (gt == -1) {
+                return null
+            }
+            return TagMatch(openQuote + 1, closeQuote, gt + 1)
+        }
+
+        /*
+         * equivalent to matching `<blockquote[^<>]class="instagram-` at tagStart
+         */
+        private fun isInstagramEmbed(content: String, tagStart: Int): Boolean {
+            val separator = tagStart + 1 + BLOCKQUOTE.length
+            return content.startsWith(BLOCKQUOTE, tagStart + 1, ignoreCase = true) &&
+                    separator < content.length &&
+                    content[separator] != '<' && content[separator] != '>' &&
+                    content.startsWith(INSTAGRAM_CLASS, separator + 1, ignoreCase = true)
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package org.wordpress.android.ui.reader.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LruCache;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches the HTML generated by the post detail renderer so re-opening a post doesn't repeat the image/iframe
+ * rewriting and formatting passes. Entries are kept in a size-bounded memory cache backed by a small disk cache.
+ * <p>
+ * Keys start with the post's blog and post ids followed by a hash of its content, so an entry is never used
+ * once the post's content changes, and is removed once HTML is cached from the new content - the remainder of the key is a hash of everything else the HTML depends on
+ * (display width, reading preferences, theme colors, etc.), which the renderer passes as a "variant".
+ * <p>
+ * The size of each disk entry is kept in memory, so lookups, trimming and invalidation don't list the cache dir.
+ * Writes and deletes happen on the {@link Lane#IO} lane rather than on the calling thread.
+ */
+public final class ReaderPostHtmlCache {
+    // memory cache is measured in chars, so this is roughly 4MB
+    private static final int MAX_MEMORY_CHARS = 2 * 1024 * 1024;
+    private static final long MAX_DISK_BYTES = 10 * 1024 * 1024;
+    private static final String DISK_CACHE_DIR = "reader_post_html";
+    private static final String FILE_EXTENSION = ".html";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    private static final LruCache<String, String> MEMORY_CACHE = new LruCache<String, String>(MAX_MEMORY_CHARS) {
+        @Override
+        protected int sizeOf(@NonNull String key, @NonNull String value) {
+            return value.length();
+        }
+    };
+
+    // guards the disk index below, the files themselves are read and written outside of it
+    private static final Object DISK_LOCK = new Object();
+    // size in bytes of each file in the disk cache, least recently used first
+    private static final LinkedHashMap<String, Long> DISK_ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static long sDiskBytes;
+    private static boolean sIsDiskIndexLoaded;
+
+    @Nullable private static volatile File sCacheDir;
+    @NonNull private static volatile Executor sDiskExecutor = runnable -> ReaderWorkScheduler.submit(Lane.IO, runnable);
+
+    private ReaderPostHtmlCache() {
+        throw new AssertionError();
+    }
+
+    /*
+     * returns the cache key for the passed post's HTML - the variant should contain every non-post value
+     * that affects the generated HTML
+     */
+    @NonNull
+    public static String getKey(@NonNull ReaderPost post, @NonNull String variant) {
+        return getPostPrefix(post) + getContentHash(post) + "_" + sha1(variant);
+    }
+
+    @Nullable
+    public static String get(@NonNull String key) {
+        String html = MEMORY_CACHE.get(key);
+        if (html != null) {
+            return html;
+        }
+
+        String fileName = key + FILE_EXTENSION;
+        synchronized (DISK_LOCK) {
+            loadDiskIndex();
+            // this also marks the entry as the most recently used
+            if (DISK_ENTRIES.get(fileName) == null) {
+                return null;
+            }
+        }
+        File file = getCacheFile(fileName);
+        if (file == null) {
+            return null;
+        }
+        try {
+            html = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            AppLog.e(T.READER, "reader post html cache > unable to read " + fileName, e);
+            removeDiskEntry(fileName);
+            return null;
+        }
+        // touch the file so it's still the last to be trimmed once the index is loaded again
+        sDiskExecutor.execute(() -> {
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(System.currentTimeMillis());
+        });
+
+        MEMORY_CACHE.put(key, html);
+        return html;
+    }
+
+    /*
+     * caches the HTML of the passed key, and removes the HTML cached for the same post from different content -
+     * that HTML could never be returned anyway since its key no longer matches, so the files are deleted later
+     */
+    public static void put(@NonNull String key, @NonNull String html) {
+        final String postPrefix = key.substring(0, key.indexOf('_', key.indexOf('_') + 1) + 1);
+        final String contentPrefix = key.substring(0, key.indexOf('_', postPrefix.length()) + 1);
+
+        for (String cachedKey : MEMORY_CACHE.snapshot().keySet()) {
+            if (cachedKey.startsWith(postPrefix) && !cachedKey.startsWith(contentPrefix)) {
+                MEMORY_CACHE.remove(cachedKey);
+            }
+        }
+        MEMORY_CACHE.put(key, html);
+
+        sDiskExecutor.execute(() -> {
+            List<String> staleFileNames = new ArrayList<>();
+            synchronized (DISK_LOCK) {
+                loadDiskIndex();
+                Iterator<Map.Entry<String, Long>> iterator = DISK_ENTRIES.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Long> entry = iterator.next();
+                    if (entry.getKey().startsWith(postPrefix) && !entry.getKey().startsWith(contentPrefix)) {
+                        staleFileNames.add(entry.getKey());
+                        sDiskBytes -= entry.getValue();
+                        iterator.remove();
+                    }
+                }
+            }
+            deleteFiles(staleFileNames);
+            writeToDisk(key + FILE_EXTENSION, html);
+        });
+    }
+
+    public static void clear() {
+        MEMORY_CACHE.evictAll();
+        sDiskExecutor.execute(() -> {
+            synchronized (DISK_LOCK) {
+                DISK_ENTRIES.clear();
+                sDiskBytes = 0;
+                sIsDiskIndexLoaded = true;
+            }
+            File dir = getCacheDir();
+            File[] files = dir != null ? dir.listFiles() : null;
+            if (files != null) {
+                for (File file : files) {
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    @VisibleForTesting
+    static void setUpForTesting(@NonNull File cacheDir, @NonNull Executor diskExecutor) {
+        MEMORY_CACHE.evictAll();
+        synchronized (DISK_LOCK) {
+            DISK_ENTRIES.clear();
+            sDiskBytes = 0;
+            sIsDiskIndexLoaded = false;
+        }
+        sCacheDir = cacheDir;
+        sDiskExecutor = diskExecutor;
+    }
+
+    @VisibleForTesting
+    static void evictMemoryForTesting() {
+        MEMORY_CACHE.evictAll();
+    }
+
+    /*
+     * writes to a temp file first, so a concurrent read never sees a partially written entry
+     */
+    private static void writeToDisk(@NonNull String fileName, @NonNull String html) {
+        File file = getCacheFile(fileName);
+        if (file == null) {
+            return;
+        }
+        File tempFile = new File(file.getParentFile(), fileName + TEMP_FILE_EXTENSION);
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.write(tempFile.toPath(), bytes);
+        } catch (IOException e) {
+            AppLog.e(T.READER, "reader post html cache > unable to write " + fileName, e);
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            AppLog.w(T.READER, "reader post html cache > unable to rename " + tempFile.getName());
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            return;
+        }
+
+        List<String> trimmedFileNames = new ArrayList<>();
+        synchronized (DISK_LOCK) {
+            loadDiskIndex();
+            Long previousSize = DISK_ENTRIES.put(fileName, (long) bytes.length);
+            sDiskBytes += bytes.length - (previousSize != null ? previousSize : 0);
+            // the entry just written is the most recently used, so it's only trimmed if it's over budget by itself
+            Iterator<Map.Entry<String, Long>> iterator = DISK_ENTRIES.entrySet().iterator();
+            while (sDiskBytes > MAX_DISK_BYTES && iterator.hasNext()) {
+                Map.Entry<String, Long> entry = iterator.next();
+                trimmedFileNames.add(entry.getKey());
+                sDiskBytes -= entry.getValue();
+                iterator.remove();
+            }
+        }
+        deleteFiles(trimmedFileNames);
+    }
+
+    private static void removeDiskEntry(@NonNull String fileName) {
+        synchronized (DISK_LOCK) {
+            Long size = DISK_ENTRIES.remove(fileName);
+            if (size != null) {
+                sDiskBytes -= size;
+            }
+        }
+    }
+
+    private static void deleteFiles(@NonNull List<String> fileNames) {
+        for (String fileName : fileNames) {
+            File file = getCacheFile(fileName);
+            if (file != null) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    /*
+     * lists the cache dir the first time the disk cache is used - must be called with DISK_LOCK held
+     */
+    private static void loadDiskIndex() {
+        if (sIsDiskIndexLoaded) {
+            return;
+        }
+        sIsDiskIndexLoaded = true;
+        File dir = getCacheDir();
+        File[] files = dir != null ? dir.listFiles() : null;
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (file.getName().endsWith(FILE_EXTENSION)) {
+                DISK_ENTRIES.put(file.getName(), file.length());
+                sDiskBytes += file.length();
+            } else {
+                // left over from a write that didn't complete
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    @NonNull
+    private static String getPostPrefix(@NonNull ReaderPost post) {
+        return post.blogId + "_" + post.postId + "_";
+    }
+
+    /*
+     * each value is prefixed with its length so different contents can't produce the same input
+     */
+    @NonNull
+    private static String getContentHash(@NonNull ReaderPost post) {
+        MessageDigest digest = getSha1Digest();
+        updateDigest(digest, post.getText());
+        updateDigest(digest, post.getExcerpt());
+        updateDigest(digest, post.getAttachmentsJson());
+        digest.update((byte) (post.shouldShowExcerpt() ? 1 : 0));
+        return toHex(digest.digest());
+    }
+
+    @NonNull
+    private static String sha1(@NonNull String value) {
+        return toHex(getSha1Digest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void updateDigest(@NonNull MessageDigest digest, @NonNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    @NonNull
+    private static MessageDigest getSha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java and Android runtime is required to provide SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @NonNull
+    private static String toHex(@NonNull byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    @Nullable
+    private static File getCacheDir() {
+        File dir = sCacheDir;
+        if (dir == null) {
+            dir = new File(WordPress.getContext().getCacheDir(), DISK_CACHE_DIR);
+            sCacheDir = dir;
+        }
+        if (!dir.exists() && !dir.mkdirs()) {
+            AppLog.w(T.READER, "reader post html cache > unable to create cache dir");
+            return null;
+        }
+        return dir;
+    }
+
+    @Nullable
+    private static File getCacheFile(@NonNull String fileName) {
+        File dir = getCacheDir();
+        return dir != null ? new File(dir, fileName) : null;
+    }
+}
@@ -0,0 +1,323 @@
+package org.wordpress.android.ui.reader.utils;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs Reader background work on a few long-lived threads instead of starting a new thread per operation, which
+ * during fast scrolling or paging could mean dozens of threads all contending for the reader db.
+ * <p>
+ * Work is split into lanes so rendering isn't stuck behind db writes and vice versa:
+ * <ul>
+ *     <li>{@link Lane#CPU} for parsing and HTML processing, with a couple of threads</li>
+ *     <li>{@link Lane#DB} for work that writes to the reader db, with a single thread since SQLite serializes
+ *     writes anyway</li>
+ *     <li>{@link Lane#IO} for file work such as the post HTML disk cache, with a single thread</li>
+ * </ul>
+ * Work submitted with a key is coalesced with queued work that has the same key, and work submitted for an owner
+ * (ex: a renderer) can be cancelled once that owner has gone away.
+ * <p>
+ * Work never runs on the thread submitting it, which is often the main thread. The DB and IO lanes queue everything,
+ * since callers rely on their writes. The CPU lane is bounded: once it's full, the oldest queued work that was
+ * submitted for an owner (ex: the render of a post that was scrolled past) is dropped to make room. Work without an
+ * owner is always queued, as nothing would resubmit it.
+ */
+public final class ReaderWorkScheduler {
+    public enum Lane {
+        CPU(2, 64),
+        DB(1, Integer.MAX_VALUE),
+        IO(1, Integer.MAX_VALUE);
+
+        private final int mThreadCount;
+        private final int mQueueCapacity;
+
+        Lane(int threadCount, int queueCapacity) {
+            mThreadCount = threadCount;
+            mQueueCapacity = queueCapacity;
+        }
+
+        int getQueueCapacity() {
+            return mQueueCapacity;
+        }
+    }
+
+    /**
+     * Handle to submitted work, which can be used to cancel it or to check whether it was cancelled before acting
+     * on its result (ex: before touching views).
+     */
+    public static final class Work implements Runnable {
+        @NonNull private final LaneExecutor mExecutor;
+        @NonNull private final Runnable mRunnable;
+        @Nullable private final String mKey;
+        @Nullable private final Object mOwner;
+        private final long mSubmittedAt = SystemClock.elapsedRealtime();
+        private volatile boolean mIsCancelled;
+
+        private Work(@NonNull LaneExecutor executor, @NonNull Runnable runnable, @Nullable String key,
+                     @Nullable Object owner) {
+            mExecutor = executor;
+            mRunnable = runnable;
+            mKey = key;
+            mOwner = owner;
+        }
+
+        public boolean isCancelled() {
+            return mIsCancelled;
+        }
+
+        /**
+         * Cancels the work if it hasn't started yet. Work that's already running isn't interrupted, but
+         * {@link #isCancelled()} will return true.
+         */
+        public void cancel() {
+            mIsCancelled = true;
+            mExecutor.remove(this);
+        }
+
+        @Override
+        public void run() {
+            mExecutor.onStart(this);
+            if (mIsCancelled) {
+                return;
+            }
+            long startedAt = SystemClock.elapsedRealtime();
+            mExecutor.mTotalWaitMs.addAndGet(startedAt - mSubmittedAt);
+            try {
+                mRunnable.run();
+            } finally {
+                mExecutor.mTotalRunMs.addAndGet(SystemClock.elapsedRealtime() - startedAt);
+                mExecutor.mCompletedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Snapshot of a lane's counters, for logging or debugging where Reader latency goes.
+     */
+    public static final class LaneMetrics {
+        public final int queueDepth;
+        public final int maxQueueDepth;
+        public final long completedCount;
+        public final long coalescedCount;
+        public final long cancelledCount;
+        public final long droppedCount;
+        public final long averageWaitMs;
+        public final long averageRunMs;
+
+        LaneMetrics(int queueDepth, int maxQueueDepth, long completedCount, long coalescedCount,
+                    long cancelledCount, long droppedCount, long averageWaitMs, long averageRunMs) {
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.completedCount = completedCount;
+            this.coalescedCount = coalescedCount;
+            this.cancelledCount = cancelledCount;
+            this.droppedCount = droppedCount;
+            this.averageWaitMs = averageWaitMs;
+            this.averageRunMs = averageRunMs;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "queued=" + queueDepth + " (max " + maxQueueDepth + ")"
+                   + " completed=" + completedCount
+                   + " coalesced=" + coalescedCount
+                   + " cancelled=" + cancelledCount
+                   + " dropped=" + droppedCount
+                   + " avgWait=" + averageWaitMs + "ms"
+                   + " avgRun=" + averageRunMs + "ms";
+        }
+    }
+
+    private static final Map<Lane, LaneExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+    private ReaderWorkScheduler() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Runs the work on the passed lane.
+     */
+    @NonNull
+    public static Work submit(@NonNull Lane lane, @NonNull Runnable runnable) {
+        return submit(lane, null, null, runnable);
+    }
+
+    /**
+     * Runs the work on the passed lane unless work with the same key is still waiting to run, in which case that
+     * work is returned instead - so only use a key for work whose result doesn't depend on who submitted it.
+     *
+     * @param key   identifies duplicate work (ex: "related-posts:blogId:postId"), or null to never coalesce
+     * @param owner the object the work is done for, so it can be passed to {@link #cancelAll(Object)}
+     */
+    @NonNull
+    public static Work submit(@NonNull Lane lane, @Nullable String key, @Nullable Object owner,
+                              @NonNull Runnable runnable) {
+        return getExecutor(lane).submit(runnable, key, owner);
+    }
+
+    /**
+     * Cancels all queued work submitted for the passed owner, on every lane.
+     */
+    public static void cancelAll(@NonNull Object owner) {
+        for (LaneExecutor executor : EXECUTORS.values()) {
+            executor.cancelAll(owner);
+        }
+    }
+
+    @NonNull
+    public static LaneMetrics getMetrics(@NonNull Lane lane) {
+        return getExecutor(lane).getMetrics();
+    }
+
+    @NonNull
+    private static LaneExecutor getExecutor(@NonNull Lane lane) {
+        LaneExecutor executor = EXECUTORS.get(lane);
+        if (executor == null) {
+            synchronized (EXECUTORS) {
+                executor = EXECUTORS.get(lane);
+                if (executor == null) {
+                    executor = new LaneExecutor(lane);
+                    EXECUTORS.put(lane, executor);
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static final class LaneExecutor {
+        @NonNull private final ThreadPoolExecutor mExecutor;
+        private final int mQueueCapacity;
+        // queued work that has a key, so duplicates can be coalesced - work is removed once it starts
+        @NonNull private final Map<String, Work> mQueuedByKey = new ConcurrentHashMap<>();
+
+        private final AtomicInteger mMaxQueueDepth = new AtomicInteger();
+        private final AtomicLong mCompletedCount = new AtomicLong();
+        private final AtomicLong mCoalescedCount = new AtomicLong();
+        private final AtomicLong mCancelledCount = new AtomicLong();
+        private final AtomicLong mDroppedCount = new AtomicLong();
+        private final AtomicLong mTotalWaitMs = new AtomicLong();
+        private final AtomicLong mTotalRunMs = new AtomicLong();
+
+        LaneExecutor(@NonNull final Lane lane) {
+            ThreadFactory threadFactory = new ThreadFactory() {
+                private final AtomicInteger mThreadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(@NonNull final Runnable runnable) {
+                    Thread thread = new Thread(() -> {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }, "reader-" + lane.name().toLowerCase(Locale.ROOT) + "-"
+                       + mThreadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            };
+            // the capacity is enforced in submit() by dropping owned work, so the queue itself never rejects work
+            mQueueCapacity = lane.mQueueCapacity;
+            mExecutor = new ThreadPoolExecutor(lane.mThreadCount, lane.mThreadCount, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            // idle lanes shouldn't keep threads around
+            mExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        @NonNull
+        Work submit(@NonNull Runnable runnable, @Nullable String key, @Nullable Object owner) {
+            Work work = new Work(this, runnable, key, owner);
+            if (key != null) {
+                Work queued = mQueuedByKey.putIfAbsent(key, work);
+                if (queued != null) {
+                    mCoalescedCount.incrementAndGet();
+                    return queued;
+                }
+            }
+            if (mExecutor.getQueue().size() >= mQueueCapacity) {
+                dropOldestOwnedWork();
+            }
+            mExecutor.execute(work);
+            updateMaxQueueDepth();
+            return work;
+        }
+
+        void onStart(@NonNull Work work) {
+            if (work.mKey != null) {
+                mQueuedByKey.remove(work.mKey, work);
+            }
+        }
+
+        void remove(@NonNull Work work) {
+            if (mExecutor.remove(work)) {
+                mCancelledCount.incrementAndGet();
+                onStart(work);
+            }
+        }
+
+        /*
+         * owned work is the only work whose owner can tell it was skipped (and cancels it anyway once it's gone),
+         * so it's the only work that's dropped when the lane is full
+         */
+        private void dropOldestOwnedWork() {
+            for (Runnable runnable : mExecutor.getQueue()) {
+                if (runnable instanceof Work && ((Work) runnable).mOwner != null) {
+                    Work work = (Work) runnable;
+                    work.mIsCancelled = true;
+                    if (mExecutor.remove(work)) {
+                        mDroppedCount.incrementAndGet();
+                        onStart(work);
+                    }
+                    return;
+                }
+            }
+        }
+
+        void cancelAll(@NonNull Object owner) {
+            List<Work> ownedWork = new ArrayList<>();
+            for (Runnable runnable : mExecutor.getQueue()) {
+                if (runnable instanceof Work && ((Work) runnable).mOwner == owner) {
+                    ownedWork.add((Work) runnable);
+                }
+            }
+            for (Work work : ownedWork) {
+                work.cancel();
+            }
+        }
+
+        @NonNull
+        LaneMetrics getMetrics() {
+            long completed = mCompletedCount.get();
+            return new LaneMetrics(
+                    mExecutor.getQueue().size(),
+                    mMaxQueueDepth.get(),
+                    completed,
+                    mCoalescedCount.get(),
+                    mCancelledCount.get(),
+                    mDroppedCount.get(),
+                    completed > 0 ? mTotalWaitMs.get() / completed : 0,
+                    completed > 0 ? mTotalRunMs.get() / completed : 0);
+        }
+
+        private void updateMaxQueueDepth() {
+            int depth = mExecutor.getQueue().size();
+            int max;
+            do {
+                max = mMaxQueueDepth.get();
+            } while (depth > max && !mMaxQueueDepth.compareAndSet(max, depth));
+        }
+    }
+}
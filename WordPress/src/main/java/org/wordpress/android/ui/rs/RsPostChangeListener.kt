@@ -103,6 +103,7 @@ class RsPostChangeListener @Inject constructor(
             is CauseOfOnPostChanged.UpdatePost ->
                 if (!cause.isLocalUpdate) notifyIfOurs(cause.localPostId)
 
+            is CauseOfOnPostChanged.UpdatePosts -> cause.localPostIds.forEach { notifyIfOurs(it) }
             is CauseOfOnPostChanged.DeletePost -> notifyIfOurs(cause.localPostId)
             is CauseOfOnPostChanged.RestorePost -> notifyIfOurs(cause.localPostId)
 
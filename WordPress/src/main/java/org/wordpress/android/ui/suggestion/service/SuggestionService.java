@@ -14,6 +14,8 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.UserSuggestionTable;
 import org.wordpress.android.models.UserSuggestion;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler;
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
@@ -95,7 +97,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleSuggestionsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -109,7 +111,7 @@ public class SuggestionService extends Service {
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionNameListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromSuggestionRequestsAndStopServiceIfNecessary(long siteId) {
@@ -140,7 +142,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleTagsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        ReaderWorkScheduler.submit(Lane.DB, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -154,7 +156,7 @@ public class SuggestionService extends Service {
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionTagListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromTagRequestsAndStopServiceIfNecessary(long siteId) {
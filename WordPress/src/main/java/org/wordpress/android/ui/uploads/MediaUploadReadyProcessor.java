@@ -12,6 +12,8 @@ import org.wordpress.android.ui.posts.PostUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 import javax.inject.Inject;
 
 
@@ -41,6 +43,31 @@ public class MediaUploadReadyProcessor implements MediaUploadReadyListener {
         return post;
     }
 
+    @Override
+    public PostModel replaceMediaFilesWithUrlsInPost(@Nullable PostModel post,
+                                                     @NonNull Map<String, MediaFile> mediaFiles,
+                                                     @Nullable SiteModel site) {
+        if (post != null) {
+            boolean showAztecEditor = AppPrefs.isAztecEditorEnabled();
+            boolean showGutenbergEditor = AppPrefs.isGutenbergEditorEnabled();
+
+            if (showGutenbergEditor && PostUtils.contentContainsGutenbergBlocks(post.getContent())) {
+                String siteUrl = site != null ? site.getUrl() : "";
+                post.setContent(
+                        PostUtils.replaceMediaFilesWithUrlsInGutenbergPost(post.getContent(), mediaFiles, siteUrl));
+            } else if (showAztecEditor) {
+                String content = post.getContent();
+                for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+                    content = AztecEditorFragment.replaceMediaFileWithUrl(WordPress.getContext(), content,
+                                                                          entry.getKey(), entry.getValue());
+                }
+                post.setContent(content);
+            }
+        }
+
+        return post;
+    }
+
     @Override
     public PostModel markMediaUploadFailedInPost(@Nullable PostModel post, String localMediaId,
                                                  final MediaFile mediaFile) {
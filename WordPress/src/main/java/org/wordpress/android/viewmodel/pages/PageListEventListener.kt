@@ -109,6 +109,7 @@ class PageListEventListener(
                     }
                     uploadStatusChanged(LocalId((event.causeOfChange as CauseOfOnPostChanged.UpdatePost).localPostId))
                 }
+                is CauseOfOnPostChanged.UpdatePosts -> Unit // Do nothing
                 is CauseOfOnPostChanged.DeletePost -> Unit // Do nothing
                 is CauseOfOnPostChanged.RestorePost -> Unit // Do nothing
                 is CauseOfOnPostChanged.FetchPages -> Unit // Do nothing
@@ -0,0 +1,140 @@
+package org.wordpress.android.datasets
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.wordpress.android.models.ReaderPost
+
+class ReaderBlocklistIndexTest {
+    @After
+    fun tearDown() {
+        ReaderBlocklistIndex.invalidate()
+    }
+
+    @Test
+    fun `given a loaded index, when checking posts, then posts of blocked blogs and authors are blocked`() {
+        ReaderBlocklistIndex.setUpForTesting(longArrayOf(300L, 100L), longArrayOf(20L, 10L))
+
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 10L, authorId = 1L))).isTrue
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 20L, authorId = 1L))).isTrue
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 1L, authorId = 100L))).isTrue
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 1L, authorId = 300L))).isTrue
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 1L, authorId = 1L))).isFalse
+        assertThat(ReaderBlocklistIndex.isBlocked(null)).isFalse
+    }
+
+    @Test
+    fun `given a blocked blog, when checking posts from its feed, then they are blocked through the blog`() {
+        ReaderBlocklistIndex.setUpForTesting(null, longArrayOf(10L))
+
+        // blocking is keyed by blog id like tbl_blocked_blogs, so a feed id alone never blocks a post
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 10L, feedId = 50L))).isTrue
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 0L, feedId = 10L))).isFalse
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 11L, feedId = 10L))).isFalse
+    }
+
+    @Test
+    fun `given posts without a blog or author, when checking them, then they are not blocked`() {
+        ReaderBlocklistIndex.setUpForTesting(longArrayOf(0L), longArrayOf(0L))
+
+        assertThat(ReaderBlocklistIndex.isBlocked(post(blogId = 0L, authorId = 0L))).isFalse
+    }
+
+    @Test
+    fun `given a loaded index, when blogs are blocked and unblocked, then their posts follow`() {
+        ReaderBlocklistIndex.setUpForTesting(null, null)
+        val post = post(blogId = 10L)
+
+        ReaderBlocklistIndex.onBlogBlocked(10L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isTrue
+
+        ReaderBlocklistIndex.onBlogBlocked(10L)
+        ReaderBlocklistIndex.onBlogUnblocked(10L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isFalse
+        assertThat(ReaderBlocklistIndex.isBlockedBlog(10L)).isFalse
+    }
+
+    @Test
+    fun `given a loaded index, when authors are blocked and unblocked, then their posts follow`() {
+        ReaderBlocklistIndex.setUpForTesting(longArrayOf(100L), null)
+        val post = post(authorId = 200L)
+
+        ReaderBlocklistIndex.onAuthorBlocked(200L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isTrue
+        assertThat(ReaderBlocklistIndex.isBlockedAuthor(100L)).isTrue
+
+        ReaderBlocklistIndex.onAuthorUnblocked(200L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isFalse
+        assertThat(ReaderBlocklistIndex.isBlockedAuthor(100L)).isTrue
+    }
+
+    @Test
+    fun `given a blocked blog and author, when only one is unblocked, then the post stays blocked`() {
+        ReaderBlocklistIndex.setUpForTesting(longArrayOf(100L), longArrayOf(10L))
+        val post = post(blogId = 10L, authorId = 100L)
+
+        ReaderBlocklistIndex.onBlogUnblocked(10L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isTrue
+
+        ReaderBlocklistIndex.onAuthorUnblocked(100L)
+        assertThat(ReaderBlocklistIndex.isBlocked(post)).isFalse
+    }
+
+    @Test
+    fun `given unsorted ids, when sorted, then a sorted copy is returned`() {
+        val ids = longArrayOf(30L, 10L, 20L)
+
+        val result = ReaderBlocklistIndex.sorted(ids)
+
+        assertThat(result).containsExactly(10L, 20L, 30L)
+        assertThat(ids).containsExactly(30L, 10L, 20L)
+    }
+
+    @Test
+    fun `given null ids, when sorted, then an empty array is returned`() {
+        assertThat(ReaderBlocklistIndex.sorted(null)).isEmpty()
+    }
+
+    @Test
+    fun `given a new id, when added, then it is inserted in sorted position`() {
+        val result = ReaderBlocklistIndex.withId(longArrayOf(10L, 30L), 20L)
+
+        assertThat(result).containsExactly(10L, 20L, 30L)
+    }
+
+    @Test
+    fun `given an existing id, when added, then the same array is returned`() {
+        val ids = longArrayOf(10L, 20L)
+
+        val result = ReaderBlocklistIndex.withId(ids, 20L)
+
+        assertThat(result).isSameAs(ids)
+    }
+
+    @Test
+    fun `given an existing id, when removed, then the remaining ids stay sorted`() {
+        val result = ReaderBlocklistIndex.withoutId(longArrayOf(10L, 20L, 30L), 20L)
+
+        assertThat(result).containsExactly(10L, 30L)
+    }
+
+    @Test
+    fun `given a missing id, when removed, then the same array is returned`() {
+        val ids = longArrayOf(10L, 30L)
+
+        val result = ReaderBlocklistIndex.withoutId(ids, 20L)
+
+        assertThat(result).isSameAs(ids)
+    }
+
+    @Test
+    fun `given the only id, when removed, then an empty array is returned`() {
+        assertThat(ReaderBlocklistIndex.withoutId(longArrayOf(10L), 10L)).isEmpty()
+    }
+
+    private fun post(blogId: Long = 1L, authorId: Long = 1L, feedId: Long = 0L) = ReaderPost().apply {
+        this.blogId = blogId
+        this.authorId = authorId
+        this.feedId = feedId
+    }
+}
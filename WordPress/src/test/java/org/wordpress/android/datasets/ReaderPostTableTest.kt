@@ -0,0 +1,165 @@
+package org.wordpress.android.datasets
+
+import android.content.ContentValues
+import android.database.sqlite.SQLiteDatabase
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.models.ReaderPost
+
+@RunWith(RobolectricTestRunner::class)
+@Config(application = android.app.Application::class)
+class ReaderPostTableTest {
+    private lateinit var db: SQLiteDatabase
+
+    @Before
+    fun setUp() {
+        db = SQLiteDatabase.create(null)
+    }
+
+    @After
+    fun tearDown() {
+        db.close()
+    }
+
+    @Test
+    fun `migration moves the content of each post to tbl_post_content once`() {
+        createLegacyPostsTable()
+        insertLegacyPost(blogId = 1, postId = 10, tagName = "followed", text = "text 10")
+        insertLegacyPost(blogId = 1, postId = 10, tagName = "liked", text = "text 10")
+        insertLegacyPost(blogId = 2, postId = 20, tagName = "followed", text = "text 20")
+
+        ReaderPostTable.migrateToPostContentTable(db)
+
+        assertThat(queryStrings("SELECT text FROM tbl_post_content ORDER BY blog_id"))
+            .containsExactly("text 10", "text 20")
+        assertThat(queryStrings("SELECT excerpt FROM tbl_post_content WHERE blog_id=2"))
+            .containsExactly("excerpt 20")
+        assertThat(queryStrings("SELECT tag_name FROM tbl_posts ORDER BY tag_name"))
+            .containsExactly("followed", "followed", "liked")
+    }
+
+    @Test
+    fun `migration removes the content columns from tbl_posts`() {
+        createLegacyPostsTable()
+        insertLegacyPost(blogId = 1, postId = 10, tagName = "followed", text = "text")
+
+        ReaderPostTable.migrateToPostContentTable(db)
+
+        db.rawQuery("SELECT * FROM tbl_posts", null).use { cursor ->
+            assertThat(cursor.columnNames).doesNotContain("text", "excerpt", "attachments_json")
+        }
+        assertThat(queryStrings("SELECT name FROM sqlite_master WHERE name='tbl_posts_old'")).isEmpty()
+    }
+
+    @Test
+    fun `purging removes the content no post refers to`() {
+        ReaderPostTable.createTables(db)
+        insertPost(blogId = 1, postId = 10)
+        insertContent(blogId = 1, postId = 10, text = "kept")
+        insertContent(blogId = 1, postId = 11, text = "orphaned")
+        insertContent(blogId = 2, postId = 10, text = "orphaned")
+
+        val numPurged = ReaderPostTable.purgeUnattachedContent(db)
+
+        assertThat(numPurged).isEqualTo(2)
+        assertThat(queryStrings("SELECT text FROM tbl_post_content")).containsExactly("kept")
+    }
+
+    @Test
+    fun `writing a post without text keeps the stored text and updates the other content`() {
+        ReaderPostTable.createTables(db)
+        insertContent(blogId = 1, postId = 10, text = "stored text")
+
+        writeContent(post(blogId = 1, postId = 10, text = null, excerpt = "new excerpt"))
+
+        assertThat(queryStrings("SELECT text FROM tbl_post_content")).containsExactly("stored text")
+        assertThat(queryStrings("SELECT excerpt FROM tbl_post_content")).containsExactly("new excerpt")
+        assertThat(queryStrings("SELECT attachments_json FROM tbl_post_content")).containsExactly("{}")
+    }
+
+    @Test
+    fun `writing a post without text adds its content when none is stored`() {
+        ReaderPostTable.createTables(db)
+
+        writeContent(post(blogId = 1, postId = 10, text = null, excerpt = "excerpt"))
+
+        assertThat(queryStrings("SELECT text FROM tbl_post_content")).containsExactly("")
+        assertThat(queryStrings("SELECT excerpt FROM tbl_post_content")).containsExactly("excerpt")
+    }
+
+    @Test
+    fun `writing a post with text replaces the stored content`() {
+        ReaderPostTable.createTables(db)
+        insertContent(blogId = 1, postId = 10, text = "stored text")
+
+        writeContent(post(blogId = 1, postId = 10, text = "new text", excerpt = "new excerpt"))
+
+        assertThat(queryStrings("SELECT text FROM tbl_post_content")).containsExactly("new text")
+        assertThat(queryStrings("SELECT excerpt FROM tbl_post_content")).containsExactly("new excerpt")
+    }
+
+    /*
+     * tbl_posts as it was before version 157 of the reader db, with the content columns
+     */
+    private fun createLegacyPostsTable() {
+        db.execSQL(
+            "CREATE TABLE tbl_posts (" + ReaderPostTable.COLUMN_NAMES
+                    + ", text, excerpt, attachments_json, discover_json, railcar_json)"
+        )
+    }
+
+    private fun insertLegacyPost(blogId: Long, postId: Long, tagName: String, text: String) {
+        db.insertOrThrow("tbl_posts", null, ContentValues().apply {
+            put("blog_id", blogId)
+            put("post_id", postId)
+            put("pseudo_id", "$blogId-$postId")
+            put("tag_name", tagName)
+            put("text", text)
+            put("excerpt", "excerpt $postId")
+        })
+    }
+
+    private fun insertPost(blogId: Long, postId: Long) {
+        db.insertOrThrow("tbl_posts", null, ContentValues().apply {
+            put("blog_id", blogId)
+            put("post_id", postId)
+            put("pseudo_id", "$blogId-$postId")
+            put("tag_name", "followed")
+        })
+    }
+
+    private fun insertContent(blogId: Long, postId: Long, text: String) {
+        db.insertOrThrow("tbl_post_content", null, ContentValues().apply {
+            put("blog_id", blogId)
+            put("post_id", postId)
+            put("text", text)
+            put("excerpt", "stored excerpt")
+        })
+    }
+
+    private fun writeContent(post: ReaderPost) {
+        val writer = ReaderPostTable.PostContentWriter(db)
+        try {
+            writer.write(post)
+        } finally {
+            writer.close()
+        }
+    }
+
+    private fun post(blogId: Long, postId: Long, text: String?, excerpt: String) = ReaderPost().apply {
+        this.blogId = blogId
+        this.postId = postId
+        this.text = text
+        this.excerpt = excerpt
+        attachmentsJson = "{}"
+    }
+
+    private fun queryStrings(sql: String): List<String> = db.rawQuery(sql, null).use { cursor ->
+        generateSequence { if (cursor.moveToNext()) cursor.getString(0) else null }.toList()
+    }
+}
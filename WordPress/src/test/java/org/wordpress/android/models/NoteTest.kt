@@ -0,0 +1,52 @@
+package org.wordpress.android.models
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@RunWith(RobolectricTestRunner::class)
+@Config(application = android.app.Application::class)
+class NoteTest {
+    @Test
+    fun `summarized note is filtered and sorted from its summary`() {
+        val note = Note(NOTE_ID, "not json", Note.Summary(Note.NOTE_LIKE_TYPE, TIMESTAMP, isUnread = true))
+
+        assertThat(note.isLikeType).isTrue()
+        assertThat(note.timestamp).isEqualTo(TIMESTAMP)
+        assertThat(note.isUnread).isTrue()
+    }
+
+    @Test
+    fun `summarized note reads the rest from its JSON`() {
+        val note = Note(NOTE_ID, RAW_NOTE, Note.Summary(Note.NOTE_COMMENT_TYPE, TIMESTAMP, isUnread = true))
+
+        assertThat(note.title).isEqualTo("Hello")
+        assertThat(note.json.optString("type")).isEqualTo(Note.NOTE_COMMENT_TYPE)
+    }
+
+    @Test
+    fun `summarized note reads its unread state from its JSON once it has been changed`() {
+        val note = Note(NOTE_ID, RAW_NOTE, Note.Summary(Note.NOTE_COMMENT_TYPE, TIMESTAMP, isUnread = true))
+
+        note.setRead()
+
+        assertThat(note.isUnread).isFalse()
+    }
+
+    @Test
+    fun `summarized note with invalid JSON has default values`() {
+        val note = Note(NOTE_ID, "not json", Note.Summary(Note.NOTE_COMMENT_TYPE, TIMESTAMP, isUnread = true))
+
+        assertThat(note.title).isEmpty()
+        assertThat(note.json.length()).isZero()
+    }
+
+    private companion object {
+        const val NOTE_ID = "123"
+        const val TIMESTAMP = 1_700_000_000L
+        const val RAW_NOTE = "{\"id\":123,\"type\":\"comment\",\"read\":0,\"title\":\"Hello\"," +
+                "\"timestamp\":\"2023-11-14T22:13:20+00:00\"}"
+    }
+}
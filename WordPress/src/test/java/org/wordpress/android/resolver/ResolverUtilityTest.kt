@@ -16,14 +16,17 @@ import org.mockito.kotlin.whenever
 import org.wordpress.android.BaseUnitTest
 import org.wordpress.android.fluxc.model.QuickStartTaskModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.persistence.SiteSqlUtils
 
 @ExperimentalCoroutinesApi
 class ResolverUtilityTest : BaseUnitTest() {
     private val dbWrapper: DbWrapper = mock()
     private val sqliteDatabase: SQLiteDatabase = mock()
     private val sqliteStatement: SQLiteStatement = mock()
+    private val siteSqlUtils: SiteSqlUtils = mock()
     private val resolverUtility = ResolverUtility(
-        dbWrapper = dbWrapper
+        dbWrapper = dbWrapper,
+        siteSqlUtils = siteSqlUtils
     )
 
     @Before
@@ -40,6 +43,12 @@ class ResolverUtilityTest : BaseUnitTest() {
         verify(sqliteDatabase, times(1)).endTransaction()
     }
 
+    @Test
+    fun `Cached sites are cleared after copying sites`() {
+        resolverUtility.copySitesWithIndexes(sites = listOf(SiteModel(), SiteModel()))
+        verify(siteSqlUtils).clearSiteCache()
+    }
+
 
     @Test(expected = SQLException::class)
     fun `Transaction is not completed on exception`() {
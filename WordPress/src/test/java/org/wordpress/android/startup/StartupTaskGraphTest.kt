@@ -0,0 +1,161 @@
+package org.wordpress.android.startup
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Test
+import org.wordpress.android.startup.StartupThread.BACKGROUND
+import org.wordpress.android.startup.StartupThread.DEFERRED
+import org.wordpress.android.startup.StartupThread.MAIN
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+class StartupTaskGraphTest {
+    private val runTasks = Collections.synchronizedList(mutableListOf<String>())
+    private val backgroundExecutor = Executors.newFixedThreadPool(2)
+    private val deferredTasks = mutableListOf<Runnable>()
+    private val deferredExecutor = Executor { deferredTasks.add(it) }
+    private val time = AtomicLong()
+
+    @After
+    fun tearDown() {
+        backgroundExecutor.shutdownNow()
+    }
+
+    @Test
+    fun `runs main tasks in order after their dependencies`() {
+        val graph = createGraph(
+            task("b", MAIN, dependsOn = listOf("c")),
+            task("a", MAIN),
+            task("c", MAIN)
+        )
+
+        graph.start()
+
+        assertThat(runTasks).containsExactly("a", "c", "b")
+    }
+
+    @Test
+    fun `main tasks wait for their background dependencies`() {
+        val graph = createGraph(
+            StartupTask("background", BACKGROUND) {
+                Thread.sleep(BACKGROUND_TASK_DURATION_MILLIS)
+                runTasks.add("background")
+            },
+            task("main", MAIN, dependsOn = listOf("background"))
+        )
+
+        graph.start()
+
+        assertThat(runTasks).containsExactly("background", "main")
+    }
+
+    @Test
+    fun `runs background tasks off the main thread once their dependencies are done`() {
+        val completed = CountDownLatch(1)
+        val graph = createGraph(
+            task("main", MAIN),
+            task("background", BACKGROUND, dependsOn = listOf("main"))
+        )
+
+        graph.start { completed.countDown() }
+
+        assertThat(completed.await(1, TimeUnit.SECONDS)).isTrue()
+        assertThat(runTasks).containsExactly("main", "background")
+        assertThat(graph.getSpans().first { it.name == "background" }.threadName)
+            .isNotEqualTo(Thread.currentThread().name)
+    }
+
+    @Test
+    fun `runs deferred tasks on the deferred executor`() {
+        var spans: List<StartupSpan>? = null
+        val graph = createGraph(
+            task("deferred", DEFERRED),
+            task("main", MAIN)
+        )
+
+        graph.start { spans = it }
+
+        assertThat(runTasks).containsExactly("main")
+        assertThat(spans).isNull()
+
+        deferredTasks.forEach { it.run() }
+
+        assertThat(runTasks).containsExactly("main", "deferred")
+        assertThat(spans?.map { it.name }).containsExactly("main", "deferred")
+    }
+
+    @Test
+    fun `records the time each task took`() {
+        val graph = createGraph(task("a", MAIN), task("b", MAIN))
+
+        graph.start()
+
+        assertThat(graph.getSpans()).containsExactly(
+            StartupSpan("a", Thread.currentThread().name, 0, TICK_NANOS),
+            StartupSpan("b", Thread.currentThread().name, 2 * TICK_NANOS, 3 * TICK_NANOS)
+        )
+    }
+
+    @Test
+    fun `the critical path follows the tasks which completed last`() {
+        // uses the real clock, as the background tasks run in parallel
+        val graph = StartupTaskGraph(
+            listOf(
+                task("a", MAIN),
+                StartupTask("slow", BACKGROUND) { Thread.sleep(BACKGROUND_TASK_DURATION_MILLIS) },
+                task("fast", BACKGROUND),
+                task("b", MAIN, dependsOn = listOf("slow", "fast")),
+                task("c", MAIN)
+            ),
+            backgroundExecutor,
+            deferredExecutor
+        )
+
+        graph.start()
+
+        assertThat(graph.getCriticalPath().map { it.name }).containsExactly("slow", "b", "c")
+    }
+
+    @Test
+    fun `rejects dependencies on unknown tasks`() {
+        assertThatThrownBy { createGraph(task("a", MAIN, dependsOn = listOf("b"))) }
+            .isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    @Test
+    fun `rejects tasks depending on each other`() {
+        assertThatThrownBy {
+            createGraph(
+                task("a", BACKGROUND, dependsOn = listOf("b")),
+                task("b", BACKGROUND, dependsOn = listOf("a"))
+            )
+        }.isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    @Test
+    fun `rejects main tasks waiting for deferred tasks`() {
+        assertThatThrownBy {
+            createGraph(
+                task("deferred", DEFERRED),
+                task("background", BACKGROUND, dependsOn = listOf("deferred")),
+                task("main", MAIN, dependsOn = listOf("background"))
+            )
+        }.isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    private fun createGraph(vararg tasks: StartupTask) =
+        StartupTaskGraph(tasks.toList(), backgroundExecutor, deferredExecutor) { time.getAndAdd(TICK_NANOS) }
+
+    private fun task(name: String, thread: StartupThread, dependsOn: List<String> = emptyList()) =
+        StartupTask(name, thread, dependsOn) { runTasks.add(name) }
+
+    private companion object {
+        const val TICK_NANOS = 1_000_000L
+        const val BACKGROUND_TASK_DURATION_MILLIS = 100L
+    }
+}
@@ -113,4 +113,50 @@ class MediaUploadCompletionProcessorTest {
         val processedContent = processor.processContent(TestContent.oldPostWithMixedGalleriesRefactored)
         Assertions.assertThat(processedContent).isEqualTo(TestContent.newPostWithMixedGalleriesRefactored)
     }
+
+    @Test
+    fun `processPost replaces several media the same way as one at a time`() {
+        val mediaFiles = (0 until LARGE_GALLERY_SIZE).associate { index ->
+            "${LARGE_GALLERY_FIRST_LOCAL_ID + index}" to mockMediaFile(index)
+        }
+        val content = largeGalleryPost(mediaFiles.keys)
+        val expectedContent = mediaFiles.entries.fold(content) { processedContent, (localId, mediaFile) ->
+            MediaUploadCompletionProcessor(localId, mediaFile, TestContent.siteUrl).processContent(processedContent)
+        }
+
+        val processedContent = MediaUploadCompletionProcessor(mediaFiles, TestContent.siteUrl).processContent(content)
+
+        Assertions.assertThat(processedContent).isEqualTo(expectedContent)
+        mediaFiles.keys.forEach { localId ->
+            Assertions.assertThat(processedContent).doesNotContain("\"id\":$localId,")
+        }
+    }
+
+    @Test
+    fun `processPost returns the content as is when no media is referenced`() {
+        val content = largeGalleryPost(listOf(TestContent.localMediaId2))
+
+        val processedContent = processor.processContent(content)
+
+        Assertions.assertThat(processedContent).isSameAs(content)
+    }
+
+    private fun mockMediaFile(index: Int): MediaFile = mock<MediaFile>().apply {
+        whenever(mediaId).thenReturn("${LARGE_GALLERY_FIRST_REMOTE_ID + index}")
+        whenever(optimalFileURL).thenReturn("https://example.files.wordpress.com/image-$index.jpg")
+        whenever(getAttachmentPageURL(any())).thenReturn("${TestContent.siteUrl}?p=$index")
+    }
+
+    private fun largeGalleryPost(localIds: Collection<String>) = TestContent.paragraphBlock +
+            "<!-- wp:gallery {\"linkTo\":\"none\"} -->\n" +
+            "<figure class=\"wp-block-gallery has-nested-images columns-3\">\n" +
+            localIds.joinToString("\n") { TestContent.oldImageBlock.replace(TestContent.localMediaId, it) } +
+            "</figure>\n<!-- /wp:gallery -->\n" +
+            TestContent.paragraphBlock
+
+    private companion object {
+        const val LARGE_GALLERY_SIZE = 60
+        const val LARGE_GALLERY_FIRST_LOCAL_ID = 2000
+        const val LARGE_GALLERY_FIRST_REMOTE_ID = 90000
+    }
 }
@@ -0,0 +1,149 @@
+package org.wordpress.android.ui.prefs
+
+import android.content.Context
+import android.content.SharedPreferences
+import androidx.preference.PreferenceManager
+import androidx.test.core.app.ApplicationProvider
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.ui.prefs.AppPrefs.DeletablePrefKey
+import org.wordpress.android.ui.prefs.AppPrefs.UndeletablePrefKey
+
+@RunWith(RobolectricTestRunner::class)
+@Config(application = android.app.Application::class)
+class AppPrefsStoreTest {
+    private val context = ApplicationProvider.getApplicationContext<Context>()
+    private lateinit var defaultPrefs: SharedPreferences
+
+    @Before
+    fun setUp() {
+        defaultPrefs = PreferenceManager.getDefaultSharedPreferences(context)
+        defaultPrefs.edit().clear().commit()
+    }
+
+    @Test
+    fun `moves per-site preferences to the file of their site`() {
+        defaultPrefs.edit()
+            .putBoolean(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID, true)
+            .putString(DeletablePrefKey.STATS_UTM_CATEGORY.name + OTHER_SITE_ID, "category")
+            .commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(sitePrefs(SITE_ID).getBoolean(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID, false))
+            .isTrue()
+        assertThat(sitePrefs(OTHER_SITE_ID).getString(DeletablePrefKey.STATS_UTM_CATEGORY.name + OTHER_SITE_ID, null))
+            .isEqualTo("category")
+        assertThat(defaultPrefs.contains(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID)).isFalse()
+        assertThat(defaultPrefs.contains(DeletablePrefKey.STATS_UTM_CATEGORY.name + OTHER_SITE_ID)).isFalse()
+    }
+
+    @Test
+    fun `moves qualified per-site preferences to the file of their site`() {
+        val key = DeletablePrefKey.SHOULD_HIDE_POST_DASHBOARD_CARD.name + "draft" + SITE_ID
+        defaultPrefs.edit().putBoolean(key, true).commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(sitePrefs(SITE_ID).getBoolean(key, false)).isTrue()
+        assertThat(defaultPrefs.contains(key)).isFalse()
+    }
+
+    @Test
+    fun `keeps the global preferences in the default file`() {
+        defaultPrefs.edit().putString(DeletablePrefKey.READER_TAG_NAME.name, "tag").commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(defaultPrefs.getString(DeletablePrefKey.READER_TAG_NAME.name, null)).isEqualTo("tag")
+    }
+
+    @Test
+    fun `records the completed migration and the sites with a file`() {
+        defaultPrefs.edit().putBoolean(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID, true).commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(defaultPrefs.getBoolean(UndeletablePrefKey.IS_SITE_PREFS_MIGRATION_COMPLETED.name, false)).isTrue()
+        assertThat(defaultPrefs.getStringSet(UndeletablePrefKey.SITE_PREFS_SITE_IDS.name, null))
+            .containsExactly(SITE_ID.toString())
+    }
+
+    @Test
+    fun `doesn't migrate again once the migration is completed`() {
+        AppPrefsStore.initialize(context)
+        val key = DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID
+        defaultPrefs.edit().putBoolean(key, true).commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(defaultPrefs.getBoolean(key, false)).isTrue()
+        assertThat(sitePrefs(SITE_ID).contains(key)).isFalse()
+    }
+
+    @Test
+    fun `reads per-site preferences from the default file until they're moved`() {
+        val key = DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID
+        defaultPrefs.edit().putBoolean(key, true).commit()
+        val migrations = mutableListOf<Runnable>()
+
+        AppPrefsStore.initialize(context) { migrations.add(it) }
+
+        assertThat(AppPrefsStore.forKey(key).getBoolean(key, false)).isTrue()
+        assertThat(defaultPrefs.contains(key)).isTrue()
+
+        migrations.forEach { it.run() }
+
+        assertThat(AppPrefsStore.forKey(key).getBoolean(key, false)).isTrue()
+        assertThat(defaultPrefs.contains(key)).isFalse()
+    }
+
+    @Test
+    fun `moves per-site preferences written before they're moved`() {
+        val key = DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID
+        val migrations = mutableListOf<Runnable>()
+        AppPrefsStore.initialize(context) { migrations.add(it) }
+
+        AppPrefsStore.site(SITE_ID).edit().putBoolean(key, true).commit()
+        migrations.forEach { it.run() }
+
+        assertThat(sitePrefs(SITE_ID).getBoolean(key, false)).isTrue()
+        assertThat(defaultPrefs.contains(key)).isFalse()
+    }
+
+    @Test
+    fun `routes keys ending with a site id to the site shards`() {
+        AppPrefsStore.initialize(context)
+
+        assertThat(AppPrefsStore.getSiteId(DeletablePrefKey.SHOULD_HIDE_DASHBOARD_PLANS_CARD.name + SITE_ID))
+            .isEqualTo(SITE_ID)
+        assertThat(AppPrefsStore.getSiteId(DeletablePrefKey.SHOULD_HIDE_POST_DASHBOARD_CARD.name + "page" + SITE_ID))
+            .isEqualTo(SITE_ID)
+        assertThat(AppPrefsStore.getSiteId(DeletablePrefKey.STATS_WIDGET_SELECTED_SITE_ID.name + SITE_ID)).isNull()
+        assertThat(AppPrefsStore.getSiteId(DeletablePrefKey.SHOULD_HIDE_DASHBOARD_PLANS_CARD.name)).isNull()
+    }
+
+    @Test
+    fun `returns the preferences of every shard`() {
+        defaultPrefs.edit().putBoolean(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID, true).commit()
+        defaultPrefs.edit().putString(DeletablePrefKey.READER_TAG_NAME.name, "tag").commit()
+
+        AppPrefsStore.initialize(context)
+
+        assertThat(AppPrefsStore.getAll())
+            .containsEntry(DeletablePrefKey.BLOGGING_REMINDERS_SHOWN.name + SITE_ID, true)
+            .containsEntry(DeletablePrefKey.READER_TAG_NAME.name, "tag")
+    }
+
+    private fun sitePrefs(siteId: Long) =
+        context.getSharedPreferences(AppPrefsStore.getSitePrefsFileName(siteId), Context.MODE_PRIVATE)
+
+    private companion object {
+        const val SITE_ID = 123L
+        const val OTHER_SITE_ID = 456L
+    }
+}
@@ -0,0 +1,137 @@
+package org.wordpress.android.ui.prefs
+
+import android.content.Context
+import android.content.SharedPreferences
+import android.os.Looper
+import androidx.test.core.app.ApplicationProvider
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.util.concurrent.Executor
+
+@RunWith(RobolectricTestRunner::class)
+@Config(application = android.app.Application::class)
+class PrefsShardTest {
+    private val scheduledWrites = mutableListOf<Runnable>()
+    private val writeExecutor = Executor { scheduledWrites.add(it) }
+
+    private lateinit var prefs: SharedPreferences
+    private lateinit var shard: PrefsShard
+
+    @Before
+    fun setUp() {
+        prefs = ApplicationProvider.getApplicationContext<Context>()
+            .getSharedPreferences("prefs_shard_test", Context.MODE_PRIVATE)
+        prefs.edit().clear().commit()
+        shard = PrefsShard(prefs, writeExecutor)
+    }
+
+    @Test
+    fun `edits can be read before they're written to the file`() {
+        shard.edit().putString(KEY, "value").apply()
+
+        assertThat(shard.getString(KEY, null)).isEqualTo("value")
+        assertThat(prefs.contains(KEY)).isFalse()
+    }
+
+    @Test
+    fun `edits applied before the write starts are written together`() {
+        shard.edit().putString(KEY, "value").apply()
+        shard.edit().putInt(OTHER_KEY, 1).apply()
+
+        runScheduledWrites()
+
+        assertThat(scheduledWrites).isEmpty()
+        assertThat(prefs.getString(KEY, null)).isEqualTo("value")
+        assertThat(prefs.getInt(OTHER_KEY, 0)).isEqualTo(1)
+    }
+
+    @Test
+    fun `committed edits are written right away`() {
+        shard.edit().putLong(KEY, 1L).commit()
+
+        assertThat(prefs.getLong(KEY, 0L)).isEqualTo(1L)
+    }
+
+    @Test
+    fun `removed keys are removed from the file`() {
+        prefs.edit().putString(KEY, "value").commit()
+
+        shard.edit().remove(KEY).apply()
+        runScheduledWrites()
+
+        assertThat(shard.contains(KEY)).isFalse()
+        assertThat(prefs.contains(KEY)).isFalse()
+    }
+
+    @Test
+    fun `picks up changes made to the file directly`() {
+        prefs.edit().putBoolean(KEY, true).commit()
+
+        assertThat(shard.getBoolean(KEY, false)).isTrue()
+    }
+
+    @Test
+    fun `doesn't overwrite pending edits with the file's values`() {
+        shard.edit().putString(KEY, "pending").apply()
+
+        prefs.edit().putString(KEY, "direct").commit()
+
+        assertThat(shard.getString(KEY, null)).isEqualTo("pending")
+    }
+
+    @Test
+    fun `picks up changes made to the file after its own writes`() {
+        shard.edit().putString(KEY, "value").apply()
+        runScheduledWrites()
+
+        prefs.edit().putString(KEY, "direct").commit()
+        shadowOf(Looper.getMainLooper()).idle()
+
+        assertThat(shard.getString(KEY, null)).isEqualTo("direct")
+    }
+
+    @Test
+    fun `picks up keys whose type changed in the file`() {
+        shard.edit().putString(KEY, "value").commit()
+
+        prefs.edit().putInt(KEY, 1).commit()
+        shadowOf(Looper.getMainLooper()).idle()
+
+        assertThat(shard.getInt(KEY, 0)).isEqualTo(1)
+    }
+
+    @Test
+    fun `decodes values once until they change`() {
+        var decodeCount = 0
+        val decoder = PrefsShard.Decoder { value ->
+            decodeCount++
+            (value as String?)?.toInt()
+        }
+        shard.edit().putString(KEY, "1").apply()
+
+        assertThat(shard.getDecoded(KEY, decoder)).isEqualTo(1)
+        assertThat(shard.getDecoded(KEY, decoder)).isEqualTo(1)
+        assertThat(decodeCount).isEqualTo(1)
+
+        shard.edit().putString(KEY, "2").apply()
+
+        assertThat(shard.getDecoded(KEY, decoder)).isEqualTo(2)
+        assertThat(decodeCount).isEqualTo(2)
+    }
+
+    private fun runScheduledWrites() {
+        val writes = scheduledWrites.toList()
+        scheduledWrites.clear()
+        writes.forEach { it.run() }
+    }
+
+    private companion object {
+        const val KEY = "key"
+        const val OTHER_KEY = "other_key"
+    }
+}
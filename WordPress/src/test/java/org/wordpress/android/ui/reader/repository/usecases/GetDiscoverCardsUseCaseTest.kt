@@ -111,6 +111,17 @@ class GetDiscoverCardsUseCaseTest : BaseUnitTest() {
         assertThat(result.cards.size).isEqualTo(2)
     }
 
+    @Test
+    fun `if post is blocked it is skipped and the remaining items are still transformed`() = test {
+        // Arrange
+        whenever(readerPostTableWrapper.isPostBlocked(anyOrNull())).thenReturn(true)
+        // Act
+        val result = useCase.get()
+        // Assert
+        assertThat(result.cards.size).isEqualTo(2)
+        assertThat(result.cards).noneMatch { it is ReaderPostCard }
+    }
+
     @Test
     fun `all items from the json are transformed into cards`() = test {
         // Arrange
@@ -0,0 +1,153 @@
+package org.wordpress.android.ui.reader.utils
+
+import androidx.recyclerview.widget.ListUpdateCallback
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
+import org.wordpress.android.models.ReaderComment
+import org.wordpress.android.models.ReaderCommentList
+
+class ReaderCommentLevelerTest {
+    private val callback: ListUpdateCallback = mock()
+
+    @Test
+    fun `places replies below their parents in their original order`() {
+        val comments = commentListOf(
+            comment(id = 1),
+            comment(id = 2, parentId = 1),
+            comment(id = 3),
+            comment(id = 4, parentId = 2),
+            comment(id = 5, parentId = 1),
+            comment(id = 6, parentId = 3)
+        )
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList.map { it.commentId }).containsExactly(1L, 2L, 4L, 5L, 3L, 6L)
+        assertThat(levelList.map { it.level }).containsExactly(0, 1, 2, 1, 0, 1)
+    }
+
+    @Test
+    fun `leaves out comments whose parent isn't in the list`() {
+        val comments = commentListOf(
+            comment(id = 1),
+            comment(id = 2, parentId = 99),
+            comment(id = 3, parentId = 2)
+        )
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList.map { it.commentId }).containsExactly(1L)
+    }
+
+    @Test
+    fun `levels deeply nested threads`() {
+        val comments = commentListOf(comment(id = 1))
+        for (id in 2L..LARGE_THREAD_SIZE) {
+            comments.add(comment(id = id, parentId = id - 1))
+        }
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList).hasSize(LARGE_THREAD_SIZE.toInt())
+        assertThat(levelList.last().level).isEqualTo(LARGE_THREAD_SIZE.toInt() - 1)
+    }
+
+    @Test
+    fun `levels threads with thousands of replies to the same comment`() {
+        val comments = commentListOf(comment(id = 1))
+        for (id in 2L..LARGE_THREAD_SIZE) {
+            comments.add(comment(id = id, parentId = 1))
+        }
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList.map { it.commentId }).isEqualTo((1L..LARGE_THREAD_SIZE).toList())
+        assertThat(levelList.drop(1)).allMatch { it.level == 1 }
+    }
+
+    @Test
+    fun `inserts a reply below the existing replies to its parent`() {
+        val levelList = ReaderCommentLeveler(
+            commentListOf(
+                comment(id = 1),
+                comment(id = 2, parentId = 1),
+                comment(id = 3, parentId = 2),
+                comment(id = 4)
+            )
+        ).createLevelList()
+        val reply = comment(id = 5, parentId = 1)
+
+        val inserted = ReaderCommentLeveler.insertComment(levelList, reply, callback)
+
+        assertThat(inserted).isTrue()
+        assertThat(levelList.map { it.commentId }).containsExactly(1L, 2L, 3L, 5L, 4L)
+        assertThat(reply.level).isEqualTo(1)
+        verify(callback).onInserted(3, 1)
+    }
+
+    @Test
+    fun `inserts a new root comment at the end of the list`() {
+        val levelList = ReaderCommentLeveler(
+            commentListOf(comment(id = 1), comment(id = 2, parentId = 1))
+        ).createLevelList()
+
+        ReaderCommentLeveler.insertComment(levelList, comment(id = 3), callback)
+
+        assertThat(levelList.map { it.commentId }).containsExactly(1L, 2L, 3L)
+        verify(callback).onInserted(2, 1)
+    }
+
+    @Test
+    fun `doesn't insert a reply whose parent isn't in the list`() {
+        val levelList = ReaderCommentLeveler(commentListOf(comment(id = 1))).createLevelList()
+
+        val inserted = ReaderCommentLeveler.insertComment(levelList, comment(id = 2, parentId = 99), callback)
+
+        assertThat(inserted).isFalse()
+        assertThat(levelList).hasSize(1)
+        verifyNoInteractions(callback)
+    }
+
+    @Test
+    fun `removes a comment along with the replies to it`() {
+        val levelList = ReaderCommentLeveler(
+            commentListOf(
+                comment(id = 1),
+                comment(id = 2, parentId = 1),
+                comment(id = 3, parentId = 2),
+                comment(id = 4, parentId = 1),
+                comment(id = 5)
+            )
+        ).createLevelList()
+
+        val removed = ReaderCommentLeveler.removeComment(levelList, 2, callback)
+
+        assertThat(removed).isTrue()
+        assertThat(levelList.map { it.commentId }).containsExactly(1L, 4L, 5L)
+        verify(callback).onRemoved(1, 2)
+    }
+
+    @Test
+    fun `doesn't remove a comment that isn't in the list`() {
+        val levelList = ReaderCommentLeveler(commentListOf(comment(id = 1))).createLevelList()
+
+        val removed = ReaderCommentLeveler.removeComment(levelList, 99, callback)
+
+        assertThat(removed).isFalse()
+        verifyNoInteractions(callback)
+    }
+
+    private fun commentListOf(vararg comments: ReaderComment) = ReaderCommentList().apply { addAll(comments) }
+
+    private fun comment(id: Long, parentId: Long = 0) = ReaderComment().apply {
+        commentId = id
+        this.parentId = parentId
+    }
+
+    private companion object {
+        const val LARGE_THREAD_SIZE = 10_000L
+    }
+}
@@ -0,0 +1,97 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ReaderHtmlTagRewriterTest {
+    private val imageRewriter: (String, String) -> String? = { tag, src ->
+        if (tag.contains("keep")) null else "<img src='$src' width='100' />"
+    }
+    private val iframeRewriter: (String, String) -> String? = { _, src -> "<iframe src='$src' width='200' />" }
+
+    @Test
+    fun `rewrites images and iframes`() {
+        val content = "<p>Hi</p><img class=\"a\" src=\"https://a.com/1.jpg\" alt=\"\">" +
+                "<iframe width=\"10\" src='https://v.com/1'></iframe><IMG SRC=\"https://a.com/2.jpg\">"
+
+        val result = ReaderHtmlTagRewriter(imageRewriter, iframeRewriter).rewrite(content)
+
+        assertThat(result.content).isEqualTo(
+            "<p>Hi</p><img src='https://a.com/1.jpg' width='100' />" +
+                    "<iframe src='https://v.com/1' width='200' /></iframe><img src='https://a.com/2.jpg' width='100' />"
+        )
+    }
+
+    @Test
+    fun `keeps tags the rewriter returns null for`() {
+        val content = "<img class=\"keep\" src=\"https://a.com/1.jpg\"><img src=\"https://a.com/2.jpg\">"
+
+        val result = ReaderHtmlTagRewriter(imageRewriter, iframeRewriter).rewrite(content)
+
+        assertThat(result.content).isEqualTo(
+            "<img class=\"keep\" src=\"https://a.com/1.jpg\"><img src='https://a.com/2.jpg' width='100' />"
+        )
+    }
+
+    @Test
+    fun `leaves images alone without an image rewriter`() {
+        val content = "<img src=\"https://a.com/1.jpg\"><iframe src='https://v.com/1'>"
+
+        val result = ReaderHtmlTagRewriter(null, iframeRewriter).rewrite(content)
+
+        assertThat(result.content).isEqualTo(
+            "<img src=\"https://a.com/1.jpg\"><iframe src='https://v.com/1' width='200' />"
+        )
+    }
+
+    @Test
+    fun `ignores images without a double-quoted src`() {
+        val content = "<img src='https://a.com/1.jpg'><img data-src=\"https://a.com/2.jpg\"><img src=\"unterminated>"
+
+        val result = ReaderHtmlTagRewriter(imageRewriter, iframeRewriter).rewrite(content)
+
+        assertThat(result.content).isSameAs(content)
+    }
+
+    @Test
+    fun `finds the scripts needed by embeds`() {
+        val content = "<blockquote class=\"instagram-media\"></blockquote><fb:post href=\"x\"></fb:post>"
+
+        val result = ReaderHtmlTagRewriter(imageRewriter, iframeRewriter).rewrite(content)
+
+        assertThat(result.embedScripts).containsExactly(
+            ReaderHtmlTagRewriter.INSTAGRAM_EMBED_SCRIPT,
+            ReaderHtmlTagRewriter.FACEBOOK_EMBED_SCRIPT
+        )
+    }
+
+    @Test
+    fun `ignores iframes without a single-quoted src`() {
+        val content = "<iframe src=\"https://v.com/1\"></iframe><iframe data-src='https://v.com/2'></iframe>"
+
+        val result = ReaderHtmlTagRewriter(imageRewriter, iframeRewriter).rewrite(content)
+
+        assertThat(result.content).isSameAs(content)
+    }
+
+    @Test
+    fun `matches the tags found by the scanners`() {
+        val content = "<div><img alt=\"a\" src=\"https://a.com/1.jpg?w=300\" width=\"300\"> text " +
+                "<iframe class=\"x\" src=\"https://v.com/1\" height=\"20\"></iframe>" +
+                "<img src=\"https://a.com/2.jpg\" data-orig-size=\"1,2\"/><iframe src='https://v.com/2'></iframe></div>"
+        val expectedImages = mutableListOf<Pair<String, String>>()
+        val expectedIframes = mutableListOf<Pair<String, String>>()
+        ReaderImageScanner(content, false).beginScan { tag, src -> expectedImages.add(tag to src) }
+        ReaderIframeScanner(content).beginScan { tag, src -> expectedIframes.add(tag to src) }
+        val images = mutableListOf<Pair<String, String>>()
+        val iframes = mutableListOf<Pair<String, String>>()
+
+        ReaderHtmlTagRewriter(
+            imageRewriter = { tag, src -> images.add(tag to src).let { null } },
+            iframeRewriter = { tag, src -> iframes.add(tag to src).let { null } }
+        ).rewrite(content)
+
+        assertThat(images).isEqualTo(expectedImages)
+        assertThat(iframes).isEqualTo(expectedIframes)
+    }
+}
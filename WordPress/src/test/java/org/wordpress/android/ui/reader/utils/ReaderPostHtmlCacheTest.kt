@@ -0,0 +1,127 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.models.ReaderPost
+import java.io.File
+
+@RunWith(RobolectricTestRunner::class)
+@Config(application = android.app.Application::class)
+class ReaderPostHtmlCacheTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private lateinit var cacheDir: File
+
+    @Before
+    fun setUp() {
+        cacheDir = temporaryFolder.newFolder()
+        // runs the disk work inline so it's done when the cache methods return
+        ReaderPostHtmlCache.setUpForTesting(cacheDir) { it.run() }
+    }
+
+    @Test
+    fun `returns the cached html from memory and from disk`() {
+        val key = ReaderPostHtmlCache.getKey(post(text = "text"), VARIANT)
+
+        ReaderPostHtmlCache.put(key, "html")
+
+        assertThat(ReaderPostHtmlCache.get(key)).isEqualTo("html")
+        ReaderPostHtmlCache.evictMemoryForTesting()
+        assertThat(ReaderPostHtmlCache.get(key)).isEqualTo("html")
+    }
+
+    @Test
+    fun `misses keys which were never cached`() {
+        ReaderPostHtmlCache.put(ReaderPostHtmlCache.getKey(post(text = "text"), VARIANT), "html")
+
+        assertThat(ReaderPostHtmlCache.get(ReaderPostHtmlCache.getKey(post(text = "text"), "other variant")))
+            .isNull()
+        assertThat(ReaderPostHtmlCache.get(ReaderPostHtmlCache.getKey(post(text = "other text"), VARIANT)))
+            .isNull()
+    }
+
+    @Test
+    fun `keys differ for any change to the content`() {
+        val key = ReaderPostHtmlCache.getKey(post(text = "ab", excerpt = "c"), VARIANT)
+
+        assertThat(ReaderPostHtmlCache.getKey(post(text = "a", excerpt = "bc"), VARIANT)).isNotEqualTo(key)
+        assertThat(ReaderPostHtmlCache.getKey(post(text = "ab", excerpt = "c", postId = 2), VARIANT))
+            .isNotEqualTo(key)
+        assertThat(ReaderPostHtmlCache.getKey(post(text = "ab", excerpt = "c"), VARIANT)).isEqualTo(key)
+    }
+
+    @Test
+    fun `caching the html of new content removes the html rendered from the previous content`() {
+        val oldKey = ReaderPostHtmlCache.getKey(post(text = "old text"), VARIANT)
+        val otherPostKey = ReaderPostHtmlCache.getKey(post(text = "old text", postId = 2), VARIANT)
+        ReaderPostHtmlCache.put(oldKey, "old html")
+        ReaderPostHtmlCache.put(otherPostKey, "other html")
+
+        val newKey = ReaderPostHtmlCache.getKey(post(text = "new text"), VARIANT)
+        ReaderPostHtmlCache.put(newKey, "new html")
+
+        assertThat(ReaderPostHtmlCache.get(oldKey)).isNull()
+        assertThat(ReaderPostHtmlCache.get(newKey)).isEqualTo("new html")
+        assertThat(ReaderPostHtmlCache.get(otherPostKey)).isEqualTo("other html")
+        assertThat(cacheDir.list()).containsExactlyInAnyOrder("$newKey.html", "$otherPostKey.html")
+    }
+
+    @Test
+    fun `trims the least recently used files once the disk cache is over budget`() {
+        val keys = (1L..6L).map { ReaderPostHtmlCache.getKey(post(text = "text", postId = it), VARIANT) }
+        keys.take(5).forEach { ReaderPostHtmlCache.put(it, LARGE_HTML) }
+        assertThat(cacheDir.list()).hasSize(5)
+
+        // reading the first entry from disk makes the second one the least recently used
+        ReaderPostHtmlCache.evictMemoryForTesting()
+        assertThat(ReaderPostHtmlCache.get(keys[0])).isEqualTo(LARGE_HTML)
+        ReaderPostHtmlCache.put(keys[5], LARGE_HTML)
+
+        assertThat(cacheDir.list()).hasSize(5).doesNotContain("${keys[1]}.html")
+        ReaderPostHtmlCache.evictMemoryForTesting()
+        assertThat(ReaderPostHtmlCache.get(keys[1])).isNull()
+        assertThat(ReaderPostHtmlCache.get(keys[0])).isEqualTo(LARGE_HTML)
+    }
+
+    @Test
+    fun `uses the files left by a previous session`() {
+        val key = ReaderPostHtmlCache.getKey(post(text = "text"), VARIANT)
+        ReaderPostHtmlCache.put(key, "html")
+
+        ReaderPostHtmlCache.setUpForTesting(cacheDir) { it.run() }
+
+        assertThat(ReaderPostHtmlCache.get(key)).isEqualTo("html")
+    }
+
+    @Test
+    fun `clearing removes every entry`() {
+        val key = ReaderPostHtmlCache.getKey(post(text = "text"), VARIANT)
+        ReaderPostHtmlCache.put(key, "html")
+
+        ReaderPostHtmlCache.clear()
+
+        assertThat(ReaderPostHtmlCache.get(key)).isNull()
+        assertThat(cacheDir.list()).isEmpty()
+    }
+
+    private fun post(text: String, excerpt: String = "excerpt", postId: Long = 1) = ReaderPost().apply {
+        blogId = 1
+        this.postId = postId
+        this.text = text
+        this.excerpt = excerpt
+    }
+
+    private companion object {
+        const val VARIANT = "variant"
+
+        // a fifth of the disk cache budget, as ASCII chars are a byte each
+        val LARGE_HTML = "a".repeat(2 * 1024 * 1024)
+    }
+}
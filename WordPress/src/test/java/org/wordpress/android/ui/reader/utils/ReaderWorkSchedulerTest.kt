@@ -0,0 +1,191 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.wordpress.android.ui.reader.utils.ReaderWorkScheduler.Lane
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ReaderWorkSchedulerTest {
+    // the DB lane has a single thread, so blocking it keeps everything submitted afterwards queued
+    private val blockingLatch = CountDownLatch(1)
+    private val blockerStarted = CountDownLatch(1)
+
+    @Before
+    fun setUp() {
+        ReaderWorkScheduler.submit(Lane.DB) {
+            blockerStarted.countDown()
+            blockingLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        }
+        assertThat(blockerStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+    }
+
+    @After
+    fun tearDown() {
+        blockingLatch.countDown()
+    }
+
+    @Test
+    fun `queued work with the same key is coalesced`() {
+        val runCount = AtomicInteger()
+        val done = CountDownLatch(1)
+        val coalescedBefore = ReaderWorkScheduler.getMetrics(Lane.DB).coalescedCount
+
+        val first = ReaderWorkScheduler.submit(Lane.DB, "key", null) {
+            runCount.incrementAndGet()
+            done.countDown()
+        }
+        val second = ReaderWorkScheduler.submit(Lane.DB, "key", null) {
+            runCount.incrementAndGet()
+        }
+        blockingLatch.countDown()
+
+        assertThat(second).isSameAs(first)
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(runCount.get()).isEqualTo(1)
+        assertThat(ReaderWorkScheduler.getMetrics(Lane.DB).coalescedCount).isEqualTo(coalescedBefore + 1)
+    }
+
+    @Test
+    fun `work with the same key is not coalesced once the earlier work has run`() {
+        val firstDone = CountDownLatch(1)
+        val secondDone = CountDownLatch(1)
+
+        ReaderWorkScheduler.submit(Lane.DB, "key", null) { firstDone.countDown() }
+        blockingLatch.countDown()
+        assertThat(firstDone.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        ReaderWorkScheduler.submit(Lane.DB, "key", null) { secondDone.countDown() }
+
+        assertThat(secondDone.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+    }
+
+    @Test
+    fun `cancelled work is skipped`() {
+        val owner = Any()
+        val ownedRan = AtomicInteger()
+        val done = CountDownLatch(1)
+
+        val owned = ReaderWorkScheduler.submit(Lane.DB, null, owner) { ownedRan.incrementAndGet() }
+        ReaderWorkScheduler.cancelAll(owner)
+        ReaderWorkScheduler.submit(Lane.DB) { done.countDown() }
+        blockingLatch.countDown()
+
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(owned.isCancelled).isTrue
+        assertThat(ownedRan.get()).isEqualTo(0)
+    }
+
+    @Test
+    fun `cancelling an owner's work only skips the queued work of that owner`() {
+        val owner = Any()
+        val ranWork = Collections.synchronizedList(mutableListOf<String>())
+        val done = CountDownLatch(1)
+
+        ReaderWorkScheduler.submit(Lane.DB, null, owner) { ranWork.add("owned 1") }
+        ReaderWorkScheduler.submit(Lane.DB, null, Any()) { ranWork.add("not owned") }
+        ReaderWorkScheduler.submit(Lane.DB, null, owner) { ranWork.add("owned 2") }
+        ReaderWorkScheduler.cancelAll(owner)
+        ReaderWorkScheduler.submit(Lane.DB) { done.countDown() }
+        blockingLatch.countDown()
+
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(ranWork).containsExactly("not owned")
+    }
+
+    @Test
+    fun `cancelled keyed work isn't coalesced with later work`() {
+        val owner = Any()
+        val done = CountDownLatch(1)
+
+        val cancelled = ReaderWorkScheduler.submit(Lane.DB, "key", owner) { }
+        ReaderWorkScheduler.cancelAll(owner)
+        val submitted = ReaderWorkScheduler.submit(Lane.DB, "key", null) { done.countDown() }
+        blockingLatch.countDown()
+
+        assertThat(submitted).isNotSameAs(cancelled)
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+    }
+
+    @Test
+    fun `work never runs on the submitting thread`() {
+        val done = CountDownLatch(1)
+        var runThread: Thread? = null
+
+        ReaderWorkScheduler.submit(Lane.DB) {
+            runThread = Thread.currentThread()
+            done.countDown()
+        }
+        blockingLatch.countDown()
+
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(runThread).isNotSameAs(Thread.currentThread())
+    }
+
+    @Test
+    fun `the oldest owned work is dropped once a bounded lane is full`() {
+        val cpuBlockingLatch = blockCpuLane()
+        try {
+            val droppedBefore = ReaderWorkScheduler.getMetrics(Lane.CPU).droppedCount
+            val unowned = ReaderWorkScheduler.submit(Lane.CPU) { }
+            val oldestOwned = ReaderWorkScheduler.submit(Lane.CPU, null, Any()) { }
+            repeat(Lane.CPU.queueCapacity - 2) { ReaderWorkScheduler.submit(Lane.CPU, null, Any()) { } }
+
+            val latest = ReaderWorkScheduler.submit(Lane.CPU, null, Any()) { }
+
+            assertThat(oldestOwned.isCancelled).isTrue
+            assertThat(unowned.isCancelled).isFalse
+            assertThat(latest.isCancelled).isFalse
+            assertThat(ReaderWorkScheduler.getMetrics(Lane.CPU).droppedCount).isEqualTo(droppedBefore + 1)
+        } finally {
+            cpuBlockingLatch.countDown()
+        }
+    }
+
+    @Test
+    fun `work without an owner is queued beyond a bounded lane's capacity`() {
+        val cpuBlockingLatch = blockCpuLane()
+        val workCount = Lane.CPU.queueCapacity + 1
+        val done = CountDownLatch(workCount)
+        val droppedBefore = ReaderWorkScheduler.getMetrics(Lane.CPU).droppedCount
+
+        repeat(workCount) { ReaderWorkScheduler.submit(Lane.CPU) { done.countDown() } }
+        cpuBlockingLatch.countDown()
+
+        assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(ReaderWorkScheduler.getMetrics(Lane.CPU).droppedCount).isEqualTo(droppedBefore)
+    }
+
+    @Test
+    fun `queued work is reported in the lane metrics`() {
+        ReaderWorkScheduler.submit(Lane.DB) { }
+        ReaderWorkScheduler.submit(Lane.DB) { }
+
+        val metrics = ReaderWorkScheduler.getMetrics(Lane.DB)
+
+        assertThat(metrics.queueDepth).isEqualTo(2)
+        assertThat(metrics.maxQueueDepth).isGreaterThanOrEqualTo(2)
+    }
+
+    // keeps both CPU threads busy until the returned latch is counted down
+    private fun blockCpuLane(): CountDownLatch {
+        val cpuBlockingLatch = CountDownLatch(1)
+        val cpuBlockersStarted = CountDownLatch(CPU_THREAD_COUNT)
+        repeat(CPU_THREAD_COUNT) {
+            ReaderWorkScheduler.submit(Lane.CPU) {
+                cpuBlockersStarted.countDown()
+                cpuBlockingLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            }
+        }
+        assertThat(cpuBlockersStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        return cpuBlockingLatch
+    }
+
+    companion object {
+        private const val TIMEOUT_SECONDS = 5L
+        private const val CPU_THREAD_COUNT = 2
+    }
+}
@@ -0,0 +1,282 @@
+package org.wordpress.android.analytics;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.analytics.AnalyticsTracker.Stat;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands analytics events over to a single background thread, which passes them on to the trackers in the order they
+ * were enqueued. Enqueuing only copies the event properties and publishes the event in a bounded ring buffer, so
+ * tracking costs the calling thread (usually the main thread) next to nothing, while the trackers' work (adding the
+ * pre-defined properties, building the JSON, logging and queueing the request) happens on the background thread.
+ *
+ * The buffer is lock-free for the threads enqueuing: they only compete for a slot with a compare-and-set. When it's
+ * full, events are dropped rather than blocking the caller, and the number of dropped events is logged.
+ */
+final class AnalyticsEventQueue {
+    static final int CAPACITY = 1024;
+    private static final int INDEX_MASK = CAPACITY - 1;
+    private static final long FULL_QUEUE_RETRY_NANOS = 100_000;
+
+    private final List<Tracker> mTrackers;
+    private final AtomicReferenceArray<Event> mSlots = new AtomicReferenceArray<>(CAPACITY);
+    // the sequence number of the next slot to be claimed by a producer
+    private final AtomicLong mTail = new AtomicLong();
+    // the sequence number of the next slot to be read by the consumer, only written by the consumer
+    private final AtomicLong mHead = new AtomicLong();
+    private final AtomicLong mDroppedEvents = new AtomicLong();
+    private volatile boolean mConsumerWaiting;
+    @Nullable private volatile Thread mConsumer;
+
+    AnalyticsEventQueue(@NonNull List<Tracker> trackers) {
+        mTrackers = trackers;
+    }
+
+    void track(@Nullable Stat stat, @Nullable Map<String, ?> properties) {
+        if (!enqueue(new Event(stat, toKeysAndValues(properties), null))) {
+            mDroppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs the command on the background thread once the events enqueued before it have been handed to the trackers,
+     * so that tracker state changes (e.g. a new user) and flushes apply to the right events.
+     */
+    void run(@NonNull Runnable command) {
+        if (!enqueue(new Event(null, null, command))) {
+            mDroppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Like {@link #run(Runnable)}, but waits up to the given timeout for the command to complete, for callers which
+     * truly need a tracker state change before going on. While the queue is full, this waits for the background
+     * thread to make room rather than dropping the command. Returns false if the command didn't complete in time, in
+     * which case it still runs later.
+     */
+    boolean runAndWait(@NonNull Runnable command, long timeout, @NonNull TimeUnit unit) {
+        if (Thread.currentThread() == mConsumer) {
+            command.run();
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        CountDownLatch done = new CountDownLatch(1);
+        Event event = new Event(null, null, () -> {
+            try {
+                command.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        while (!enqueue(event)) {
+            if (System.nanoTime() >= deadline) {
+                mDroppedEvents.incrementAndGet();
+                return false;
+            }
+            LockSupport.parkNanos(FULL_QUEUE_RETRY_NANOS);
+        }
+        try {
+            return done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    long getDroppedEventCount() {
+        return mDroppedEvents.get();
+    }
+
+    private boolean enqueue(@NonNull Event event) {
+        long tail;
+        do {
+            tail = mTail.get();
+            if (tail - mHead.get() >= CAPACITY) {
+                return false;
+            }
+        } while (!mTail.compareAndSet(tail, tail + 1));
+        mSlots.set((int) tail & INDEX_MASK, event);
+
+        Thread consumer = mConsumer;
+        if (consumer == null) {
+            startConsumer();
+        } else if (mConsumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private synchronized void startConsumer() {
+        if (mConsumer == null) {
+            Thread consumer = new Thread(this::consume, "AnalyticsEventQueue");
+            consumer.setDaemon(true);
+            mConsumer = consumer;
+            consumer.start();
+        }
+    }
+
+    private void consume() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        long reportedDrops = 0;
+        while (true) {
+            Event event = poll();
+            if (event == null) {
+                long drops = mDroppedEvents.get();
+                if (drops != reportedDrops) {
+                    AppLog.w(T.STATS, "Analytics queue was full, dropped " + (drops - reportedDrops) + " events");
+                    reportedDrops = drops;
+                }
+                waitForEvent();
+                continue;
+            }
+            try {
+                dispatch(event);
+            } catch (RuntimeException e) {
+                // a failing tracker mustn't take the other events down with it
+                AppLog.e(T.STATS, "Error while tracking an analytics event", e);
+            }
+        }
+    }
+
+    /*
+     * returns the next event, or null if there's none - or if the producer that claimed the next slot hasn't
+     * published its event yet, in which case the consumer is woken up again once it has
+     */
+    @Nullable
+    private Event poll() {
+        long head = mHead.get();
+        int index = (int) head & INDEX_MASK;
+        Event event = mSlots.get(index);
+        if (event != null) {
+            mSlots.set(index, null);
+            mHead.set(head + 1);
+        }
+        return event;
+    }
+
+    private void waitForEvent() {
+        mConsumerWaiting = true;
+        // check again after announcing the wait, so an event published in between isn't left waiting
+        if (mSlots.get((int) mHead.get() & INDEX_MASK) == null) {
+            LockSupport.park(this);
+        }
+        mConsumerWaiting = false;
+    }
+
+    private void dispatch(@NonNull Event event) {
+        if (event.mCommand != null) {
+            event.mCommand.run();
+            return;
+        }
+        Map<String, Object> properties = toMap(event.mProperties);
+        for (Tracker tracker : mTrackers) {
+            if (properties == null) {
+                tracker.track(event.mStat);
+            } else {
+                tracker.track(event.mStat, properties);
+            }
+        }
+    }
+
+    /*
+     * copies the properties when enqueuing, along with the maps, collections and arrays they contain, since callers
+     * are free to change them once track() returns
+     */
+    @Nullable
+    private static Object[] toKeysAndValues(@Nullable Map<String, ?> properties) {
+        if (properties == null) {
+            return null;
+        }
+        Object[] keysAndValues = new Object[properties.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, ?> entry : properties.entrySet()) {
+            keysAndValues[i++] = entry.getKey();
+            keysAndValues[i++] = deepCopy(entry.getValue());
+        }
+        return keysAndValues;
+    }
+
+    @Nullable
+    static Object deepCopy(@Nullable Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), deepCopy(entry.getValue()));
+            }
+            return copy;
+        } else if (value instanceof Set) {
+            Set<Object> copy = new HashSet<>();
+            for (Object item : (Set<?>) value) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        } else if (value instanceof Collection) {
+            List<Object> copy = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        } else if (value instanceof Object[]) {
+            Object[] items = (Object[]) value;
+            Object[] copy = new Object[items.length];
+            for (int i = 0; i < items.length; i++) {
+                copy[i] = deepCopy(items[i]);
+            }
+            return copy;
+        } else if (value instanceof JSONObject || value instanceof JSONArray) {
+            try {
+                return value instanceof JSONObject ? new JSONObject(value.toString()) : new JSONArray(value.toString());
+            } catch (JSONException e) {
+                return value;
+            }
+        }
+        // strings, numbers and booleans are immutable
+        return value;
+    }
+
+    @Nullable
+    private static Map<String, Object> toMap(@Nullable Object[] keysAndValues) {
+        if (keysAndValues == null) {
+            return null;
+        }
+        Map<String, Object> properties = new HashMap<>(keysAndValues.length);
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+
+    private static final class Event {
+        @Nullable final Stat mStat;
+        @Nullable final Object[] mProperties;
+        @Nullable final Runnable mCommand;
+
+        Event(@Nullable Stat stat, @Nullable Object[] properties, @Nullable Runnable command) {
+            mStat = stat;
+            mProperties = properties;
+            mCommand = command;
+        }
+    }
+}
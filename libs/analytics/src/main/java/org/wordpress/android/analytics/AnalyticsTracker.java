@@ -6,11 +6,11 @@ import android.content.SharedPreferences;
 import androidx.annotation.Nullable;
 import androidx.preference.PreferenceManager;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class AnalyticsTracker {
     private static boolean mHasUserOptedOut;
@@ -1108,7 +1108,9 @@ public final class AnalyticsTracker {
         }
     }
 
-    private static final List<Tracker> TRACKERS = new ArrayList<>();
+    private static final List<Tracker> TRACKERS = new CopyOnWriteArrayList<>();
+    // events are handed to the trackers on a background thread, see AnalyticsEventQueue
+    private static final AnalyticsEventQueue EVENT_QUEUE = new AnalyticsEventQueue(TRACKERS);
 
     private AnalyticsTracker() {
     }
@@ -1138,13 +1140,11 @@ public final class AnalyticsTracker {
     }
 
     public static void track(Stat stat) {
-        if (mHasUserOptedOut) {
+        if (mHasUserOptedOut || TRACKERS.isEmpty()) {
             return;
         }
 
-        for (Tracker tracker : TRACKERS) {
-            tracker.track(stat);
-        }
+        EVENT_QUEUE.track(stat, null);
     }
 
     public static @Nullable String getAnonID() {
@@ -1161,13 +1161,11 @@ public final class AnalyticsTracker {
     }
 
     public static void track(Stat stat, Map<String, ?> properties) {
-        if (mHasUserOptedOut) {
+        if (mHasUserOptedOut || TRACKERS.isEmpty()) {
             return;
         }
 
-        for (Tracker tracker : TRACKERS) {
-            tracker.track(stat, properties);
-        }
+        EVENT_QUEUE.track(stat, properties);
     }
 
     /**
@@ -1185,33 +1183,51 @@ public final class AnalyticsTracker {
         track(stat, props);
     }
 
+    /**
+     * Returns the number of events that were dropped because they were tracked faster than the trackers could
+     * handle them.
+     */
+    public static long getDroppedEventCount() {
+        return EVENT_QUEUE.getDroppedEventCount();
+    }
+
+    // The calls below go through the event queue too, so they apply after the events tracked before them
+
     public static void flush() {
         if (mHasUserOptedOut) {
             return;
         }
-        for (Tracker tracker : TRACKERS) {
-            tracker.flush();
-        }
+        EVENT_QUEUE.run(() -> {
+            for (Tracker tracker : TRACKERS) {
+                tracker.flush();
+            }
+        });
     }
 
     public static void endSession(boolean force) {
         if (mHasUserOptedOut && !force) {
             return;
         }
-        for (Tracker tracker : TRACKERS) {
-            tracker.endSession();
-        }
+        EVENT_QUEUE.run(() -> {
+            for (Tracker tracker : TRACKERS) {
+                tracker.endSession();
+            }
+        });
     }
 
     public static void clearAllData() {
-        for (Tracker tracker : TRACKERS) {
-            tracker.clearAllData();
-        }
+        EVENT_QUEUE.run(() -> {
+            for (Tracker tracker : TRACKERS) {
+                tracker.clearAllData();
+            }
+        });
     }
 
     public static void refreshMetadata(AnalyticsMetadata metadata) {
-        for (Tracker tracker : TRACKERS) {
-            tracker.refreshMetadata(metadata);
-        }
+        EVENT_QUEUE.run(() -> {
+            for (Tracker tracker : TRACKERS) {
+                tracker.refreshMetadata(metadata);
+            }
+        });
     }
 }
@@ -24,8 +24,9 @@ public abstract class Tracker {
 
     abstract String getAnonIdPrefKey();
 
-    private String mAnonID = null; // do not access this variable directly. Use methods.
-    private String mWpcomUserName = null;
+    // read by getAnonID() on the caller's thread and written on the analytics thread
+    private volatile String mAnonID = null; // do not access this variable directly. Use methods.
+    private volatile String mWpcomUserName = null;
     Context mContext;
 
     public Tracker(Context context) throws IllegalArgumentException {
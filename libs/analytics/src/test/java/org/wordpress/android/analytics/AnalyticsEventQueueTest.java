@@ -0,0 +1,186 @@
+package org.wordpress.android.analytics;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.wordpress.android.analytics.AnalyticsTracker.Stat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AnalyticsEventQueueTest {
+    private static final int PRODUCER_COUNT = 4;
+    private static final int EVENTS_PER_PRODUCER = 200;
+    private static final long WAIT_SECONDS = 5;
+
+    private final RecordingTracker mTracker = new RecordingTracker();
+    private final AnalyticsEventQueue mQueue = new AnalyticsEventQueue(Collections.singletonList(mTracker));
+
+    @Test
+    public void eventsOfEachProducerAreTrackedInOrder() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCER_COUNT; producer++) {
+            final int producerId = producer;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    Map<String, Object> properties = new HashMap<>();
+                    properties.put("producer", producerId);
+                    properties.put("index", i);
+                    mQueue.track(Stat.APPLICATION_OPENED, properties);
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertThat(mQueue.runAndWait(() -> { }, WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(mTracker.mEvents).hasSize(PRODUCER_COUNT * EVENTS_PER_PRODUCER);
+        int[] nextIndexes = new int[PRODUCER_COUNT];
+        for (TrackedEvent event : mTracker.mEvents) {
+            int producer = (int) event.mProperties.get("producer");
+            assertThat(event.mProperties.get("index")).isEqualTo(nextIndexes[producer]++);
+        }
+        assertThat(mQueue.getDroppedEventCount()).isZero();
+    }
+
+    @Test
+    public void eventsAreDroppedAndCountedWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        mQueue.run(() -> {
+            consumerBlocked.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(consumerBlocked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < AnalyticsEventQueue.CAPACITY + 10; i++) {
+            mQueue.track(Stat.APPLICATION_OPENED, null);
+        }
+        release.countDown();
+        assertThat(mQueue.runAndWait(() -> { }, WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(mQueue.getDroppedEventCount()).isEqualTo(10);
+        assertThat(mTracker.mEvents).hasSize(AnalyticsEventQueue.CAPACITY);
+    }
+
+    @Test
+    public void commandsRunInOrderWithTheEvents() {
+        mQueue.track(Stat.APPLICATION_OPENED, null);
+        mQueue.run(() -> mTracker.mEvents.add(new TrackedEvent(null, null)));
+        mQueue.track(Stat.APPLICATION_CLOSED, null);
+        assertThat(mQueue.runAndWait(() -> { }, WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(mTracker.mEvents).extracting(event -> event.mStat)
+                                    .containsExactly(Stat.APPLICATION_OPENED, null, Stat.APPLICATION_CLOSED);
+    }
+
+    @Test
+    public void runAndWaitReturnsOnceTheCommandRan() {
+        for (int i = 0; i < 100; i++) {
+            mQueue.track(Stat.APPLICATION_OPENED, null);
+        }
+        List<Integer> trackedBefore = new ArrayList<>();
+
+        assertThat(mQueue.runAndWait(() -> trackedBefore.add(mTracker.mEvents.size()), WAIT_SECONDS, TimeUnit.SECONDS))
+                .isTrue();
+
+        assertThat(trackedBefore).containsExactly(100);
+    }
+
+    @Test
+    public void runAndWaitGivesUpAfterTheTimeoutButStillRunsTheCommand() {
+        CountDownLatch release = new CountDownLatch(1);
+        mQueue.run(() -> awaitQuietly(release));
+        List<Boolean> ran = Collections.synchronizedList(new ArrayList<>());
+
+        assertThat(mQueue.runAndWait(() -> ran.add(true), 10, TimeUnit.MILLISECONDS)).isFalse();
+
+        release.countDown();
+        assertThat(mQueue.runAndWait(() -> { }, WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly(true);
+    }
+
+    @Test
+    public void propertiesAreCopiedDeeply() {
+        List<String> items = new ArrayList<>();
+        items.add("before");
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("items", items);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("nested", nested);
+        CountDownLatch release = new CountDownLatch(1);
+        mQueue.run(() -> awaitQuietly(release));
+
+        mQueue.track(Stat.APPLICATION_OPENED, properties);
+        items.add("after");
+        nested.put("other", "value");
+        release.countDown();
+        assertThat(mQueue.runAndWait(() -> { }, WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        Map<?, ?> trackedNested = (Map<?, ?>) mTracker.mEvents.get(0).mProperties.get("nested");
+        assertThat(trackedNested).containsOnlyKeys("items");
+        assertThat((List<?>) trackedNested.get("items")).containsExactly("before");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class TrackedEvent {
+        final Stat mStat;
+        final Map<String, ?> mProperties;
+
+        TrackedEvent(Stat stat, Map<String, ?> properties) {
+            mStat = stat;
+            mProperties = properties;
+        }
+    }
+
+    // only ever called on the queue's thread
+    private static class RecordingTracker extends Tracker {
+        final List<TrackedEvent> mEvents = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingTracker() {
+            super(mock(Context.class));
+        }
+
+        @Override void track(Stat stat) {
+            mEvents.add(new TrackedEvent(stat, null));
+        }
+
+        @Override void track(Stat stat, Map<String, ?> properties) {
+            mEvents.add(new TrackedEvent(stat, properties));
+        }
+
+        @Override void endSession() {
+        }
+
+        @Override void flush() {
+        }
+
+        @Override void refreshMetadata(AnalyticsMetadata metadata) {
+        }
+
+        @Override String getAnonIdPrefKey() {
+            return "anon_id";
+        }
+    }
+}
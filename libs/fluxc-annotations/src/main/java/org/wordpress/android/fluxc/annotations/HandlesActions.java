@@ -0,0 +1,15 @@
+package org.wordpress.android.fluxc.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the {@link ActionEnum} types a store handles: the Dispatcher only delivers actions of these types to it.
+ * Stores with a higher priority are handed each action before the stores with a lower one.
+ */
+@Target(value = ElementType.TYPE)
+public @interface HandlesActions {
+    Class<?>[] value();
+
+    int priority() default 0;
+}
@@ -0,0 +1,223 @@
+package org.wordpress.android.fluxc.processor;
+
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import org.wordpress.android.fluxc.annotations.ActionEnum;
+import org.wordpress.android.fluxc.annotations.AnnotationConfig;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+import static java.util.Collections.singleton;
+import static javax.lang.model.SourceVersion.latestSupported;
+
+/**
+ * Generates the StoreActionRoutes class from the {@link HandlesActions}-annotated stores, which the Dispatcher uses
+ * to deliver each action only to the stores handling its {@link ActionEnum} type.
+ */
+@SuppressWarnings("unused")
+@AutoService(Processor.class)
+public class ActionRoutingProcessor extends AbstractProcessor {
+    private static final String ROUTES_CLASS_NAME = "StoreActionRoutes";
+    private static final String SUBSCRIBE_ANNOTATION = "org.greenrobot.eventbus.Subscribe";
+
+    private Filer mFiler;
+    private Messager mMessager;
+
+    @Override
+    public void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        mFiler = processingEnv.getFiler();
+        mMessager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return singleton(HandlesActions.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<? extends Element> storeElements = roundEnv.getElementsAnnotatedWith(HandlesActions.class);
+        if (storeElements.isEmpty()) {
+            return true;
+        }
+
+        List<StoreRoute> routes = new ArrayList<>();
+        for (Element storeElement : storeElements) {
+            StoreRoute route = createStoreRoute(storeElement);
+            if (route != null) {
+                routes.add(route);
+            }
+        }
+        createRoutesClass(routes);
+
+        return true;
+    }
+
+    private StoreRoute createStoreRoute(Element storeElement) {
+        if (storeElement.getKind() != ElementKind.CLASS) {
+            mMessager.printMessage(Diagnostic.Kind.ERROR, "Only stores can handle actions", storeElement);
+            return null;
+        }
+
+        HandlesActions annotation = storeElement.getAnnotation(HandlesActions.class);
+        List<? extends TypeMirror> actionTypeMirrors = new ArrayList<>();
+        try {
+            annotation.value();
+        } catch (MirroredTypesException e) {
+            actionTypeMirrors = e.getTypeMirrors();
+        }
+
+        List<ClassName> actionTypes = new ArrayList<>();
+        for (TypeMirror actionTypeMirror : actionTypeMirrors) {
+            TypeElement actionElement = (TypeElement) ((DeclaredType) actionTypeMirror).asElement();
+            if (actionElement.getAnnotation(ActionEnum.class) == null) {
+                mMessager.printMessage(Diagnostic.Kind.ERROR,
+                        actionElement.getSimpleName() + " isn't annotated with @ActionEnum", storeElement);
+                return null;
+            }
+            actionTypes.add(ClassName.get(actionElement));
+        }
+
+        // stores handling actions can still subscribe to other events, e.g. to the changes emitted by other stores
+        boolean subscribesToEvents = false;
+        for (Element enclosedElement : storeElement.getEnclosedElements()) {
+            if (enclosedElement.getKind() != ElementKind.METHOD || !isSubscriber(enclosedElement)) {
+                continue;
+            }
+            if (enclosedElement.getSimpleName().contentEquals("onAction")) {
+                mMessager.printMessage(Diagnostic.Kind.ERROR,
+                        "onAction shouldn't @Subscribe when the store is annotated with @HandlesActions",
+                        enclosedElement);
+                return null;
+            }
+            subscribesToEvents = true;
+        }
+        return new StoreRoute(ClassName.get((TypeElement) storeElement), actionTypes, annotation.priority(),
+                subscribesToEvents);
+    }
+
+    private static boolean isSubscriber(Element methodElement) {
+        for (AnnotationMirror annotationMirror : methodElement.getAnnotationMirrors()) {
+            Element annotationElement = annotationMirror.getAnnotationType().asElement();
+            if (((TypeElement) annotationElement).getQualifiedName().contentEquals(SUBSCRIBE_ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void createRoutesClass(List<StoreRoute> routes) {
+        TypeName classType = ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(
+                Object.class));
+
+        MethodSpec.Builder actionTypesMethod = MethodSpec.methodBuilder("getHandledActionTypes")
+                .addJavadoc("Returns the action types handled by the stores of the given class, or null if the class "
+                            + "isn't annotated with @$T.\n", HandlesActions.class)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ArrayTypeName.of(classType))
+                .addParameter(classType, "storeClass");
+        MethodSpec.Builder priorityMethod = MethodSpec.methodBuilder("getPriority")
+                .addJavadoc("Returns the priority with which stores of the given class receive their actions.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(classType, "storeClass");
+        MethodSpec.Builder subscribesMethod = MethodSpec.methodBuilder("subscribesToEvents")
+                .addJavadoc("Returns true if stores of the given class also subscribe to events other than actions.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(boolean.class)
+                .addParameter(classType, "storeClass");
+
+        for (StoreRoute route : routes) {
+            CodeBlock.Builder actionTypes = CodeBlock.builder();
+            for (ClassName actionType : route.mActionTypes) {
+                if (!actionTypes.isEmpty()) {
+                    actionTypes.add(", ");
+                }
+                actionTypes.add("$T.class", actionType);
+            }
+            actionTypesMethod.beginControlFlow("if (storeClass == $T.class)", route.mStoreType)
+                    .addStatement("return new $T[] {$L}", classType, actionTypes.build())
+                    .endControlFlow();
+            if (route.mPriority != 0) {
+                priorityMethod.beginControlFlow("if (storeClass == $T.class)", route.mStoreType)
+                        .addStatement("return $L", route.mPriority)
+                        .endControlFlow();
+            }
+            if (route.mSubscribesToEvents) {
+                subscribesMethod.beginControlFlow("if (storeClass == $T.class)", route.mStoreType)
+                        .addStatement("return true")
+                        .endControlFlow();
+            }
+        }
+        actionTypesMethod.addStatement("return null");
+        priorityMethod.addStatement("return 0");
+        subscribesMethod.addStatement("return false");
+
+        TypeSpec routesClass = TypeSpec.classBuilder(ROUTES_CLASS_NAME)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(actionTypesMethod.build())
+                .addMethod(priorityMethod.build())
+                .addMethod(subscribesMethod.build())
+                .build();
+
+        JavaFile javaFile = JavaFile.builder(AnnotationConfig.PACKAGE, routesClass)
+                .build();
+
+        try {
+            javaFile.writeTo(mFiler);
+        } catch (IOException e) {
+            mMessager.printMessage(Diagnostic.Kind.ERROR, "Failed to create file: " + e.getMessage());
+        }
+    }
+
+    private static class StoreRoute {
+        private final ClassName mStoreType;
+        private final List<ClassName> mActionTypes;
+        private final int mPriority;
+        private final boolean mSubscribesToEvents;
+
+        StoreRoute(ClassName storeType, List<ClassName> actionTypes, int priority, boolean subscribesToEvents) {
+            mStoreType = storeType;
+            mActionTypes = actionTypes;
+            mPriority = priority;
+            mSubscribesToEvents = subscribesToEvents;
+        }
+    }
+}
@@ -1,41 +1,98 @@
 package org.wordpress.android.fluxc;
 
 import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.EventBusBuilder;
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
 import org.wordpress.android.fluxc.annotations.action.Action;
+import org.wordpress.android.fluxc.annotations.action.IAction;
+import org.wordpress.android.fluxc.generated.FluxCEventBusIndex;
+import org.wordpress.android.fluxc.generated.StoreActionRoutes;
 import org.wordpress.android.fluxc.store.Store;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class Dispatcher {
+    // stores mostly start network requests and write to the database when handling actions, so a few threads are
+    // enough to keep them from waiting on each other
+    private static final int STORE_THREAD_COUNT = 4;
+    private static final long STORE_THREAD_KEEP_ALIVE_SECONDS = 30;
+
     private final EventBus mBus;
+    private final ThreadPoolExecutor mStoreExecutor;
+    // the stores handling each action enum type, by descending priority - stores not annotated with
+    // @HandlesActions are registered on the bus instead and receive every action
+    private final Map<Class<?>, List<RoutedStore>> mRoutes = new ConcurrentHashMap<>();
+
+    public Dispatcher() {
+        this(Collections.emptySet());
+    }
 
-    @Inject public Dispatcher() {
-        mBus = EventBus.builder()
+    /**
+     * @param subscriberIndexes EventBus indexes of the objects registered from outside FluxC (e.g. the app's
+     *                          activities), which are otherwise looked up by reflection when registering them
+     */
+    @Inject public Dispatcher(Set<SubscriberInfoIndex> subscriberIndexes) {
+        EventBusBuilder busBuilder = EventBus.builder()
                 .logNoSubscriberMessages(true)
                 .sendNoSubscriberEvent(true)
                 .throwSubscriberException(true)
-                .build();
+                .addIndex(new FluxCEventBusIndex());
+        for (SubscriberInfoIndex subscriberIndex : subscriberIndexes) {
+            busBuilder.addIndex(subscriberIndex);
+        }
+        mBus = busBuilder.build();
+        mStoreExecutor = createStoreExecutor();
     }
 
     public void register(final Object object) {
-        mBus.register(object);
+        Class<?> routedClass = getRoutedClass(object);
+        if (routedClass != null) {
+            addRoutes((Store) object, routedClass);
+        }
+        if (routedClass == null || StoreActionRoutes.subscribesToEvents(routedClass)) {
+            mBus.register(object);
+        }
         if (object instanceof Store) {
             ((Store) object).onRegister();
         }
     }
 
     public void unregister(final Object object) {
-        mBus.unregister(object);
+        removeRoutes(object);
+        if (mBus.isRegistered(object)) {
+            mBus.unregister(object);
+        }
     }
 
     public void dispatch(Action action) {
         AppLog.d(T.API, "Dispatching action: " + action.getType().getClass().getSimpleName()
                 + "-" + action.getType().toString());
-        post(action);
+        List<RoutedStore> stores = mRoutes.get(getActionEnumType(action.getType()));
+        if (stores != null) {
+            for (RoutedStore store : stores) {
+                mStoreExecutor.execute(() -> store.mStore.onAction(action));
+            }
+        }
+        // objects other than the routed stores can subscribe to actions too, e.g. in tests
+        if (stores == null || mBus.hasSubscriberForEvent(Action.class)) {
+            post(action);
+        }
     }
 
     public void emitChange(final Object changeEvent) {
@@ -45,4 +102,87 @@ public class Dispatcher {
     private void post(final Object event) {
         mBus.post(event);
     }
+
+    /*
+     * returns the class whose @HandlesActions annotation applies to the given object, or null if it isn't a store
+     * annotated with it (e.g. a store from another module)
+     */
+    private static Class<?> getRoutedClass(Object object) {
+        if (!(object instanceof Store)) {
+            return null;
+        }
+        for (Class<?> type = object.getClass(); type != Store.class; type = type.getSuperclass()) {
+            if (StoreActionRoutes.getHandledActionTypes(type) != null) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void addRoutes(Store store, Class<?> routedClass) {
+        RoutedStore routedStore = new RoutedStore(store, StoreActionRoutes.getPriority(routedClass));
+        for (Class<?> actionType : StoreActionRoutes.getHandledActionTypes(routedClass)) {
+            // lists are replaced rather than changed, as they're read without locking while dispatching
+            List<RoutedStore> stores = new ArrayList<>();
+            List<RoutedStore> currentStores = mRoutes.get(actionType);
+            if (currentStores != null) {
+                stores.addAll(currentStores);
+            }
+            int index = 0;
+            while (index < stores.size() && stores.get(index).mPriority >= routedStore.mPriority) {
+                index++;
+            }
+            stores.add(index, routedStore);
+            mRoutes.put(actionType, Collections.unmodifiableList(stores));
+        }
+    }
+
+    private synchronized void removeRoutes(Object object) {
+        for (Map.Entry<Class<?>, List<RoutedStore>> route : mRoutes.entrySet()) {
+            List<RoutedStore> stores = new ArrayList<>(route.getValue());
+            for (int i = stores.size() - 1; i >= 0; i--) {
+                if (stores.get(i).mStore == object) {
+                    stores.remove(i);
+                }
+            }
+            if (stores.size() != route.getValue().size()) {
+                mRoutes.put(route.getKey(), Collections.unmodifiableList(stores));
+            }
+        }
+    }
+
+    /*
+     * actions are routed by the enum declaring them, since an enum constant with a body has a class of its own
+     */
+    private static Class<?> getActionEnumType(IAction actionType) {
+        if (actionType instanceof Enum) {
+            return ((Enum<?>) actionType).getDeclaringClass();
+        }
+        return actionType.getClass();
+    }
+
+    private static ThreadPoolExecutor createStoreExecutor() {
+        ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger mThreadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "FluxC-Store-" + mThreadCount.incrementAndGet());
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(STORE_THREAD_COUNT, STORE_THREAD_COUNT,
+                STORE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class RoutedStore {
+        private final Store mStore;
+        private final int mPriority;
+
+        RoutedStore(Store store, int priority) {
+            mStore = store;
+            mPriority = priority;
+        }
+    }
 }
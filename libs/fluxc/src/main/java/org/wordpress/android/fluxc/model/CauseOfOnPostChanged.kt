@@ -11,6 +11,7 @@ sealed class CauseOfOnPostChanged {
     object RemoveAllPosts : CauseOfOnPostChanged()
     class RemovePost(val localPostId: Int, val remotePostId: Long) : CauseOfOnPostChanged()
     class UpdatePost(val localPostId: Int, val remotePostId: Long, val isLocalUpdate: Boolean) : CauseOfOnPostChanged()
+    class UpdatePosts(val localPostIds: List<Int>) : CauseOfOnPostChanged()
     class RemoteAutoSavePost(val localPostId: Int, val remotePostId: Long) : CauseOfOnPostChanged()
     object FetchPostLikes : CauseOfOnPostChanged()
 }
@@ -47,6 +47,10 @@ public class MediaUploadModel extends Payload<BaseNetworkError> implements Ident
     @Column private String mErrorMessage;
     @Column private String mErrorSubType;
 
+    // State of a resumable upload, so a large upload can continue from where it stopped after a failure
+    @Column private String mResumableUploadUrl;
+    @Column private long mResumableUploadOffset;
+
     public MediaUploadModel() {}
 
     public MediaUploadModel(int id) {
@@ -103,6 +107,22 @@ public class MediaUploadModel extends Payload<BaseNetworkError> implements Ident
         mErrorSubType = errorSubType;
     }
 
+    public @Nullable String getResumableUploadUrl() {
+        return mResumableUploadUrl;
+    }
+
+    public void setResumableUploadUrl(@Nullable String resumableUploadUrl) {
+        mResumableUploadUrl = resumableUploadUrl;
+    }
+
+    public long getResumableUploadOffset() {
+        return mResumableUploadOffset;
+    }
+
+    public void setResumableUploadOffset(long resumableUploadOffset) {
+        mResumableUploadOffset = resumableUploadOffset;
+    }
+
     public @Nullable MediaError getMediaError() {
         if (TextUtils.isEmpty(getErrorType())) {
             return null;
@@ -139,6 +159,8 @@ public class MediaUploadModel extends Payload<BaseNetworkError> implements Ident
                 && Float.compare(getProgress(), otherMedia.getProgress()) == 0
                 && StringUtils.equals(getErrorType(), otherMedia.getErrorType())
                 && StringUtils.equals(getErrorMessage(), otherMedia.getErrorMessage())
-               && StringUtils.equals(getErrorSubType(), otherMedia.getErrorSubType());
+               && StringUtils.equals(getErrorSubType(), otherMedia.getErrorSubType())
+               && StringUtils.equals(getResumableUploadUrl(), otherMedia.getResumableUploadUrl())
+               && getResumableUploadOffset() == otherMedia.getResumableUploadOffset();
     }
 }
@@ -0,0 +1,77 @@
+package org.wordpress.android.fluxc.model.post;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.fluxc.model.PostModel;
+import org.wordpress.android.util.DateTimeUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Where the next page starts when paging through a site's posts (or pages) by last modified date, newest first:
+ * the last modified date of the oldest post fetched so far, and the remote ids of the fetched posts modified at that
+ * same time, which the next page has to skip.
+ * <p>
+ * Unlike an offset, this doesn't return the same post twice or skip one when posts are modified between pages.
+ */
+public final class PostPagingCursor {
+    private static final long ONE_SECOND_MS = 1000L;
+
+    @NonNull private final String mLastModified;
+    @NonNull private final Set<Long> mRemotePostIds;
+
+    PostPagingCursor(@NonNull String lastModified, @NonNull Set<Long> remotePostIds) {
+        mLastModified = lastModified;
+        mRemotePostIds = Collections.unmodifiableSet(remotePostIds);
+    }
+
+    @NonNull
+    public String getLastModified() {
+        return mLastModified;
+    }
+
+    @NonNull
+    public Set<Long> getRemotePostIds() {
+        return mRemotePostIds;
+    }
+
+    /**
+     * Returns the date the next page's posts must have been modified before, or null if the last modified date
+     * can't be parsed. Dates only have a precision of one second, so this is one second after the last modified
+     * date, and the posts already fetched at that date are excluded instead.
+     */
+    @Nullable
+    public String getModifiedBefore() {
+        Date lastModified = DateTimeUtils.dateUTCFromIso8601(mLastModified);
+        if (lastModified == null) {
+            return null;
+        }
+        return DateTimeUtils.iso8601UTCFromDate(new Date(lastModified.getTime() + ONE_SECOND_MS));
+    }
+
+    /**
+     * Returns the cursor following the passed page of posts, which must be sorted by last modified date, newest
+     * first. Returns the previous cursor if the page is empty.
+     */
+    @Nullable
+    public static PostPagingCursor after(@Nullable PostPagingCursor previous, @NonNull List<PostModel> page) {
+        if (page.isEmpty()) {
+            return previous;
+        }
+        String lastModified = page.get(page.size() - 1).getLastModified();
+        Set<Long> remotePostIds = new LinkedHashSet<>();
+        // a page made only of posts modified at the cursor's date still has to skip the posts of earlier pages
+        if (previous != null && previous.mLastModified.equals(lastModified)) {
+            remotePostIds.addAll(previous.mRemotePostIds);
+        }
+        for (int i = page.size() - 1; i >= 0 && lastModified.equals(page.get(i).getLastModified()); i--) {
+            remotePostIds.add(page.get(i).getRemotePostId());
+        }
+        return new PostPagingCursor(lastModified, remotePostIds);
+    }
+}
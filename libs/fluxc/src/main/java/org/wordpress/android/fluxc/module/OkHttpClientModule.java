@@ -9,6 +9,7 @@ import org.wordpress.android.util.AppLog.T;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -18,10 +19,12 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 
+import dagger.BindsOptionalOf;
 import dagger.Module;
 import dagger.Provides;
 import dagger.multibindings.Multibinds;
 import okhttp3.CookieJar;
+import okhttp3.EventListener;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.internal.tls.OkHostnameVerifier;
@@ -84,15 +87,28 @@ public abstract class OkHttpClientModule {
     @Named(OkHttpClientQualifiers.NETWORK_INTERCEPTORS)
     abstract Set<Interceptor> networkInterceptorSet();
 
+    /**
+     * Lets the app observe the calls made by every client, ex: to time them (see
+     * {@link org.wordpress.android.fluxc.network.NetworkTimingEventListenerFactory}).
+     */
+    @BindsOptionalOf
+    abstract EventListener.Factory eventListenerFactory();
+
     @Singleton
     @Provides
     @Named(OkHttpClientQualifiers.REGULAR)
     public static OkHttpClient provideMediaOkHttpClientInstance(
             final CookieJar cookieJar,
             @Named(OkHttpClientQualifiers.INTERCEPTORS) Set<Interceptor> interceptors,
-            @Named(OkHttpClientQualifiers.NETWORK_INTERCEPTORS) Set<Interceptor> networkInterceptors) {
+            @Named(OkHttpClientQualifiers.NETWORK_INTERCEPTORS) Set<Interceptor> networkInterceptors,
+            Optional<EventListener.Factory> eventListenerFactory) {
         final OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
+        // the other clients are derived from this one, so they all share the listener
+        if (eventListenerFactory.isPresent()) {
+            builder.eventListenerFactory(eventListenerFactory.get());
+        }
+
         for (Interceptor interceptor : interceptors) {
             builder.addInterceptor(interceptor);
         }
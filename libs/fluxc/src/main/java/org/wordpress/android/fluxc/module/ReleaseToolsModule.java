@@ -1,17 +1,27 @@
 package org.wordpress.android.fluxc.module;
 
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
+
 import java.util.Locale;
+import java.util.Set;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
+import dagger.multibindings.Multibinds;
 
 @Module
-public class ReleaseToolsModule {
+public abstract class ReleaseToolsModule {
     @Singleton
     @Provides
-    public Locale provideLocale() {
+    public static Locale provideLocale() {
         return Locale.getDefault();
     }
+
+    /**
+     * Lets the app add the EventBus indexes of the objects it registers with the Dispatcher.
+     */
+    @Multibinds
+    abstract Set<SubscriberInfoIndex> subscriberInfoIndexes();
 }
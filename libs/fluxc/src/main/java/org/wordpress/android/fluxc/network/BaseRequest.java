@@ -5,6 +5,7 @@ import android.net.Uri.Builder;
 import android.util.Base64;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.Cache;
@@ -14,6 +15,7 @@ import com.android.volley.NetworkResponse;
 import com.android.volley.NoConnectionError;
 import com.android.volley.ParseError;
 import com.android.volley.Request;
+import com.android.volley.Response;
 import com.android.volley.TimeoutError;
 import com.android.volley.VolleyError;
 import com.android.volley.toolbox.HttpHeaderParser;
@@ -25,6 +27,8 @@ import org.wordpress.android.fluxc.store.AccountStore.AuthenticateErrorPayload;
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.util.AppLog;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -66,6 +70,9 @@ public abstract class BaseRequest<T> extends Request<T> {
     private int mCacheTtl;
     private int mCacheSoftTtl;
 
+    private boolean mStreamResponse;
+    @Nullable private Response<T> mStreamedResponse;
+
     public static class BaseNetworkError implements FluxCError {
         public GenericErrorType type;
         public String message;
@@ -287,6 +294,60 @@ public abstract class BaseRequest<T> extends Request<T> {
         setRetryPolicy(new DefaultRetryPolicy(DEFAULT_REQUEST_TIMEOUT, 0, DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
     }
 
+    /**
+     * Opt in to having a successful response parsed straight from the network stream by {@link OkHttpStack}, rather
+     * than Volley reading it into a byte array first. Only has an effect for request types that implement
+     * {@link #parseStreamingResponse(NetworkResponse, InputStream)}, and is ignored when caching is enabled since
+     * Volley caches the response bytes.
+     * <p>
+     * Error responses are never streamed, so they're handled exactly like they are without streaming.
+     */
+    public void enableResponseStreaming() {
+        mStreamResponse = true;
+    }
+
+    public boolean shouldStreamResponse() {
+        return mStreamResponse && !shouldCache();
+    }
+
+    /**
+     * Parses a successful response from {@code content}, which is read straight from the network. Called on the
+     * network thread by {@link OkHttpStack} for requests that enabled streaming, and the result is then returned by
+     * {@link #consumeStreamedResponse()} when Volley calls {@code parseNetworkResponse()} with an empty response.
+     * <p>
+     * Parse errors should be returned as a {@link ParseError} like in {@code parseNetworkResponse()}, while errors
+     * reading {@code content} should be thrown so they're handled like any other network error (ex: retried after
+     * a timeout).
+     *
+     * @param response the response status and headers, without data
+     * @return the parsed response, or null to have the response read into memory and passed to
+     * {@code parseNetworkResponse()} as usual - in which case {@code content} must not have been read
+     */
+    @Nullable
+    protected Response<T> parseStreamingResponse(@NonNull NetworkResponse response, @NonNull InputStream content)
+            throws IOException {
+        return null;
+    }
+
+    /**
+     * Returns true if the response was parsed from {@code content}, false if it should be read into memory instead.
+     */
+    boolean onStreamingResponse(@NonNull NetworkResponse response, @NonNull InputStream content) throws IOException {
+        mStreamedResponse = parseStreamingResponse(response, content);
+        return mStreamedResponse != null;
+    }
+
+    /**
+     * Returns the response parsed by {@link #parseStreamingResponse(NetworkResponse, InputStream)}, if any, and
+     * clears it. Requests supporting streaming should check this first in {@code parseNetworkResponse()}.
+     */
+    @Nullable
+    protected Response<T> consumeStreamedResponse() {
+        Response<T> response = mStreamedResponse;
+        mStreamedResponse = null;
+        return response;
+    }
+
     /**
      * Generate a cache entry for this request.
      * <p>
@@ -0,0 +1,186 @@
+package org.wordpress.android.fluxc.network
+
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Handshake
+import okhttp3.Protocol
+import org.wordpress.android.util.AppLog
+import org.wordpress.android.util.AppLog.T
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Where the time of a single call went. Phases that didn't happen (ex: DNS and connect when a pooled connection
+ * was reused) are null, and the connect time includes the TLS handshake.
+ */
+data class NetworkRequestTiming(
+    val method: String,
+    val host: String,
+    val path: String,
+    val dnsMs: Long?,
+    val connectMs: Long?,
+    val tlsMs: Long?,
+    /** Time from the start of the call to the first byte of the response headers. */
+    val timeToFirstByteMs: Long?,
+    val bodyMs: Long?,
+    val totalMs: Long,
+    val failed: Boolean
+) {
+    /**
+     * The phases known once the response headers have arrived, ex: "dns=12ms connect=80ms tls=45ms ttfb=210ms".
+     */
+    fun formatConnectionPhases() = "dns=${formatMs(dnsMs)} connect=${formatMs(connectMs)}" +
+            " tls=${formatMs(tlsMs)} ttfb=${formatMs(timeToFirstByteMs)}"
+
+    private fun formatMs(ms: Long?) = if (ms != null) "${ms}ms" else "-"
+}
+
+/**
+ * Creates an [EventListener] per call that times its phases (DNS, connect, TLS, time to first byte and body) and
+ * logs them when network request tracking is enabled - the same switch as [TrackNetworkRequestsInterceptor], which
+ * reads the timing of a call in progress with [getTiming] to attach it to the tracked request. When tracking is
+ * disabled calls get [EventListener.NONE], so nothing is measured.
+ *
+ * @param preference Provides the enabled/disabled state of network request tracking
+ * @param onTiming Receives the timing of each call once it ends, on the thread that ended it
+ */
+class NetworkTimingEventListenerFactory(
+    private val preference: TrackNetworkRequestsPreference,
+    private val onTiming: (NetworkRequestTiming) -> Unit = ::logTiming
+) : EventListener.Factory {
+    // the listeners of the calls which started and haven't ended yet
+    private val activeListeners = ConcurrentHashMap<Call, TimingEventListener>()
+
+    override fun create(call: Call): EventListener {
+        return if (preference.isEnabled()) TimingEventListener() else EventListener.NONE
+    }
+
+    /**
+     * Returns the timing of a call that hasn't ended yet, with the phases measured so far, or null if the call
+     * isn't timed (ex: tracking was disabled when it was created).
+     */
+    fun getTiming(call: Call): NetworkRequestTiming? = activeListeners[call]?.snapshot(call, failed = false)
+
+    private inner class TimingEventListener : EventListener() {
+        // a call's events and its interceptors (which call getTiming()) run one after another, not concurrently
+        private var callStart = 0L
+        private var dnsStart = 0L
+        private var dnsMs: Long? = null
+        private var connectStart = 0L
+        private var connectMs: Long? = null
+        private var tlsStart = 0L
+        private var tlsMs: Long? = null
+        private var timeToFirstByteMs: Long? = null
+        private var bodyStart = 0L
+        private var bodyMs: Long? = null
+
+        override fun callStart(call: Call) {
+            callStart = now()
+            activeListeners[call] = this
+        }
+
+        override fun dnsStart(call: Call, domainName: String) {
+            dnsStart = now()
+        }
+
+        override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+            dnsMs = (dnsMs ?: 0) + elapsedSince(dnsStart)
+        }
+
+        override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+            connectStart = now()
+        }
+
+        override fun connectEnd(
+            call: Call,
+            inetSocketAddress: InetSocketAddress,
+            proxy: Proxy,
+            protocol: Protocol?
+        ) {
+            connectMs = (connectMs ?: 0) + elapsedSince(connectStart)
+        }
+
+        override fun connectFailed(
+            call: Call,
+            inetSocketAddress: InetSocketAddress,
+            proxy: Proxy,
+            protocol: Protocol?,
+            ioe: IOException
+        ) {
+            // a failed route still counts, since OkHttp moves on to the next one
+            connectMs = (connectMs ?: 0) + elapsedSince(connectStart)
+        }
+
+        override fun secureConnectStart(call: Call) {
+            tlsStart = now()
+        }
+
+        override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+            tlsMs = (tlsMs ?: 0) + elapsedSince(tlsStart)
+        }
+
+        override fun responseHeadersStart(call: Call) {
+            // only the first response counts, later ones are redirects or auth challenges
+            if (timeToFirstByteMs == null) {
+                timeToFirstByteMs = elapsedSince(callStart)
+            }
+        }
+
+        override fun responseBodyStart(call: Call) {
+            bodyStart = now()
+        }
+
+        override fun responseBodyEnd(call: Call, byteCount: Long) {
+            bodyMs = (bodyMs ?: 0) + elapsedSince(bodyStart)
+        }
+
+        override fun callEnd(call: Call) {
+            report(call, failed = false)
+        }
+
+        override fun callFailed(call: Call, ioe: IOException) {
+            report(call, failed = true)
+        }
+
+        private fun report(call: Call, failed: Boolean) {
+            activeListeners.remove(call, this)
+            onTiming(snapshot(call, failed))
+        }
+
+        fun snapshot(call: Call, failed: Boolean): NetworkRequestTiming {
+            val url = call.request().url
+            return NetworkRequestTiming(
+                method = call.request().method,
+                host = url.host,
+                path = url.encodedPath,
+                dnsMs = dnsMs,
+                connectMs = connectMs,
+                tlsMs = tlsMs,
+                timeToFirstByteMs = timeToFirstByteMs,
+                bodyMs = bodyMs,
+                totalMs = elapsedSince(callStart),
+                failed = failed
+            )
+        }
+
+        private fun now() = System.nanoTime()
+
+        private fun elapsedSince(startNanos: Long) = (System.nanoTime() - startNanos) / NANOS_PER_MILLI
+    }
+
+    companion object {
+        private const val NANOS_PER_MILLI = 1_000_000L
+
+        private fun logTiming(timing: NetworkRequestTiming) {
+            AppLog.d(
+                T.API,
+                "Network timing: ${timing.method} ${timing.host}${timing.path} ${timing.formatConnectionPhases()}" +
+                        " body=${timing.bodyMs ?: "-"}ms total=${timing.totalMs}ms" +
+                        if (timing.failed) " (failed)" else ""
+            )
+        }
+    }
+}
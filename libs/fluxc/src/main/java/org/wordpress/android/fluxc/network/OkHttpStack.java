@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.Header;
+import com.android.volley.NetworkResponse;
 import com.android.volley.Request;
 import com.android.volley.toolbox.BaseHttpStack;
 import com.android.volley.toolbox.HttpResponse;
@@ -11,9 +12,12 @@ import com.android.volley.toolbox.HttpResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import okhttp3.Call;
 import okhttp3.Headers;
@@ -29,12 +33,64 @@ import okhttp3.ResponseBody;
  * use okhttp-urlconnection
  */
 public class OkHttpStack extends BaseHttpStack {
+    // requests almost always use the default timeout, so a few clients cover every timeout actually used
+    private static final int MAX_TIMEOUT_CLIENTS = 8;
+
     private final OkHttpClient mOkHttpClient;
 
+    /*
+     * clients derived from mOkHttpClient for each timeout, least recently used first - they all share its
+     * connection pool and dispatcher
+     */
+    private final Map<TimeoutKey, OkHttpClient> mTimeoutClients =
+            new LinkedHashMap<TimeoutKey, OkHttpClient>(MAX_TIMEOUT_CLIENTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Entry<TimeoutKey, OkHttpClient> eldest) {
+                    return size() > MAX_TIMEOUT_CLIENTS;
+                }
+            };
+    private final AtomicLong mDerivedClientCount = new AtomicLong();
+    private final AtomicLong mTimeoutClientHitCount = new AtomicLong();
+
     public OkHttpStack(final OkHttpClient okHttpClient) {
         this.mOkHttpClient = okHttpClient;
     }
 
+    /**
+     * Returns how many clients were derived from the base client to apply request timeouts. This should stay at the
+     * number of distinct timeouts in use, unless they outnumber the clients kept around.
+     */
+    public long getDerivedClientCount() {
+        return mDerivedClientCount.get();
+    }
+
+    /**
+     * Returns how many requests reused an already derived client for their timeout.
+     */
+    public long getTimeoutClientHitCount() {
+        return mTimeoutClientHitCount.get();
+    }
+
+    @NonNull
+    OkHttpClient getClientForTimeouts(int connectTimeoutMs, int readTimeoutMs, int writeTimeoutMs) {
+        TimeoutKey key = new TimeoutKey(connectTimeoutMs, readTimeoutMs, writeTimeoutMs);
+        synchronized (mTimeoutClients) {
+            OkHttpClient client = mTimeoutClients.get(key);
+            if (client != null) {
+                mTimeoutClientHitCount.incrementAndGet();
+                return client;
+            }
+            client = mOkHttpClient.newBuilder()
+                                  .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                                  .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                                  .writeTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS)
+                                  .build();
+            mTimeoutClients.put(key, client);
+            mDerivedClientCount.incrementAndGet();
+            return client;
+        }
+    }
+
     private static void setConnectionParametersForRequest(okhttp3.Request.Builder builder, Request<?> request)
             throws AuthFailureError {
         switch (request.getMethod()) {
@@ -76,6 +132,9 @@ public class OkHttpStack extends BaseHttpStack {
 
     @NonNull
     private static RequestBody createRequestBody(Request r) throws AuthFailureError {
+        if (r instanceof StreamingBodyRequest) {
+            return ((StreamingBodyRequest) r).createStreamingBody();
+        }
         final byte[] body = r.getBody();
         if (body == null) {
             return RequestBody.create(null, new byte[]{});
@@ -88,11 +147,7 @@ public class OkHttpStack extends BaseHttpStack {
             throws IOException, AuthFailureError {
         int timeoutMs = request.getTimeoutMs();
 
-        final OkHttpClient timeoutAwareClient = mOkHttpClient.newBuilder()
-                                                             .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .build();
+        final OkHttpClient timeoutAwareClient = getClientForTimeouts(timeoutMs, timeoutMs, timeoutMs);
 
         okhttp3.Request.Builder okHttpRequestBuilder = new okhttp3.Request.Builder();
         okHttpRequestBuilder.url(request.getUrl());
@@ -121,12 +176,37 @@ public class OkHttpStack extends BaseHttpStack {
 
         int code = okHttpResponse.code();
         ResponseBody body = okHttpResponse.body();
+        List<Header> responseHeaders = mapHeaders(okHttpResponse.headers());
+        if (body != null && okHttpResponse.isSuccessful() && streamResponse(request, code, responseHeaders, body)) {
+            // the request already has its parsed response, so Volley gets an empty one
+            return new HttpResponse(code, responseHeaders);
+        }
         InputStream content = body == null ? null : body.byteStream();
         int contentLength = body == null ? 0 : (int) body.contentLength();
-        List<Header> responseHeaders = mapHeaders(okHttpResponse.headers());
         return new HttpResponse(code, responseHeaders, contentLength, content);
     }
 
+    /*
+     * lets requests that opted in parse a successful response straight from the body, returning true if they did
+     */
+    private static boolean streamResponse(Request<?> request, int code, List<Header> headers, ResponseBody body)
+            throws IOException {
+        if (!(request instanceof BaseRequest) || !((BaseRequest<?>) request).shouldStreamResponse()) {
+            return false;
+        }
+        NetworkResponse response = new NetworkResponse(code, new byte[0], false, 0, headers);
+        try {
+            if (!((BaseRequest<?>) request).onStreamingResponse(response, body.byteStream())) {
+                return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            body.close();
+            throw e;
+        }
+        body.close();
+        return true;
+    }
+
     private List<Header> mapHeaders(Headers responseHeaders) {
         List<Header> headers = new ArrayList<>();
         for (int i = 0, len = responseHeaders.size(); i < len; i++) {
@@ -135,4 +215,35 @@ public class OkHttpStack extends BaseHttpStack {
         }
         return headers;
     }
+
+    private static final class TimeoutKey {
+        private final int mConnectTimeoutMs;
+        private final int mReadTimeoutMs;
+        private final int mWriteTimeoutMs;
+
+        TimeoutKey(int connectTimeoutMs, int readTimeoutMs, int writeTimeoutMs) {
+            mConnectTimeoutMs = connectTimeoutMs;
+            mReadTimeoutMs = readTimeoutMs;
+            mWriteTimeoutMs = writeTimeoutMs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TimeoutKey)) {
+                return false;
+            }
+            TimeoutKey other = (TimeoutKey) o;
+            return mConnectTimeoutMs == other.mConnectTimeoutMs
+                   && mReadTimeoutMs == other.mReadTimeoutMs
+                   && mWriteTimeoutMs == other.mWriteTimeoutMs;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * mConnectTimeoutMs + mReadTimeoutMs) * 31 + mWriteTimeoutMs;
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package org.wordpress.android.fluxc.network;
+
+import androidx.annotation.NonNull;
+
+import okhttp3.RequestBody;
+
+/**
+ * Implemented by requests whose body can be written straight to the network by {@link OkHttpStack}, instead of
+ * being built in memory by {@link com.android.volley.Request#getBody()} and copied into an OkHttp body.
+ * <p>
+ * {@code getBody()} should keep working for these requests, since Volley can still use it (ex: for logging).
+ */
+public interface StreamingBodyRequest {
+    /**
+     * Returns a new body for each call - OkHttp may write it more than once (ex: when retrying a request).
+     */
+    @NonNull
+    RequestBody createStreamingBody();
+}
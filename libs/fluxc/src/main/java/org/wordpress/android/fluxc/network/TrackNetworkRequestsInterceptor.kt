@@ -55,12 +55,17 @@ interface TrackNetworkRequestsPreference {
  * feature is enabled via [TrackNetworkRequestsPreference]. When disabled, requests pass
  * through without any logging or inspection.
  *
+ * The DNS, connect, TLS and time to first byte timings of a call, when [timings] measured them, are recorded
+ * with its response in a [TIMING_HEADER] header, which is removed again from the response returned to the caller.
+ *
  * @param context Application context for Chucker initialization
  * @param preference Provides the enabled/disabled state and retention period from app preferences
+ * @param timings Times the calls, when the client the interceptor is added to uses it as its event listener factory
  */
 class TrackNetworkRequestsInterceptor(
     private val context: Context,
-    private val preference: TrackNetworkRequestsPreference
+    private val preference: TrackNetworkRequestsPreference,
+    private val timings: NetworkTimingEventListenerFactory? = null
 ) : Interceptor {
     @Volatile
     private var chuckerInterceptor: ChuckerInterceptor? = null
@@ -77,10 +82,13 @@ class TrackNetworkRequestsInterceptor(
         // See: https://android.googlesource.com/platform/frameworks/base/+/refs/tags/android-14.0.0_r1/core/java/android/app/SharedPreferencesImpl.java#345
         return if (preference.isEnabled()) {
             val chucker = getOrCreateChuckerInterceptor()
-            if (shouldRedactRequestBody(chain.request())) {
-                chucker.intercept(RedactedBodyChain(chain))
+            val response = chucker.intercept(
+                TrackedChain(chain, redactBody = shouldRedactRequestBody(chain.request()), timings = timings)
+            )
+            if (response.header(TIMING_HEADER) != null) {
+                response.newBuilder().removeHeader(TIMING_HEADER).build()
             } else {
-                chucker.intercept(chain)
+                response
             }
         } else {
             chain.proceed(chain.request())
@@ -124,15 +132,18 @@ class TrackNetworkRequestsInterceptor(
     }
 
     /**
-     * A [Interceptor.Chain] wrapper that presents a redacted request body
-     * to Chucker for logging purposes, while ensuring the actual network
-     * call uses the original request with the real body intact.
-     *
-     * This achieves selective logging redaction without affecting the
-     * actual HTTP request/response.
+     * A [Interceptor.Chain] wrapper that presents what Chucker records:
+     * - when [redactBody] is set, a redacted request body, while ensuring
+     *   the actual network call uses the original request with the real
+     *   body intact. This achieves selective logging redaction without
+     *   affecting the actual HTTP request/response.
+     * - the timings of the call so far, in a [TIMING_HEADER] response
+     *   header.
      */
-    private class RedactedBodyChain(
-        private val delegate: Interceptor.Chain
+    private class TrackedChain(
+        private val delegate: Interceptor.Chain,
+        private val redactBody: Boolean,
+        private val timings: NetworkTimingEventListenerFactory?
     ) : Interceptor.Chain {
         private val redactedRequest: Request by lazy {
             val original = delegate.request()
@@ -145,10 +156,12 @@ class TrackNetworkRequestsInterceptor(
             original.newBuilder().method(original.method, redactedBody).build()
         }
 
-        override fun request(): Request = redactedRequest
+        override fun request(): Request = if (redactBody) redactedRequest else delegate.request()
 
         override fun proceed(request: Request): Response {
-            return delegate.proceed(delegate.request())
+            val response = delegate.proceed(if (redactBody) delegate.request() else request)
+            val timing = timings?.getTiming(delegate.call()) ?: return response
+            return response.newBuilder().header(TIMING_HEADER, timing.formatConnectionPhases()).build()
         }
 
         override fun connection(): Connection? = delegate.connection()
@@ -159,24 +172,26 @@ class TrackNetworkRequestsInterceptor(
             timeout: Int,
             unit: TimeUnit
         ): Interceptor.Chain =
-            RedactedBodyChain(delegate.withConnectTimeout(timeout, unit))
+            TrackedChain(delegate.withConnectTimeout(timeout, unit), redactBody, timings)
         override fun readTimeoutMillis(): Int =
             delegate.readTimeoutMillis()
         override fun withReadTimeout(
             timeout: Int,
             unit: TimeUnit
         ): Interceptor.Chain =
-            RedactedBodyChain(delegate.withReadTimeout(timeout, unit))
+            TrackedChain(delegate.withReadTimeout(timeout, unit), redactBody, timings)
         override fun writeTimeoutMillis(): Int =
             delegate.writeTimeoutMillis()
         override fun withWriteTimeout(
             timeout: Int,
             unit: TimeUnit
         ): Interceptor.Chain =
-            RedactedBodyChain(delegate.withWriteTimeout(timeout, unit))
+            TrackedChain(delegate.withWriteTimeout(timeout, unit), redactBody, timings)
     }
 
     companion object {
+        const val TIMING_HEADER = "X-WP-Network-Timing"
+
         private val SENSITIVE_HEADERS = setOf(
             "Authorization",
             "Cookie",
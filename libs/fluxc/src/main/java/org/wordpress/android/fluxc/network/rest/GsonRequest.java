@@ -1,5 +1,6 @@
 package org.wordpress.android.fluxc.network.rest;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
@@ -10,12 +11,19 @@ import com.android.volley.Response.Listener;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.wordpress.android.fluxc.logging.FluxCCrashLogger;
 import org.wordpress.android.fluxc.logging.FluxCCrashLoggerProvider;
 import org.wordpress.android.fluxc.network.BaseRequest;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
@@ -106,6 +114,10 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
 
     @Override
     protected Response<T> parseNetworkResponse(NetworkResponse response) {
+        Response<T> streamedResponse = consumeStreamedResponse();
+        if (streamedResponse != null) {
+            return streamedResponse;
+        }
         try {
             String json = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
             T res;
@@ -121,6 +133,34 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         }
     }
 
+    @Nullable
+    @Override
+    protected Response<T> parseStreamingResponse(@NonNull NetworkResponse response, @NonNull InputStream content)
+            throws IOException {
+        try {
+            Reader reader = new InputStreamReader(content, HttpHeaderParser.parseCharset(response.headers));
+            T res;
+            if (mClass == null) {
+                res = mGson.fromJson(reader, mType);
+            } else {
+                res = mGson.fromJson(reader, mClass);
+            }
+            return Response.success(res, createCacheEntry(response));
+        } catch (UnsupportedEncodingException e) {
+            logRequestPath();
+            return Response.error(new ParseError(e));
+        } catch (JsonSyntaxException | JsonIOException e) {
+            // Gson wraps errors reading from the stream, which are network errors rather than parse errors
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException && !(cause instanceof MalformedJsonException)
+                && !(cause instanceof EOFException)) {
+                throw (IOException) cause;
+            }
+            logRequestPath();
+            return Response.error(new ParseError(e));
+        }
+    }
+
     public static GsonBuilder getDefaultGsonBuilder() {
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.setLenient();
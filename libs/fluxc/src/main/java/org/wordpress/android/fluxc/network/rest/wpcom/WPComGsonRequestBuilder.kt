@@ -40,6 +40,8 @@ class WPComGsonRequestBuilder
      * @param url the request URL
      * @param params the parameters to append to the request URL
      * @param clazz the class defining the expected response
+     * @param streamResponse parse the response straight from the network stream, see
+     * [BaseRequest.enableResponseStreaming] - has no effect when caching is enabled
      */
     suspend fun <T> syncGetRequest(
         restClient: BaseWPComRestClient,
@@ -49,7 +51,8 @@ class WPComGsonRequestBuilder
         enableCaching: Boolean = false,
         cacheTimeToLive: Int = BaseRequest.DEFAULT_CACHE_LIFETIME,
         forced: Boolean = false,
-        customGsonBuilder: GsonBuilder? = null
+        customGsonBuilder: GsonBuilder? = null,
+        streamResponse: Boolean = false
     ) = suspendCancellableCoroutine<Response<T>> { cont ->
         val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
             cont.resume(Success(it))
@@ -60,6 +63,9 @@ class WPComGsonRequestBuilder
         if (enableCaching) {
             request.enableCaching(cacheTimeToLive)
         }
+        if (streamResponse) {
+            request.enableResponseStreaming()
+        }
         if (forced) {
             request.setShouldForceUpdate()
         }
@@ -22,6 +22,7 @@ import org.wordpress.android.fluxc.generated.endpoint.WPCOMREST;
 import org.wordpress.android.fluxc.model.MediaModel;
 import org.wordpress.android.fluxc.model.MediaModel.MediaFields;
 import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
+import org.wordpress.android.fluxc.model.MediaUploadModel;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.StockMediaModel;
 import org.wordpress.android.fluxc.network.BaseUploadRequestBody.ProgressListener;
@@ -30,6 +31,7 @@ import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient;
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest;
 import org.wordpress.android.fluxc.network.rest.wpcom.auth.AccessToken;
 import org.wordpress.android.fluxc.network.rest.wpcom.media.MediaWPComRestResponse.MultipleMediaResponse;
+import org.wordpress.android.fluxc.persistence.UploadSqlUtils;
 import org.wordpress.android.fluxc.store.MediaStore.FetchMediaListResponsePayload;
 import org.wordpress.android.fluxc.store.MediaStore.MediaError;
 import org.wordpress.android.fluxc.store.MediaStore.MediaErrorType;
@@ -46,6 +48,7 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.StringUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.HashMap;
@@ -59,6 +62,7 @@ import javax.inject.Singleton;
 
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -74,7 +78,8 @@ import okhttp3.ResponseBody;
  *     (via {@link #fetchMediaList(SiteModel, int, int, MimeType.Type)} and
  *     {@link #fetchMedia(SiteModel, MediaModel)}</li>
  *     <li>Push new media to a WP.com site
- *     (via {@link #uploadMedia(SiteModel, MediaModel)})</li>
+ *     (via {@link #uploadMedia(SiteModel, MediaModel)}), uploading large videos to WP.com sites in resumable
+ *     chunks</li>
  *     <li>Push updates to existing media to a WP.com site
  *     (via {@link #pushMedia(SiteModel, MediaModel)})</li>
  *     <li>Delete existing media from a WP.com site
@@ -83,11 +88,17 @@ import okhttp3.ResponseBody;
  */
 @Singleton
 public class MediaRestClient extends BaseWPComRestClient implements ProgressListener {
+    // smaller files are quick enough to send again, so they're uploaded in a single request
+    private static final long RESUMABLE_UPLOAD_MIN_SIZE = 10 * 1024 * 1024;
+    private static final String HEADER_UPLOADED_MEDIA_ID = "x-videopress-upload-media-id";
+
     @NonNull private final OkHttpClient mOkHttpClient;
     @NonNull private final MediaResponseUtils mMediaResponseUtils;
     // this will hold which media is being uploaded by which call, in order to be able
     // to monitor multiple uploads
     @NonNull private final ConcurrentHashMap<Integer, Call> mCurrentUploadCalls = new ConcurrentHashMap<>();
+    @NonNull private final ConcurrentHashMap<Integer, TusMediaUploader> mCurrentResumableUploads =
+            new ConcurrentHashMap<>();
 
     @Inject public MediaRestClient(
             Context appContext,
@@ -104,7 +115,7 @@ public class MediaRestClient extends BaseWPComRestClient implements ProgressList
 
     @Override
     public void onProgress(@NonNull MediaModel media, float progress) {
-        if (mCurrentUploadCalls.containsKey(media.getId())) {
+        if (isUploadInProgress(media.getId())) {
             notifyMediaProgress(media, Math.min(progress, 0.99f));
         }
     }
@@ -137,7 +148,8 @@ public class MediaRestClient extends BaseWPComRestClient implements ProgressList
     }
 
     /**
-     * Uploads a single media item to a WP.com site.
+     * Uploads a single media item to a WP.com site. Large videos are uploaded to WP.com sites in chunks, resuming
+     * from the last chunk received if an earlier attempt failed.
      */
     public void uploadMedia(@NonNull final SiteModel site, @Nullable final MediaModel media) {
         if (media == null || media.getId() == 0) {
@@ -196,6 +208,24 @@ public class MediaRestClient extends BaseWPComRestClient implements ProgressList
             return;
         }
 
+        if (shouldUploadResumably(site, media)) {
+            uploadMediaResumably(site, media, url, body);
+        } else {
+            uploadMediaInSingleRequest(site, media, url, body);
+        }
+    }
+
+    private boolean shouldUploadResumably(@NonNull SiteModel site, @NonNull MediaModel media) {
+        return site.isWPCom()
+               && MediaUtils.isVideoMimeType(media.getMimeType())
+               && new File(media.getFilePath()).length() >= RESUMABLE_UPLOAD_MIN_SIZE;
+    }
+
+    private void uploadMediaInSingleRequest(
+            @NonNull final SiteModel site,
+            @NonNull final MediaModel media,
+            @NonNull String url,
+            @NonNull RestUploadRequestBody body) {
         String authHeader = String.format(WPComGsonRequest.REST_AUTHORIZATION_FORMAT, getAccessToken().get());
 
         Request request = new Request.Builder()
@@ -287,6 +317,118 @@ public class MediaRestClient extends BaseWPComRestClient implements ProgressList
         });
     }
 
+    /*
+     * sends the file with the tus protocol, persisting how much of it the server has after every chunk so a later
+     * attempt (even after the app was killed) picks up from there - falls back to a single request if the site
+     * doesn't accept resumable uploads
+     */
+    private void uploadMediaResumably(
+            @NonNull final SiteModel site,
+            @NonNull final MediaModel media,
+            @NonNull final String singleRequestUrl,
+            @NonNull final RestUploadRequestBody singleRequestBody) {
+        HttpUrl creationUrl = HttpUrl.parse(WPCOMREST.video_uploads.site(site.getSiteId()).getUrlV1_1());
+        if (creationUrl == null) {
+            uploadMediaInSingleRequest(site, media, singleRequestUrl, singleRequestBody);
+            return;
+        }
+
+        MediaUploadModel mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(media.getId());
+        String resumableUploadUrl = mediaUploadModel != null ? mediaUploadModel.getResumableUploadUrl() : null;
+        Headers headers = new Headers.Builder()
+                .add(WPComGsonRequest.REST_AUTHORIZATION_HEADER,
+                        String.format(WPComGsonRequest.REST_AUTHORIZATION_FORMAT, getAccessToken().get()))
+                .add("User-Agent", mUserAgent.getApiUserAgent())
+                .build();
+
+        TusMediaUploader uploader = new TusMediaUploader(mOkHttpClient, creationUrl, headers,
+                new File(media.getFilePath()), StringUtils.notNullStr(media.getFileName()),
+                StringUtils.notNullStr(media.getMimeType()), resumableUploadUrl, new TusMediaUploader.Listener() {
+                    @Override
+                    public void onUploadStateChanged(@Nullable String uploadUrl, long offset) {
+                        UploadSqlUtils.updateMediaResumableUploadState(media.getId(), uploadUrl, offset);
+                    }
+
+                    @Override
+                    public void onProgress(float progress) {
+                        MediaRestClient.this.onProgress(media, progress);
+                    }
+
+                    @Override
+                    public void onUploaded(@NonNull Response response) {
+                        long remoteMediaId = StringUtils.stringToLong(response.header(HEADER_UPLOADED_MEDIA_ID));
+                        if (remoteMediaId <= 0) {
+                            MediaError error = new MediaError(MediaErrorType.PARSE_ERROR);
+                            error.logMessage = "Missing media ID on resumable uploadMedia";
+                            notifyMediaUploaded(media, error);
+                            return;
+                        }
+                        completeResumableUpload(site, media, remoteMediaId);
+                    }
+
+                    @Override
+                    public void onCreationRejected(@NonNull Response response) {
+                        AppLog.i(T.MEDIA, "resumable upload rejected (" + response.code() + "), uploading "
+                                          + media.getId() + " in a single request");
+                        mCurrentResumableUploads.remove(media.getId());
+                        uploadMediaInSingleRequest(site, media, singleRequestUrl, singleRequestBody);
+                    }
+
+                    @Override
+                    public void onFailed(@NonNull Response response) {
+                        AppLog.e(T.MEDIA, "error uploading media: " + response.message());
+                        notifyMediaUploaded(media, parseUploadError(response, site));
+                    }
+
+                    @Override
+                    public void onFailed(@NonNull IOException exception) {
+                        String message = "media upload failed: " + exception;
+                        AppLog.w(T.MEDIA, message);
+                        MediaError error = MediaError.fromIOException(exception);
+                        error.logMessage = message;
+                        notifyMediaUploaded(media, error);
+                    }
+                });
+        mCurrentResumableUploads.put(media.getId(), uploader);
+
+        AppLog.d(T.MEDIA, "starting resumable upload for: " + media.getId());
+        uploader.start();
+    }
+
+    /*
+     * the resumable upload only sends the file, so its other fields (title, parent post, etc.) are set afterwards,
+     * which also returns the uploaded media
+     */
+    private void completeResumableUpload(
+            @NonNull final SiteModel site,
+            @NonNull final MediaModel media,
+            long remoteMediaId) {
+        String url = WPCOMREST.sites.site(site.getSiteId()).media.item(remoteMediaId).getUrlV1_1();
+        add(WPComGsonRequest.buildPostRequest(url, getEditRequestParams(media), MediaWPComRestResponse.class,
+                response -> {
+                    if (!mCurrentResumableUploads.containsKey(media.getId())) {
+                        // canceled while the upload was being completed
+                        return;
+                    }
+                    MediaModel uploadedMedia = mMediaResponseUtils.getMediaFromRestResponse(response);
+                    uploadedMedia.setLocalSiteId(site.getId());
+                    uploadedMedia.setId(media.getId());
+                    uploadedMedia.setLocalPostId(media.getLocalPostId());
+                    uploadedMedia.setMarkedLocallyAsFeatured(media.getMarkedLocallyAsFeatured());
+                    notifyMediaUploaded(uploadedMedia, null);
+                },
+                error -> {
+                    if (!mCurrentResumableUploads.containsKey(media.getId())) {
+                        return;
+                    }
+                    AppLog.e(T.MEDIA, "VolleyError completing resumable upload: " + error);
+                    MediaError mediaError = new MediaError(MediaErrorType.fromBaseNetworkError(error));
+                    mediaError.message = error.message;
+                    mediaError.logMessage = error.apiError;
+                    notifyMediaUploaded(media, mediaError);
+                }));
+    }
+
     /**
      * Gets a list of media items given the offset on a WP.com site.
      * <p>
@@ -408,13 +550,28 @@ public class MediaRestClient extends BaseWPComRestClient implements ProgressList
 
             // report the upload was successfully cancelled
             notifyMediaUploadCanceled(media);
+            return;
         }
+
+        // the state of a canceled resumable upload is kept, so uploading the same media again resumes it
+        TusMediaUploader resumableUpload = mCurrentResumableUploads.get(media.getId());
+        if (resumableUpload != null) {
+            AppLog.d(T.MEDIA, "Canceled in-progress resumable upload: " + media.getFileName());
+            removeCallFromCurrentUploadsMap(media.getId());
+            resumableUpload.cancel();
+            notifyMediaUploadCanceled(media);
+        }
+    }
+
+    private boolean isUploadInProgress(int id) {
+        return mCurrentUploadCalls.containsKey(id) || mCurrentResumableUploads.containsKey(id);
     }
 
     private void removeCallFromCurrentUploadsMap(int id) {
         mCurrentUploadCalls.remove(id);
+        mCurrentResumableUploads.remove(id);
         AppLog.d(T.MEDIA, "mediaRestClient: removed id: " + id + " from current uploads, remaining: "
-                          + mCurrentUploadCalls.size());
+                          + (mCurrentUploadCalls.size() + mCurrentResumableUploads.size()));
     }
 
     public void uploadStockMedia(@NonNull final SiteModel site,
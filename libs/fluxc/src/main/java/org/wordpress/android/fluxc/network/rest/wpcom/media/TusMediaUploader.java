@@ -0,0 +1,404 @@
+package org.wordpress.android.fluxc.network.rest.wpcom.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+
+/**
+ * Uploads a file with the <a href="https://tus.io/protocols/resumable-upload">tus</a> resumable upload protocol,
+ * sending it in chunks and reporting where the upload stands after each one. That state can be passed back in to
+ * continue a failed upload from the last chunk the server received - even from a new process - instead of
+ * sending the whole file again.
+ * <p>
+ * tus requires chunks to be sent in order, so a chunk that fails is retried on its own (after asking the server
+ * how much of it was received) before moving on to the next one.
+ */
+class TusMediaUploader {
+    /**
+     * Callbacks for the upload - all of them are called from OkHttp's threads, and none of them once the upload
+     * has been canceled.
+     */
+    interface Listener {
+        /**
+         * The server has received the file up to the given offset - a null url means the upload is done or
+         * can't be resumed, so any stored state should be forgotten.
+         */
+        void onUploadStateChanged(@Nullable String uploadUrl, long offset);
+
+        void onProgress(float progress);
+
+        /**
+         * The whole file has been received, the response is that of the last chunk.
+         */
+        void onUploaded(@NonNull Response response);
+
+        /**
+         * The server refused to create the upload, most likely because resumable uploads aren't available for the
+         * site - the file can still be sent in a single request.
+         */
+        void onCreationRejected(@NonNull Response response);
+
+        void onFailed(@NonNull Response response);
+
+        void onFailed(@NonNull IOException exception);
+    }
+
+    static final String TUS_VERSION = "1.0.0";
+    static final String HEADER_TUS_RESUMABLE = "Tus-Resumable";
+    static final String HEADER_UPLOAD_LENGTH = "Upload-Length";
+    static final String HEADER_UPLOAD_OFFSET = "Upload-Offset";
+    static final String HEADER_UPLOAD_METADATA = "Upload-Metadata";
+    static final String HEADER_LOCATION = "Location";
+    static final int CHUNK_SIZE = 5 * 1024 * 1024;
+    static final int MAX_ATTEMPTS_PER_CHUNK = 3;
+
+    private static final MediaType OFFSET_OCTET_STREAM = MediaType.parse("application/offset+octet-stream");
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_GONE = 410;
+    private static final int HTTP_FORBIDDEN = 403;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    @NonNull private final OkHttpClient mOkHttpClient;
+    @NonNull private final HttpUrl mCreationUrl;
+    @NonNull private final Headers mHeaders;
+    @NonNull private final File mFile;
+    @NonNull private final String mMetadata;
+    @NonNull private final Listener mListener;
+    private final long mFileLength;
+
+    @Nullable private HttpUrl mUploadUrl;
+    private long mOffset;
+    private int mAttempts;
+    @Nullable private volatile Call mCurrentCall;
+    private volatile boolean mCanceled;
+
+    /**
+     * @param headers sent with every request, e.g. authorization
+     * @param uploadUrl the url of an earlier upload of the same file to resume, null to start a new one
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    TusMediaUploader(@NonNull OkHttpClient okHttpClient,
+                     @NonNull HttpUrl creationUrl,
+                     @NonNull Headers headers,
+                     @NonNull File file,
+                     @NonNull String fileName,
+                     @NonNull String mimeType,
+                     @Nullable String uploadUrl,
+                     @NonNull Listener listener) {
+        mOkHttpClient = okHttpClient;
+        mCreationUrl = creationUrl;
+        mHeaders = headers;
+        mFile = file;
+        mFileLength = file.length();
+        mMetadata = "filename " + encodeMetadataValue(fileName) + ",filetype " + encodeMetadataValue(mimeType);
+        mUploadUrl = uploadUrl != null ? HttpUrl.parse(uploadUrl) : null;
+        mListener = listener;
+    }
+
+    void start() {
+        if (mUploadUrl != null) {
+            AppLog.d(T.MEDIA, "resuming upload of " + mFile.getName() + " from " + mUploadUrl);
+            fetchOffset();
+        } else {
+            createUpload();
+        }
+    }
+
+    void cancel() {
+        mCanceled = true;
+        Call call = mCurrentCall;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    private void createUpload() {
+        Request request = newRequestBuilder(mCreationUrl)
+                .header(HEADER_UPLOAD_LENGTH, String.valueOf(mFileLength))
+                .header(HEADER_UPLOAD_METADATA, mMetadata)
+                .post(RequestBody.create(null, new byte[]{}))
+                .build();
+        enqueue(request, new ResponseHandler() {
+            @Override
+            public void onResponse(@NonNull Response response) {
+                String location = response.header(HEADER_LOCATION);
+                HttpUrl uploadUrl = location != null ? response.request().url().resolve(location) : null;
+                if (!response.isSuccessful() || uploadUrl == null) {
+                    if (response.code() < HTTP_SERVER_ERROR) {
+                        mListener.onCreationRejected(response);
+                    } else {
+                        mListener.onFailed(response);
+                    }
+                    return;
+                }
+                mUploadUrl = uploadUrl;
+                mOffset = 0;
+                mListener.onUploadStateChanged(uploadUrl.toString(), 0);
+                uploadChunk();
+            }
+
+            @Override
+            public void onFailure(@NonNull IOException exception) {
+                mListener.onFailed(exception);
+            }
+        });
+    }
+
+    /*
+     * asks the server how much of the file it has, so the upload can continue from there
+     */
+    private void fetchOffset() {
+        if (mUploadUrl == null) {
+            createUpload();
+            return;
+        }
+        Request request = newRequestBuilder(mUploadUrl).head().build();
+        enqueue(request, new ResponseHandler() {
+            @Override
+            public void onResponse(@NonNull Response response) {
+                if (isUploadGone(response.code())) {
+                    restartUpload();
+                    return;
+                }
+                if (!response.isSuccessful()) {
+                    retryOrFail(response);
+                    return;
+                }
+                long offset = parseLong(response.header(HEADER_UPLOAD_OFFSET));
+                String uploadLength = response.header(HEADER_UPLOAD_LENGTH);
+                // an upload of another version of the file, or one whose completion we never heard about (in which
+                // case the media it created is unknown), can't be continued
+                if (offset < 0 || offset >= mFileLength
+                    || (uploadLength != null && parseLong(uploadLength) != mFileLength)) {
+                    restartUpload();
+                    return;
+                }
+                mOffset = offset;
+                mListener.onUploadStateChanged(String.valueOf(mUploadUrl), offset);
+                uploadChunk();
+            }
+
+            @Override
+            public void onFailure(@NonNull IOException exception) {
+                retryOrFail(exception);
+            }
+        });
+    }
+
+    private void uploadChunk() {
+        if (mUploadUrl == null) {
+            createUpload();
+            return;
+        }
+        final long chunkOffset = mOffset;
+        final long chunkLength = Math.min(CHUNK_SIZE, mFileLength - chunkOffset);
+        RequestBody body = new ProgressRequestBody(new FileChunkRequestBody(mFile, chunkOffset, chunkLength),
+                (bytesWritten, contentLength) ->
+                        mListener.onProgress((float) (chunkOffset + bytesWritten) / mFileLength));
+        Request request = newRequestBuilder(mUploadUrl)
+                .header(HEADER_UPLOAD_OFFSET, String.valueOf(chunkOffset))
+                .patch(body)
+                .build();
+        enqueue(request, new ResponseHandler() {
+            @Override
+            public void onResponse(@NonNull Response response) {
+                if (isUploadGone(response.code())) {
+                    restartUpload();
+                    return;
+                }
+                if (response.code() == HTTP_CONFLICT || response.code() >= HTTP_SERVER_ERROR) {
+                    // the server has a different offset, or couldn't take the chunk
+                    retryOrFail(response);
+                    return;
+                }
+                if (!response.isSuccessful()) {
+                    mListener.onUploadStateChanged(null, 0);
+                    mListener.onFailed(response);
+                    return;
+                }
+                long offset = parseLong(response.header(HEADER_UPLOAD_OFFSET));
+                if (offset <= chunkOffset || offset > mFileLength) {
+                    retryOrFail(response);
+                    return;
+                }
+
+                mOffset = offset;
+                mAttempts = 0;
+                if (offset == mFileLength) {
+                    mListener.onUploadStateChanged(null, 0);
+                    mListener.onUploaded(response);
+                } else {
+                    mListener.onUploadStateChanged(String.valueOf(mUploadUrl), offset);
+                    uploadChunk();
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull IOException exception) {
+                retryOrFail(exception);
+            }
+        });
+    }
+
+    private void retryOrFail(@NonNull Response response) {
+        if (++mAttempts < MAX_ATTEMPTS_PER_CHUNK) {
+            AppLog.w(T.MEDIA, "retrying upload of " + mFile.getName() + " after " + response.code());
+            fetchOffset();
+        } else {
+            // keep the upload state, so a later attempt can still resume it
+            mListener.onFailed(response);
+        }
+    }
+
+    private void retryOrFail(@NonNull IOException exception) {
+        if (++mAttempts < MAX_ATTEMPTS_PER_CHUNK) {
+            AppLog.w(T.MEDIA, "retrying upload of " + mFile.getName() + " after " + exception);
+            fetchOffset();
+        } else {
+            mListener.onFailed(exception);
+        }
+    }
+
+    /*
+     * the server no longer has the upload (it may have expired), so start over with a new one
+     */
+    private void restartUpload() {
+        AppLog.d(T.MEDIA, "unable to resume upload of " + mFile.getName() + ", starting over");
+        mUploadUrl = null;
+        mOffset = 0;
+        mListener.onUploadStateChanged(null, 0);
+        if (++mAttempts < MAX_ATTEMPTS_PER_CHUNK) {
+            createUpload();
+        } else {
+            mListener.onFailed(new IOException("Unable to resume the upload of " + mFile.getName()));
+        }
+    }
+
+    @NonNull
+    private Request.Builder newRequestBuilder(@NonNull HttpUrl url) {
+        return new Request.Builder()
+                .url(url)
+                .headers(mHeaders)
+                .header(HEADER_TUS_RESUMABLE, TUS_VERSION);
+    }
+
+    private void enqueue(@NonNull Request request, @NonNull final ResponseHandler handler) {
+        if (mCanceled) {
+            return;
+        }
+        Call call = mOkHttpClient.newCall(request);
+        mCurrentCall = call;
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try {
+                    if (!mCanceled) {
+                        handler.onResponse(response);
+                    }
+                } finally {
+                    response.close();
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                if (!mCanceled) {
+                    handler.onFailure(e);
+                }
+            }
+        });
+    }
+
+    private interface ResponseHandler {
+        void onResponse(@NonNull Response response);
+
+        void onFailure(@NonNull IOException exception);
+    }
+
+    private static boolean isUploadGone(int code) {
+        return code == HTTP_NOT_FOUND || code == HTTP_GONE || code == HTTP_FORBIDDEN;
+    }
+
+    private static long parseLong(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @NonNull
+    private static String encodeMetadataValue(@NonNull String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streams a region of a file, so only the chunk being sent is ever read.
+     */
+    @VisibleForTesting
+    static final class FileChunkRequestBody extends RequestBody {
+        private static final int BUFFER_SIZE = 8192;
+
+        @NonNull private final File mFile;
+        private final long mOffset;
+        private final long mLength;
+
+        FileChunkRequestBody(@NonNull File file, long offset, long length) {
+            mFile = file;
+            mOffset = offset;
+            mLength = length;
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return OFFSET_OCTET_STREAM;
+        }
+
+        @Override
+        public long contentLength() {
+            return mLength;
+        }
+
+        @Override
+        public void writeTo(@NonNull BufferedSink sink) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(mFile, "r")) {
+                file.seek(mOffset);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long remaining = mLength;
+                while (remaining > 0) {
+                    int read = file.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read == -1) {
+                        throw new IOException("File " + mFile.getName() + " ended before the end of the chunk");
+                    }
+                    sink.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+        }
+    }
+}
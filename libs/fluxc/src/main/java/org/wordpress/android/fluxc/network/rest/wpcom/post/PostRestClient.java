@@ -26,6 +26,7 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.list.AuthorFilter;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite;
 import org.wordpress.android.fluxc.model.post.PostLocation;
+import org.wordpress.android.fluxc.model.post.PostPagingCursor;
 import org.wordpress.android.fluxc.model.post.PostStatus;
 import org.wordpress.android.fluxc.model.revisions.Diff;
 import org.wordpress.android.fluxc.model.revisions.DiffOperations;
@@ -53,6 +54,7 @@ import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByIdsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchRevisionsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchedPostLikesResponsePayload;
@@ -70,8 +72,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -127,6 +131,68 @@ public class PostRestClient extends BaseWPComRestClient {
         add(request);
     }
 
+    /**
+     * Fetches the passed posts with a single request, the fetched posts keep the local ids of the passed ones.
+     */
+    public void fetchPostsByIds(final SiteModel site, final List<PostModel> posts) {
+        String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
+
+        final Map<Long, Integer> localIds = new HashMap<>(posts.size());
+        for (PostModel post : posts) {
+            localIds.put(post.getRemotePostId(), post.getId());
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put("context", "edit");
+        params.put("meta", "autosave");
+        params.put("include", TextUtils.join(",", localIds.keySet()));
+        params.put("number", String.valueOf(posts.size()));
+        // the posts can have any status, and only published posts are returned by default
+        params.put("status", "any");
+
+        final WPComGsonRequest<PostsResponse> request = WPComGsonRequest.buildGetRequest(url, params,
+                PostsResponse.class,
+                new Listener<PostsResponse>() {
+                    @Override
+                    public void onResponse(PostsResponse response) {
+                        List<PostModel> fetchedPosts = new ArrayList<>(response.getPosts().size());
+                        Set<Long> fetchedRemoteIds = new HashSet<>(response.getPosts().size());
+                        for (PostWPComRestResponse postResponse : response.getPosts()) {
+                            Integer localId = localIds.get(postResponse.getRemotePostId());
+                            if (localId == null) {
+                                continue;
+                            }
+                            PostModel fetchedPost = postResponseToPostModel(postResponse);
+                            fetchedPost.setId(localId);
+                            fetchedPost.setLocalSiteId(site.getId());
+                            fetchedPosts.add(fetchedPost);
+                            fetchedRemoteIds.add(postResponse.getRemotePostId());
+                        }
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByIdsAction(
+                                new FetchPostsByIdsResponsePayload(site, fetchedPosts)));
+
+                        // "any" doesn't include trashed posts, so posts trashed (or deleted) on the web are missing
+                        // from the response - fetch them one by one so they're updated locally and aren't seen as
+                        // changed in every list fetch
+                        for (PostModel post : posts) {
+                            if (!fetchedRemoteIds.contains(post.getRemotePostId())) {
+                                fetchPost(post, site);
+                            }
+                        }
+                    }
+                },
+                new WPComErrorListener() {
+                    @Override
+                    public void onErrorResponse(@NonNull WPComGsonNetworkError error) {
+                        PostError postError = new PostError(error.apiError, error.message);
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByIdsAction(
+                                new FetchPostsByIdsResponsePayload(site, posts, postError)));
+                    }
+                }
+        );
+        add(request);
+    }
+
     public void fetchPostLikes(
             final long siteId,
             final long remotePostId,
@@ -270,12 +336,24 @@ public class PostRestClient extends BaseWPComRestClient {
         add(request);
     }
 
+    /**
+     * Fetches a page of posts by last modified date, newest first. The page starts after the passed cursor, or at
+     * the passed offset if there's no cursor (ex: when loading more posts after the app was restarted).
+     */
     public void fetchPosts(final SiteModel site, final boolean getPages, final List<PostStatus> statusList,
-                           final int offset, final int number) {
+                           @Nullable final PostPagingCursor cursor, final int offset, final int number) {
         String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
 
-        Map<String, String> params =
-                createFetchPostListParameters(getPages, offset, number, statusList, null, null, null, null, null);
+        String modifiedBefore = cursor != null ? cursor.getModifiedBefore() : null;
+        Map<String, String> params = createFetchPostListParameters(getPages, modifiedBefore != null ? 0 : offset,
+                number, statusList, null, null, "DESC", "modified", null);
+        if (modifiedBefore != null) {
+            params.put("modified_before", modifiedBefore);
+            if (!cursor.getRemotePostIds().isEmpty()) {
+                params.put("exclude", TextUtils.join(",", cursor.getRemotePostIds()));
+            }
+        }
+        final boolean loadedMore = cursor != null || offset > 0;
 
         final WPComGsonRequest<PostsResponse> request = WPComGsonRequest.buildGetRequest(url, params,
                 PostsResponse.class,
@@ -293,7 +371,8 @@ public class PostRestClient extends BaseWPComRestClient {
                         boolean canLoadMore = postArray.size() == number;
 
                         FetchPostsResponsePayload payload = new FetchPostsResponsePayload(new PostsModel(postArray),
-                                site, getPages, offset > 0, canLoadMore);
+                                site, getPages, loadedMore, canLoadMore);
+                        payload.nextCursor = PostPagingCursor.after(loadedMore ? cursor : null, postArray);
                         mDispatcher.dispatch(PostActionBuilder.newFetchedPostsAction(payload));
                     }
                 },
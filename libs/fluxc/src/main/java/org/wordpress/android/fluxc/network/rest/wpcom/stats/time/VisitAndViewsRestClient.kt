@@ -49,7 +49,8 @@ class VisitAndViewsRestClient
                 params,
                 VisitsAndViewsResponse::class.java,
                 enableCaching = false,
-                forced = forced
+                forced = forced,
+                streamResponse = true
         )
         return when (response) {
             is Success -> {
@@ -0,0 +1,213 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.Date;
+
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TAG_DATA;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TAG_MEMBER;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TAG_NAME;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TAG_VALUE;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TYPE_ARRAY;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TYPE_BOOLEAN;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TYPE_DATE_TIME_ISO8601;
+import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer.TYPE_STRUCT;
+
+/**
+ * Pull-based helpers for decoding XML-RPC values straight into typed fields, without building the generic
+ * {@code HashMap}/{@code Object[]} tree that {@link XMLRPCSerializer#deserialize(XmlPullParser)} returns.
+ *
+ * Every read method expects the parser to be positioned on a {@code <value>} start tag, and leaves it on the
+ * matching {@code </value>} end tag - the same contract as {@link XMLRPCSerializer#deserialize(XmlPullParser)}, so
+ * the two can be mixed for members that need the generic representation.
+ */
+public class XMLRPCPullDecoder {
+    /**
+     * Receives each member of a {@code <struct>}. The parser is positioned on the member's {@code <value>} start
+     * tag and the handler must consume it (using one of the read methods, or {@link #skipValue}).
+     */
+    public interface MemberHandler {
+        void onMember(@NonNull String name, @NonNull XmlPullParser parser)
+                throws XmlPullParserException, IOException;
+    }
+
+    /**
+     * Receives each element of an {@code <array>}, with the same contract as {@link MemberHandler}.
+     */
+    public interface ElementHandler {
+        void onElement(int index, @NonNull XmlPullParser parser) throws XmlPullParserException, IOException;
+    }
+
+    private XMLRPCPullDecoder() {
+    }
+
+    public static void readStruct(@NonNull XmlPullParser parser, @NonNull MemberHandler handler)
+            throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        if (!TYPE_STRUCT.equals(nextTypeTag(parser))) {
+            skipCurrentType(parser);
+            return;
+        }
+        parser.nextTag();
+        while (TAG_MEMBER.equals(parser.getName()) && parser.getEventType() == XmlPullParser.START_TAG) {
+            String memberName = null;
+            boolean valueConsumed = false;
+            while (parser.nextTag() == XmlPullParser.START_TAG) {
+                String name = parser.getName();
+                if (name.equals(TAG_NAME)) {
+                    memberName = parser.nextText();
+                } else if (name.equals(TAG_VALUE)) {
+                    // <name> always comes before <value> in responses from WordPress
+                    if (memberName != null) {
+                        handler.onMember(memberName, parser);
+                    } else {
+                        skipValue(parser);
+                    }
+                    valueConsumed = true;
+                } else {
+                    skipElement(parser);
+                }
+            }
+            if (!valueConsumed) {
+                AppLog.w(T.API, "XML-RPC struct member without a value: " + memberName);
+            }
+            parser.require(XmlPullParser.END_TAG, null, TAG_MEMBER);
+            parser.nextTag();
+        }
+        parser.require(XmlPullParser.END_TAG, null, TYPE_STRUCT);
+        closeValue(parser);
+    }
+
+    public static void readArray(@NonNull XmlPullParser parser, @NonNull ElementHandler handler)
+            throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        if (!TYPE_ARRAY.equals(nextTypeTag(parser))) {
+            skipCurrentType(parser);
+            return;
+        }
+        parser.nextTag(); // <data>
+        parser.require(XmlPullParser.START_TAG, null, TAG_DATA);
+        int index = 0;
+        while (parser.nextTag() == XmlPullParser.START_TAG) {
+            handler.onElement(index++, parser);
+        }
+        parser.require(XmlPullParser.END_TAG, null, TAG_DATA);
+        parser.nextTag(); // </array>
+        parser.require(XmlPullParser.END_TAG, null, TYPE_ARRAY);
+        closeValue(parser);
+    }
+
+    /**
+     * Reads a scalar as a string, matching what {@code MapUtils.getMapStr()} returns for the same value in the
+     * generic tree. Returns an empty string for structs and arrays.
+     */
+    @NonNull
+    public static String readString(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        String type = nextTypeTag(parser);
+        if (TYPE_STRUCT.equals(type) || TYPE_ARRAY.equals(type)) {
+            skipCurrentType(parser);
+            return "";
+        }
+        String text = parser.nextText();
+        closeValue(parser);
+        if (TYPE_BOOLEAN.equals(type)) {
+            return text.equals("1") ? "true" : "false";
+        }
+        return text;
+    }
+
+    public static long readLong(@NonNull XmlPullParser parser, long defaultValue)
+            throws XmlPullParserException, IOException {
+        return XMLRPCScalarCodec.parseLong(readString(parser), defaultValue);
+    }
+
+    public static int readInt(@NonNull XmlPullParser parser, int defaultValue)
+            throws XmlPullParserException, IOException {
+        return XMLRPCScalarCodec.parseInt(readString(parser), defaultValue);
+    }
+
+    public static double readDouble(@NonNull XmlPullParser parser, double defaultValue)
+            throws XmlPullParserException, IOException {
+        String value = readString(parser);
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a {@code dateTime.iso8601} value, returning null if the value has another type or can't be parsed.
+     */
+    @Nullable
+    public static Date readDate(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        String type = nextTypeTag(parser);
+        if (!TYPE_DATE_TIME_ISO8601.equals(type)) {
+            skipCurrentType(parser);
+            return null;
+        }
+        String text = parser.nextText();
+        closeValue(parser);
+        return XMLRPCScalarCodec.parseDateTime(text);
+    }
+
+    /**
+     * Skips the current value, including any nested structs and arrays, without allocating anything for it.
+     */
+    public static void skipValue(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        skipElement(parser);
+    }
+
+    /*
+     * moves from <value> to its type tag (ex: <string>) and returns its name
+     */
+    private static String nextTypeTag(XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.nextTag();
+        return parser.getName();
+    }
+
+    /*
+     * skips the type element the parser is positioned on and moves to </value>
+     */
+    private static void skipCurrentType(XmlPullParser parser) throws XmlPullParserException, IOException {
+        skipElement(parser);
+        closeValue(parser);
+    }
+
+    private static void closeValue(XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.nextTag();
+        parser.require(XmlPullParser.END_TAG, null, TAG_VALUE);
+    }
+
+    /*
+     * skips the element the parser is positioned on, leaving the parser on its end tag
+     */
+    private static void skipElement(XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, null);
+        int depth = 1;
+        while (depth != 0) {
+            switch (parser.next()) {
+                case XmlPullParser.START_TAG:
+                    depth++;
+                    break;
+                case XmlPullParser.END_TAG:
+                    depth--;
+                    break;
+                case XmlPullParser.END_DOCUMENT:
+                    throw new XmlPullParserException("Unexpected end of document", parser, null);
+                default:
+                    break;
+            }
+        }
+    }
+}
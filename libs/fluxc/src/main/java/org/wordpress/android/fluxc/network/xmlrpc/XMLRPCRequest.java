@@ -3,6 +3,7 @@ package org.wordpress.android.fluxc.network.xmlrpc;
 import android.util.Xml;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.NetworkResponse;
@@ -14,6 +15,7 @@ import com.android.volley.toolbox.HttpHeaderParser;
 
 import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
 import org.wordpress.android.fluxc.network.BaseRequest;
+import org.wordpress.android.fluxc.network.StreamingBodyRequest;
 import org.wordpress.android.fluxc.store.AccountStore.AuthenticateErrorPayload;
 import org.wordpress.android.fluxc.store.AccountStore.AuthenticationErrorType;
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
@@ -22,6 +24,7 @@ import org.wordpress.android.util.AppLog.T;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlSerializer;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,9 +33,11 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
 
+import okhttp3.RequestBody;
+
 
 // TODO: Would be great to use generics / return POJO or model direclty (see GSON code?)
-public class XMLRPCRequest extends BaseRequest<Object> {
+public class XMLRPCRequest extends BaseRequest<Object> implements StreamingBodyRequest {
     private static final String PROTOCOL_CHARSET = "utf-8";
     private static final String PROTOCOL_CONTENT_TYPE = String.format("text/xml; charset=%s", PROTOCOL_CHARSET);
 
@@ -40,6 +45,7 @@ public class XMLRPCRequest extends BaseRequest<Object> {
     private final XMLRPC mMethod;
     private final Object[] mParams;
     private final XmlSerializer mSerializer = Xml.newSerializer();
+    @Nullable private final XMLRPCResponseDecoder mDecoder;
 
     public enum XmlRpcErrorType {
         NOT_SET,
@@ -50,10 +56,25 @@ public class XMLRPCRequest extends BaseRequest<Object> {
 
     public XMLRPCRequest(@NonNull String url, XMLRPC method, List<Object> params, Listener<? super Object[]> listener,
                          BaseErrorListener errorListener) {
+        this(url, method, params, null, listener, errorListener);
+    }
+
+    /**
+     * Creates a request whose successful response is decoded by {@code decoder} rather than turned into the generic
+     * {@code Map}/{@code Object[]} tree - the listener receives whatever the decoder returns. Since these are the
+     * large responses, they're also decoded straight from the network stream (see {@link #enableResponseStreaming()}).
+     */
+    public XMLRPCRequest(@NonNull String url, XMLRPC method, List<Object> params,
+                         @Nullable XMLRPCResponseDecoder decoder, Listener<? super Object[]> listener,
+                         BaseErrorListener errorListener) {
         super(Method.POST, url, errorListener);
         addHeader("Accept", "*/*");
         mListener = listener;
         mMethod = method;
+        mDecoder = decoder;
+        if (decoder != null) {
+            enableResponseStreaming();
+        }
         // First params are always username/password
         mParams = (params == null ? null : params.toArray());
     }
@@ -65,10 +86,14 @@ public class XMLRPCRequest extends BaseRequest<Object> {
 
     @Override
     protected Response<Object> parseNetworkResponse(NetworkResponse response) {
+        Response<Object> streamedResponse = consumeStreamedResponse();
+        if (streamedResponse != null) {
+            return streamedResponse;
+        }
         try {
             String data = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
             InputStream is = new ByteArrayInputStream(data.getBytes(Charset.forName("UTF-8")));
-            Object obj = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is));
+            Object obj = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is), mDecoder);
             return Response.success(obj, createCacheEntry(response));
         } catch (XMLRPCFault e) {
             return Response.error(new VolleyError(e));
@@ -86,6 +111,29 @@ public class XMLRPCRequest extends BaseRequest<Object> {
         }
     }
 
+    @Nullable
+    @Override
+    protected Response<Object> parseStreamingResponse(@NonNull NetworkResponse response,
+                                                      @NonNull InputStream content) throws IOException {
+        if (!PROTOCOL_CHARSET.equalsIgnoreCase(HttpHeaderParser.parseCharset(response.headers))) {
+            // the parser reads UTF-8, so other charsets need the in-memory conversion in parseNetworkResponse()
+            return null;
+        }
+        try {
+            InputStream is = XMLSerializerUtils.scrubXmlResponse(new BufferedInputStream(content));
+            Object obj = XMLSerializerUtils.deserialize(is, mDecoder);
+            return Response.success(obj, createCacheEntry(response));
+        } catch (XMLRPCFault e) {
+            return Response.error(new VolleyError(e));
+        } catch (XmlPullParserException e) {
+            AppLog.e(T.API, "Can't deserialize XMLRPC response", e);
+            return Response.error(new ParseError(e));
+        } catch (XMLRPCException e) {
+            AppLog.e(T.API, "Can't deserialize XMLRPC response", e);
+            return Response.error(new ParseError(e));
+        }
+    }
+
     @Override
     public String getBodyContentType() {
         return PROTOCOL_CONTENT_TYPE;
@@ -104,6 +152,12 @@ public class XMLRPCRequest extends BaseRequest<Object> {
         return null;
     }
 
+    @NonNull
+    @Override
+    public RequestBody createStreamingBody() {
+        return new XMLRPCRequestBody(mMethod, mParams);
+    }
+
     @Override
     public BaseNetworkError deliverBaseNetworkError(@NonNull BaseNetworkError error) {
         AuthenticateErrorPayload payload = new AuthenticateErrorPayload(AuthenticationErrorType.GENERIC_ERROR);
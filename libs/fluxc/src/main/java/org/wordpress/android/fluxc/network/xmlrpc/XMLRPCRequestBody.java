@@ -0,0 +1,55 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import android.util.Xml;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * Writes an XML-RPC method call straight to the sink as it's serialized, so the body (which can be a long post
+ * or base64 media) never needs to be held in memory as a string, a byte array or a buffer.
+ * <p>
+ * The length isn't known until the call has been serialized, so the body is sent with chunked encoding rather than
+ * serializing it a second time (or keeping it in memory) just to count its bytes.
+ */
+public class XMLRPCRequestBody extends RequestBody {
+    private static final MediaType MEDIA_TYPE = MediaType.parse("text/xml; charset=utf-8");
+
+    @NonNull private final XMLRPC mMethod;
+    @Nullable private final Object[] mParams;
+
+    public XMLRPCRequestBody(@NonNull XMLRPC method, @Nullable Object[] params) {
+        mMethod = method;
+        mParams = params;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        try {
+            // serializers aren't reusable across threads, so each write gets its own
+            XMLSerializerUtils.serialize(Xml.newSerializer(), sink.outputStream(), mMethod, mParams);
+        } catch (OutOfMemoryError e) {
+            throw new IOException("Out of memory");
+        }
+        sink.flush();
+    }
+}
@@ -0,0 +1,19 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import androidx.annotation.NonNull;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+
+/**
+ * Decodes the {@code <value>} of a successful XML-RPC response directly into the type the network client needs,
+ * instead of the generic tree built by {@link XMLRPCSerializer#deserialize(XmlPullParser)}.
+ *
+ * The parser is positioned on the {@code <value>} start tag and must be left on its {@code </value>} end tag -
+ * see {@link XMLRPCPullDecoder} for helpers that follow this contract.
+ */
+public interface XMLRPCResponseDecoder {
+    Object decode(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException;
+}
@@ -0,0 +1,266 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.SimpleTimeZone;
+
+/**
+ * Stateless codec for the XML-RPC scalar types that need more than {@code toString()}: {@code dateTime.iso8601},
+ * {@code int}/{@code i4}/{@code i8} and {@code base64}.
+ *
+ * It holds no shared formatter or calendar, so it's safe to use from any thread. Dates in the usual range are
+ * parsed and formatted arithmetically without allocating a formatter; anything unusual (ex: the "00000000T00:00:00"
+ * WordPress sends for unset dates) falls back to a {@link SimpleDateFormat} confined to the call, so results are
+ * identical to the formatter-based code this replaces.
+ */
+public final class XMLRPCScalarCodec {
+    private static final String DATE_TIME_PATTERN = "yyyyMMdd'T'HH:mm:ss";
+    private static final int DATE_TIME_LENGTH = 17; // yyyyMMddTHH:mm:ss
+
+    // dates before the switch to the Gregorian calendar use the Julian calendar in SimpleDateFormat
+    private static final int MIN_FAST_YEAR = 1583;
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    private XMLRPCScalarCodec() {
+    }
+
+    /**
+     * Parses a {@code dateTime.iso8601} value (ex: "20240102T03:04:05") as a UTC date. Anything after the seconds
+     * (such as a "Z" suffix) is ignored. Returns null if the value can't be parsed.
+     */
+    @Nullable
+    public static Date parseDateTime(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+
+        if (end - start >= DATE_TIME_LENGTH
+            && value.charAt(start + 8) == 'T'
+            && value.charAt(start + 11) == ':'
+            && value.charAt(start + 14) == ':') {
+            int year = digits(value, start, 4);
+            int month = digits(value, start + 4, 2);
+            int day = digits(value, start + 6, 2);
+            int hour = digits(value, start + 9, 2);
+            int minute = digits(value, start + 12, 2);
+            int second = digits(value, start + 15, 2);
+            if (year >= MIN_FAST_YEAR && year <= MAX_FAST_YEAR
+                && month >= 1 && month <= 12
+                && day >= 1 && day <= daysInMonth(year, month)
+                && hour >= 0 && hour <= 23
+                && minute >= 0 && minute <= 59
+                && second >= 0 && second <= 59) {
+                long seconds = daysFromCivil(year, month, day) * SECONDS_PER_DAY
+                               + hour * 3600L + minute * 60L + second;
+                return new Date(seconds * MILLIS_PER_SECOND);
+            }
+        }
+
+        // unusual value - let a lenient formatter deal with it, same as before
+        try {
+            return newDateTimeFormat().parse(value);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats a date as a UTC {@code dateTime.iso8601} value (ex: "20240102T03:04:05").
+     */
+    @NonNull
+    public static String formatDateTime(@NonNull Date date) {
+        long millis = date.getTime();
+        long seconds = Math.floorDiv(millis, MILLIS_PER_SECOND);
+        long days = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+
+        // civil date from days since epoch, see daysFromCivil()
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < MIN_FAST_YEAR || year > MAX_FAST_YEAR) {
+            return newDateTimeFormat().format(date);
+        }
+
+        char[] chars = new char[DATE_TIME_LENGTH];
+        putDigits(chars, 0, (int) year, 4);
+        putDigits(chars, 4, month, 2);
+        putDigits(chars, 6, day, 2);
+        chars[8] = 'T';
+        putDigits(chars, 9, secondOfDay / 3600, 2);
+        chars[11] = ':';
+        putDigits(chars, 12, (secondOfDay / 60) % 60, 2);
+        chars[14] = ':';
+        putDigits(chars, 15, secondOfDay % 60, 2);
+        return new String(chars);
+    }
+
+    /**
+     * Parses an {@code int}/{@code i4}/{@code i8} value, returning {@code defaultValue} if it isn't a valid long.
+     * Unlike {@link Long#parseLong(String)} this doesn't allocate an exception for invalid values.
+     */
+    public static long parseLong(@Nullable CharSequence value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return defaultValue;
+        }
+
+        boolean negative = false;
+        char first = value.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+            if (start == end) {
+                return defaultValue;
+            }
+        }
+
+        // accumulate negatively so Long.MIN_VALUE can be represented
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return defaultValue;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Same as {@link #parseLong(CharSequence, long)}, but throws for invalid values like {@link Long#parseLong(String)}.
+     * Only invalid values allocate.
+     */
+    public static long parseLong(@NonNull String value) throws NumberFormatException {
+        long result = parseLong(value, Long.MIN_VALUE);
+        if (result == Long.MIN_VALUE) {
+            // either the value is invalid or it is Long.MIN_VALUE, let the boxed parser tell
+            return Long.parseLong(value.trim());
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #parseLong(CharSequence, long)}, but also returns {@code defaultValue} for values that don't
+     * fit in an int.
+     */
+    public static int parseInt(@Nullable CharSequence value, int defaultValue) {
+        long result = parseLong(value, Long.MIN_VALUE);
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            return defaultValue;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Decodes a {@code base64} value. Line breaks and other whitespace, which servers usually add every 76 chars,
+     * are skipped by the decoder so the value doesn't need to be rebuilt line by line first.
+     */
+    @NonNull
+    public static byte[] decodeBase64(@NonNull String value) {
+        return Base64.decode(value, Base64.DEFAULT);
+    }
+
+    @NonNull
+    public static String encodeBase64(@NonNull byte[] bytes) {
+        return Base64.encodeToString(bytes, Base64.DEFAULT);
+    }
+
+    /*
+     * used for values outside the range handled arithmetically - a new instance per call keeps it thread-safe
+     */
+    private static SimpleDateFormat newDateTimeFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_TIME_PATTERN, Locale.US);
+        format.setCalendar(Calendar.getInstance(new SimpleTimeZone(0, "GMT")));
+        return format;
+    }
+
+    /*
+     * returns the value of the digits at [start, start + count), or -1 if any char isn't a digit
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static void putDigits(char[] chars, int start, int value, int count) {
+        for (int i = start + count - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean isLeapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return isLeapYear ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /*
+     * days since 1970-01-01 for a proleptic Gregorian date - see
+     * http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
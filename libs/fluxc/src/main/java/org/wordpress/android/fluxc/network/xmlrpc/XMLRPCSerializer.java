@@ -1,7 +1,6 @@
 package org.wordpress.android.fluxc.network.xmlrpc;
 
 import android.text.TextUtils;
-import android.util.Base64;
 import android.util.Xml;
 
 import org.wordpress.android.util.AppLog;
@@ -11,22 +10,16 @@ import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlSerializer;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringReader;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.SimpleTimeZone;
 
 public class XMLRPCSerializer {
     // Writes to /dev/null
@@ -52,9 +45,6 @@ public class XMLRPCSerializer {
     public static final String TYPE_ARRAY = "array";
     public static final String TYPE_STRUCT = "struct";
 
-    static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-    static Calendar cal = Calendar.getInstance(new SimpleTimeZone(0, "GMT"));
-
     private static final XmlSerializer SERIALIZE_TESTER;
 
     static {
@@ -90,15 +80,13 @@ public class XMLRPCSerializer {
             serializer.startTag(null, TYPE_STRING).text(makeValidInputString((String) object))
                     .endTag(null, TYPE_STRING);
         } else if (object instanceof Date || object instanceof Calendar) {
-            Date date = (Date) object;
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-            simpleDateFormat.setCalendar(cal);
-            String sDate = simpleDateFormat.format(date);
+            Date date = object instanceof Calendar ? ((Calendar) object).getTime() : (Date) object;
+            String sDate = XMLRPCScalarCodec.formatDateTime(date);
             serializer.startTag(null, TYPE_DATE_TIME_ISO8601).text(sDate).endTag(null, TYPE_DATE_TIME_ISO8601);
         } else if (object instanceof byte[]) {
             String value;
             try {
-                value = Base64.encodeToString((byte[]) object, Base64.DEFAULT);
+                value = XMLRPCScalarCodec.encodeBase64((byte[]) object);
                 serializer.startTag(null, TYPE_BASE64).text(value).endTag(null, TYPE_BASE64);
             } catch (OutOfMemoryError e) {
                 throw new IOException("Out of memory");
@@ -197,6 +185,18 @@ public class XMLRPCSerializer {
         }
     }
 
+    /**
+     * Parses a dateTime.iso8601 value, returning the raw string if it can't be parsed as a date.
+     */
+    static Object parseDateTime(String value) {
+        Date date = XMLRPCScalarCodec.parseDateTime(value);
+        if (date == null) {
+            AppLog.e(T.API, "Can't parse Date:" + value);
+            return value;
+        }
+        return date;
+    }
+
     public static Object deserialize(XmlPullParser parser) throws XmlPullParserException, IOException,
             NumberFormatException {
         parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
@@ -206,16 +206,15 @@ public class XMLRPCSerializer {
 
         Object obj;
         if (typeNodeName.equals(TYPE_INT) || typeNodeName.equals(TYPE_I4)) {
-            String value = parser.nextText();
-            try {
-                obj = Integer.parseInt(value);
-            } catch (NumberFormatException nfe) {
-                AppLog.w(T.API, "Server replied with an invalid 4 bytes int value, trying to parse it as 8 bytes long");
-                obj = Long.parseLong(value);
+            long value = XMLRPCScalarCodec.parseLong(parser.nextText());
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                obj = (int) value;
+            } else {
+                AppLog.w(T.API, "Server replied with an invalid 4 bytes int value, parsed it as 8 bytes long");
+                obj = value;
             }
         } else if (typeNodeName.equals(TYPE_I8)) {
-            String value = parser.nextText();
-            obj = Long.parseLong(value);
+            obj = XMLRPCScalarCodec.parseLong(parser.nextText());
         } else if (typeNodeName.equals(TYPE_DOUBLE)) {
             String value = parser.nextText();
             obj = Double.parseDouble(value);
@@ -225,23 +224,9 @@ public class XMLRPCSerializer {
         } else if (typeNodeName.equals(TYPE_STRING)) {
             obj = parser.nextText();
         } else if (typeNodeName.equals(TYPE_DATE_TIME_ISO8601)) {
-            dateFormat.setCalendar(cal);
-            String value = parser.nextText();
-            try {
-                obj = dateFormat.parseObject(value);
-            } catch (ParseException e) {
-                AppLog.e(T.API, "Can't parse Date:" + value, e);
-                obj = value;
-            }
+            obj = parseDateTime(parser.nextText());
         } else if (typeNodeName.equals(TYPE_BASE64)) {
-            String value = parser.nextText();
-            BufferedReader reader = new BufferedReader(new StringReader(value));
-            String line;
-            StringBuffer sb = new StringBuffer();
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-            obj = Base64.decode(sb.toString(), Base64.DEFAULT);
+            obj = XMLRPCScalarCodec.decodeBase64(parser.nextText());
         } else if (typeNodeName.equals(TYPE_ARRAY)) {
             parser.nextTag(); // TAG_DATA (<data>)
             parser.require(XmlPullParser.START_TAG, null, TAG_DATA);
@@ -1,5 +1,7 @@
 package org.wordpress.android.fluxc.network.xmlrpc;
 
+import androidx.annotation.Nullable;
+
 import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
@@ -9,6 +11,7 @@ import org.xmlpull.v1.XmlSerializer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.SequenceInputStream;
 import java.io.StringWriter;
 import java.util.Arrays;
@@ -32,7 +35,21 @@ public class XMLSerializerUtils {
             throws IOException {
         StringWriter bodyWriter = new StringWriter();
         serializer.setOutput(bodyWriter);
+        writeMethodCall(serializer, method, params);
+        return bodyWriter;
+    }
 
+    /**
+     * Serializes the method call as UTF-8 straight to {@code outputStream}, without building it in memory first.
+     */
+    public static void serialize(XmlSerializer serializer, OutputStream outputStream, XMLRPC method,
+                                 Object[] params) throws IOException {
+        serializer.setOutput(outputStream, "UTF-8");
+        writeMethodCall(serializer, method, params);
+    }
+
+    private static void writeMethodCall(XmlSerializer serializer, XMLRPC method, Object[] params)
+            throws IOException {
         serializer.startDocument(null, null);
         serializer.startTag(null, TAG_METHOD_CALL);
         // set method name
@@ -49,12 +66,19 @@ public class XMLSerializerUtils {
         }
         serializer.endTag(null, TAG_METHOD_CALL);
         serializer.endDocument();
-
-        return bodyWriter;
     }
 
     public static Object deserialize(InputStream is)
             throws IOException, XmlPullParserException, XMLRPCException {
+        return deserialize(is, null);
+    }
+
+    /**
+     * Same as {@link #deserialize(InputStream)}, but a successful response is decoded with the passed decoder (when
+     * not null) instead of being turned into a generic tree. Faults are always decoded the generic way.
+     */
+    public static Object deserialize(InputStream is, @Nullable XMLRPCResponseDecoder decoder)
+            throws IOException, XmlPullParserException, XMLRPCException {
         // setup pull parser
         XmlPullParser pullParser = XmlPullParserFactory.newInstance().newPullParser();
         pullParser.setInput(is, "UTF-8");
@@ -72,6 +96,10 @@ public class XMLSerializerUtils {
             pullParser.nextTag(); // TAG_VALUE (<value>)
             // no parser.require() here since its called in XMLRPCSerializer.deserialize() below
             // deserialize result
+            if (decoder != null) {
+                pullParser.require(XmlPullParser.START_TAG, null, XMLRPCSerializer.TAG_VALUE);
+                return decoder.decode(pullParser);
+            }
             return XMLRPCSerializer.deserialize(pullParser);
         } else if (tag.equals(TAG_FAULT)) {
             // fault response
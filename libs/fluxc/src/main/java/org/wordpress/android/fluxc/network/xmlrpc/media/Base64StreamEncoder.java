@@ -0,0 +1,77 @@
+package org.wordpress.android.fluxc.network.xmlrpc.media;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+
+import okio.BufferedSink;
+
+/**
+ * Base64 encodes a stream block by block straight into a sink, reusing the same buffers for the whole stream
+ * instead of creating a string for every chunk. The output is split into lines of {@link #LINE_LENGTH} chars,
+ * each followed by a newline, so its length can be calculated upfront with {@link #getEncodedLength(long)}.
+ */
+final class Base64StreamEncoder {
+    static final int LINE_LENGTH = 76;
+    private static final byte NEWLINE = '\n';
+    private static final int BYTES_PER_LINE = LINE_LENGTH / 4 * 3;
+    private static final int LINES_PER_BLOCK = 64;
+    // blocks are made of whole lines so the lines of consecutive blocks line up
+    static final int BLOCK_SIZE = BYTES_PER_LINE * LINES_PER_BLOCK;
+
+    private final Base64.Encoder mEncoder = Base64.getMimeEncoder(LINE_LENGTH, new byte[]{NEWLINE});
+    private final byte[] mInput = new byte[BLOCK_SIZE];
+    private final byte[] mOutput = new byte[LINES_PER_BLOCK * (LINE_LENGTH + 1)];
+
+    /**
+     * Returns the number of bytes written when encoding a stream of the given size.
+     */
+    static long getEncodedLength(long size) {
+        long encodedChars = (size + 2) / 3 * 4;
+        long lines = (encodedChars + LINE_LENGTH - 1) / LINE_LENGTH;
+        return encodedChars + lines;
+    }
+
+    /**
+     * Reads the next block from the stream and writes it encoded to the sink.
+     *
+     * @return the number of bytes read from the stream, or -1 once the end of the stream has been reached
+     */
+    int encodeBlock(@NonNull InputStream in, @NonNull BufferedSink sink) throws IOException {
+        int length = readBlock(in);
+        if (length == 0) {
+            return -1;
+        }
+
+        int encodedLength;
+        if (length == BLOCK_SIZE) {
+            encodedLength = mEncoder.encode(mInput, mOutput);
+        } else {
+            // only the last block of the stream can be shorter, so this is copied at most once
+            encodedLength = mEncoder.encode(Arrays.copyOf(mInput, length), mOutput);
+        }
+        sink.write(mOutput, 0, encodedLength);
+        // the encoder only separates the lines of the block, so terminate its last line
+        sink.writeByte(NEWLINE);
+        return length;
+    }
+
+    /*
+     * fills the input buffer unless the end of the stream is reached first, since a short block in the middle of
+     * the stream would break up the lines
+     */
+    private int readBlock(@NonNull InputStream in) throws IOException {
+        int length = 0;
+        while (length < BLOCK_SIZE) {
+            int read = in.read(mInput, length, BLOCK_SIZE - length);
+            if (read == -1) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,189 @@
+package org.wordpress.android.fluxc.network.xmlrpc.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.wordpress.android.fluxc.model.MediaModel;
+import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCPullDecoder;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCResponseDecoder;
+import org.wordpress.android.fluxc.utils.MediaUtils;
+import org.wordpress.android.util.DateTimeUtils;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Decodes a {@code wp.getMediaLibrary} response straight into {@link MediaModel}s, producing the same models as
+ * {@code MediaXMLRPCClient.getMediaFromXmlrpcResponse()} without building a map for each item (or for its image
+ * metadata, which is the bulk of the response). The decoded response is a {@code MediaModel[]} with one entry per
+ * item in the response, which is null for empty items.
+ */
+public class MediaLibraryXMLRPCDecoder implements XMLRPCResponseDecoder {
+    private static final String SIZE_MEDIUM = "medium";
+    private static final String SIZE_MEDIUM_LARGE = "medium_large";
+    private static final String SIZE_LARGE = "large";
+
+    private final int mLocalSiteId;
+
+    public MediaLibraryXMLRPCDecoder(int localSiteId) {
+        mLocalSiteId = localSiteId;
+    }
+
+    @Override
+    public Object decode(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        final List<MediaModel> mediaList = new ArrayList<>();
+        XMLRPCPullDecoder.readArray(parser, (index, elementParser) -> mediaList.add(decodeMedia(elementParser)));
+        return mediaList.toArray(new MediaModel[0]);
+    }
+
+    @Nullable
+    MediaModel decodeMedia(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        final MediaMembers members = new MediaMembers();
+        XMLRPCPullDecoder.readStruct(parser, (name, valueParser) -> {
+            members.mMemberCount++;
+            switch (name) {
+                case "link":
+                    members.mLink = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "attachment_id":
+                    members.mAttachmentId = XMLRPCPullDecoder.readLong(valueParser, 0);
+                    break;
+                case "parent":
+                    members.mParent = XMLRPCPullDecoder.readLong(valueParser, 0);
+                    break;
+                case "date_created_gmt":
+                    members.mDateCreatedGmt = XMLRPCPullDecoder.readDate(valueParser);
+                    break;
+                case "thumbnail":
+                    members.mThumbnail = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "title":
+                    members.mTitle = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "caption":
+                    members.mCaption = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "description":
+                    members.mDescription = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "videopress_shortcode":
+                    members.mVideoPressShortcode = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "metadata":
+                    decodeMetadata(valueParser, members);
+                    break;
+                default:
+                    XMLRPCPullDecoder.skipValue(valueParser);
+                    break;
+            }
+        });
+
+        if (members.mMemberCount == 0) {
+            return null;
+        }
+
+        String link = members.mLink;
+        String fileExtension = MediaUtils.getExtension(link);
+        MediaModel media = new MediaModel(
+                0,
+                members.mAttachmentId,
+                members.mParent,
+                0,
+                "",
+                DateTimeUtils.iso8601UTCFromDate(members.mDateCreatedGmt),
+                link,
+                members.mThumbnail,
+                MediaUtils.getFileName(link),
+                fileExtension,
+                MediaUtils.getMimeTypeForExtension(fileExtension),
+                StringEscapeUtils.unescapeHtml4(members.mTitle),
+                StringEscapeUtils.unescapeHtml4(members.mCaption),
+                StringEscapeUtils.unescapeHtml4(members.mDescription),
+                "",
+                members.mWidth,
+                members.mHeight,
+                0,
+                members.mVideoPressShortcode,
+                false,
+                MediaUploadState.UPLOADED,
+                MediaXMLRPCClient.getFileUrlForSizeFile(link, members.mMediumFile),
+                MediaXMLRPCClient.getFileUrlForSizeFile(link, members.mMediumLargeFile),
+                MediaXMLRPCClient.getFileUrlForSizeFile(link, members.mLargeFile),
+                false
+        );
+        media.setLocalSiteId(mLocalSiteId);
+        return media;
+    }
+
+    private static void decodeMetadata(@NonNull XmlPullParser parser, @NonNull final MediaMembers members)
+            throws XmlPullParserException, IOException {
+        XMLRPCPullDecoder.readStruct(parser, (name, valueParser) -> {
+            switch (name) {
+                case "width":
+                    members.mWidth = XMLRPCPullDecoder.readInt(valueParser, 0);
+                    break;
+                case "height":
+                    members.mHeight = XMLRPCPullDecoder.readInt(valueParser, 0);
+                    break;
+                case "sizes":
+                    XMLRPCPullDecoder.readStruct(valueParser, (size, sizeParser) -> {
+                        switch (size) {
+                            case SIZE_MEDIUM:
+                                members.mMediumFile = decodeSizeFile(sizeParser);
+                                break;
+                            case SIZE_MEDIUM_LARGE:
+                                members.mMediumLargeFile = decodeSizeFile(sizeParser);
+                                break;
+                            case SIZE_LARGE:
+                                members.mLargeFile = decodeSizeFile(sizeParser);
+                                break;
+                            default:
+                                XMLRPCPullDecoder.skipValue(sizeParser);
+                                break;
+                        }
+                    });
+                    break;
+                default:
+                    XMLRPCPullDecoder.skipValue(valueParser);
+                    break;
+            }
+        });
+    }
+
+    @Nullable
+    private static String decodeSizeFile(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        final String[] file = new String[1];
+        XMLRPCPullDecoder.readStruct(parser, (name, valueParser) -> {
+            if (name.equals("file")) {
+                file[0] = XMLRPCPullDecoder.readString(valueParser);
+            } else {
+                XMLRPCPullDecoder.skipValue(valueParser);
+            }
+        });
+        return file[0];
+    }
+
+    private static class MediaMembers {
+        int mMemberCount;
+        @NonNull String mLink = "";
+        long mAttachmentId;
+        long mParent;
+        @Nullable Date mDateCreatedGmt;
+        @NonNull String mThumbnail = "";
+        @NonNull String mTitle = "";
+        @NonNull String mCaption = "";
+        @NonNull String mDescription = "";
+        @NonNull String mVideoPressShortcode = "";
+        int mWidth;
+        int mHeight;
+        @Nullable String mMediumFile;
+        @Nullable String mMediumLargeFile;
+        @Nullable String mLargeFile;
+    }
+}
@@ -5,6 +5,7 @@ import android.util.Base64;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.android.volley.RequestQueue;
 import com.android.volley.Response.Listener;
@@ -302,9 +303,11 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
         }
         params.add(queryParams);
 
+        // media items are decoded straight from the response into MediaModels, see MediaLibraryXMLRPCDecoder
         add(new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_MEDIA_LIBRARY, params,
+                new MediaLibraryXMLRPCDecoder(site.getId()),
                 response -> {
-                    List<MediaModel> mediaList = getMediaListFromXmlrpcResponse(response, site.getId());
+                    List<MediaModel> mediaList = decodedMediaToMediaList((MediaModel[]) response);
                     AppLog.v(T.MEDIA, "Fetched media list for site via XMLRPC.GET_MEDIA_LIBRARY");
                     boolean canLoadMore = mediaList.size() == number;
                     notifyMediaListFetched(site, mediaList, offset > 0, canLoadMore, mimeType);
@@ -521,27 +524,22 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
     // Utility methods
     //
 
-    // media list responses should be of type Object[] with each media item in the array represented by a HashMap
+    // media list responses are decoded by MediaLibraryXMLRPCDecoder into a MediaModel[], with nulls for empty items
     @NonNull
-    @SuppressWarnings("rawtypes")
-    private List<MediaModel> getMediaListFromXmlrpcResponse(@NonNull Object[] response, int localSiteId) {
+    private List<MediaModel> decodedMediaToMediaList(@NonNull MediaModel[] response) {
         List<MediaModel> responseMedia = new ArrayList<>();
-        for (Object mediaObject : response) {
-            if (!(mediaObject instanceof HashMap)) {
-                continue;
-            }
-            MediaModel media = getMediaFromXmlrpcResponse((HashMap) mediaObject);
+        for (MediaModel media : response) {
             if (media != null) {
-                media.setLocalSiteId(localSiteId);
                 responseMedia.add(media);
             }
         }
         return responseMedia;
     }
 
+    @VisibleForTesting
     @Nullable
     @SuppressWarnings("rawtypes")
-    private MediaModel getMediaFromXmlrpcResponse(@NonNull Map response) {
+    static MediaModel getMediaFromXmlrpcResponse(@NonNull Map response) {
         if (response.isEmpty()) {
             return null;
         }
@@ -583,15 +581,22 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
 
     @Nullable
     @SuppressWarnings("rawtypes")
-    private String getFileUrlForSize(
+    private static String getFileUrlForSize(
             @NonNull String mediaUrl,
             @NonNull Map metadataMap,
             @NonNull String size) {
+        return getFileUrlForSizeFile(mediaUrl, getFileForSize(metadataMap, size));
+    }
+
+    /*
+     * returns the url of a resized file, which is stored next to the original file at mediaUrl
+     */
+    @Nullable
+    static String getFileUrlForSizeFile(@NonNull String mediaUrl, @Nullable String fileName) {
         if (TextUtils.isEmpty(mediaUrl) || !mediaUrl.contains("/")) {
             return null;
         }
 
-        String fileName = getFileForSize(metadataMap, size);
         if (TextUtils.isEmpty(fileName)) {
             return null;
         }
@@ -607,7 +612,7 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
 
     @Nullable
     @SuppressWarnings("rawtypes")
-    private String getFileForSize(
+    private static String getFileForSize(
             @NonNull Map metadataMap,
             @NonNull String size) {
         Object sizesObject = metadataMap.get("sizes");
@@ -1,7 +1,5 @@
 package org.wordpress.android.fluxc.network.xmlrpc.media;
 
-import android.util.Base64;
-
 import androidx.annotation.NonNull;
 
 import org.apache.commons.lang3.StringEscapeUtils;
@@ -10,6 +8,7 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.network.BaseUploadRequestBody;
 import org.wordpress.android.fluxc.utils.extensions.SiteModelExtensionsKt;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -90,19 +89,8 @@ public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
         return mContentSize;
     }
 
-    private long getMediaBase64EncodedSize() throws IOException {
-        FileInputStream fis = new FileInputStream(getMedia().getFilePath());
-        int totalSize = 0;
-        try {
-            byte[] buffer = new byte[3600];
-            int length;
-            while ((length = fis.read(buffer)) > 0) {
-                totalSize += Base64.encodeToString(buffer, 0, length, Base64.DEFAULT).length();
-            }
-        } finally {
-            fis.close();
-        }
-        return totalSize;
+    private long getMediaBase64EncodedSize() {
+        return Base64StreamEncoder.getEncodedLength(new File(getMedia().getFilePath()).length());
     }
 
     @Override
@@ -116,13 +104,10 @@ public class XmlrpcUploadRequestBody extends BaseUploadRequestBody {
         // write file to xml
 
         try (FileInputStream fis = new FileInputStream(getMedia().getFilePath())) {
-            byte[] buffer = new byte[3600]; // you must use a 24bit multiple
+            Base64StreamEncoder encoder = new Base64StreamEncoder();
             int length;
-            String chunk;
-            while ((length = fis.read(buffer)) > 0) {
-                chunk = Base64.encodeToString(buffer, 0, length, Base64.DEFAULT);
+            while ((length = encoder.encodeBlock(fis, bufferedSink)) > 0) {
                 mMediaBytesWritten += length;
-                bufferedSink.writeUtf8(chunk);
             }
         }
 
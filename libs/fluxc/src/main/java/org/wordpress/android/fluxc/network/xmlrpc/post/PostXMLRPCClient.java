@@ -37,6 +37,7 @@ import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByIdsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.PostDeleteActionType;
 import org.wordpress.android.fluxc.store.PostStore.PostError;
@@ -118,6 +119,107 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         add(request);
     }
 
+    /**
+     * Fetches the passed posts with a single {@code system.multicall} of {@code wp.getPost}, the fetched posts keep
+     * the local ids of the passed ones. Some hosts and security plugins block or strip {@code system.multicall}, in
+     * which case the posts are fetched one by one with {@code wp.getPost} instead.
+     */
+    public void fetchPostsByIds(final SiteModel site, final List<PostModel> posts) {
+        List<Map<String, Object>> calls = new ArrayList<>(posts.size());
+        for (PostModel post : posts) {
+            Map<String, Object> call = new HashMap<>();
+            call.put("methodName", XMLRPC.GET_POST.toString());
+            call.put("params", createFetchPostParams(post, site));
+            calls.add(call);
+        }
+        List<Object> params = new ArrayList<>(1);
+        params.add(calls);
+
+        final XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.MULTICALL, params,
+                new Listener<Object[]>() {
+                    @Override
+                    public void onResponse(Object[] response) {
+                        if (response == null) {
+                            // the multicall was stripped rather than refused
+                            fetchPostsOneByOne(site, posts);
+                            return;
+                        }
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByIdsAction(
+                                new FetchPostsByIdsResponsePayload(site,
+                                        postsFromMulticallResponse(response, posts, site))));
+                    }
+                }, new BaseErrorListener() {
+            @Override
+            public void onErrorResponse(@NonNull BaseNetworkError error) {
+                if (shouldFetchPostsOneByOne(error)) {
+                    fetchPostsOneByOne(site, posts);
+                } else {
+                    PostError postError = createPostErrorFromBaseNetworkError(error);
+                    mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByIdsAction(
+                            new FetchPostsByIdsResponsePayload(site, posts, postError)));
+                }
+            }
+        });
+
+        add(request);
+    }
+
+    /*
+     * each post is then fetched and stored on its own, as before batching - the posts are already capped by the
+     * batch size, so this can't turn into more requests than refreshing them one by one always did
+     */
+    private void fetchPostsOneByOne(@NonNull SiteModel site, @NonNull List<PostModel> posts) {
+        AppLog.w(T.POSTS, "system.multicall failed, fetching " + posts.size() + " posts one by one");
+        for (PostModel post : posts) {
+            fetchPost(post, site);
+        }
+    }
+
+    /*
+     * the multicall is worth retrying as single calls unless the site couldn't be reached or the user isn't
+     * allowed in, since single calls would fail the same way
+     */
+    @VisibleForTesting
+    static boolean shouldFetchPostsOneByOne(@NonNull BaseNetworkError error) {
+        switch (error.type) {
+            case TIMEOUT:
+            case NO_CONNECTION:
+            case NETWORK_ERROR:
+            case HTTP_AUTH_ERROR:
+            case AUTHORIZATION_REQUIRED:
+            case NOT_AUTHENTICATED:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /*
+     * multicall responses are in the same order as the calls, each one is either an array containing the result or
+     * a fault struct - posts which failed (usually because they've been deleted) are skipped
+     */
+    @VisibleForTesting
+    @NonNull
+    static List<PostModel> postsFromMulticallResponse(@NonNull Object[] response, @NonNull List<PostModel> posts,
+                                                      @NonNull SiteModel site) {
+        List<PostModel> fetchedPosts = new ArrayList<>(response.length);
+        for (int i = 0; i < response.length && i < posts.size(); i++) {
+            if (!(response[i] instanceof Object[])) {
+                continue;
+            }
+            Object[] result = (Object[]) response[i];
+            if (result.length == 0 || !(result[0] instanceof Map)) {
+                continue;
+            }
+            PostModel fetchedPost = postResponseObjectToPostModel((Map) result[0], site);
+            if (fetchedPost != null) {
+                fetchedPost.setId(posts.get(i).getId());
+                fetchedPosts.add(fetchedPost);
+            }
+        }
+        return fetchedPosts;
+    }
+
     public void fetchPostStatus(final PostModel post, final SiteModel site) {
         final String postStatusField = "post_status";
         List<Object> params = createFetchPostParams(post, site);
@@ -201,7 +303,9 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
                         SiteModelExtensionsKt.getPasswordProcessed(site),
                         getPages, offset, PostStore.NUM_POSTS_PER_FETCH, statusList, null, null, null, null);
 
+        // posts are decoded straight from the response into PostModels, see PostsXMLRPCDecoder
         final XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_POSTS, params,
+                new PostsXMLRPCDecoder(site.getId()),
                 new Listener<Object[]>() {
                     @Override
                     public void onResponse(Object[] response) {
@@ -210,7 +314,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
                             canLoadMore = true;
                         }
 
-                        PostsModel posts = postsResponseToPostsModel(response, site);
+                        PostsModel posts = decodedPostsToPostsModel((PostModel[]) response);
 
                         FetchPostsResponsePayload payload = new FetchPostsResponsePayload(posts, site, getPages,
                                 offset > 0, canLoadMore);
@@ -366,7 +470,8 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         return postListItems;
     }
 
-    private PostsModel postsResponseToPostsModel(@Nullable Object[] response, SiteModel site) {
+    @Nullable
+    private PostsModel decodedPostsToPostsModel(@Nullable PostModel[] response) {
         List<PostModel> postArray = new ArrayList<>();
         if (response == null) {
             return null;
@@ -374,9 +479,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         if (response.length == 0) {
             return new PostsModel(postArray);
         }
-        for (Object responseObject : response) {
-            Map<?, ?> postMap = (Map<?, ?>) responseObject;
-            PostModel post = postResponseObjectToPostModel(postMap, site);
+        for (PostModel post : response) {
             if (post != null) {
                 postArray.add(post);
             }
@@ -434,36 +537,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         post.setCategoryIdList(categoryIds);
         post.setTagNameList(tagNames);
 
-        Object[] customFields = (Object[]) postMap.get("custom_fields");
-        JSONArray jsonCustomFieldsArray = new JSONArray();
-        if (customFields != null) {
-            Double latitude = null;
-            Double longitude = null;
-            for (Object customField : customFields) {
-                jsonCustomFieldsArray.put(customField.toString());
-                // Update geo_long and geo_lat from custom fields
-                if (!(customField instanceof Map)) {
-                    continue;
-                }
-                Map<?, ?> customFieldMap = (Map<?, ?>) customField;
-                Object key = customFieldMap.get("key");
-                if (key != null && customFieldMap.get("value") != null) {
-                    if (key.equals("geo_longitude")) {
-                        longitude = XMLRPCUtils.safeGetMapValue(customFieldMap, 0.0);
-                    }
-                    if (key.equals("geo_latitude")) {
-                        latitude = XMLRPCUtils.safeGetMapValue(customFieldMap, 0.0);
-                    }
-                }
-            }
-            if (latitude != null && longitude != null) {
-                PostLocation postLocation = new PostLocation(latitude, longitude);
-                if (postLocation.isValid()) {
-                    post.setLocation(postLocation);
-                }
-            }
-        }
-        post.setCustomFields(jsonCustomFieldsArray.toString());
+        setCustomFields(post, (Object[]) postMap.get("custom_fields"));
 
         post.setExcerpt(MapUtils.getMapStr(postMap, "post_excerpt"));
         post.setSlug(MapUtils.getMapStr(postMap, "post_name"));
@@ -497,6 +571,41 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
         return post;
     }
 
+    /*
+     * stores the custom fields of a post, updating its location from the geo_latitude/geo_longitude fields
+     */
+    static void setCustomFields(@NonNull PostModel post, @Nullable Object[] customFields) {
+        JSONArray jsonCustomFieldsArray = new JSONArray();
+        if (customFields != null) {
+            Double latitude = null;
+            Double longitude = null;
+            for (Object customField : customFields) {
+                jsonCustomFieldsArray.put(customField.toString());
+                // Update geo_long and geo_lat from custom fields
+                if (!(customField instanceof Map)) {
+                    continue;
+                }
+                Map<?, ?> customFieldMap = (Map<?, ?>) customField;
+                Object key = customFieldMap.get("key");
+                if (key != null && customFieldMap.get("value") != null) {
+                    if (key.equals("geo_longitude")) {
+                        longitude = XMLRPCUtils.safeGetMapValue(customFieldMap, 0.0);
+                    }
+                    if (key.equals("geo_latitude")) {
+                        latitude = XMLRPCUtils.safeGetMapValue(customFieldMap, 0.0);
+                    }
+                }
+            }
+            if (latitude != null && longitude != null) {
+                PostLocation postLocation = new PostLocation(latitude, longitude);
+                if (postLocation.isValid()) {
+                    post.setLocation(postLocation);
+                }
+            }
+        }
+        post.setCustomFields(jsonCustomFieldsArray.toString());
+    }
+
     private static Map<String, Object> postModelToContentStruct(
             PostModel post,
             boolean shouldSkipConflictResolutionCheck,
@@ -0,0 +1,193 @@
+package org.wordpress.android.fluxc.network.xmlrpc.post;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.fluxc.model.PostModel;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCPullDecoder;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCResponseDecoder;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer;
+import org.wordpress.android.util.DateTimeUtils;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a {@code wp.getPosts} response straight into {@link PostModel}s, producing the same models as
+ * {@link PostXMLRPCClient#postResponseObjectToPostModel} without building a map for each post. The decoded
+ * response is a {@code PostModel[]} with one entry per post in the response, which is null for posts without an id.
+ */
+public class PostsXMLRPCDecoder implements XMLRPCResponseDecoder {
+    private final int mLocalSiteId;
+
+    public PostsXMLRPCDecoder(int localSiteId) {
+        mLocalSiteId = localSiteId;
+    }
+
+    @Override
+    public Object decode(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        final List<PostModel> posts = new ArrayList<>();
+        XMLRPCPullDecoder.readArray(parser, (index, elementParser) -> posts.add(decodePost(elementParser)));
+        return posts.toArray(new PostModel[0]);
+    }
+
+    @Nullable
+    PostModel decodePost(@NonNull XmlPullParser parser) throws XmlPullParserException, IOException {
+        final PostModel post = new PostModel();
+        // these members depend on post_type, which can come in any order, so they're applied once the struct is read
+        final PostMembers members = new PostMembers();
+        final List<Long> categoryIds = new ArrayList<>();
+        final List<String> tagNames = new ArrayList<>();
+        // posts without custom_fields get an empty list, like postResponseObjectToPostModel() gives them
+        PostXMLRPCClient.setCustomFields(post, null);
+
+        XMLRPCPullDecoder.readStruct(parser, (name, valueParser) -> {
+            switch (name) {
+                case "post_id":
+                    members.mPostId = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "post_title":
+                    post.setTitle(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "post_date_gmt":
+                    post.setDateCreated(DateTimeUtils.iso8601UTCFromDate(XMLRPCPullDecoder.readDate(valueParser)));
+                    break;
+                case "post_modified_gmt":
+                    String lastModified = DateTimeUtils.iso8601UTCFromDate(XMLRPCPullDecoder.readDate(valueParser));
+                    post.setLastModified(lastModified);
+                    post.setRemoteLastModified(lastModified);
+                    break;
+                case "post_content":
+                    post.setContent(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "link":
+                    post.setLink(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "terms":
+                    XMLRPCPullDecoder.readArray(valueParser,
+                            (termIndex, termParser) -> decodeTerm(termParser, categoryIds, tagNames));
+                    break;
+                case "custom_fields":
+                    // custom fields are stored in their generic form, so they're the only member decoded that way
+                    Object customFields = XMLRPCSerializer.deserialize(valueParser);
+                    PostXMLRPCClient.setCustomFields(post,
+                            customFields instanceof Object[] ? (Object[]) customFields : null);
+                    break;
+                case "post_excerpt":
+                    post.setExcerpt(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "post_name":
+                    members.mPostName = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "post_password":
+                    post.setPassword(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "post_status":
+                    post.setStatus(XMLRPCPullDecoder.readString(valueParser));
+                    break;
+                case "post_type":
+                    members.mPostType = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "post_parent":
+                    members.mParentId = XMLRPCPullDecoder.readLong(valueParser, 0);
+                    break;
+                case "wp_page_parent":
+                    members.mParentTitle = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "wp_slug":
+                    members.mWpSlug = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "post_thumbnail":
+                    XMLRPCPullDecoder.readStruct(valueParser, (thumbnailMember, thumbnailParser) -> {
+                        if (thumbnailMember.equals("attachment_id")) {
+                            members.mFeaturedImageId = XMLRPCPullDecoder.readInt(thumbnailParser, 0);
+                        } else {
+                            XMLRPCPullDecoder.skipValue(thumbnailParser);
+                        }
+                    });
+                    break;
+                case "post_format":
+                    members.mPostFormat = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                default:
+                    XMLRPCPullDecoder.skipValue(valueParser);
+                    break;
+            }
+        });
+
+        if (TextUtils.isEmpty(members.mPostId)) {
+            // If we don't have a post or page ID, move on
+            return null;
+        }
+
+        post.setLocalSiteId(mLocalSiteId);
+        post.setRemotePostId(Long.parseLong(members.mPostId));
+        post.setCategoryIdList(categoryIds);
+        post.setTagNameList(tagNames);
+        post.setSlug(members.mPostName);
+
+        if ("page".equals(members.mPostType)) {
+            post.setIsPage(true);
+            post.setParentId(members.mParentId);
+            post.setParentTitle(members.mParentTitle);
+            // Only use wp_slug if it's not empty; otherwise keep post_name
+            if (!TextUtils.isEmpty(members.mWpSlug)) {
+                post.setSlug(members.mWpSlug);
+            }
+        } else {
+            post.setFeaturedImageId(members.mFeaturedImageId);
+            post.setPostFormat(members.mPostFormat);
+        }
+
+        return post;
+    }
+
+    private static void decodeTerm(@NonNull XmlPullParser parser, @NonNull List<Long> categoryIds,
+                                   @NonNull List<String> tagNames) throws XmlPullParserException, IOException {
+        final String[] term = new String[3]; // taxonomy, term_id, name
+        XMLRPCPullDecoder.readStruct(parser, (name, valueParser) -> {
+            switch (name) {
+                case "taxonomy":
+                    term[0] = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "term_id":
+                    term[1] = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                case "name":
+                    term[2] = XMLRPCPullDecoder.readString(valueParser);
+                    break;
+                default:
+                    XMLRPCPullDecoder.skipValue(valueParser);
+                    break;
+            }
+        });
+
+        if ("category".equals(term[0])) {
+            long termId = 0;
+            try {
+                termId = term[1] != null ? Long.parseLong(term[1]) : 0;
+            } catch (NumberFormatException e) {
+                // same as MapUtils.getMapLong(), an invalid id is stored as 0
+            }
+            categoryIds.add(termId);
+        } else if ("post_tag".equals(term[0])) {
+            tagNames.add(term[2] != null ? term[2] : "");
+        }
+    }
+
+    private static class PostMembers {
+        @Nullable String mPostId;
+        @NonNull String mPostName = "";
+        @Nullable String mPostType;
+        long mParentId;
+        @NonNull String mParentTitle = "";
+        @Nullable String mWpSlug;
+        int mFeaturedImageId;
+        @NonNull String mPostFormat = "";
+    }
+}
@@ -0,0 +1,202 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.sqlite.SQLiteDatabase
+import com.wellsql.generated.MediaModelTable
+import com.wellsql.generated.PostModelTable
+import com.yarolegovich.wellsql.WellSql
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.PostModel
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import kotlin.math.ln
+
+/**
+ * Full-text search over the text columns of media and posts, backed by FTS4 tables that shadow the MediaModel and
+ * PostModel tables.
+ *
+ * The FTS tables don't store the text themselves (they are "external content" tables reading it from the model
+ * tables), and triggers on the model tables keep them in sync, so every write - whether it comes from
+ * [MediaSqlUtils], [PostSqlUtils] or a raw statement - updates the index without the writers knowing about it.
+ *
+ * Searches match each word of the search term as a word prefix, and rank the results by how often the words appear
+ * in each column, weighted by column (a match in the title counts more than one in the description) and by how
+ * rare the words are.
+ */
+object FullTextSearchSqlUtils {
+    const val MEDIA_SEARCH_TABLE = "MediaModelSearch"
+    const val POST_SEARCH_TABLE = "PostModelSearch"
+
+    // p: number of phrases, c: number of columns, n: number of rows in the index, followed by 3 ints of hit counts
+    // for each phrase/column pair
+    private const val MATCHINFO_FORMAT = "pcnx"
+    private const val MATCHINFO_HEADER_SIZE = 3
+    private const val HIT_INFO_SIZE = 3
+
+    private val MEDIA_TABLE = SearchedTable(
+        name = "MediaModel",
+        searchTable = MEDIA_SEARCH_TABLE,
+        columns = listOf(
+            MediaModelTable.TITLE,
+            MediaModelTable.FILE_NAME,
+            MediaModelTable.CAPTION,
+            MediaModelTable.DESCRIPTION,
+            MediaModelTable.MIME_TYPE
+        ),
+        weights = doubleArrayOf(4.0, 3.0, 2.0, 1.0, 0.5)
+    )
+
+    private val POST_TABLE = SearchedTable(
+        name = "PostModel",
+        searchTable = POST_SEARCH_TABLE,
+        columns = listOf(PostModelTable.TITLE, PostModelTable.EXCERPT, PostModelTable.CONTENT),
+        weights = doubleArrayOf(4.0, 2.0, 1.0)
+    )
+
+    private val WORD_SEPARATOR = Regex("[^\\p{L}\\p{N}]+")
+
+    /**
+     * (Re)creates the search tables and their triggers, and indexes the current content of the model tables.
+     * Needs to run whenever the model tables are (re)created, since dropping them drops their triggers too.
+     */
+    @JvmStatic
+    fun createSearchTables(db: SQLiteDatabase) {
+        listOf(MEDIA_TABLE, POST_TABLE).forEach { table ->
+            table.createStatements().forEach { db.execSQL(it) }
+        }
+    }
+
+    /**
+     * Returns the local ids of the media of the given site matching [searchTerm], best match first. Media with the
+     * same rank are ordered by upload date, newest first.
+     *
+     * @param mimeTypePrefix limits the results to the media whose mime type starts with it (e.g. "image")
+     */
+    @JvmStatic
+    fun searchMedia(localSiteId: Int, searchTerm: String, mimeTypePrefix: String?): List<Int> {
+        val matchExpression = toMatchExpression(searchTerm) ?: return emptyList()
+        val query = StringBuilder()
+                .append("SELECT $MEDIA_SEARCH_TABLE.docid, matchinfo($MEDIA_SEARCH_TABLE, '$MATCHINFO_FORMAT')")
+                .append(" FROM $MEDIA_SEARCH_TABLE JOIN MediaModel ON MediaModel._id = $MEDIA_SEARCH_TABLE.docid")
+                .append(" WHERE $MEDIA_SEARCH_TABLE MATCH ? AND MediaModel.${MediaModelTable.LOCAL_SITE_ID} = ?")
+        val args = mutableListOf(matchExpression, localSiteId.toString())
+        if (mimeTypePrefix != null) {
+            query.append(" AND MediaModel.${MediaModelTable.MIME_TYPE} LIKE ?")
+            args.add("$mimeTypePrefix%")
+        }
+        query.append(" ORDER BY MediaModel.${MediaModelTable.UPLOAD_DATE} DESC")
+        return rankedIds(MEDIA_TABLE, query.toString(), args.toTypedArray())
+    }
+
+    /**
+     * Returns the local ids of the posts (or pages) of the given site matching [searchTerm], best match first.
+     * Posts with the same rank are ordered by creation date, newest first.
+     */
+    @JvmStatic
+    fun searchPosts(localSiteId: Int, searchTerm: String, isPage: Boolean): List<Int> {
+        val matchExpression = toMatchExpression(searchTerm) ?: return emptyList()
+        val query = "SELECT $POST_SEARCH_TABLE.docid, matchinfo($POST_SEARCH_TABLE, '$MATCHINFO_FORMAT')" +
+                " FROM $POST_SEARCH_TABLE JOIN PostModel ON PostModel._id = $POST_SEARCH_TABLE.docid" +
+                " WHERE $POST_SEARCH_TABLE MATCH ? AND PostModel.${PostModelTable.LOCAL_SITE_ID} = ?" +
+                " AND PostModel.${PostModelTable.IS_PAGE} = ?" +
+                " ORDER BY PostModel.${PostModelTable.DATE_CREATED} DESC"
+        val args = arrayOf(matchExpression, localSiteId.toString(), if (isPage) "1" else "0")
+        return rankedIds(POST_TABLE, query, args)
+    }
+
+    /**
+     * Turns a search term typed by the user into an FTS query matching documents containing a word starting with
+     * each of its words. The words are quoted so that FTS operators (OR, NEAR, -...) are taken literally.
+     * Returns null if the term has no words.
+     */
+    @JvmStatic
+    fun toMatchExpression(searchTerm: String): String? {
+        val words = searchTerm.split(WORD_SEPARATOR).filter { it.isNotEmpty() }
+        return if (words.isEmpty()) null else words.joinToString(" ") { "\"$it*\"" }
+    }
+
+    private fun rankedIds(table: SearchedTable, query: String, args: Array<String>): List<Int> {
+        val scoredIds = mutableListOf<Pair<Int, Double>>()
+        WellSql.giveMeReadableDb().rawQuery(query, args).use { cursor ->
+            while (cursor.moveToNext()) {
+                scoredIds.add(cursor.getInt(0) to table.score(cursor.getBlob(1)))
+            }
+        }
+        // the sort is stable, so results with the same score keep the order of the query
+        return scoredIds.sortedByDescending { it.second }.map { it.first }
+    }
+
+    private class SearchedTable(
+        val name: String,
+        val searchTable: String,
+        val columns: List<String>,
+        val weights: DoubleArray
+    ) {
+        fun createStatements(): List<String> {
+            val columnList = columns.joinToString(", ")
+            val newValues = columns.joinToString(", ") { "new.$it" }
+            val changed = columns.joinToString(" OR ") { "old.$it IS NOT new.$it" }
+            val deleteOld = "DELETE FROM $searchTable WHERE docid = old._id;"
+            val insertNew = "INSERT INTO $searchTable(docid, $columnList) VALUES (new._id, $newValues);"
+            return listOf(
+                "DROP TABLE IF EXISTS $searchTable",
+                "CREATE VIRTUAL TABLE $searchTable USING fts4(content=\"$name\", $columnList, tokenize=unicode61)",
+                // the index reads the text to remove from the content table, so it must be removed before the
+                // row changes
+                "CREATE TRIGGER IF NOT EXISTS ${name}_search_bd BEFORE DELETE ON $name BEGIN $deleteOld END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_search_bu BEFORE UPDATE ON $name WHEN $changed " +
+                        "BEGIN $deleteOld END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_search_ai AFTER INSERT ON $name BEGIN $insertNew END",
+                "CREATE TRIGGER IF NOT EXISTS ${name}_search_au AFTER UPDATE ON $name WHEN $changed " +
+                        "BEGIN $insertNew END",
+                "INSERT INTO $searchTable($searchTable) VALUES ('rebuild')"
+            )
+        }
+
+        /*
+         * A tf-idf score computed from the matchinfo blob: for each phrase and column, the number of hits in the row
+         * times the column weight, scaled by how few rows of the index contain the phrase in that column
+         */
+        fun score(matchInfo: ByteArray): Double {
+            val info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer()
+            val phraseCount = info.get(0)
+            val columnCount = info.get(1)
+            val rowCount = info.get(2)
+            var score = 0.0
+            for (phrase in 0 until phraseCount) {
+                for (column in 0 until columnCount) {
+                    val offset = MATCHINFO_HEADER_SIZE + (phrase * columnCount + column) * HIT_INFO_SIZE
+                    val hitsInRow = info.get(offset)
+                    if (hitsInRow == 0) continue
+                    val rowsWithHits = info.get(offset + 2)
+                    score += hitsInRow * weights[column] * ln(1.0 + rowCount.toDouble() / rowsWithHits)
+                }
+            }
+            return score
+        }
+    }
+
+    /**
+     * Loads the media with the given local ids, in the order of the ids.
+     */
+    @JvmStatic
+    fun getMediaInOrder(ids: List<Int>): List<MediaModel> =
+        inOrder(ids, { it.id }) { chunk ->
+            WellSql.select(MediaModel::class.java).where().isIn(MediaModelTable.ID, chunk).endWhere().asModel
+        }
+
+    /**
+     * Loads the posts with the given local ids, in the order of the ids.
+     */
+    @JvmStatic
+    fun getPostsInOrder(ids: List<Int>): List<PostModel> =
+        inOrder(ids, { it.id }) { chunk ->
+            WellSql.select(PostModel::class.java).where().isIn(PostModelTable.ID, chunk).endWhere().asModel
+        }
+
+    private fun <T> inOrder(ids: List<Int>, idOf: (T) -> Int, load: (List<Int>) -> List<T>): List<T> {
+        val byId = ids.chunked(WellSqlConfig.SQLITE_MAX_VARIABLE_NUMBER)
+                .flatMap(load)
+                .associateBy(idOf)
+        return ids.mapNotNull { byId[it] }
+    }
+}
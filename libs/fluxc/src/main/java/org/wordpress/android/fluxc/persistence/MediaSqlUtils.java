@@ -179,6 +179,22 @@ public class MediaSqlUtils {
         return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.APPLICATION.getValue()).getAsModel();
     }
 
+    /**
+     * Returns the media of the site with a word starting with each word of the search term in their title, file
+     * name, caption, description or mime type, best match first. Unlike the LIKE based searches above, this is
+     * served by the full-text search index, so it doesn't scan the whole table.
+     *
+     * @param mimeTypePrefix only returns media whose mime type starts with it (e.g. "image"), or any media if null
+     */
+    @NonNull
+    public static List<MediaModel> searchSiteMediaFullText(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm,
+            @Nullable String mimeTypePrefix) {
+        List<Integer> ids = FullTextSearchSqlUtils.searchMedia(siteModel.getId(), searchTerm, mimeTypePrefix);
+        return FullTextSearchSqlUtils.getMediaInOrder(ids);
+    }
+
     @NonNull
     private static SelectQuery<MediaModel> searchSiteMediaQuery(
             @NonNull SiteModel siteModel,
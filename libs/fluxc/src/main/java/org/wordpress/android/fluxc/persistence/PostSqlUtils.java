@@ -31,8 +31,10 @@ import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRemoteAutoSaveMod
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -42,6 +44,9 @@ import static org.wordpress.android.fluxc.model.LikeModel.TIMESTAMP_THRESHOLD;
 
 @Reusable
 public class PostSqlUtils {
+    // stay well below SQLite's limit on the number of variables in a statement
+    private static final int MAX_SQL_VARIABLES = 500;
+
     @Inject public PostSqlUtils() {
     }
 
@@ -110,6 +115,116 @@ public class PostSqlUtils {
         return insertOrUpdatePost(post, true);
     }
 
+    /**
+     * Same as calling {@link #insertOrUpdatePostKeepingLocalChanges(PostModel)} for each post, but the existing rows
+     * for all the posts are looked up with a single query (per site) and everything is written in one transaction,
+     * rather than a query and a transaction per post.
+     */
+    public synchronized int insertOrUpdatePostsKeepingLocalChanges(@NonNull List<PostModel> posts) {
+        if (posts.isEmpty()) {
+            return 0;
+        }
+
+        int rowsAffected = 0;
+        SQLiteDatabase db = WellSql.giveMeWritableDb();
+        db.beginTransaction();
+        try {
+            Map<String, List<PostModel>> existingPosts = getExistingPostsByRemoteId(posts);
+            for (PostModel post : posts) {
+                // posts which may match an existing row by local id, as well as any duplicated rows, go through
+                // the single post path so they're handled exactly the same way
+                if (post.isLocalDraft() || post.getId() != 0) {
+                    rowsAffected += insertOrUpdatePost(post, false);
+                    continue;
+                }
+                String key = getRemoteIdKey(post.getLocalSiteId(), post.getRemotePostId());
+                List<PostModel> matches = existingPosts.get(key);
+                if (matches == null) {
+                    post.setDbTimestamp(System.currentTimeMillis());
+                    WellSql.insert(post).execute();
+                    // the same post may appear twice in a page if posts shifted while paging
+                    existingPosts.put(key, Collections.singletonList(post));
+                    rowsAffected++;
+                } else if (matches.size() > 1) {
+                    rowsAffected += insertOrUpdatePost(post, false);
+                } else if (!matches.get(0).isLocallyChanged()) {
+                    post.setDbTimestamp(System.currentTimeMillis());
+                    rowsAffected += WellSql.update(PostModel.class).whereId(matches.get(0).getId())
+                                           .put(post, new UpdateAllExceptId<>(PostModel.class)).execute();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected;
+    }
+
+    /**
+     * Same as calling {@link #insertOrUpdatePostOverwritingLocalChanges(PostModel)} for each post, but in a single
+     * transaction.
+     */
+    public synchronized int insertOrUpdatePostsOverwritingLocalChanges(@NonNull List<PostModel> posts) {
+        int rowsAffected = 0;
+        SQLiteDatabase db = WellSql.giveMeWritableDb();
+        db.beginTransaction();
+        try {
+            for (PostModel post : posts) {
+                rowsAffected += insertOrUpdatePost(post, true);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected;
+    }
+
+    /*
+     * returns the id and local changes flag of the existing rows for the passed posts, keyed by site and remote id
+     */
+    @NonNull
+    private Map<String, List<PostModel>> getExistingPostsByRemoteId(@NonNull List<PostModel> posts) {
+        Map<Integer, List<Long>> remoteIdsBySite = new HashMap<>();
+        for (PostModel post : posts) {
+            List<Long> remoteIds = remoteIdsBySite.get(post.getLocalSiteId());
+            if (remoteIds == null) {
+                remoteIds = new ArrayList<>();
+                remoteIdsBySite.put(post.getLocalSiteId(), remoteIds);
+            }
+            remoteIds.add(post.getRemotePostId());
+        }
+
+        Map<String, List<PostModel>> existingPosts = new HashMap<>();
+        for (Map.Entry<Integer, List<Long>> entry : remoteIdsBySite.entrySet()) {
+            List<Long> remoteIds = entry.getValue();
+            for (int start = 0; start < remoteIds.size(); start += MAX_SQL_VARIABLES) {
+                List<PostModel> rows = WellSql.select(PostModel.class)
+                        .columns(PostModelTable.ID, PostModelTable.LOCAL_SITE_ID, PostModelTable.REMOTE_POST_ID,
+                                PostModelTable.IS_LOCALLY_CHANGED)
+                        .where()
+                        .equals(PostModelTable.LOCAL_SITE_ID, entry.getKey())
+                        .isIn(PostModelTable.REMOTE_POST_ID,
+                                remoteIds.subList(start, Math.min(start + MAX_SQL_VARIABLES, remoteIds.size())))
+                        .endWhere().getAsModel();
+                for (PostModel row : rows) {
+                    String key = getRemoteIdKey(row.getLocalSiteId(), row.getRemotePostId());
+                    List<PostModel> matches = existingPosts.get(key);
+                    if (matches == null) {
+                        matches = new ArrayList<>();
+                        existingPosts.put(key, matches);
+                    }
+                    matches.add(row);
+                }
+            }
+        }
+        return existingPosts;
+    }
+
+    @NonNull
+    private static String getRemoteIdKey(int localSiteId, long remotePostId) {
+        return localSiteId + ":" + remotePostId;
+    }
+
     public List<PostModel> getPostsForSite(SiteModel site, boolean getPages) {
         if (site == null) {
             return Collections.emptyList();
@@ -125,6 +240,16 @@ public class PostSqlUtils {
                 .getAsModel();
     }
 
+    /**
+     * Returns the posts (or pages) of the site with a word starting with each word of the search term in their title,
+     * excerpt or content, best match first, using the full-text search index.
+     */
+    @NonNull
+    public List<PostModel> searchPostsForSite(@NonNull SiteModel site, @NonNull String searchTerm, boolean getPages) {
+        List<Integer> ids = FullTextSearchSqlUtils.searchPosts(site.getId(), searchTerm, getPages);
+        return FullTextSearchSqlUtils.getPostsInOrder(ids);
+    }
+
     public List<PostModel> getPostsForSiteWithFormat(SiteModel site, List<String> postFormat, boolean getPages) {
         if (site == null) {
             return Collections.emptyList();
@@ -157,6 +282,37 @@ public class PostSqlUtils {
                 .getAsModel();
     }
 
+    public int getPostsCountForSite(SiteModel site, boolean getPages) {
+        if (site == null) {
+            return 0;
+        }
+
+        return (int) WellSql.select(PostModel.class)
+                .where().beginGroup()
+                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
+                .equals(PostModelTable.IS_PAGE, getPages)
+                .endGroup().endWhere()
+                .count();
+    }
+
+    /**
+     * Returns the number of uploaded posts (or pages) for the site without loading them, which is what the
+     * offset for loading more posts is based on.
+     */
+    public int getUploadedPostsCountForSite(SiteModel site, boolean getPages) {
+        if (site == null) {
+            return 0;
+        }
+
+        return (int) WellSql.select(PostModel.class)
+                .where().beginGroup()
+                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
+                .equals(PostModelTable.IS_PAGE, getPages)
+                .equals(PostModelTable.IS_LOCAL_DRAFT, false)
+                .endGroup().endWhere()
+                .count();
+    }
+
     public List<PostModel> getLocalDrafts(@NonNull Integer localSiteId, boolean isPage) {
         return WellSql.select(PostModel.class)
                       .where()
@@ -0,0 +1,131 @@
+package org.wordpress.android.fluxc.persistence
+
+import org.wordpress.android.fluxc.model.SiteModel
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-memory identity map of the sites read by local id, with an index from remote (.com) site id to local id.
+ *
+ * Entries are filled lazily by [SiteSqlUtils] and must be evicted by every write to the SiteModel table. The cached
+ * instances never leave this class: [get] hands out a fresh copy, so callers are free to modify what they get
+ * without affecting other readers or the cache.
+ */
+class SiteModelCache {
+    private val lock = Any()
+    private val sitesByLocalId = HashMap<Int, SiteModel>()
+    private val localIdsByRemoteId = HashMap<Long, Int>()
+
+    // Bumped on every eviction, so a read that raced with a write doesn't cache what it read before the write
+    private var generation = 0L
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+
+    val hitCount: Long
+        get() = hits.get()
+
+    val missCount: Long
+        get() = misses.get()
+
+    /**
+     * The share of lookups that were served from memory, between 0 and 1 (0 before the first lookup).
+     */
+    val hitRate: Float
+        get() {
+            val hitCount = hits.get()
+            val lookups = hitCount + misses.get()
+            return if (lookups == 0L) 0f else hitCount.toFloat() / lookups
+        }
+
+    /**
+     * Returns a copy of the site with the given local id, loading it with [load] if it isn't cached yet.
+     */
+    fun get(localId: Int, load: (Int) -> SiteModel?): SiteModel? {
+        val generationBeforeLoad: Long
+        synchronized(lock) {
+            sitesByLocalId[localId]?.let {
+                hits.incrementAndGet()
+                return copyOf(it)
+            }
+            generationBeforeLoad = generation
+        }
+        misses.incrementAndGet()
+        val site = load(localId) ?: return null
+        put(site, generationBeforeLoad)
+        return site
+    }
+
+    /**
+     * Returns a copy of the site with the given remote site id, loading it with [load] if it isn't cached yet.
+     */
+    fun getByRemoteId(remoteId: Long, load: (Long) -> SiteModel?): SiteModel? {
+        val generationBeforeLoad: Long
+        synchronized(lock) {
+            localIdsByRemoteId[remoteId]?.let { localId ->
+                sitesByLocalId[localId]?.let {
+                    hits.incrementAndGet()
+                    return copyOf(it)
+                }
+            }
+            generationBeforeLoad = generation
+        }
+        misses.incrementAndGet()
+        val site = load(remoteId) ?: return null
+        put(site, generationBeforeLoad)
+        return site
+    }
+
+    /**
+     * Evicts the site with the given local id. Pass [siteIdsChanged] when the write may have added sites or
+     * changed their remote ids, so lookups by remote id go back to the database.
+     */
+    fun evict(localId: Int, siteIdsChanged: Boolean = false) {
+        synchronized(lock) {
+            generation++
+            sitesByLocalId.remove(localId)
+            if (siteIdsChanged) {
+                localIdsByRemoteId.clear()
+            } else {
+                localIdsByRemoteId.values.removeAll { it == localId }
+            }
+        }
+    }
+
+    fun evictAll() {
+        synchronized(lock) {
+            generation++
+            sitesByLocalId.clear()
+            localIdsByRemoteId.clear()
+        }
+    }
+
+    private fun put(site: SiteModel, generationBeforeLoad: Long) {
+        synchronized(lock) {
+            if (generation != generationBeforeLoad) {
+                return
+            }
+            sitesByLocalId[site.id] = copyOf(site)
+            if (site.siteId != 0L) {
+                localIdsByRemoteId[site.siteId] = site.id
+            }
+        }
+    }
+
+    companion object {
+        // All the state of a SiteModel lives in its own fields, which are immutable values or primitives, so a
+        // shallow copy of them is a complete snapshot
+        private val SITE_FIELDS: List<Field> = SiteModel::class.java.declaredFields
+                .filterNot { Modifier.isStatic(it.modifiers) }
+                .onEach { it.isAccessible = true }
+
+        internal fun copyOf(site: SiteModel): SiteModel {
+            val copy = SiteModel()
+            for (field in SITE_FIELDS) {
+                field.set(copy, field.get(site))
+            }
+            return copy
+        }
+    }
+}
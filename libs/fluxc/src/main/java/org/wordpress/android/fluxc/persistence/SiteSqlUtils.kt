@@ -41,6 +41,12 @@ class SiteSqlUtils
         private const val serialVersionUID = -224883903136726226L
     }
 
+    /**
+     * Sites read through [getSiteByLocalIdCached] and [getSiteByRemoteIdCached]. Every write to the SiteModel
+     * table goes through this class and evicts what it changes.
+     */
+    val siteCache = SiteModelCache()
+
     fun getSiteWithLocalId(id: LocalId): SiteModel? = WellSql.select(SiteModel::class.java)
             .where()
             .equals(SiteModelTable.ID, id.value)
@@ -55,6 +61,26 @@ class SiteSqlUtils
                 .decryptAPIRestCredentials()
     }
 
+    /**
+     * Like [getSitesWithLocalId], but served from [siteCache] when the site was read before. Returns a copy the
+     * caller is free to modify.
+     */
+    fun getSiteByLocalIdCached(id: Int): SiteModel? =
+        siteCache.get(id) { getSitesWithLocalId(it).firstOrNull() }
+
+    /**
+     * Like [getSitesWithRemoteId], but served from [siteCache] when the site was read before. Returns a copy the
+     * caller is free to modify.
+     */
+    fun getSiteByRemoteIdCached(id: Long): SiteModel? =
+        siteCache.getByRemoteId(id) { getSitesWithRemoteId(it).firstOrNull() }
+
+    /**
+     * Drops all the cached sites. Only needed by code that writes to the SiteModel table without going through this
+     * class.
+     */
+    fun clearSiteCache() = siteCache.evictAll()
+
     fun getSitesWithRemoteId(id: Long): List<SiteModel> {
         return WellSql.select(SiteModel::class.java)
                 .where().equals(SiteModelTable.SITE_ID, id).endWhere().asModel
@@ -126,9 +152,18 @@ class SiteSqlUtils
      * 5. Exists in the DB, originally an XML-RPC site, and matches by XMLRPC_URL -> UPDATE
      * 6. Not matching any previous cases -> INSERT
      */
-    @Suppress("LongMethod", "ReturnCount", "ComplexMethod")
     @Throws(DuplicateSiteException::class)
     fun insertOrUpdateSiteReturningId(site: SiteModel?): Int {
+        val localId = writeSite(site)
+        if (localId != 0) {
+            siteCache.evict(localId, siteIdsChanged = true)
+        }
+        return localId
+    }
+
+    @Suppress("LongMethod", "ReturnCount", "ComplexMethod")
+    @Throws(DuplicateSiteException::class)
+    private fun writeSite(site: SiteModel?): Int {
         if (site == null) {
             return 0
         }
@@ -276,10 +311,12 @@ class SiteSqlUtils
         } else WellSql.delete(SiteModel::class.java)
                 .where().equals(SiteModelTable.ID, site.id).endWhere()
                 .execute()
+                .also { siteCache.evict(site.id) }
     }
 
     fun deleteAllSites(): Int {
         return WellSql.delete(SiteModel::class.java).execute()
+                .also { siteCache.evictAll() }
     }
 
     fun setSiteVisibility(site: SiteModel?, visible: Boolean): Int {
@@ -293,6 +330,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.IS_VISIBLE, item)
                     cv
                 }).execute()
+                .also { siteCache.evict(site.id) }
     }
 
     /**
@@ -308,6 +346,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.WP_API_REST_URL, value)
                     cv
                 }).execute()
+                .also { siteCache.evict(localId) }
     }
 
     /**
@@ -332,6 +371,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.XMLRPC_URL, value)
                     cv
                 }).execute()
+                .also { siteCache.evict(localId) }
     }
 
     /**
@@ -379,6 +419,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.API_REST_PASSWORD_IV, passwordIv)
                     cv
                 }).execute()
+                .also { siteCache.evict(localId) }
     }
 
     /**
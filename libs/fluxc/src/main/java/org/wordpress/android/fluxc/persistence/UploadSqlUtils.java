@@ -75,6 +75,26 @@ public class UploadSqlUtils {
         }
     }
 
+    /**
+     * Stores where a resumable upload of the given media stopped, without touching the rest of its upload state.
+     * Pass a null url to forget it, once the upload is done or can't be resumed.
+     */
+    public static int updateMediaResumableUploadState(int localMediaId, @Nullable String url, long offset) {
+        MediaUploadModel media = new MediaUploadModel(localMediaId);
+        media.setResumableUploadUrl(url);
+        media.setResumableUploadOffset(url != null ? offset : 0);
+        return WellSql.update(MediaUploadModel.class).whereId(localMediaId)
+                .put(media, new InsertMapper<MediaUploadModel>() {
+                    @Override
+                    public ContentValues toCv(MediaUploadModel item) {
+                        ContentValues cv = new ContentValues();
+                        cv.put(MediaUploadModelTable.RESUMABLE_UPLOAD_URL, item.getResumableUploadUrl());
+                        cv.put(MediaUploadModelTable.RESUMABLE_UPLOAD_OFFSET, item.getResumableUploadOffset());
+                        return cv;
+                    }
+                }).execute();
+    }
+
     public static @Nullable MediaUploadModel getMediaUploadModelForLocalId(int localMediaId) {
         List<MediaUploadModel> result = WellSql.select(MediaUploadModel.class).where()
                 .equals(MediaUploadModelTable.ID, localMediaId)
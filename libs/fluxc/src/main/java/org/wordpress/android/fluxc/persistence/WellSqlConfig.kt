@@ -41,7 +41,7 @@ open class WellSqlConfig : DefaultWellConfig {
     annotation class AddOn
 
     override fun getDbVersion(): Int {
-        return 212
+        return 214
     }
 
     override fun getDbName(): String {
@@ -50,6 +50,7 @@ open class WellSqlConfig : DefaultWellConfig {
 
     override fun onCreate(db: SQLiteDatabase, helper: WellTableManager) {
         mTables.forEach { table -> helper.createTable(table) }
+        FullTextSearchSqlUtils.createSearchTables(db)
     }
 
     @Suppress("CheckStyle", "LongMethod", "ComplexMethod", "MagicNumber")
@@ -2094,6 +2095,15 @@ open class WellSqlConfig : DefaultWellConfig {
                     db.execSQL("ALTER TABLE ActivityLog ADD MCP_AGENT BOOLEAN")
                     db.execSQL("ALTER TABLE ActivityLog ADD MCP_CLIENT TEXT")
                 }
+
+                212 -> {
+                    db.execSQL("ALTER TABLE MediaUploadModel ADD RESUMABLE_UPLOAD_URL TEXT")
+                    db.execSQL("ALTER TABLE MediaUploadModel ADD RESUMABLE_UPLOAD_OFFSET INTEGER")
+                }
+
+                213 -> {
+                    FullTextSearchSqlUtils.createSearchTables(db)
+                }
             }
         }
         db.setTransactionSuccessful()
@@ -2118,6 +2128,7 @@ open class WellSqlConfig : DefaultWellConfig {
 
             AppLog.d(T.DB, "Database downgraded from version $oldVersion to $newVersion")
             helper?.let { reset(it) }
+            db?.let { FullTextSearchSqlUtils.createSearchTables(it) }
         } else {
             super.onDowngrade(db, helper, oldVersion, newVersion)
         }
@@ -2147,6 +2158,7 @@ open class WellSqlConfig : DefaultWellConfig {
             db.execSQL("DROP TABLE IF EXISTS ${table.tableName}")
             db.execSQL(table.createStatement())
         }
+        FullTextSearchSqlUtils.createSearchTables(db)
     }
 
     /**
@@ -9,13 +9,12 @@ import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.yarolegovich.wellsql.WellSql;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.json.JSONObject;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.AccountAction;
 import org.wordpress.android.fluxc.action.AuthenticationAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.AccountModel;
@@ -61,6 +60,7 @@ import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest.XmlRpcErr
  * In-memory based and persisted in SQLite.
  */
 @Singleton
+@HandlesActions({AccountAction.class, AuthenticationAction.class})
 public class AccountStore extends Store {
     // Payloads
     public static class AuthenticationRequestPayload extends Payload<BaseNetworkError> {
@@ -921,7 +921,6 @@ public class AccountStore extends Store {
         AppLog.d(T.API, "AccountStore onRegister");
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @Override
     public void onAction(Action action) {
         IAction actionType = action.getType();
@@ -2,8 +2,6 @@ package org.wordpress.android.fluxc.store
 
 import android.annotation.SuppressLint
 import com.yarolegovich.wellsql.SelectQuery
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.ActivityLogAction
@@ -14,6 +12,7 @@ import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_ACTIVITY_TYPES
 import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_BACKUP_DOWNLOAD_STATE
 import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_REWIND_STATE
 import org.wordpress.android.fluxc.action.ActivityLogAction.REWIND
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.activity.ActivityLogModel
@@ -32,6 +31,7 @@ import javax.inject.Singleton
 private const val ACTIVITY_LOG_PAGE_SIZE = 100
 
 @Singleton
+@HandlesActions(ActivityLogAction::class)
 class ActivityLogStore
 @Inject constructor(
     private val activityLogRestClient: ActivityLogRestClient,
@@ -39,7 +39,6 @@ class ActivityLogStore
     private val coroutineEngine: CoroutineEngine,
     dispatcher: Dispatcher
 ) : Store(dispatcher) {
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? ActivityLogAction ?: return
         when (actionType) {
@@ -8,11 +8,10 @@ import androidx.annotation.Nullable;
 import com.yarolegovich.wellsql.SelectQuery;
 import com.yarolegovich.wellsql.SelectQuery.Order;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.CommentAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.CommentModel;
@@ -34,6 +33,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@HandlesActions(CommentAction.class)
 public class CommentStore extends Store {
     private final CommentRestClient mCommentRestClient;
     private final CommentXMLRPCClient mCommentXMLRPCClient;
@@ -285,7 +285,6 @@ public class CommentStore extends Store {
     // Store Methods
 
     @Override
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @SuppressWarnings("rawtypes")
     public void onAction(Action action) {
         IAction actionType = action.getType();
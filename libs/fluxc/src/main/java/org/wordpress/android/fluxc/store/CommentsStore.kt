@@ -1,7 +1,5 @@
 package org.wordpress.android.fluxc.store
 
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.CommentAction
@@ -19,6 +17,7 @@ import org.wordpress.android.fluxc.action.CommentsAction.LIKE_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.PUSHED_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.PUSH_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.UPDATE_COMMENT
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.CommentModel
 import org.wordpress.android.fluxc.model.CommentStatus
@@ -57,6 +56,7 @@ import javax.inject.Singleton
 
 @Suppress("LargeClass")
 @Singleton
+@HandlesActions(CommentsAction::class)
 class CommentsStore @Inject constructor(
     private val commentsRestClient: CommentsRestClient,
     private val commentsXMLRPCClient: CommentsXMLRPCClient,
@@ -522,7 +522,6 @@ class CommentsStore @Inject constructor(
     @Deprecated(
             "Action and event bus support should be gradually replaced while the Comments Unification project proceeds"
     )
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? CommentsAction ?: return
 
@@ -1,11 +1,10 @@
 package org.wordpress.android.fluxc.store
 
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.EditorSettingsAction
 import org.wordpress.android.fluxc.action.EditorSettingsAction.FETCH_EDITOR_SETTINGS
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.EditorSettings
 import org.wordpress.android.fluxc.model.SiteModel
@@ -21,6 +20,7 @@ import javax.inject.Singleton
 private const val EDITOR_SETTINGS_REQUEST_PATH = "wp-block-editor/v1/settings"
 
 @Singleton
+@HandlesActions(EditorSettingsAction::class)
 class EditorSettingsStore @Inject constructor(
     private val reactNativeStore: ReactNativeStore,
     private val coroutineEngine: CoroutineEngine,
@@ -47,7 +47,6 @@ class EditorSettingsStore @Inject constructor(
 
     class EditorSettingsError(var message: String? = null) : OnChangedError
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? EditorSettingsAction ?: return
         when (actionType) {
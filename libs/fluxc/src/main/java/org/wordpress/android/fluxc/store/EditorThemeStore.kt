@@ -1,12 +1,11 @@
 package org.wordpress.android.fluxc.store
 
 import com.google.gson.Gson
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.EditorThemeAction
 import org.wordpress.android.fluxc.action.EditorThemeAction.FETCH_EDITOR_THEME
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.BlockEditorSettings
 import org.wordpress.android.fluxc.model.EditorTheme
@@ -29,6 +28,7 @@ private const val EDITOR_SETTINGS_REQUEST_PATH = "wp-block-editor/v1/settings?co
 private const val EDITOR_SETTINGS_WP_VERSION = "5.8"
 
 @Singleton
+@HandlesActions(EditorThemeAction::class)
 class EditorThemeStore
 @Inject constructor(
     private val reactNativeStore: ReactNativeStore,
@@ -66,7 +66,6 @@ class EditorThemeStore
     fun getIsBlockBasedTheme(site: SiteModel): Boolean =
         getEditorThemeForSite(site)?.themeSupport?.isEditorThemeBlockBased() ?: false
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? EditorThemeAction ?: return
         when (actionType) {
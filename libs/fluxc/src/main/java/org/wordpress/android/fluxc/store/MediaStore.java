@@ -8,11 +8,10 @@ import androidx.annotation.VisibleForTesting;
 
 import com.wellsql.generated.MediaModelTable;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.MediaAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.MediaModel;
@@ -49,6 +48,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@HandlesActions(MediaAction.class)
 public class MediaStore extends Store {
     public static final int DEFAULT_NUM_MEDIA_PER_FETCH = 50;
 
@@ -607,7 +607,6 @@ public class MediaStore extends Store {
         mApplicationPasswordsConfiguration = applicationPasswordsConfiguration;
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @Override
     @SuppressWarnings("rawtypes")
     public void onAction(Action action) {
@@ -820,6 +819,29 @@ public class MediaStore extends Store {
         return MediaSqlUtils.searchSiteDocuments(siteModel, searchTerm);
     }
 
+    /**
+     * Searches the media of the site using the full-text search index, matching each word of the search term as a
+     * word prefix. Results are ranked by relevance, best match first.
+     */
+    @NonNull
+    public List<MediaModel> searchSiteMediaFullText(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm) {
+        return MediaSqlUtils.searchSiteMediaFullText(siteModel, searchTerm, null);
+    }
+
+    /**
+     * Same as {@link #searchSiteMediaFullText(SiteModel, String)}, limited to the media whose mime type starts with
+     * the given prefix (e.g. "image").
+     */
+    @NonNull
+    public List<MediaModel> searchSiteMediaFullText(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm,
+            @NonNull String mimeTypePrefix) {
+        return MediaSqlUtils.searchSiteMediaFullText(siteModel, searchTerm, mimeTypePrefix);
+    }
+
     @Nullable
     public MediaModel getMediaForPostWithPath(
             @NonNull PostImmutableModel postModel,
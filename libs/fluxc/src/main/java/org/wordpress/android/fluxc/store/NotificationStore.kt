@@ -4,11 +4,10 @@ import android.annotation.SuppressLint
 import android.content.Context
 import com.yarolegovich.wellsql.SelectQuery.ORDER_DESCENDING
 import kotlinx.coroutines.flow.Flow
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.NotificationAction
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.notification.NoteIdSet
@@ -27,6 +26,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@HandlesActions(NotificationAction::class)
 class NotificationStore @Inject constructor(
     dispatcher: Dispatcher,
     private val context: Context,
@@ -164,7 +164,6 @@ class NotificationStore @Inject constructor(
         val changedNotificationLocalIds = mutableListOf<Int>()
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? NotificationAction ?: return
         when (actionType) {
@@ -9,12 +9,11 @@ import com.wellsql.generated.PostModelTable;
 import com.yarolegovich.wellsql.SelectQuery;
 import com.yarolegovich.wellsql.WellSql;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.BuildConfig;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.PostAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.generated.ListActionBuilder;
@@ -35,6 +34,7 @@ import org.wordpress.android.fluxc.model.list.ListOrder;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForXmlRpcSite;
+import org.wordpress.android.fluxc.model.post.PostPagingCursor;
 import org.wordpress.android.fluxc.model.post.PostStatus;
 import org.wordpress.android.fluxc.model.revisions.Diff;
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel;
@@ -62,13 +62,19 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@HandlesActions(PostAction.class)
 public class PostStore extends Store {
     public static final int NUM_POSTS_PER_FETCH = 20;
+    // changed posts found by a post list fetch are refreshed in batches of this size, with at most
+    // MAX_BATCH_FETCHES_PER_LIST_FETCH requests per list fetch
+    public static final int NUM_POSTS_PER_BATCH_FETCH = 20;
+    private static final int MAX_BATCH_FETCHES_PER_LIST_FETCH = 5;
 
     public static final List<PostStatus> DEFAULT_POST_STATUS_LIST = Collections.unmodifiableList(Arrays.asList(
             PostStatus.DRAFT,
@@ -147,6 +153,8 @@ public class PostStore extends Store {
         public boolean isPages;
         public boolean loadedMore;
         public boolean canLoadMore;
+        // where the next page starts, only set for sites paged by cursor
+        @Nullable public PostPagingCursor nextCursor;
 
         public FetchPostsResponsePayload(PostsModel posts, SiteModel site, boolean isPages, boolean loadedMore,
                                          boolean canLoadMore) {
@@ -163,6 +171,34 @@ public class PostStore extends Store {
         }
     }
 
+    public static class FetchPostsByIdsPayload extends Payload<BaseNetworkError> {
+        @NonNull public SiteModel site;
+        @NonNull public List<PostModel> posts;
+
+        public FetchPostsByIdsPayload(@NonNull SiteModel site, @NonNull List<PostModel> posts) {
+            this.site = site;
+            this.posts = posts;
+        }
+    }
+
+    public static class FetchPostsByIdsResponsePayload extends Payload<PostError> {
+        @NonNull public SiteModel site;
+        // on error, these are the posts which were requested
+        @NonNull public List<PostModel> posts;
+
+        public FetchPostsByIdsResponsePayload(@NonNull SiteModel site, @NonNull List<PostModel> posts) {
+            this.site = site;
+            this.posts = posts;
+        }
+
+        public FetchPostsByIdsResponsePayload(@NonNull SiteModel site, @NonNull List<PostModel> posts,
+                                              @NonNull PostError error) {
+            this.site = site;
+            this.posts = posts;
+            this.error = error;
+        }
+    }
+
     public static class RemotePostPayload extends Payload<PostError> {
         public PostModel post;
         public SiteModel site;
@@ -452,6 +488,8 @@ public class PostStore extends Store {
     private final PostRestClient mPostRestClient;
     private final PostXMLRPCClient mPostXMLRPCClient;
     private final PostSqlUtils mPostSqlUtils;
+    // where the next page of posts (or pages) of a site starts, keyed by getPagingCursorKey()
+    private final Map<String, PostPagingCursor> mPagingCursors = new ConcurrentHashMap<>();
     // Ensures that the UploadStore is initialized whenever the PostStore is,
     // to ensure actions are shadowed and repeated by the UploadStore
     @SuppressWarnings("unused")
@@ -534,18 +572,33 @@ public class PostStore extends Store {
         return mPostSqlUtils.getPostsForSite(site, true);
     }
 
+    /**
+     * Searches the posts of the given site, matching each word of the search term as a word prefix of their title,
+     * excerpt or content. Results are ranked by relevance, best match first.
+     */
+    public List<PostModel> searchPostsForSite(@NonNull SiteModel site, @NonNull String searchTerm) {
+        return mPostSqlUtils.searchPostsForSite(site, searchTerm, false);
+    }
+
+    /**
+     * Same as {@link #searchPostsForSite(SiteModel, String)}, for pages.
+     */
+    public List<PostModel> searchPagesForSite(@NonNull SiteModel site, @NonNull String searchTerm) {
+        return mPostSqlUtils.searchPostsForSite(site, searchTerm, true);
+    }
+
     /**
      * Returns the number of posts in the store for the given site.
      */
     public int getPostsCountForSite(SiteModel site) {
-        return getPostsForSite(site).size();
+        return mPostSqlUtils.getPostsCountForSite(site, false);
     }
 
     /**
      * Returns the number of pages in the store for the given site.
      */
     public int getPagesCountForSite(SiteModel site) {
-        return getPagesForSite(site).size();
+        return mPostSqlUtils.getPostsCountForSite(site, true);
     }
 
     /**
@@ -566,14 +619,14 @@ public class PostStore extends Store {
      * Returns the number of uploaded posts in the store for the given site.
      */
     public int getUploadedPostsCountForSite(SiteModel site) {
-        return getUploadedPostsForSite(site).size();
+        return mPostSqlUtils.getUploadedPostsCountForSite(site, false);
     }
 
     /**
      * Returns the number of uploaded pages in the store for the given site.
      */
     public int getUploadedPagesCountForSite(SiteModel site) {
-        return getUploadedPagesForSite(site).size();
+        return mPostSqlUtils.getUploadedPostsCountForSite(site, true);
     }
 
     /**
@@ -693,7 +746,6 @@ public class PostStore extends Store {
         return mPostSqlUtils.getNumLocalChanges();
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @Override
     public void onAction(Action action) {
         IAction actionType = action.getType();
@@ -723,6 +775,12 @@ public class PostStore extends Store {
             case FETCH_POST_STATUS:
                 fetchPostStatus((RemotePostPayload) action.getPayload());
                 break;
+            case FETCH_POSTS_BY_IDS:
+                fetchPostsByIds((FetchPostsByIdsPayload) action.getPayload());
+                break;
+            case FETCHED_POSTS_BY_IDS:
+                handleFetchPostsByIdsCompleted((FetchPostsByIdsResponsePayload) action.getPayload());
+                break;
             case FETCHED_POST:
                 handleFetchSinglePostCompleted((FetchPostResponsePayload) action.getPayload());
                 break;
@@ -846,6 +904,14 @@ public class PostStore extends Store {
         }
     }
 
+    private void fetchPostsByIds(FetchPostsByIdsPayload payload) {
+        if (payload.site.isUsingWpComRestApi()) {
+            mPostRestClient.fetchPostsByIds(payload.site, payload.posts);
+        } else {
+            mPostXMLRPCClient.fetchPostsByIds(payload.site, payload.posts);
+        }
+    }
+
     private void fetchPostStatus(RemotePostPayload payload) {
         if (payload.post.isLocalDraft()) {
             // If the post is a local draft, it won't have a remote post status
@@ -888,6 +954,7 @@ public class PostStore extends Store {
                 postIds.add(item.remotePostId);
             }
             Map<Long, PostModel> posts = getPostsByRemotePostIds(postIds, site);
+            List<PostModel> changedPosts = new ArrayList<>();
             for (PostListItem item : payload.postListItems) {
                 PostModel post = posts.get(item.remotePostId);
                 if (post == null) {
@@ -922,10 +989,10 @@ public class PostStore extends Store {
                 }
 
                 if (isPostChanged || isAutoSaveChanged) {
-                    // Dispatch a fetch action for the posts that are changed, but not for posts with local changes
-                    // as we'd otherwise overwrite and lose these local changes forever
+                    // Fetch the posts that are changed, but not the posts with local changes as we'd otherwise
+                    // overwrite and lose these local changes forever
                     if (!post.isLocallyChanged()) {
-                        mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, site)));
+                        changedPosts.add(post);
                     } else if (isPostChanged) {
                         // at this point we know there's a potential version conflict (the post has been modified
                         // both locally and on the remote), so flag the local version of the Post so the
@@ -943,6 +1010,7 @@ public class PostStore extends Store {
                     }
                 }
             }
+            fetchChangedPosts(site, changedPosts);
         }
 
         FetchedListItemsPayload fetchedListItemsPayload =
@@ -951,20 +1019,43 @@ public class PostStore extends Store {
         mDispatcher.dispatch(ListActionBuilder.newFetchedListItemsAction(fetchedListItemsPayload));
     }
 
+    /*
+     * Refreshes the passed posts with one request per batch rather than one request per post. Posts beyond the
+     * per-list-fetch limit are left alone, they'll still be out of date in the next list fetch and refreshed then.
+     */
+    private void fetchChangedPosts(@NonNull SiteModel site, @NonNull List<PostModel> changedPosts) {
+        int count = Math.min(changedPosts.size(), NUM_POSTS_PER_BATCH_FETCH * MAX_BATCH_FETCHES_PER_LIST_FETCH);
+        if (count < changedPosts.size()) {
+            AppLog.d(AppLog.T.POSTS, "Refreshing " + count + " of " + changedPosts.size() + " changed posts");
+        }
+        for (int start = 0; start < count; start += NUM_POSTS_PER_BATCH_FETCH) {
+            List<PostModel> batch =
+                    new ArrayList<>(changedPosts.subList(start, Math.min(start + NUM_POSTS_PER_BATCH_FETCH, count)));
+            mDispatcher.dispatch(PostActionBuilder.newFetchPostsByIdsAction(new FetchPostsByIdsPayload(site, batch)));
+        }
+    }
+
     private void fetchPosts(FetchPostsPayload payload, boolean pages) {
+        PostPagingCursor cursor = payload.loadMore ? mPagingCursors.get(getPagingCursorKey(payload.site, pages)) : null;
         int offset = 0;
-        if (payload.loadMore) {
-            offset = mPostSqlUtils.getUploadedPostsForSite(payload.site, pages).size();
+        if (payload.loadMore && cursor == null) {
+            // the cursor isn't persisted, so more posts are loaded by offset after the app was restarted
+            offset = mPostSqlUtils.getUploadedPostsCountForSite(payload.site, pages);
         }
 
         if (payload.site.isUsingWpComRestApi()) {
-            mPostRestClient.fetchPosts(payload.site, pages, payload.statusTypes, offset, NUM_POSTS_PER_FETCH);
+            mPostRestClient.fetchPosts(payload.site, pages, payload.statusTypes, cursor, offset, NUM_POSTS_PER_FETCH);
         } else {
             // TODO: check for WP-REST-API plugin and use it here
             mPostXMLRPCClient.fetchPosts(payload.site, pages, payload.statusTypes, offset);
         }
     }
 
+    @NonNull
+    private static String getPagingCursorKey(@NonNull SiteModel site, boolean pages) {
+        return site.getId() + (pages ? ":pages" : ":posts");
+    }
+
     private void fetchRevisions(FetchRevisionsPayload payload) {
         mPostRestClient.fetchRevisions(payload.post, payload.site);
     }
@@ -1043,9 +1134,13 @@ public class PostStore extends Store {
                 mPostSqlUtils.deleteUploadedPostsForSite(payload.site, payload.isPages);
             }
 
-            int rowsAffected = 0;
-            for (PostModel post : payload.posts.getPosts()) {
-                rowsAffected += mPostSqlUtils.insertOrUpdatePostKeepingLocalChanges(post);
+            int rowsAffected = mPostSqlUtils.insertOrUpdatePostsKeepingLocalChanges(payload.posts.getPosts());
+
+            String cursorKey = getPagingCursorKey(payload.site, payload.isPages);
+            if (payload.nextCursor != null) {
+                mPagingCursors.put(cursorKey, payload.nextCursor);
+            } else {
+                mPagingCursors.remove(cursorKey);
             }
 
             onPostChanged = new OnPostChanged(causeOfChange, rowsAffected, payload.canLoadMore);
@@ -1084,6 +1179,32 @@ public class PostStore extends Store {
         }
     }
 
+    private void handleFetchPostsByIdsCompleted(FetchPostsByIdsResponsePayload payload) {
+        OnPostChanged onPostChanged;
+        if (payload.isError()) {
+            onPostChanged = new OnPostChanged(new CauseOfOnPostChanged.UpdatePosts(getLocalPostIds(payload.posts)), 0);
+            onPostChanged.error = payload.error;
+            emitChange(onPostChanged);
+            return;
+        }
+
+        int rowsAffected = mPostSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(payload.posts);
+        onPostChanged =
+                new OnPostChanged(new CauseOfOnPostChanged.UpdatePosts(getLocalPostIds(payload.posts)), rowsAffected);
+        emitChange(onPostChanged);
+
+        mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(
+                PostListDescriptor.calculateTypeIdentifier(payload.site.getId())));
+    }
+
+    private static List<Integer> getLocalPostIds(@NonNull List<PostModel> posts) {
+        List<Integer> localPostIds = new ArrayList<>(posts.size());
+        for (PostModel post : posts) {
+            localPostIds.add(post.getId());
+        }
+        return localPostIds;
+    }
+
     private void handleFetchPostStatusCompleted(FetchPostStatusResponsePayload payload) {
         emitChange(new OnPostStatusFetched(payload.post, payload.remotePostStatus, payload.error));
     }
@@ -1,8 +1,7 @@
 package org.wordpress.android.fluxc.store
 
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.QuickStartTaskModel
 import org.wordpress.android.fluxc.persistence.QuickStartSqlUtils
@@ -15,6 +14,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@HandlesActions(value = [])
 class QuickStartStore @Inject constructor(
     private val quickStartSqlUtils: QuickStartSqlUtils,
     dispatcher: Dispatcher
@@ -113,7 +113,6 @@ class QuickStartStore @Inject constructor(
         }
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) = Unit // Do nothing (ignore)
 
     override fun onRegister() {
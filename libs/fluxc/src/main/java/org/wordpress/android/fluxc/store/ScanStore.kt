@@ -1,7 +1,5 @@
 package org.wordpress.android.fluxc.store
 
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.ScanAction
@@ -11,6 +9,7 @@ import org.wordpress.android.fluxc.action.ScanAction.FETCH_SCAN_STATE
 import org.wordpress.android.fluxc.action.ScanAction.FIX_THREATS
 import org.wordpress.android.fluxc.action.ScanAction.IGNORE_THREAT
 import org.wordpress.android.fluxc.action.ScanAction.START_SCAN
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.scan.ScanStateModel
@@ -35,6 +34,7 @@ private val SCAN_THREAT_STATUSES = listOf(CURRENT)
 private val SCAN_HISTORY_THREAT_STATUSES = listOf(IGNORED, FIXED)
 
 @Singleton
+@HandlesActions(ScanAction::class)
 class ScanStore @Inject constructor(
     private val scanRestClient: ScanRestClient,
     private val scanSqlUtils: ScanSqlUtils,
@@ -44,7 +44,6 @@ class ScanStore @Inject constructor(
     private val buildConfigWrapper: BuildConfigWrapper,
     dispatcher: Dispatcher
 ) : Store(dispatcher) {
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? ScanAction ?: return
         when (actionType) {
@@ -4,8 +4,6 @@ import android.text.TextUtils
 import androidx.annotation.VisibleForTesting
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode.ASYNC
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.SiteAction
@@ -67,6 +65,7 @@ import org.wordpress.android.fluxc.action.SiteAction.UPDATE_SITE
 import org.wordpress.android.fluxc.action.SiteAction.UPDATE_SITES
 import org.wordpress.android.fluxc.action.SiteAction.UPDATE_APPLICATION_PASSWORD
 import org.wordpress.android.fluxc.action.SiteAction.REMOVE_APPLICATION_PASSWORD
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.DomainModel
 import org.wordpress.android.fluxc.model.JetpackCapability
@@ -141,6 +140,7 @@ import javax.inject.Singleton
  */
 @Suppress("LargeClass", "ForbiddenComment")
 @Singleton
+@HandlesActions(SiteAction::class)
 open class SiteStore @Inject constructor(
     dispatcher: Dispatcher?,
     private val postSqlUtils: PostSqlUtils,
@@ -1049,17 +1049,14 @@ open class SiteStore @Inject constructor(
      */
     @Suppress("ForbiddenComment")
     open fun getSiteByLocalId(id: Int): SiteModel? {
-        val result = siteSqlUtils.getSitesWithLocalId(id)
-        return if (result.isNotEmpty()) {
-            result[0]
-        } else null
+        return siteSqlUtils.getSiteByLocalIdCached(id)
     }
 
     /**
      * Checks whether the store contains a site matching the given (local) id.
      */
     fun hasSiteWithLocalId(id: Int): Boolean {
-        return siteSqlUtils.getSitesWithLocalId(id).isNotEmpty()
+        return siteSqlUtils.getSiteByLocalIdCached(id) != null
     }
 
     /**
@@ -1194,12 +1191,7 @@ open class SiteStore @Inject constructor(
         if (siteId == 0L) {
             return null
         }
-        val sites = siteSqlUtils.getSitesWithRemoteId(siteId)
-        return if (sites.isEmpty()) {
-            null
-        } else {
-            sites[0]
-        }
+        return siteSqlUtils.getSiteByRemoteIdCached(siteId)
     }
 
     /**
@@ -1240,7 +1232,6 @@ open class SiteStore @Inject constructor(
         return jetpackCPConnectedSitesDao.getCount() > 0
     }
 
-    @Subscribe(threadMode = ASYNC)
     @Suppress("LongMethod", "ComplexMethod")
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? SiteAction ?: return
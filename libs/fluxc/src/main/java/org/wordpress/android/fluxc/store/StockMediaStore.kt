@@ -1,11 +1,10 @@
 package org.wordpress.android.fluxc.store
 
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode.ASYNC
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.StockMediaAction
 import org.wordpress.android.fluxc.action.StockMediaAction.FETCH_STOCK_MEDIA
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.StockMediaModel
@@ -20,6 +19,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@HandlesActions(StockMediaAction::class)
 class StockMediaStore
 @Inject constructor(
     dispatcher: Dispatcher?,
@@ -69,7 +69,6 @@ class StockMediaStore
 
     data class StockMediaError(val type: StockMediaErrorType, val message: String) : OnChangedError
 
-    @Subscribe(threadMode = ASYNC)
     override fun onAction(action: Action<*>) {
         val actionType = action.type as? StockMediaAction ?: return
         when (actionType) {
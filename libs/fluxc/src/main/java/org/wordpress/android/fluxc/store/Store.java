@@ -23,7 +23,10 @@ public abstract class Store {
     }
 
     /**
-     * onAction should {@link org.greenrobot.eventbus.Subscribe} with ASYNC {@link org.greenrobot.eventbus.ThreadMode}.
+     * Stores should be annotated with {@link org.wordpress.android.fluxc.annotations.HandlesActions}, so that the
+     * {@link Dispatcher} only calls onAction with the actions they handle, on its store threads. Otherwise, onAction
+     * should {@link org.greenrobot.eventbus.Subscribe} with ASYNC {@link org.greenrobot.eventbus.ThreadMode}, and
+     * receives every action.
      */
     public abstract void onAction(Action action);
     public abstract void onRegister();
@@ -3,11 +3,10 @@ package org.wordpress.android.fluxc.store;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.TaxonomyAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.PostImmutableModel;
@@ -29,6 +28,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@HandlesActions(TaxonomyAction.class)
 public class TaxonomyStore extends Store {
     public static final String DEFAULT_TAXONOMY_CATEGORY = "category";
     public static final String DEFAULT_TAXONOMY_TAG = "post_tag";
@@ -295,7 +295,6 @@ public class TaxonomyStore extends Store {
     }
 
     @Override
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @SuppressWarnings("rawtypes")
     public void onAction(Action action) {
         IAction actionType = action.getType();
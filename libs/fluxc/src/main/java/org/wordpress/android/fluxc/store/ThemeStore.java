@@ -5,11 +5,10 @@ import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.ThemeAction;
+import org.wordpress.android.fluxc.annotations.HandlesActions;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.SiteModel;
@@ -28,6 +27,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@HandlesActions(ThemeAction.class)
 public class ThemeStore extends Store {
     public static final String MOBILE_FRIENDLY_CATEGORY_BLOG = "starting-blog";
     public static final String MOBILE_FRIENDLY_CATEGORY_WEBSITE = "starting-website";
@@ -268,7 +268,6 @@ public class ThemeStore extends Store {
         mThemeRestClient = themeRestClient;
     }
 
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     @Override
     @SuppressWarnings("rawtypes")
     public void onAction(Action action) {
@@ -1,8 +1,6 @@
 package org.wordpress.android.fluxc.store
 
 import android.text.TextUtils
-import org.greenrobot.eventbus.Subscribe
-import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.TransactionAction
@@ -10,6 +8,7 @@ import org.wordpress.android.fluxc.action.TransactionAction.CREATE_SHOPPING_CART
 import org.wordpress.android.fluxc.action.TransactionAction.CREATE_SHOPPING_CART_WITH_DOMAIN_AND_PLAN
 import org.wordpress.android.fluxc.action.TransactionAction.FETCH_SUPPORTED_COUNTRIES
 import org.wordpress.android.fluxc.action.TransactionAction.REDEEM_CART_WITH_CREDITS
+import org.wordpress.android.fluxc.annotations.HandlesActions
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.DomainContactModel
 import org.wordpress.android.fluxc.model.SiteModel
@@ -24,12 +23,12 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@HandlesActions(TransactionAction::class)
 class TransactionsStore @Inject constructor(
     private val transactionsRestClient: TransactionsRestClient,
     private val coroutineEngine: CoroutineEngine,
     dispatcher: Dispatcher
 ) : Store(dispatcher) {
-    @Subscribe(threadMode = ThreadMode.ASYNC)
     override fun onAction(action: Action<*>) {
         when (action.type as? TransactionAction ?: return) {
             FETCH_SUPPORTED_COUNTRIES -> {
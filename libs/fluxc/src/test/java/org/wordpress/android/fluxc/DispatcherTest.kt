@@ -0,0 +1,82 @@
+package org.wordpress.android.fluxc
+
+import org.assertj.core.api.Assertions.assertThat
+import org.greenrobot.eventbus.Subscribe
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.after
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.verify
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.generated.PostActionBuilder
+import org.wordpress.android.fluxc.generated.TaxonomyActionBuilder
+import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.rest.wpcom.taxonomy.TaxonomyRestClient
+import org.wordpress.android.fluxc.store.TaxonomyStore
+import org.wordpress.android.fluxc.store.TaxonomyStore.DEFAULT_TAXONOMY_CATEGORY
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class DispatcherTest {
+    private val dispatcher = Dispatcher()
+    private val restClient: TaxonomyRestClient = mock()
+    private lateinit var store: TaxonomyStore
+
+    private val site = SiteModel().apply {
+        id = 1
+        setIsWPCom(true)
+    }
+
+    @Before
+    fun setUp() {
+        store = TaxonomyStore(dispatcher, restClient, mock(), mock(), mock())
+    }
+
+    @Test
+    fun `routed store receives the actions it handles on a store thread`() {
+        dispatcher.dispatch(TaxonomyActionBuilder.newFetchCategoriesAction(site))
+
+        verify(restClient, timeout(TIMEOUT_MS)).fetchTerms(site, DEFAULT_TAXONOMY_CATEGORY)
+    }
+
+    @Test
+    fun `routed store doesn't receive actions once unregistered`() {
+        dispatcher.unregister(store)
+
+        dispatcher.dispatch(TaxonomyActionBuilder.newFetchCategoriesAction(site))
+
+        verify(restClient, after(TIMEOUT_MS).never()).fetchTerms(any(), any())
+    }
+
+    @Test
+    fun `objects subscribing to actions on the bus still receive every action`() {
+        val subscriber = ActionSubscriber(expectedActions = 2)
+        dispatcher.register(subscriber)
+
+        dispatcher.dispatch(TaxonomyActionBuilder.newFetchCategoriesAction(site))
+        dispatcher.dispatch(PostActionBuilder.newUpdatePostAction(PostModel()))
+
+        assertThat(subscriber.latch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue()
+        verify(restClient, timeout(TIMEOUT_MS)).fetchTerms(site, DEFAULT_TAXONOMY_CATEGORY)
+    }
+
+    class ActionSubscriber(expectedActions: Int) {
+        val latch = CountDownLatch(expectedActions)
+
+        @Subscribe
+        fun onAction(@Suppress("UNUSED_PARAMETER") action: Action<*>) {
+            latch.countDown()
+        }
+    }
+
+    private companion object {
+        const val TIMEOUT_MS = 1000L
+    }
+}
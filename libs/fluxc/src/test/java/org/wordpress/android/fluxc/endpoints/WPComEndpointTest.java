@@ -29,6 +29,7 @@ public class WPComEndpointTest {
         assertEquals("/sites/56/media/78/", WPCOMREST.sites.site(56).media.item(78).getEndpoint());
         assertEquals("/sites/56/media/78/delete/", WPCOMREST.sites.site(56).media.item(78).delete.getEndpoint());
         assertEquals("/sites/56/media/new/", WPCOMREST.sites.site(56).media.new_.getEndpoint());
+        assertEquals("/video-uploads/56/", WPCOMREST.video_uploads.site(56).getEndpoint());
 
         // Plugins
         assertEquals("/sites/56/plugins/", WPCOMREST.sites.site(56).plugins.getEndpoint());
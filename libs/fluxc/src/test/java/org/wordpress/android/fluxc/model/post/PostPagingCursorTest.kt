@@ -0,0 +1,64 @@
+package org.wordpress.android.fluxc.model.post
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.util.DateTimeUtils
+
+class PostPagingCursorTest {
+    @Test
+    fun `the cursor skips the posts fetched at the oldest last modified date`() {
+        val page = listOf(post(1, NEWER), post(2, OLDER), post(3, OLDER))
+
+        val cursor = PostPagingCursor.after(null, page)
+
+        assertThat(cursor?.lastModified).isEqualTo(OLDER)
+        assertThat(cursor?.remotePostIds).containsExactlyInAnyOrder(2L, 3L)
+    }
+
+    @Test
+    fun `a page modified at the cursor's date keeps skipping the posts of earlier pages`() {
+        val previous = PostPagingCursor.after(null, listOf(post(1, NEWER), post(2, OLDER)))
+
+        val cursor = PostPagingCursor.after(previous, listOf(post(3, OLDER), post(4, OLDER)))
+
+        assertThat(cursor?.remotePostIds).containsExactlyInAnyOrder(2L, 3L, 4L)
+    }
+
+    @Test
+    fun `a page with older posts starts a new set of skipped posts`() {
+        val previous = PostPagingCursor.after(null, listOf(post(1, NEWER)))
+
+        val cursor = PostPagingCursor.after(previous, listOf(post(2, OLDER)))
+
+        assertThat(cursor?.lastModified).isEqualTo(OLDER)
+        assertThat(cursor?.remotePostIds).containsExactly(2L)
+    }
+
+    @Test
+    fun `an empty page keeps the previous cursor`() {
+        val previous = PostPagingCursor.after(null, listOf(post(1, NEWER)))
+
+        assertThat(PostPagingCursor.after(previous, emptyList())).isSameAs(previous)
+        assertThat(PostPagingCursor.after(null, emptyList())).isNull()
+    }
+
+    @Test
+    fun `the next page includes the posts modified during the cursor's second`() {
+        val cursor = PostPagingCursor.after(null, listOf(post(1, OLDER)))
+
+        val modifiedBefore = DateTimeUtils.dateUTCFromIso8601(cursor?.modifiedBefore)
+
+        assertThat(modifiedBefore.time - DateTimeUtils.dateUTCFromIso8601(OLDER).time).isEqualTo(1000L)
+    }
+
+    private fun post(remotePostId: Long, lastModified: String) = PostModel().apply {
+        setRemotePostId(remotePostId)
+        setLastModified(lastModified)
+    }
+
+    private companion object {
+        const val NEWER = "2024-01-02T10:00:00+00:00"
+        const val OLDER = "2024-01-01T10:00:00+00:00"
+    }
+}
@@ -0,0 +1,138 @@
+package org.wordpress.android.fluxc.network
+
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+
+class NetworkTimingEventListenerFactoryTest {
+    private val request = Request.Builder().url("https://example.com/wp-json/wp/v2/posts").build()
+    private val call = mock<Call> { on { request() } doReturn request }
+    private val timings = mutableListOf<NetworkRequestTiming>()
+    private var isEnabled = true
+    private val preference = object : TrackNetworkRequestsPreference {
+        override fun isEnabled() = isEnabled
+        override fun getRetentionPeriod() = NetworkRequestsRetentionPeriod.ONE_HOUR
+    }
+    private val factory = NetworkTimingEventListenerFactory(preference) { timings.add(it) }
+
+    @Test
+    fun `calls aren't timed when tracking is disabled`() {
+        isEnabled = false
+
+        assertThat(factory.create(call)).isSameAs(EventListener.NONE)
+    }
+
+    @Test
+    fun `reports every phase of a call on a new connection`() {
+        val listener = factory.create(call)
+
+        listener.callStart(call)
+        listener.dnsStart(call, HOST)
+        listener.dnsEnd(call, HOST, listOf(InetAddress.getLoopbackAddress()))
+        listener.connectStart(call, ADDRESS, Proxy.NO_PROXY)
+        listener.secureConnectStart(call)
+        listener.secureConnectEnd(call, null)
+        listener.connectEnd(call, ADDRESS, Proxy.NO_PROXY, Protocol.HTTP_2)
+        listener.responseHeadersStart(call)
+        listener.responseBodyStart(call)
+        listener.responseBodyEnd(call, 100)
+        listener.callEnd(call)
+
+        val timing = timings.single()
+        assertThat(timing.method).isEqualTo("GET")
+        assertThat(timing.host).isEqualTo(HOST)
+        assertThat(timing.path).isEqualTo("/wp-json/wp/v2/posts")
+        assertThat(listOf(timing.dnsMs, timing.connectMs, timing.tlsMs, timing.timeToFirstByteMs, timing.bodyMs))
+            .allSatisfy { assertThat(it).isNotNull().isGreaterThanOrEqualTo(0L) }
+        assertThat(timing.failed).isFalse
+    }
+
+    @Test
+    fun `phases of a reused connection are reported as missing`() {
+        val listener = factory.create(call)
+
+        listener.callStart(call)
+        listener.responseHeadersStart(call)
+        listener.callEnd(call)
+
+        val timing = timings.single()
+        assertThat(timing.dnsMs).isNull()
+        assertThat(timing.connectMs).isNull()
+        assertThat(timing.tlsMs).isNull()
+        assertThat(timing.timeToFirstByteMs).isNotNull
+        assertThat(timing.formatConnectionPhases()).startsWith("dns=- connect=- tls=- ttfb=")
+    }
+
+    @Test
+    fun `failed calls are reported as failed`() {
+        val listener = factory.create(call)
+
+        listener.callStart(call)
+        listener.callFailed(call, IOException())
+
+        assertThat(timings.single().failed).isTrue
+    }
+
+    @Test
+    fun `the timing of a call is available until it ends`() {
+        val listener = factory.create(call)
+        assertThat(factory.getTiming(call)).isNull()
+
+        listener.callStart(call)
+        listener.dnsStart(call, HOST)
+        listener.dnsEnd(call, HOST, listOf(InetAddress.getLoopbackAddress()))
+
+        assertThat(factory.getTiming(call)?.dnsMs).isNotNull
+        assertThat(timings).isEmpty()
+
+        listener.callEnd(call)
+
+        assertThat(factory.getTiming(call)).isNull()
+    }
+
+    @Test
+    fun `interceptors of a call can read its timing`() {
+        var timingInInterceptor: NetworkRequestTiming? = null
+        val client = OkHttpClient.Builder()
+            .eventListenerFactory(factory)
+            .addInterceptor { chain ->
+                chain.proceed(chain.request()).also { timingInInterceptor = factory.getTiming(chain.call()) }
+            }
+            .addInterceptor(RespondingInterceptor())
+            .build()
+
+        client.newCall(request).execute().close()
+
+        assertThat(timingInInterceptor?.path).isEqualTo("/wp-json/wp/v2/posts")
+        assertThat(timings).hasSize(1)
+    }
+
+    // answers every request without going to the network
+    private class RespondingInterceptor : Interceptor {
+        override fun intercept(chain: Interceptor.Chain): Response = Response.Builder()
+            .request(chain.request())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body("{}".toResponseBody())
+            .build()
+    }
+
+    private companion object {
+        const val HOST = "example.com"
+        val ADDRESS = InetSocketAddress(InetAddress.getLoopbackAddress(), 443)
+    }
+}
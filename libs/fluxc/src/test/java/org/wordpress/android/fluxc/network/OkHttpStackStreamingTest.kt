@@ -0,0 +1,164 @@
+package org.wordpress.android.fluxc.network
+
+import com.android.volley.ParseError
+import com.android.volley.Response.Listener
+import com.google.gson.JsonObject
+import okhttp3.Interceptor
+import okhttp3.MediaType
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Response
+import okhttp3.ResponseBody
+import okio.Buffer
+import okio.BufferedSource
+import okio.ForwardingSource
+import okio.Source
+import okio.buffer
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest
+import java.io.IOException
+
+@RunWith(RobolectricTestRunner::class)
+class OkHttpStackStreamingTest {
+    @Test
+    fun `a large chunked response is parsed straight from the stream`() {
+        val body = TrackingResponseBody(largeJson(ITEM_COUNT), chunkSize = CHUNK_SIZE)
+        val request = streamingRequest()
+
+        val httpResponse = stackResponding(200, body).executeRequest(request, emptyMap())
+
+        assertThat(httpResponse.content).isNull()
+        val response = request.consumeStreamedResponse()
+        assertThat(response?.isSuccess).isTrue
+        assertThat(response?.result?.getAsJsonArray("items")).hasSize(ITEM_COUNT)
+        assertThat(body.isClosed).isTrue
+        assertThat(request.consumeStreamedResponse()).isNull()
+    }
+
+    @Test
+    fun `an invalid response is a parse error`() {
+        val body = TrackingResponseBody(Buffer().writeUtf8("{\"items\": [1, 2"))
+        val request = streamingRequest()
+
+        stackResponding(200, body).executeRequest(request, emptyMap())
+
+        val response = request.consumeStreamedResponse()
+        assertThat(response?.isSuccess).isFalse
+        assertThat(response?.error).isInstanceOf(ParseError::class.java)
+        assertThat(body.isClosed).isTrue
+    }
+
+    @Test
+    fun `an error reading the stream is thrown as a network error and closes the body`() {
+        val body = TrackingResponseBody(largeJson(ITEM_COUNT), chunkSize = CHUNK_SIZE, failAfterBytes = CHUNK_SIZE * 4L)
+        val request = streamingRequest()
+
+        assertThatThrownBy { stackResponding(200, body).executeRequest(request, emptyMap()) }
+            .isInstanceOf(IOException::class.java)
+        assertThat(body.isClosed).isTrue
+        assertThat(request.consumeStreamedResponse()).isNull()
+    }
+
+    @Test
+    fun `error responses are left to volley`() {
+        val body = TrackingResponseBody(Buffer().writeUtf8("{\"error\": \"unknown_post\"}"))
+        val request = streamingRequest()
+
+        val httpResponse = stackResponding(404, body).executeRequest(request, emptyMap())
+
+        assertThat(httpResponse.content).isNotNull
+        assertThat(request.consumeStreamedResponse()).isNull()
+        assertThat(body.isClosed).isFalse
+        httpResponse.content.close()
+    }
+
+    @Test
+    fun `requests that didn't opt in are left to volley`() {
+        val body = TrackingResponseBody(Buffer().writeUtf8("{}"))
+        val request = WPComGsonRequest.buildGetRequest(URL, null, JsonObject::class.java,
+                mock<Listener<JsonObject>>(), mock())
+
+        val httpResponse = stackResponding(200, body).executeRequest(request, emptyMap())
+
+        assertThat(httpResponse.content).isNotNull
+        assertThat(request.consumeStreamedResponse()).isNull()
+        httpResponse.content.close()
+    }
+
+    private fun streamingRequest() = WPComGsonRequest.buildGetRequest(URL, null, JsonObject::class.java,
+            mock<Listener<JsonObject>>(), mock()).apply { enableResponseStreaming() }
+
+    private fun stackResponding(code: Int, body: ResponseBody): OkHttpStack {
+        val client = OkHttpClient.Builder()
+            .addInterceptor(Interceptor { chain ->
+                Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message("")
+                    .body(body)
+                    .build()
+            })
+            .build()
+        return OkHttpStack(client)
+    }
+
+    private fun largeJson(itemCount: Int) = Buffer().apply {
+        writeUtf8("{\"items\": [")
+        for (i in 0 until itemCount) {
+            if (i > 0) writeUtf8(",")
+            writeUtf8("{\"id\": $i, \"title\": \"Item $i\"}")
+        }
+        writeUtf8("]}")
+    }
+
+    /*
+     * a body of unknown length, like a chunked response, which hands out at most chunkSize bytes per read and
+     * optionally fails once failAfterBytes were read
+     */
+    private class TrackingResponseBody(
+        private val content: Buffer,
+        private val chunkSize: Int = Int.MAX_VALUE,
+        private val failAfterBytes: Long = Long.MAX_VALUE
+    ) : ResponseBody() {
+        var isClosed = false
+            private set
+        private var bytesRead = 0L
+
+        private val source: BufferedSource by lazy {
+            object : ForwardingSource(content as Source) {
+                override fun read(sink: Buffer, byteCount: Long): Long {
+                    if (bytesRead >= failAfterBytes) {
+                        throw IOException("connection reset")
+                    }
+                    return super.read(sink, minOf(byteCount, chunkSize.toLong())).also {
+                        if (it > 0) bytesRead += it
+                    }
+                }
+            }.buffer()
+        }
+
+        override fun contentType(): MediaType = "application/json; charset=utf-8".toMediaType()
+
+        override fun contentLength() = -1L
+
+        override fun source() = source
+
+        override fun close() {
+            isClosed = true
+            super.close()
+        }
+    }
+
+    private companion object {
+        const val URL = "https://public-api.wordpress.com/rest/v1.1/sites/123/posts/"
+        const val ITEM_COUNT = 20_000
+        const val CHUNK_SIZE = 8192
+    }
+}
@@ -0,0 +1,58 @@
+package org.wordpress.android.fluxc.network
+
+import okhttp3.OkHttpClient
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class OkHttpStackTest {
+    private val baseClient = OkHttpClient()
+    private val stack = OkHttpStack(baseClient)
+
+    @Test
+    fun `client is derived once per timeout and reused`() {
+        val first = stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT)
+        val second = stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT)
+
+        assertSame(first, second)
+        assertEquals(TIMEOUT, first.connectTimeoutMillis)
+        assertEquals(TIMEOUT, first.readTimeoutMillis)
+        assertEquals(TIMEOUT, first.writeTimeoutMillis)
+        assertEquals(1L, stack.derivedClientCount)
+        assertEquals(1L, stack.timeoutClientHitCount)
+    }
+
+    @Test
+    fun `each timeout triple gets its own client`() {
+        val first = stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT)
+        val second = stack.getClientForTimeouts(TIMEOUT, TIMEOUT * 2, TIMEOUT)
+
+        assertNotSame(first, second)
+        assertEquals(2L, stack.derivedClientCount)
+    }
+
+    @Test
+    fun `derived clients share the connection pool and dispatcher`() {
+        val client = stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT)
+
+        assertSame(baseClient.connectionPool, client.connectionPool)
+        assertSame(baseClient.dispatcher, client.dispatcher)
+    }
+
+    @Test
+    fun `least recently used client is evicted when too many timeouts are used`() {
+        val first = stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT)
+        for (i in 1..MAX_CLIENTS) {
+            stack.getClientForTimeouts(TIMEOUT + i, TIMEOUT, TIMEOUT)
+        }
+
+        assertNotSame(first, stack.getClientForTimeouts(TIMEOUT, TIMEOUT, TIMEOUT))
+        assertEquals(MAX_CLIENTS + 2L, stack.derivedClientCount)
+    }
+
+    companion object {
+        private const val TIMEOUT = 30_000
+        private const val MAX_CLIENTS = 8
+    }
+}
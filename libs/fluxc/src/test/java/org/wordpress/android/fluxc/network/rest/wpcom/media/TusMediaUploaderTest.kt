@@ -0,0 +1,235 @@
+package org.wordpress.android.fluxc.network.rest.wpcom.media
+
+import okhttp3.Headers
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okio.Buffer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+@RunWith(RobolectricTestRunner::class)
+class TusMediaUploaderTest {
+    private val server = FakeTusServer()
+    private val okHttpClient = OkHttpClient.Builder().addInterceptor(server).build()
+    private val fileContent = Random(1).nextBytes(TusMediaUploader.CHUNK_SIZE * 2 + CHUNK_REMAINDER)
+    private lateinit var file: File
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("video", ".mp4").apply { writeBytes(fileContent) }
+    }
+
+    @After
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun `uploads the file in chunks`() {
+        val listener = RecordingListener()
+
+        newUploader(null, listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.UPLOADED)
+        assertThat(server.content(UPLOAD_URL)).isEqualTo(fileContent)
+        assertThat(server.patchOffsets).containsExactly(0L, CHUNK_SIZE, CHUNK_SIZE * 2)
+        assertThat(listener.states).containsExactly(
+            UPLOAD_URL to 0L,
+            UPLOAD_URL to CHUNK_SIZE,
+            UPLOAD_URL to CHUNK_SIZE * 2,
+            null to 0L
+        )
+    }
+
+    @Test
+    fun `resumes an upload from the offset the server has`() {
+        server.createUpload(UPLOAD_URL, fileContent.size.toLong(), fileContent.copyOf(CHUNK_SIZE.toInt()))
+        val listener = RecordingListener()
+
+        newUploader(UPLOAD_URL, listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.UPLOADED)
+        assertThat(server.content(UPLOAD_URL)).isEqualTo(fileContent)
+        assertThat(server.creations).isZero()
+        assertThat(server.heads).isEqualTo(1)
+        assertThat(server.patchOffsets).containsExactly(CHUNK_SIZE, CHUNK_SIZE * 2)
+    }
+
+    @Test
+    fun `retries only the chunk that failed`() {
+        server.failPatchAt = CHUNK_SIZE
+        val listener = RecordingListener()
+
+        newUploader(null, listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.UPLOADED)
+        assertThat(server.content(UPLOAD_URL)).isEqualTo(fileContent)
+        assertThat(server.heads).isEqualTo(1)
+        assertThat(server.patchOffsets).containsExactly(0L, CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE * 2)
+    }
+
+    @Test
+    fun `keeps the upload state when a chunk keeps failing`() {
+        server.failPatchAt = CHUNK_SIZE
+        server.failPatchTimes = TusMediaUploader.MAX_ATTEMPTS_PER_CHUNK
+        val listener = RecordingListener()
+
+        newUploader(null, listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.FAILED)
+        assertThat(listener.states.last()).isEqualTo(UPLOAD_URL to CHUNK_SIZE)
+    }
+
+    @Test
+    fun `starts over when the server no longer has the upload`() {
+        val listener = RecordingListener()
+
+        newUploader("$SERVER_URL/uploads/expired", listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.UPLOADED)
+        assertThat(server.creations).isEqualTo(1)
+        assertThat(server.content(UPLOAD_URL)).isEqualTo(fileContent)
+        assertThat(listener.states.first()).isEqualTo(null to 0L)
+    }
+
+    @Test
+    fun `reports when the server refuses to create the upload`() {
+        server.rejectCreation = true
+        val listener = RecordingListener()
+
+        newUploader(null, listener).start()
+
+        assertThat(listener.await()).isEqualTo(Result.CREATION_REJECTED)
+        assertThat(server.patchOffsets).isEmpty()
+    }
+
+    private fun newUploader(uploadUrl: String?, listener: TusMediaUploader.Listener) = TusMediaUploader(
+        okHttpClient,
+        CREATION_URL.toHttpUrl(),
+        Headers.headersOf("Authorization", "Bearer token"),
+        file,
+        "video.mp4",
+        "video/mp4",
+        uploadUrl,
+        listener
+    )
+
+    private enum class Result { UPLOADED, CREATION_REJECTED, FAILED }
+
+    private class RecordingListener : TusMediaUploader.Listener {
+        private val latch = CountDownLatch(1)
+        private var result: Result? = null
+        val states = mutableListOf<Pair<String?, Long>>()
+
+        fun await(): Result? {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            return result
+        }
+
+        override fun onUploadStateChanged(uploadUrl: String?, offset: Long) {
+            states.add(uploadUrl to offset)
+        }
+
+        override fun onProgress(progress: Float) = Unit
+
+        override fun onUploaded(response: Response) = finish(Result.UPLOADED)
+
+        override fun onCreationRejected(response: Response) = finish(Result.CREATION_REJECTED)
+
+        override fun onFailed(response: Response) = finish(Result.FAILED)
+
+        override fun onFailed(exception: IOException) = finish(Result.FAILED)
+
+        private fun finish(result: Result) {
+            this.result = result
+            latch.countDown()
+        }
+    }
+
+    /**
+     * A minimal in-memory tus server, answering requests instead of sending them over the network.
+     */
+    private class FakeTusServer : Interceptor {
+        private val uploads = mutableMapOf<String, Pair<Long, Buffer>>()
+        val patchOffsets = mutableListOf<Long>()
+        var creations = 0
+        var heads = 0
+        var rejectCreation = false
+        var failPatchAt = -1L
+        var failPatchTimes = 1
+
+        fun createUpload(url: String, length: Long, content: ByteArray) {
+            uploads[url] = length to Buffer().write(content)
+        }
+
+        fun content(url: String): ByteArray? = uploads[url]?.second?.clone()?.readByteArray()
+
+        override fun intercept(chain: Interceptor.Chain): Response {
+            val request = chain.request()
+            val url = request.url.toString()
+            val response = Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .message("")
+                .body(ByteArray(0).toResponseBody())
+            return when (request.method) {
+                "POST" -> {
+                    if (rejectCreation) {
+                        return response.code(404).build()
+                    }
+                    creations++
+                    createUpload(UPLOAD_URL, request.header(TusMediaUploader.HEADER_UPLOAD_LENGTH)!!.toLong(),
+                        ByteArray(0))
+                    response.code(201).header(TusMediaUploader.HEADER_LOCATION, "/uploads/1").build()
+                }
+                "HEAD" -> {
+                    heads++
+                    val upload = uploads[url] ?: return response.code(404).build()
+                    response.code(200)
+                        .header(TusMediaUploader.HEADER_UPLOAD_OFFSET, upload.second.size.toString())
+                        .header(TusMediaUploader.HEADER_UPLOAD_LENGTH, upload.first.toString())
+                        .build()
+                }
+                "PATCH" -> {
+                    val offset = request.header(TusMediaUploader.HEADER_UPLOAD_OFFSET)!!.toLong()
+                    patchOffsets.add(offset)
+                    if (offset == failPatchAt && failPatchTimes > 0) {
+                        failPatchTimes--
+                        throw IOException("connection lost")
+                    }
+                    val upload = uploads[url] ?: return response.code(404).build()
+                    if (offset != upload.second.size) {
+                        return response.code(409).build()
+                    }
+                    request.body!!.writeTo(upload.second)
+                    response.code(204)
+                        .header(TusMediaUploader.HEADER_UPLOAD_OFFSET, upload.second.size.toString())
+                        .build()
+                }
+                else -> response.code(405).build()
+            }
+        }
+    }
+
+    private companion object {
+        const val SERVER_URL = "https://tus.example.com"
+        const val CREATION_URL = "$SERVER_URL/video-uploads/1/"
+        const val UPLOAD_URL = "$SERVER_URL/uploads/1"
+        const val CHUNK_SIZE = TusMediaUploader.CHUNK_SIZE.toLong()
+        const val CHUNK_REMAINDER = 1024
+        const val TIMEOUT_SECONDS = 10L
+    }
+}
@@ -164,7 +164,8 @@ class VisitAndViewsRestClientTest {
                         eq(cachingEnabled),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull()
+                        customGsonBuilder = anyOrNull(),
+                        streamResponse = eq(true)
                 )
         ).thenReturn(response)
         whenever(site.siteId).thenReturn(siteId)
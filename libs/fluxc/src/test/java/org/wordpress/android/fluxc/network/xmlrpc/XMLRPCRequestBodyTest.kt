@@ -0,0 +1,74 @@
+package org.wordpress.android.fluxc.network.xmlrpc
+
+import android.util.Xml
+import okio.Buffer
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC
+import java.util.Date
+
+@RunWith(RobolectricTestRunner::class)
+class XMLRPCRequestBodyTest {
+    private val params = arrayOf<Any>(
+        1,
+        "username",
+        "pass & word",
+        mapOf(
+            "post_title" to "Title with emoji 😀 and accents éè",
+            "post_content" to "<p>Content</p>".repeat(10000),
+            "post_date_gmt" to Date(1704164645000L),
+            "terms_names" to mapOf("post_tag" to arrayOf("a", "b"))
+        )
+    )
+
+    @Test
+    fun `body is sent with chunked encoding rather than serialized to count its bytes`() {
+        val list = CountingList(listOf("a", "b"))
+        val body = XMLRPCRequestBody(XMLRPC.EDIT_POST, arrayOf(1, list))
+
+        assertEquals(-1L, body.contentLength())
+        body.writeTo(Buffer())
+
+        assertEquals(1, list.iteratorCount)
+    }
+
+    @Test
+    fun `streamed body has the same method call as the in-memory body`() {
+        val buffer = Buffer()
+        XMLRPCRequestBody(XMLRPC.EDIT_POST, params).writeTo(buffer)
+
+        val inMemory = XMLSerializerUtils.serialize(Xml.newSerializer(), XMLRPC.EDIT_POST, params).toString()
+
+        // only the XML declaration differs, since the streamed body declares its encoding
+        assertEquals(inMemory.substringAfter("?>"), buffer.readUtf8().substringAfter("?>"))
+    }
+
+    @Test
+    fun `body can be written more than once`() {
+        val body = XMLRPCRequestBody(XMLRPC.EDIT_POST, params)
+        val first = Buffer()
+        val second = Buffer()
+
+        body.writeTo(first)
+        body.writeTo(second)
+
+        assertEquals(first, second)
+    }
+
+    // counts the serialization passes, which each iterate over the list once
+    private class CountingList(private val items: List<String>) : AbstractList<String>() {
+        var iteratorCount = 0
+            private set
+
+        override val size get() = items.size
+
+        override fun get(index: Int) = items[index]
+
+        override fun iterator(): Iterator<String> {
+            iteratorCount++
+            return items.iterator()
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.wordpress.android.fluxc.network.xmlrpc
+
+import android.util.Xml
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.io.StringReader
+import java.text.SimpleDateFormat
+import java.util.Calendar
+import java.util.Date
+import java.util.Locale
+import java.util.SimpleTimeZone
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+@RunWith(RobolectricTestRunner::class)
+class XMLRPCScalarCodecTest {
+    @Test
+    fun `parses and formats dates like SimpleDateFormat`() {
+        val format = newReferenceFormat()
+        listOf(
+            "20240102T03:04:05",
+            "20240229T23:59:59",
+            "19700101T00:00:00",
+            "16000301T12:00:00",
+            "99991231T23:59:59",
+            "00000000T00:00:00",
+            "15001015T08:30:00",
+            "20230231T10:00:00",
+            "20240102T03:04:05Z"
+        ).forEach { value ->
+            val expected = format.parse(value)
+            assertEquals(value, expected, XMLRPCScalarCodec.parseDateTime(value))
+            assertEquals(value, format.format(expected), XMLRPCScalarCodec.formatDateTime(expected))
+        }
+    }
+
+    @Test
+    fun `returns null for dates that can't be parsed`() {
+        assertNull(XMLRPCScalarCodec.parseDateTime(null))
+        assertNull(XMLRPCScalarCodec.parseDateTime(""))
+        assertNull(XMLRPCScalarCodec.parseDateTime("not a date"))
+    }
+
+    @Test
+    fun `parseDateTime in the serializer still returns the raw value it can't parse`() {
+        assertEquals("not a date", XMLRPCSerializer.parseDateTime("not a date"))
+    }
+
+    @Test
+    fun `parses longs and ints like the boxed parsers`() {
+        assertEquals(42L, XMLRPCScalarCodec.parseLong("42", 0))
+        assertEquals(-42L, XMLRPCScalarCodec.parseLong(" -42\n", 0))
+        assertEquals(Long.MAX_VALUE, XMLRPCScalarCodec.parseLong(Long.MAX_VALUE.toString(), 0))
+        assertEquals(Long.MIN_VALUE, XMLRPCScalarCodec.parseLong(Long.MIN_VALUE.toString(), 0))
+        assertEquals(-1L, XMLRPCScalarCodec.parseLong("9223372036854775808", -1))
+        assertEquals(-1L, XMLRPCScalarCodec.parseLong("12a", -1))
+        assertEquals(-1L, XMLRPCScalarCodec.parseLong("-", -1))
+        assertEquals(-1L, XMLRPCScalarCodec.parseLong("", -1))
+
+        assertEquals(Int.MAX_VALUE, XMLRPCScalarCodec.parseInt(Int.MAX_VALUE.toString(), 0))
+        assertEquals(-1, XMLRPCScalarCodec.parseInt("2147483648", -1))
+    }
+
+    @Test
+    fun `serializer decodes ints without going through their boxed parsers`() {
+        assertEquals(42, deserialize("<i4>42</i4>"))
+        assertEquals(-42, deserialize("<int> -42 </int>"))
+        assertEquals(3000000000L, deserialize("<int>3000000000</int>"))
+        assertEquals(Long.MIN_VALUE, deserialize("<i8>${Long.MIN_VALUE}</i8>"))
+        assertThrows(NumberFormatException::class.java) { deserialize("<int>12a</int>") }
+        assertThrows(NumberFormatException::class.java) { deserialize("<i8>9223372036854775808</i8>") }
+    }
+
+    @Test
+    fun `decodes base64 split over several lines`() {
+        val bytes = ByteArray(1000) { it.toByte() }
+        val encoded = XMLRPCScalarCodec.encodeBase64(bytes)
+
+        assertArrayEquals(bytes, XMLRPCScalarCodec.decodeBase64(encoded))
+        assertArrayEquals(bytes, XMLRPCScalarCodec.decodeBase64(encoded.replace("\n", "\r\n")))
+    }
+
+    @Test
+    fun `dates are parsed and formatted correctly from concurrent threads`() {
+        val executor = Executors.newFixedThreadPool(THREAD_COUNT)
+        try {
+            val tasks = (0 until THREAD_COUNT).map { thread ->
+                Callable {
+                    // each thread compares against its own formatter, since SimpleDateFormat isn't thread-safe
+                    val format = newReferenceFormat()
+                    val random = Random(thread)
+                    repeat(ITERATIONS) {
+                        val date = Date(random.nextLong(MIN_MILLIS, MAX_MILLIS) / 1000 * 1000)
+                        val expected = format.format(date)
+                        assertEquals(expected, XMLRPCScalarCodec.formatDateTime(date))
+                        assertEquals(date, XMLRPCScalarCodec.parseDateTime(expected))
+                        assertEquals(date, XMLRPCSerializer.parseDateTime(expected))
+                    }
+                }
+            }
+            // get() rethrows any assertion failure from the worker threads
+            executor.invokeAll(tasks).forEach { it.get() }
+        } finally {
+            executor.shutdown()
+            executor.awaitTermination(5, TimeUnit.SECONDS)
+        }
+    }
+
+    private fun deserialize(value: String) = Xml.newPullParser().run {
+        setInput(StringReader("<value>$value</value>"))
+        nextTag()
+        XMLRPCSerializer.deserialize(this)
+    }
+
+    private fun newReferenceFormat() = SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US).apply {
+        calendar = Calendar.getInstance(SimpleTimeZone(0, "GMT"))
+    }
+
+    companion object {
+        private const val THREAD_COUNT = 8
+        private const val ITERATIONS = 2000
+        private const val MIN_MILLIS = -11_000_000_000_000L // 1621
+        private const val MAX_MILLIS = 4_000_000_000_000L // 2096
+    }
+}
@@ -0,0 +1,117 @@
+package org.wordpress.android.fluxc.network.xmlrpc.media
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.network.xmlrpc.XMLSerializerUtils
+
+@RunWith(RobolectricTestRunner::class)
+class MediaLibraryXMLRPCDecoderTest {
+    @Test
+    fun `decoded media match media built from the generic response`() {
+        val decoded = decode()
+        val generic = XMLSerializerUtils.deserialize(RESPONSE.byteInputStream()) as Array<*>
+
+        assertEquals(generic.size, decoded.size)
+        for (i in generic.indices) {
+            val expected = MediaXMLRPCClient.getMediaFromXmlrpcResponse(generic[i] as Map<*, *>)
+            val actual = decoded[i] as MediaModel?
+            if (expected == null) {
+                assertNull(actual)
+            } else {
+                expected.localSiteId = LOCAL_SITE_ID
+                assertTrue("media $i differs", expected == actual)
+            }
+        }
+    }
+
+    @Test
+    fun `image metadata is decoded into the size and resized file urls`() {
+        val image = decode()[0] as MediaModel
+
+        assertEquals(LOCAL_SITE_ID, image.localSiteId)
+        assertEquals(20L, image.mediaId)
+        assertEquals(5L, image.postId)
+        assertEquals("Tom & Jerry", image.title)
+        assertEquals("image/jpeg", image.mimeType)
+        assertEquals(1024, image.width)
+        assertEquals(768, image.height)
+        assertEquals("https://example.com/uploads/image-300x225.jpg", image.fileUrlMediumSize)
+        assertEquals("https://example.com/uploads/image-768x576.jpg", image.fileUrlMediumLargeSize)
+        assertNull(image.fileUrlLargeSize)
+    }
+
+    @Test
+    fun `media without metadata has no size`() {
+        val video = decode()[1] as MediaModel
+
+        assertEquals(0, video.width)
+        assertEquals(0, video.height)
+        assertEquals("[wpvideo abc]", video.videoPressGuid)
+        assertNull(video.fileUrlMediumSize)
+    }
+
+    @Test
+    fun `empty item is decoded as null`() {
+        assertNull(decode()[2])
+    }
+
+    private fun decode() =
+        XMLSerializerUtils.deserialize(RESPONSE.byteInputStream(), MediaLibraryXMLRPCDecoder(LOCAL_SITE_ID))
+                as Array<*>
+
+    companion object {
+        private const val LOCAL_SITE_ID = 3
+
+        private fun member(name: String, value: String) = "<member><name>$name</name><value>$value</value></member>"
+
+        private fun sizeFile(size: String, file: String) = member(size, "<struct>" +
+                member("file", "<string>$file</string>") +
+                member("width", "<int>300</int>") +
+                "</struct>")
+
+        private val IMAGE = "<value><struct>" +
+                member("attachment_id", "<string>20</string>") +
+                member("date_created_gmt", "<dateTime.iso8601>20240102T03:04:05</dateTime.iso8601>") +
+                member("parent", "<int>5</int>") +
+                member("link", "<string>https://example.com/uploads/image.jpg</string>") +
+                member("title", "<string>Tom &amp;amp; Jerry</string>") +
+                member("caption", "<string>Caption</string>") +
+                member("description", "<string></string>") +
+                member("metadata", "<struct>" +
+                        member("width", "<int>1024</int>") +
+                        member("height", "<int>768</int>") +
+                        member("file", "<string>2024/01/image.jpg</string>") +
+                        member("sizes", "<struct>" +
+                                sizeFile("thumbnail", "image-150x150.jpg") +
+                                sizeFile("medium", "image-300x225.jpg") +
+                                sizeFile("medium_large", "image-768x576.jpg") +
+                                "</struct>") +
+                        member("image_meta", "<struct>" + member("camera", "<string>Camera</string>") + "</struct>") +
+                        "</struct>") +
+                member("type", "<string>image/jpeg</string>") +
+                member("thumbnail", "<string>https://example.com/uploads/image-150x150.jpg</string>") +
+                "</struct></value>"
+
+        // metadata is an empty array rather than a struct for media without it
+        private val VIDEO = "<value><struct>" +
+                member("attachment_id", "<string>21</string>") +
+                member("parent", "<int>0</int>") +
+                member("link", "<string>https://example.com/uploads/video.mp4</string>") +
+                member("title", "<string>Video</string>") +
+                member("metadata", "<array><data></data></array>") +
+                member("videopress_shortcode", "<string>[wpvideo abc]</string>") +
+                "</struct></value>"
+
+        private val EMPTY = "<value><struct></struct></value>"
+
+        private val RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<methodResponse><params><param><value><array><data>" +
+                IMAGE + VIDEO + EMPTY +
+                "</data></array></value></param></params></methodResponse>"
+    }
+}
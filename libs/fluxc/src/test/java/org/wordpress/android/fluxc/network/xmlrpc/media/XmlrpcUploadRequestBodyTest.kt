@@ -0,0 +1,64 @@
+package org.wordpress.android.fluxc.network.xmlrpc.media
+
+import okio.Buffer
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.SiteModel
+import java.util.Base64
+import kotlin.random.Random
+
+@RunWith(RobolectricTestRunner::class)
+class XmlrpcUploadRequestBodyTest {
+    @get:Rule val tempFolder = TemporaryFolder()
+
+    private val site = SiteModel().apply {
+        selfHostedSiteId = 1
+        username = "username"
+        password = "pass & word"
+    }
+
+    @Test
+    fun `content length matches the bytes written`() {
+        val blockSize = Base64StreamEncoder.BLOCK_SIZE
+        listOf(0, 1, 2, 3, 56, 57, 58, 1000, blockSize - 1, blockSize, blockSize + 1, 3 * blockSize + 100)
+                .forEach { size ->
+                    val body = XmlrpcUploadRequestBody(createMedia(Random.nextBytes(size)), { _, _ -> }, site)
+                    val buffer = Buffer()
+
+                    body.writeTo(buffer)
+
+                    assertEquals("size $size", buffer.size, body.contentLength())
+                }
+    }
+
+    @Test
+    fun `file is written as base64 lines`() {
+        val bytes = Random.nextBytes(3 * Base64StreamEncoder.BLOCK_SIZE + 100)
+        val buffer = Buffer()
+
+        XmlrpcUploadRequestBody(createMedia(bytes), { _, _ -> }, site).writeTo(buffer)
+
+        val xml = buffer.readUtf8()
+        val encoded = xml.substringAfter("<base64>").substringBefore("</base64>")
+        val lines = encoded.split("\n").dropLast(1)
+        assertTrue(encoded.endsWith("\n"))
+        assertTrue(lines.dropLast(1).all { it.length == Base64StreamEncoder.LINE_LENGTH })
+        assertArrayEquals(bytes, Base64.getMimeDecoder().decode(encoded))
+    }
+
+    @Suppress("DEPRECATION")
+    private fun createMedia(bytes: ByteArray) = MediaModel().apply {
+        val file = tempFolder.newFile()
+        file.writeBytes(bytes)
+        filePath = file.absolutePath
+        fileName = "file.jpg"
+        mimeType = "image/jpeg"
+    }
+}
@@ -6,7 +6,10 @@ import org.junit.Assert.assertTrue
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType
 
 @RunWith(RobolectricTestRunner::class)
 class PostXMLRPCClientTest {
@@ -56,6 +59,35 @@ class PostXMLRPCClientTest {
         assertEquals(expectedSlug, result.slug)
     }
 
+    @Test
+    fun `multicall response keeps the local ids of the requested posts and skips faults`() {
+        val requestedPosts = listOf(
+            PostModel().apply { setId(10); setRemotePostId(456) },
+            PostModel().apply { setId(11); setRemotePostId(789) }
+        )
+        val fault = mapOf("faultCode" to 404, "faultString" to "Invalid post ID.")
+        val response = arrayOf<Any>(arrayOf<Any>(createPostMap(postName = "my-post-slug")), fault)
+
+        val result = PostXMLRPCClient.postsFromMulticallResponse(response, requestedPosts, site)
+
+        assertEquals(1, result.size)
+        assertEquals(10, result[0].id)
+        assertEquals(456L, result[0].remotePostId)
+        assertEquals(site.id, result[0].localSiteId)
+    }
+
+    @Test
+    fun `posts are fetched one by one when the multicall is refused`() {
+        listOf(GenericErrorType.SERVER_ERROR, GenericErrorType.PARSE_ERROR, GenericErrorType.NOT_FOUND,
+                GenericErrorType.CENSORED).forEach {
+            assertTrue("$it", PostXMLRPCClient.shouldFetchPostsOneByOne(BaseNetworkError(it)))
+        }
+        listOf(GenericErrorType.TIMEOUT, GenericErrorType.NO_CONNECTION, GenericErrorType.NETWORK_ERROR,
+                GenericErrorType.NOT_AUTHENTICATED).forEach {
+            assertFalse("$it", PostXMLRPCClient.shouldFetchPostsOneByOne(BaseNetworkError(it)))
+        }
+    }
+
     private fun createPageMap(postName: String, wpSlug: String?): Map<String, Any?> {
         return mutableMapOf<String, Any?>(
             "post_id" to "123",
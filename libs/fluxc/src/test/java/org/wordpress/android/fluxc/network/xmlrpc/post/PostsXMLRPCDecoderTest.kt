@@ -0,0 +1,131 @@
+package org.wordpress.android.fluxc.network.xmlrpc.post
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.xmlrpc.XMLSerializerUtils
+
+@RunWith(RobolectricTestRunner::class)
+class PostsXMLRPCDecoderTest {
+    private val site = SiteModel().apply { id = 1 }
+
+    @Test
+    fun `decoded posts match posts built from the generic response`() {
+        val decoded = XMLSerializerUtils.deserialize(RESPONSE.byteInputStream(), PostsXMLRPCDecoder(site.id))
+                as Array<*>
+        val generic = XMLSerializerUtils.deserialize(RESPONSE.byteInputStream()) as Array<*>
+
+        assertEquals(generic.size, decoded.size)
+        for (i in generic.indices) {
+            val expected = PostXMLRPCClient.postResponseObjectToPostModel(generic[i] as Map<*, *>, site)
+            val actual = decoded[i] as PostModel?
+            if (expected == null) {
+                assertNull(actual)
+            } else {
+                assertTrue("post $i differs", expected == actual)
+            }
+        }
+    }
+
+    @Test
+    fun `page members are applied regardless of member order`() {
+        val decoded = XMLSerializerUtils.deserialize(RESPONSE.byteInputStream(), PostsXMLRPCDecoder(site.id))
+                as Array<*>
+        val page = decoded[1] as PostModel
+
+        assertTrue(page.isPage)
+        assertEquals("wp-slug", page.slug)
+        assertEquals(7L, page.parentId)
+        assertEquals(0L, page.featuredImageId)
+    }
+
+    @Test
+    fun `post without an id is decoded as null`() {
+        val decoded = XMLSerializerUtils.deserialize(RESPONSE.byteInputStream(), PostsXMLRPCDecoder(site.id))
+                as Array<*>
+
+        assertNull(decoded[2])
+    }
+
+    @Test
+    fun `post without custom fields gets an empty list of them`() {
+        val response = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<methodResponse><params><param><value><array><data>" +
+                "<value><struct>" + member("post_id", "<string>12</string>") + "</struct></value>" +
+                "</data></array></value></param></params></methodResponse>"
+
+        val decoded = XMLSerializerUtils.deserialize(response.byteInputStream(), PostsXMLRPCDecoder(site.id))
+                as Array<*>
+        val generic = XMLSerializerUtils.deserialize(response.byteInputStream()) as Array<*>
+
+        val post = decoded[0] as PostModel
+        assertEquals("[]", post.customFields)
+        assertTrue(PostXMLRPCClient.postResponseObjectToPostModel(generic[0] as Map<*, *>, site) == post)
+    }
+
+    companion object {
+        private fun member(name: String, value: String) = "<member><name>$name</name><value>$value</value></member>"
+
+        private val POST = "<value><struct>" +
+                member("post_id", "<string>10</string>") +
+                member("post_title", "<string>Hello &amp; welcome</string>") +
+                member("post_date_gmt", "<dateTime.iso8601>20240102T03:04:05</dateTime.iso8601>") +
+                member("post_modified_gmt", "<dateTime.iso8601>20240203T04:05:06</dateTime.iso8601>") +
+                member("post_content", "<string>&lt;p&gt;Content&lt;/p&gt;</string>") +
+                member("link", "<string>https://example.com/hello</string>") +
+                member("terms", "<array><data>" +
+                        "<value><struct>" +
+                        member("term_id", "<string>3</string>") +
+                        member("taxonomy", "<string>category</string>") +
+                        member("name", "<string>News</string>") +
+                        "</struct></value>" +
+                        "<value><struct>" +
+                        member("term_id", "<string>4</string>") +
+                        member("taxonomy", "<string>post_tag</string>") +
+                        member("name", "<string>android</string>") +
+                        "</struct></value>" +
+                        "</data></array>") +
+                member("custom_fields", "<array><data><value><struct>" +
+                        member("key", "<string>geo_latitude</string>") +
+                        member("value", "<string>10.5</string>") +
+                        "</struct></value></data></array>") +
+                member("post_thumbnail", "<struct>" + member("attachment_id", "<string>42</string>") + "</struct>") +
+                member("post_excerpt", "<string>Excerpt</string>") +
+                member("post_name", "<string>hello</string>") +
+                member("post_password", "<string></string>") +
+                member("post_status", "<string>publish</string>") +
+                member("post_format", "<string>standard</string>") +
+                member("sticky", "<boolean>0</boolean>") +
+                member("post_type", "<string>post</string>") +
+                "</struct></value>"
+
+        // post_type comes last so members that depend on it are read before it's known
+        private val PAGE = "<value><struct>" +
+                member("post_id", "<string>11</string>") +
+                member("post_title", "<string>About</string>") +
+                member("terms", "<array><data></data></array>") +
+                member("custom_fields", "<array><data></data></array>") +
+                member("post_name", "<string>about</string>") +
+                member("wp_slug", "<string>wp-slug</string>") +
+                member("post_parent", "<string>7</string>") +
+                member("wp_page_parent", "<string>Parent</string>") +
+                member("post_thumbnail", "<array><data></data></array>") +
+                member("post_type", "<string>page</string>") +
+                "</struct></value>"
+
+        private val NO_ID = "<value><struct>" +
+                member("post_title", "<string>No id</string>") +
+                member("terms", "<array><data></data></array>") +
+                "</struct></value>"
+
+        private val RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<methodResponse><params><param><value><array><data>" +
+                POST + PAGE + NO_ID +
+                "</data></array></value></param></params></methodResponse>"
+    }
+}
@@ -0,0 +1,129 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.SiteModel
+
+@RunWith(RobolectricTestRunner::class)
+class FullTextSearchSqlUtilsTest {
+    private val postSqlUtils = PostSqlUtils()
+    private val site = SiteModel().apply { id = SITE_ID }
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.getApplication().applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `media search matches word prefixes in any indexed column`() {
+        val byTitle = insertMedia(title = "Sunset over the bay")
+        val byFileName = insertMedia(fileName = "sunflower-field.jpg")
+        val byCaption = insertMedia(caption = "Taken on a sunny day")
+        insertMedia(title = "Beach", description = "Nothing to see here")
+
+        val results = MediaSqlUtils.searchSiteMediaFullText(site, "sun", null)
+
+        assertThat(results.map { it.id }).containsExactlyInAnyOrder(byTitle.id, byFileName.id, byCaption.id)
+    }
+
+    @Test
+    fun `media search ranks title matches above description matches`() {
+        val byDescription = insertMedia(title = "Beach", description = "A lighthouse at dusk")
+        val byTitle = insertMedia(title = "Lighthouse", description = "At dusk")
+
+        val results = MediaSqlUtils.searchSiteMediaFullText(site, "lighthouse", null)
+
+        assertThat(results.map { it.id }).containsExactly(byTitle.id, byDescription.id)
+    }
+
+    @Test
+    fun `media search requires every word and filters by site and mime type`() {
+        val image = insertMedia(title = "Red car", mimeType = "image/jpeg")
+        insertMedia(title = "Red car", mimeType = "video/mp4")
+        insertMedia(title = "Red bike", mimeType = "image/jpeg")
+        insertMedia(title = "Red car", mimeType = "image/jpeg", localSiteId = SITE_ID + 1)
+
+        val results = MediaSqlUtils.searchSiteMediaFullText(site, "red ca", "image")
+
+        assertThat(results.map { it.id }).containsExactly(image.id)
+    }
+
+    @Test
+    fun `media index follows updates and deletes`() {
+        val media = insertMedia(title = "Mountain")
+
+        media.title = "Valley"
+        MediaSqlUtils.insertOrUpdateMedia(media)
+        assertThat(MediaSqlUtils.searchSiteMediaFullText(site, "mountain", null)).isEmpty()
+        assertThat(MediaSqlUtils.searchSiteMediaFullText(site, "valley", null).map { it.id })
+                .containsExactly(media.id)
+
+        MediaSqlUtils.deleteMedia(media)
+        assertThat(MediaSqlUtils.searchSiteMediaFullText(site, "valley", null)).isEmpty()
+    }
+
+    @Test
+    fun `media index covers the rows that existed when it was created`() {
+        val media = insertMedia(title = "Harbor")
+
+        FullTextSearchSqlUtils.createSearchTables(WellSql.giveMeWritableDb())
+
+        assertThat(MediaSqlUtils.searchSiteMediaFullText(site, "harb", null).map { it.id })
+                .containsExactly(media.id)
+    }
+
+    @Test
+    fun `post search only returns posts or pages as requested`() {
+        val post = insertPost(title = "Release notes", content = "<p>What's new</p>", isPage = false)
+        val page = insertPost(title = "About", content = "<p>Release schedule</p>", isPage = true)
+
+        assertThat(postSqlUtils.searchPostsForSite(site, "releas", false).map { it.id }).containsExactly(post.id)
+        assertThat(postSqlUtils.searchPostsForSite(site, "releas", true).map { it.id }).containsExactly(page.id)
+    }
+
+    @Test
+    fun `search terms are matched literally`() {
+        insertMedia(title = "Cats and dogs")
+
+        assertThat(FullTextSearchSqlUtils.toMatchExpression("cats OR \"dogs")).isEqualTo("\"cats*\" \"OR*\" \"dogs*\"")
+        assertThat(FullTextSearchSqlUtils.toMatchExpression(" -* ")).isNull()
+        assertThat(MediaSqlUtils.searchSiteMediaFullText(site, "cats NEAR", null)).isEmpty()
+    }
+
+    private fun insertMedia(
+        title: String = "",
+        fileName: String = "",
+        caption: String = "",
+        description: String = "",
+        mimeType: String = "image/jpeg",
+        localSiteId: Int = SITE_ID
+    ) = MediaSqlUtils.insertMediaForResult(MediaModel(localSiteId, 0).also {
+        it.title = title
+        it.fileName = fileName
+        it.caption = caption
+        it.description = description
+        it.mimeType = mimeType
+    })
+
+    private fun insertPost(title: String, content: String, isPage: Boolean) =
+        postSqlUtils.insertPostForResult(PostModel().apply {
+            setLocalSiteId(SITE_ID)
+            setTitle(title)
+            setContent(content)
+            setIsPage(isPage)
+        })
+
+    private companion object {
+        const val SITE_ID = 7
+    }
+}
@@ -98,6 +98,66 @@ class PostSqlUtilsTest {
         assertThat(postsWithSameRemotePostId).hasSize(1)
     }
 
+    @Test
+    fun `insertOrUpdatePostsKeepingLocalChanges inserts new posts and updates existing ones`() {
+        // Given
+        val site = createSite()
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 0, remoteId = 1).apply {
+            setTitle("old title")
+        })
+        val fetchedPosts = listOf(
+                createPost(localSiteId = site.id, localId = 0, remoteId = 1).apply { setTitle("new title") },
+                createPost(localSiteId = site.id, localId = 0, remoteId = 2)
+        )
+
+        // When
+        val rowsAffected = postSqlUtils.insertOrUpdatePostsKeepingLocalChanges(fetchedPosts)
+
+        // Then
+        val postsForSite = postSqlUtils.getPostsForSite(site, false)
+        assertThat(rowsAffected).isEqualTo(2)
+        assertThat(postsForSite.map { it.remotePostId }).containsExactlyInAnyOrder(1L, 2L)
+        assertThat(postsForSite.first { it.remotePostId == 1L }.title).isEqualTo("new title")
+    }
+
+    @Test
+    fun `insertOrUpdatePostsKeepingLocalChanges does not overwrite locally changed posts`() {
+        // Given
+        val site = createSite()
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 0, remoteId = 1).apply {
+            setTitle("local title")
+            setIsLocallyChanged(true)
+        })
+        val fetchedPost = createPost(localSiteId = site.id, localId = 0, remoteId = 1).apply {
+            setTitle("remote title")
+        }
+
+        // When
+        val rowsAffected = postSqlUtils.insertOrUpdatePostsKeepingLocalChanges(listOf(fetchedPost))
+
+        // Then
+        val postsForSite = postSqlUtils.getPostsForSite(site, false)
+        assertThat(rowsAffected).isEqualTo(0)
+        assertThat(postsForSite).hasSize(1)
+        assertThat(postsForSite.first().title).isEqualTo("local title")
+    }
+
+    @Test
+    fun `insertOrUpdatePostsKeepingLocalChanges inserts a post repeated in a page once`() {
+        // Given
+        val site = createSite()
+        val fetchedPosts = listOf(
+                createPost(localSiteId = site.id, localId = 0, remoteId = 1),
+                createPost(localSiteId = site.id, localId = 0, remoteId = 1)
+        )
+
+        // When
+        postSqlUtils.insertOrUpdatePostsKeepingLocalChanges(fetchedPosts)
+
+        // Then
+        assertThat(postSqlUtils.getPostsForSite(site, false)).hasSize(1)
+    }
+
     @Test
     fun `insertOrUpdatePostLikes insert a new like`() {
         val siteId = 100L
@@ -462,6 +462,86 @@ class SiteSqlUtilsTest {
         assertThat(siteSqlUtils.getSites().single().id).isEqualTo(returnedId)
     }
 
+    @Test
+    fun `getSiteByLocalIdCached serves repeated reads from memory as independent copies`() {
+        val localId = siteSqlUtils.insertOrUpdateSiteReturningId(SiteModel().apply {
+            siteId = 42
+            url = "https://example.test"
+            name = "Example"
+        })
+
+        val first = siteSqlUtils.getSiteByLocalIdCached(localId)!!
+        first.name = "Modified by a caller"
+        val second = siteSqlUtils.getSiteByLocalIdCached(localId)!!
+
+        assertThat(second).isNotSameAs(first)
+        assertThat(second.name).isEqualTo("Example")
+        assertThat(second.siteId).isEqualTo(42)
+        assertThat(siteSqlUtils.siteCache.missCount).isEqualTo(1)
+        assertThat(siteSqlUtils.siteCache.hitCount).isEqualTo(1)
+        assertThat(siteSqlUtils.siteCache.hitRate).isEqualTo(0.5f)
+    }
+
+    @Test
+    fun `getSiteByRemoteIdCached shares the entries read by local id`() {
+        val localId = siteSqlUtils.insertOrUpdateSiteReturningId(SiteModel().apply {
+            siteId = 42
+            url = "https://example.test"
+        })
+
+        siteSqlUtils.getSiteByRemoteIdCached(42)
+        val site = siteSqlUtils.getSiteByLocalIdCached(localId)
+
+        assertThat(site?.siteId).isEqualTo(42)
+        assertThat(siteSqlUtils.siteCache.hitCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `cached sites are refreshed after each write`() {
+        val localId = siteSqlUtils.insertOrUpdateSiteReturningId(SiteModel().apply {
+            siteId = 42
+            url = "https://example.test"
+            name = "Example"
+        })
+        siteSqlUtils.getSiteByLocalIdCached(localId)
+
+        siteSqlUtils.updateWpApiRestUrl(localId, "https://example.test/wp-json/")
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)?.wpApiRestUrl)
+                .isEqualTo("https://example.test/wp-json/")
+
+        siteSqlUtils.updateXmlRpcUrl(localId, "https://example.test/xmlrpc.php")
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)?.xmlRpcUrl)
+                .isEqualTo("https://example.test/xmlrpc.php")
+
+        siteSqlUtils.insertOrUpdateSite(SiteModel().apply {
+            id = localId
+            siteId = 43
+            url = "https://example.test"
+            name = "Renamed"
+        })
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)?.name).isEqualTo("Renamed")
+        assertThat(siteSqlUtils.getSiteByRemoteIdCached(42)).isNull()
+        assertThat(siteSqlUtils.getSiteByRemoteIdCached(43)?.id).isEqualTo(localId)
+
+        siteSqlUtils.deleteSite(SiteModel().apply { id = localId })
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)).isNull()
+        assertThat(siteSqlUtils.getSiteByRemoteIdCached(43)).isNull()
+    }
+
+    @Test
+    fun `clearSiteCache drops sites written without SiteSqlUtils`() {
+        val localId = siteSqlUtils.insertOrUpdateSiteReturningId(SiteModel().apply {
+            url = "https://example.test"
+            name = "Example"
+        })
+        siteSqlUtils.getSiteByLocalIdCached(localId)
+        WellSql.delete(SiteModel::class.java).execute()
+
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)).isNotNull
+        siteSqlUtils.clearSiteCache()
+        assertThat(siteSqlUtils.getSiteByLocalIdCached(localId)).isNull()
+    }
+
     // Raw read that bypasses SiteSqlUtils' decryptAPIRestCredentials, so tests can assert on the stored
     // ciphertext columns directly without invoking the AndroidKeyStore-backed EncryptionUtils.
     private fun storedSite(): SiteModel = WellSql.select(SiteModel::class.java).asModel.single()
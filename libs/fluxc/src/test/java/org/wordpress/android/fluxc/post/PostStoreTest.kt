@@ -8,7 +8,11 @@ import org.mockito.Mock
 import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.any
 import org.mockito.kotlin.argThat
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.isNull
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoMoreInteractions
 import org.mockito.kotlin.whenever
@@ -16,17 +20,26 @@ import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.action.ListAction
 import org.wordpress.android.fluxc.action.PostAction
 import org.wordpress.android.fluxc.generated.PostActionBuilder
+import org.wordpress.android.fluxc.model.CauseOfOnPostChanged.UpdatePosts
 import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.PostsModel
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.list.PostListDescriptor
+import org.wordpress.android.fluxc.model.post.PostPagingCursor
 import org.wordpress.android.fluxc.model.post.PostStatus
 import org.wordpress.android.fluxc.model.post.PostStatus.PUBLISHED
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel
 import org.wordpress.android.fluxc.model.revisions.LocalRevisionModel
 import org.wordpress.android.fluxc.model.revisions.RevisionModel
+import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRestClient
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.FetchedListItemsPayload
 import org.wordpress.android.fluxc.store.PostStore
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByIdsPayload
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByIdsResponsePayload
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsPayload
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload
+import org.wordpress.android.fluxc.store.PostStore.OnPostChanged
 import org.wordpress.android.fluxc.store.PostStore.PostError
 import org.wordpress.android.fluxc.store.PostStore.PostErrorType.GENERIC_ERROR
 import org.wordpress.android.fluxc.store.PostStore.PostListItem
@@ -36,12 +49,13 @@ class PostStoreTest {
     @Mock lateinit var site: SiteModel
     @Mock lateinit var postSqlUtils: PostSqlUtils
     @Mock lateinit var dispatcher: Dispatcher
+    @Mock lateinit var postRestClient: PostRestClient
     private lateinit var store: PostStore
     @Mock lateinit var mockedListDescriptor: PostListDescriptor
 
     @Before
     fun setUp() {
-        store = PostStore(dispatcher, mock(), mock(), postSqlUtils)
+        store = PostStore(dispatcher, postRestClient, mock(), postSqlUtils)
         whenever(mockedListDescriptor.site).thenReturn(mock())
         // verify "register" so we can use verifyNoMoreInteractions in all the test methods
         verify(dispatcher).register(any())
@@ -112,7 +126,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when post changed in remote`() {
+    fun `handleFetchedPostList emits FetchPostsByIdsAction when post changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -125,7 +139,7 @@ class PostStoreTest {
 
         // Assert
         verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
+            (this.type == PostAction.FETCH_POSTS_BY_IDS)
         })
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
@@ -196,7 +210,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when post status changed in remote`() {
+    fun `handleFetchedPostList emits FetchPostsByIdsAction when post status changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -209,7 +223,7 @@ class PostStoreTest {
 
         // Assert
         verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
+            (this.type == PostAction.FETCH_POSTS_BY_IDS)
         })
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
@@ -218,7 +232,7 @@ class PostStoreTest {
     }
 
     @Test
-    fun `handleFetchedPostList emits FetchPostAction when autosave object changed in remote`() {
+    fun `handleFetchedPostList emits FetchPostsByIdsAction when autosave object changed in remote`() {
         // Arrange
         val postInLocalDb = createPostModel()
         whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(listOf(postInLocalDb))
@@ -231,7 +245,7 @@ class PostStoreTest {
 
         // Assert
         verify(dispatcher).dispatch(argThat {
-            (this.type == PostAction.FETCH_POST)
+            (this.type == PostAction.FETCH_POSTS_BY_IDS)
         })
         verify(dispatcher).dispatch(argThat {
             (this.type == ListAction.FETCHED_LIST_ITEMS)
@@ -295,6 +309,132 @@ class PostStoreTest {
         verifyNoMoreInteractions(dispatcher)
     }
 
+    @Test
+    fun `handleFetchedPostList fetches changed posts in batches`() {
+        // Arrange
+        val postsInLocalDb = (1L..25L).map { createPostModel(remotePostId = it) }
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = postsInLocalDb.map {
+            createRemotePostListItem(it, lastModified = "modified in remote")
+        }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(dispatcher).dispatch(argThat {
+            (this.type == PostAction.FETCH_POSTS_BY_IDS &&
+                    (this.payload as FetchPostsByIdsPayload).posts.size == PostStore.NUM_POSTS_PER_BATCH_FETCH)
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == PostAction.FETCH_POSTS_BY_IDS && (this.payload as FetchPostsByIdsPayload).posts.size == 5)
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `handleFetchedPostList limits the number of batch fetches`() {
+        // Arrange
+        val postsInLocalDb = (1L..500L).map { createPostModel(remotePostId = it) }
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = postsInLocalDb.map {
+            createRemotePostListItem(it, lastModified = "modified in remote")
+        }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(dispatcher, times(5)).dispatch(argThat {
+            (this.type == PostAction.FETCH_POSTS_BY_IDS)
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `handleFetchPostsByIdsCompleted stores the posts in one write and emits a single change`() {
+        // Arrange
+        val fetchedPosts = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        whenever(postSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(fetchedPosts)).thenReturn(2)
+        whenever(site.id).thenReturn(1)
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchedPostsByIdsAction(FetchPostsByIdsResponsePayload(site, fetchedPosts)))
+
+        // Assert
+        verify(postSqlUtils).insertOrUpdatePostsOverwritingLocalChanges(fetchedPosts)
+        verify(dispatcher).emitChange(argThat {
+            (this as OnPostChanged).causeOfChange is UpdatePosts && this.rowsAffected == 2
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.LIST_DATA_INVALIDATED)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `handleFetchPostsByIdsCompleted emits an error without storing the posts`() {
+        // Arrange
+        val requestedPosts = listOf(createPostModel(remotePostId = 1))
+        val payload = FetchPostsByIdsResponsePayload(site, requestedPosts, PostError(GENERIC_ERROR))
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchedPostsByIdsAction(payload))
+
+        // Assert
+        verify(postSqlUtils, never()).insertOrUpdatePostsOverwritingLocalChanges(any())
+        verify(dispatcher).emitChange(argThat {
+            (this as OnPostChanged).isError
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `loading more posts of a WP com site starts after the cursor of the last fetched page`() {
+        // Arrange
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        val page = listOf(
+            createPostModel(remotePostId = 1).apply { setLastModified("2024-01-02T10:00:00+00:00") },
+            createPostModel(remotePostId = 2).apply { setLastModified("2024-01-01T10:00:00+00:00") }
+        )
+        val fetchedPayload = FetchPostsResponsePayload(PostsModel(page), site, false, false, true).apply {
+            nextCursor = PostPagingCursor.after(null, page)
+        }
+        store.onAction(PostActionBuilder.newFetchedPostsAction(fetchedPayload))
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchPostsAction(FetchPostsPayload(site, true)))
+
+        // Assert
+        verify(postRestClient).fetchPosts(eq(site), eq(false), any(), eq(fetchedPayload.nextCursor), eq(0),
+                eq(PostStore.NUM_POSTS_PER_FETCH))
+        verify(postSqlUtils, never()).getUploadedPostsCountForSite(any(), any())
+    }
+
+    @Test
+    fun `loading more posts without a cursor starts at the number of uploaded posts`() {
+        // Arrange
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        whenever(postSqlUtils.getUploadedPostsCountForSite(site, false)).thenReturn(40)
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchPostsAction(FetchPostsPayload(site, true)))
+
+        // Assert
+        verify(postRestClient).fetchPosts(eq(site), eq(false), any(), isNull(), eq(40),
+                eq(PostStore.NUM_POSTS_PER_FETCH))
+    }
+
     @Test
     fun `Should return mapped RevisionModel when getRevisionById is called`() {
         // Arrange
@@ -375,9 +515,13 @@ class PostStoreTest {
         )
     )
 
-    private fun createPostModel(isLocallyChanged: Boolean = false, postStatus: PostStatus = PUBLISHED): PostModel {
+    private fun createPostModel(
+        isLocallyChanged: Boolean = false,
+        postStatus: PostStatus = PUBLISHED,
+        remotePostId: Long = 1
+    ): PostModel {
         val post = PostModel()
-        post.setRemotePostId(1)
+        post.setRemotePostId(remotePostId)
         post.setStatus(postStatus.toString())
         post.setIsLocallyChanged(isLocallyChanged)
         post.setAutoSaveModified("1955-11-05T14:15:00Z")
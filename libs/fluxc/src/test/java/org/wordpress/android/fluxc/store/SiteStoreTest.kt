@@ -579,7 +579,7 @@ class SiteStoreTest {
             id = 3
             url = "https://selfhosted.test"
         }
-        whenever(siteSqlUtils.getSitesWithLocalId(3)).thenReturn(listOf(existing))
+        whenever(siteSqlUtils.getSiteByLocalIdCached(3)).thenReturn(existing)
         val incoming = SiteModel().apply {
             id = 3
             apiRestUsernamePlain = "user"
@@ -600,7 +600,7 @@ class SiteStoreTest {
             url = "https://selfhosted.test"
             wpApiRestUrl = "https://selfhosted.test/wp-json/"
         }
-        whenever(siteSqlUtils.getSitesWithLocalId(4)).thenReturn(listOf(existing))
+        whenever(siteSqlUtils.getSiteByLocalIdCached(4)).thenReturn(existing)
         siteStore.onAction(
             SiteActionBuilder.newRemoveApplicationPasswordAction(SiteModel().apply { id = 4 })
         )
@@ -615,7 +615,7 @@ class SiteStoreTest {
             id = 8
             url = "https://selfhosted.test"
         }
-        whenever(siteSqlUtils.getSitesWithLocalId(8)).thenReturn(listOf(existing))
+        whenever(siteSqlUtils.getSiteByLocalIdCached(8)).thenReturn(existing)
         siteStore.applicationPasswordsManagerProvider = Provider { mock<ApplicationPasswordsManager>() }
 
         siteStore.deleteStoredApplicationPasswordCredentials(SiteModel().apply { id = 8 })
@@ -123,6 +123,36 @@ public class UploadSqlUtilsTest {
         assertNull(UploadSqlUtils.getMediaUploadModelForLocalId(mediaUploadModel2.getId()));
     }
 
+    @Test
+    public void testUpdateMediaResumableUploadState() {
+        long testId = Math.abs(mRandom.nextLong());
+        MediaModel testMedia = UploadTestUtils.getTestMedia(testId);
+        MediaSqlUtils.insertOrUpdateMedia(testMedia);
+        testMedia = MediaSqlUtils.getSiteMediaWithId(UploadTestUtils.getTestSite(), testId).get(0);
+
+        MediaUploadModel mediaUploadModel = new MediaUploadModel(testMedia.getId());
+        mediaUploadModel.setProgress(0.65F);
+        UploadSqlUtils.insertOrUpdateMedia(mediaUploadModel);
+
+        // Store the resumable upload state, the rest of the upload state should be left alone
+        String uploadUrl = "https://example.com/uploads/1";
+        assertEquals(1, UploadSqlUtils.updateMediaResumableUploadState(testMedia.getId(), uploadUrl, 1024));
+
+        mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(testMedia.getId());
+        assertNotNull(mediaUploadModel);
+        assertEquals(uploadUrl, mediaUploadModel.getResumableUploadUrl());
+        assertEquals(1024, mediaUploadModel.getResumableUploadOffset());
+        assertEquals(0.65F, mediaUploadModel.getProgress());
+
+        // Clear it once the upload is done
+        assertEquals(1, UploadSqlUtils.updateMediaResumableUploadState(testMedia.getId(), null, 2048));
+
+        mediaUploadModel = UploadSqlUtils.getMediaUploadModelForLocalId(testMedia.getId());
+        assertNotNull(mediaUploadModel);
+        assertNull(mediaUploadModel.getResumableUploadUrl());
+        assertEquals(0, mediaUploadModel.getResumableUploadOffset());
+    }
+
     @Test
     public void testDeleteMediaUploadModel() {
         MediaModel testMedia1 = UploadTestUtils.getTestMedia(65);
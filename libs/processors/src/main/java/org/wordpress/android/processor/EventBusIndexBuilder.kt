@@ -0,0 +1,91 @@
+package org.wordpress.android.processor
+
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.FileSpec
+import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.KModifier
+import com.squareup.kotlinpoet.MAP
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import com.squareup.kotlinpoet.PropertySpec
+import com.squareup.kotlinpoet.STAR
+import com.squareup.kotlinpoet.TypeSpec
+import com.squareup.kotlinpoet.asClassName
+
+private val THREAD_MODE = ClassName("org.greenrobot.eventbus", "ThreadMode")
+private val SUBSCRIBER_INFO = ClassName("org.greenrobot.eventbus.meta", "SubscriberInfo")
+private val SUBSCRIBER_INFO_INDEX = ClassName("org.greenrobot.eventbus.meta", "SubscriberInfoIndex")
+private val SIMPLE_SUBSCRIBER_INFO = ClassName("org.greenrobot.eventbus.meta", "SimpleSubscriberInfo")
+private val SUBSCRIBER_METHOD_INFO = ClassName("org.greenrobot.eventbus.meta", "SubscriberMethodInfo")
+
+/**
+ * Builds an EventBus [SubscriberInfoIndex](https://greenrobot.org/eventbus/documentation/subscriber-index/)
+ * for the given subscribers, so that registering them doesn't need to look up their methods by reflection.
+ */
+class EventBusIndexBuilder(
+    private val indexClassName: ClassName,
+    private val subscribers: List<Subscriber>
+) {
+    fun getContent(): FileSpec {
+        val classType = Class::class.asClassName().parameterizedBy(STAR)
+        val subscriberInfos = CodeBlock.builder()
+            .add("listOf<%T>(\n", SIMPLE_SUBSCRIBER_INFO)
+            .indent()
+        subscribers.forEach { subscriber ->
+            subscriberInfos.add("%T(%T::class.java, true, arrayOf(\n", SIMPLE_SUBSCRIBER_INFO, subscriber.className)
+                .indent()
+            subscriber.methods.forEach { method ->
+                subscriberInfos.add(
+                    "%T(%S, %T::class.java, %T.%L, %L, %L),\n",
+                    SUBSCRIBER_METHOD_INFO,
+                    method.name,
+                    method.eventType,
+                    THREAD_MODE,
+                    method.threadMode,
+                    method.priority,
+                    method.sticky
+                )
+            }
+            subscriberInfos.unindent()
+                .add(")),\n")
+        }
+        subscriberInfos.unindent()
+            .add(").associateBy { it.subscriberClass }")
+
+        val index = TypeSpec.classBuilder(indexClassName)
+            .addSuperinterface(SUBSCRIBER_INFO_INDEX)
+            .addProperty(
+                PropertySpec.builder("subscribers", MAP.parameterizedBy(classType, SUBSCRIBER_INFO))
+                    .addModifiers(KModifier.PRIVATE)
+                    .initializer(subscriberInfos.build())
+                    .build()
+            )
+            .addFunction(
+                FunSpec.builder("getSubscriberInfo")
+                    .addModifiers(KModifier.OVERRIDE)
+                    .addParameter("subscriberClass", classType)
+                    .returns(SUBSCRIBER_INFO.copy(nullable = true))
+                    .addStatement("return subscribers[subscriberClass]")
+                    .build()
+            )
+            .build()
+        return FileSpec.builder(indexClassName.packageName, indexClassName.simpleName)
+            .addType(index)
+            .addFileComment("Automatically generated file. DO NOT MODIFY")
+            .indent("    ")
+            .build()
+    }
+
+    data class Subscriber(
+        val className: ClassName,
+        val methods: List<SubscriberMethod>
+    )
+
+    data class SubscriberMethod(
+        val name: String,
+        val eventType: ClassName,
+        val threadMode: String,
+        val priority: Int,
+        val sticky: Boolean
+    )
+}
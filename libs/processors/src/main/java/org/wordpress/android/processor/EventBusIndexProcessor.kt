@@ -0,0 +1,132 @@
+package org.wordpress.android.processor
+
+import com.google.devtools.ksp.getVisibility
+import com.google.devtools.ksp.processing.CodeGenerator
+import com.google.devtools.ksp.processing.KSPLogger
+import com.google.devtools.ksp.processing.Resolver
+import com.google.devtools.ksp.processing.SymbolProcessor
+import com.google.devtools.ksp.symbol.ClassKind
+import com.google.devtools.ksp.symbol.KSAnnotated
+import com.google.devtools.ksp.symbol.KSAnnotation
+import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.KSDeclaration
+import com.google.devtools.ksp.symbol.KSFunctionDeclaration
+import com.google.devtools.ksp.symbol.KSType
+import com.google.devtools.ksp.symbol.KSTypeAlias
+import com.google.devtools.ksp.symbol.Visibility
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.ksp.toClassName
+import com.squareup.kotlinpoet.ksp.writeTo
+import org.wordpress.android.processor.EventBusIndexBuilder.Subscriber
+import org.wordpress.android.processor.EventBusIndexBuilder.SubscriberMethod
+
+/**
+ * Generates an EventBus subscriber index for the `@Subscribe` methods of the module, named after the
+ * `eventBusIndex` KSP option. Nothing is generated for modules that don't set the option.
+ *
+ * Subscribers the generated code can't reference (e.g. private or Java package-private classes) are left out of the
+ * index: EventBus still finds their methods by reflection.
+ */
+class EventBusIndexProcessor(
+    private val codeGenerator: CodeGenerator,
+    private val logger: KSPLogger,
+    private val indexClassName: String?
+) : SymbolProcessor {
+    // See RemoteConfigProcessor: the index only needs one round, as it doesn't depend on any generated code
+    private var invoked = false
+
+    override fun process(resolver: Resolver): List<KSAnnotated> {
+        if (invoked || indexClassName == null) {
+            return emptyList()
+        }
+
+        val subscriberMethods = resolver.getSymbolsWithAnnotation(SUBSCRIBE_ANNOTATION)
+            .filterIsInstance<KSFunctionDeclaration>()
+            .toList()
+        val subscribers = subscriberMethods
+            .groupBy { it.parentDeclaration }
+            .mapNotNull { (parent, methods) ->
+                (parent as? KSClassDeclaration)?.let { createSubscriber(it, methods) }
+            }
+
+        EventBusIndexBuilder(ClassName.bestGuess(indexClassName), subscribers).getContent()
+            .writeTo(
+                codeGenerator,
+                aggregating = true,
+                originatingKSFiles = subscriberMethods.mapNotNull { it.containingFile }.distinct()
+            )
+
+        invoked = true
+        return emptyList()
+    }
+
+    private fun createSubscriber(
+        subscriberClass: KSClassDeclaration,
+        methods: List<KSFunctionDeclaration>
+    ): Subscriber? {
+        val isClass = subscriberClass.classKind == ClassKind.CLASS || subscriberClass.classKind == ClassKind.OBJECT
+        if (!isClass || !subscriberClass.isAccessible()) {
+            logger.info("Leaving ${subscriberClass.simpleName.asString()} out of the EventBus index", subscriberClass)
+            return null
+        }
+        val subscriberMethods = methods.map { method ->
+            createSubscriberMethod(method) ?: run {
+                logger.info("Leaving ${subscriberClass.simpleName.asString()} out of the EventBus index", method)
+                return null
+            }
+        }
+        return Subscriber(subscriberClass.toClassName(), subscriberMethods)
+    }
+
+    private fun createSubscriberMethod(method: KSFunctionDeclaration): SubscriberMethod? {
+        val parameter = method.parameters.singleOrNull()
+        if (method.getVisibility() != Visibility.PUBLIC || parameter == null) {
+            return null
+        }
+        var eventType = parameter.type.resolve()
+        if (eventType.isError) {
+            return null
+        }
+        while (eventType.declaration is KSTypeAlias) {
+            eventType = (eventType.declaration as KSTypeAlias).type.resolve()
+        }
+        val eventClass = eventType.declaration as? KSClassDeclaration ?: return null
+
+        val annotation = method.annotations.first {
+            it.annotationType.resolve().declaration.qualifiedName?.asString() == SUBSCRIBE_ANNOTATION
+        }
+        return SubscriberMethod(
+            name = method.simpleName.asString(),
+            eventType = eventClass.toClassName(),
+            threadMode = annotation.getEnumArgument("threadMode") ?: DEFAULT_THREAD_MODE,
+            priority = annotation.getArgument("priority") as? Int ?: 0,
+            sticky = annotation.getArgument("sticky") as? Boolean ?: false
+        )
+    }
+
+    private fun KSAnnotation.getArgument(name: String): Any? =
+        arguments.firstOrNull { it.name?.asString() == name }?.value
+
+    private fun KSAnnotation.getEnumArgument(name: String): String? =
+        when (val value = getArgument(name)) {
+            is KSType -> value.declaration.simpleName.asString()
+            is KSDeclaration -> value.simpleName.asString()
+            else -> null
+        }
+
+    /*
+     * returns true if the generated index, in another package, can reference the class
+     */
+    private fun KSDeclaration.isAccessible(): Boolean {
+        val visibility = getVisibility()
+        if (visibility != Visibility.PUBLIC && visibility != Visibility.INTERNAL) {
+            return false
+        }
+        return (parentDeclaration as? KSClassDeclaration)?.isAccessible() ?: true
+    }
+
+    private companion object {
+        const val SUBSCRIBE_ANNOTATION = "org.greenrobot.eventbus.Subscribe"
+        const val DEFAULT_THREAD_MODE = "POSTING"
+    }
+}
@@ -0,0 +1,21 @@
+package org.wordpress.android.processor
+
+import com.google.devtools.ksp.processing.SymbolProcessor
+import com.google.devtools.ksp.processing.SymbolProcessorEnvironment
+import com.google.devtools.ksp.processing.SymbolProcessorProvider
+
+class EventBusIndexProcessorProvider : SymbolProcessorProvider {
+    override fun create(
+        environment: SymbolProcessorEnvironment
+    ): SymbolProcessor {
+        return EventBusIndexProcessor(
+            environment.codeGenerator,
+            environment.logger,
+            environment.options[EVENT_BUS_INDEX_OPTION]
+        )
+    }
+
+    private companion object {
+        const val EVENT_BUS_INDEX_OPTION = "eventBusIndex"
+    }
+}
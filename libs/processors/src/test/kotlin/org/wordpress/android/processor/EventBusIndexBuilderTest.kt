@@ -0,0 +1,52 @@
+package org.wordpress.android.processor
+
+import com.squareup.kotlinpoet.ClassName
+import org.assertj.core.api.Assertions
+import org.junit.Test
+import org.wordpress.android.processor.EventBusIndexBuilder.Subscriber
+import org.wordpress.android.processor.EventBusIndexBuilder.SubscriberMethod
+
+class EventBusIndexBuilderTest {
+    private val indexClassName = ClassName("org.wordpress.android", "TestEventBusIndex")
+
+    @Test
+    fun `given subscribers, when building the index, then generate their subscriber infos`() {
+        // given
+        val subscriber = Subscriber(
+            ClassName("org.wordpress.android.ui", "Activity", "Fragment"),
+            listOf(
+                SubscriberMethod("onEvent", ClassName("org.wordpress.android", "Event"), "POSTING", 0, false),
+                SubscriberMethod("onOtherEvent", ClassName("org.wordpress.android", "OtherEvent"), "MAIN", 1, true)
+            )
+        )
+
+        // when
+        val sut = EventBusIndexBuilder(indexClassName, listOf(subscriber))
+
+        // then
+        val content = sut.getContent().toString()
+        Assertions.assertThat(content)
+            .startsWith("// Automatically generated file. DO NOT MODIFY\npackage org.wordpress.android\n")
+            .contains("public class TestEventBusIndex : SubscriberInfoIndex {")
+            .contains("SimpleSubscriberInfo(Activity.Fragment::class.java, true, arrayOf(")
+            .contains("SubscriberMethodInfo(\"onEvent\", Event::class.java, ThreadMode.POSTING, 0, false),")
+            .contains("SubscriberMethodInfo(\"onOtherEvent\", OtherEvent::class.java, ThreadMode.MAIN, 1, true),")
+            .contains(").associateBy { it.subscriberClass }")
+            .contains("override fun getSubscriberInfo(subscriberClass: Class<*>): SubscriberInfo?")
+    }
+
+    @Test
+    fun `given no subscribers, when building the index, then generate an empty index`() {
+        // given
+        val subscribers = emptyList<Subscriber>()
+
+        // when
+        val sut = EventBusIndexBuilder(indexClassName, subscribers)
+
+        // then
+        val content = sut.getContent().toString()
+        Assertions.assertThat(content)
+            .contains("listOf<SimpleSubscriberInfo>(\n")
+            .doesNotContain("SubscriberMethodInfo(")
+    }
+}